@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.workflow.engine.util.Utils;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+import org.wso2.carbon.identity.workflow.mgt.bean.Parameter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures extraction and comparison of the approval step parameters of a workflow, which runs on every workflow
+ * request and on every workflow update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApprovalStepParametersBenchmark {
+
+    private static final String WORKFLOW_ID = UUID.randomUUID().toString();
+    private static final String HOLDER = WorkflowEngineConstants.ParameterHolder.WORKFLOW_NAME;
+
+    @Param({"1", "3", "10"})
+    public int steps;
+
+    @Param({"1", "10", "100"})
+    public int approvers;
+
+    @Param({"0", "5", "50"})
+    public int roles;
+
+    private List<Parameter> newParams;
+    private List<Parameter> oldParams;
+
+    @Setup
+    public void setUp() {
+
+        newParams = buildParameters(false);
+        oldParams = buildParameters(true);
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> getParamValuesForApprovalSteps() {
+
+        return Utils.getParamValuesForApprovalSteps(newParams);
+    }
+
+    @Benchmark
+    public List<Integer> getModifiedApprovalSteps() {
+
+        return Utils.getModifiedApprovalSteps(newParams, oldParams);
+    }
+
+    /**
+     * Build the workflow parameters. Apart from the approval steps, the list carries the notification and name
+     * parameters a workflow created from the console has.
+     *
+     * @param modifyLastStep Whether to replace one approver of the last step, to mimic a workflow update.
+     * @return Workflow parameters.
+     */
+    private List<Parameter> buildParameters(boolean modifyLastStep) {
+
+        List<Parameter> parameters = new ArrayList<>();
+        parameters.add(new Parameter(WORKFLOW_ID, WorkflowEngineConstants.ParameterValue.WORKFLOW_NAME,
+                "benchmark-workflow", WorkflowEngineConstants.ParameterValue.WORKFLOW_NAME, HOLDER));
+        parameters.add(new Parameter(WORKFLOW_ID, "Notification", "email",
+                "NotificationForApprovers-channels", HOLDER));
+        for (int step = 1; step <= steps; step++) {
+            List<String> users = new ArrayList<>(approvers);
+            for (int i = 0; i < approvers; i++) {
+                users.add("user-" + step + "-" + i);
+            }
+            if (modifyLastStep && step == steps) {
+                users.set(users.size() - 1, "replaced-user");
+            }
+            parameters.add(new Parameter(WORKFLOW_ID, WorkflowEngineConstants.ParameterName.USER_AND_ROLE_STEP,
+                    String.join(",", users), stepQName(step, WorkflowEngineConstants.APPROVER_TYPE_USERS), HOLDER));
+            if (roles > 0) {
+                List<String> roleIds = new ArrayList<>(roles);
+                for (int i = 0; i < roles; i++) {
+                    roleIds.add("role-" + step + "-" + i);
+                }
+                parameters.add(new Parameter(WORKFLOW_ID, WorkflowEngineConstants.ParameterName.USER_AND_ROLE_STEP,
+                        String.join(",", roleIds), stepQName(step, WorkflowEngineConstants.APPROVER_TYPE_ROLES),
+                        HOLDER));
+            }
+        }
+        return parameters;
+    }
+
+    private static String stepQName(int step, String approverType) {
+
+        return String.join(WorkflowEngineConstants.Q_NAME_STEP_SEPARATOR,
+                WorkflowEngineConstants.ParameterName.USER_AND_ROLE_STEP, String.valueOf(step), approverType);
+    }
+}
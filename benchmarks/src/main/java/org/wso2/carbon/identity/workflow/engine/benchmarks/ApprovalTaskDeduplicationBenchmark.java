@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
+import org.wso2.carbon.identity.workflow.engine.util.Utils;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the de-duplication of the approval tasks fetched for a user before they are paginated and enriched.
+ * <p>
+ * The input mimics what the DAO returns for a user who is an approver both directly and through their roles: every
+ * workflow request contributes the APPROVED tasks of its completed steps, and for the current step one task per
+ * matching entity, where one of them may be RESERVED and the rest BLOCKED. The list is modified in place, so each
+ * invocation works on a fresh copy; {@link #copyOnly()} measures that copy on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApprovalTaskDeduplicationBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"10", "100", "1000"})
+    public int requests;
+
+    @Param({"1", "3"})
+    public int steps;
+
+    @Param({"1", "5", "20"})
+    public int matchingEntities;
+
+    private List<ApprovalTaskSummaryDTO> tasks;
+
+    @Setup
+    public void setUp() {
+
+        Random random = new Random(SEED);
+        tasks = new ArrayList<>();
+        for (int request = 0; request < requests; request++) {
+            String requestId = new UUID(random.nextLong(), random.nextLong()).toString();
+            String workflowId = "workflow-" + random.nextInt(10);
+            for (int step = 1; step < steps; step++) {
+                tasks.add(task(random, requestId, workflowId, TaskStatus.APPROVED));
+            }
+            boolean reserved = random.nextBoolean();
+            for (int entity = 0; entity < matchingEntities; entity++) {
+                TaskStatus status;
+                if (!reserved) {
+                    status = TaskStatus.READY;
+                } else {
+                    status = entity == 0 ? TaskStatus.RESERVED : TaskStatus.BLOCKED;
+                }
+                tasks.add(task(random, requestId, workflowId, status));
+            }
+        }
+        // The DAO orders by last update time, which interleaves the tasks of different requests.
+        Collections.shuffle(tasks, random);
+    }
+
+    @Benchmark
+    public List<ApprovalTaskSummaryDTO> copyOnly() {
+
+        return new ArrayList<>(tasks);
+    }
+
+    @Benchmark
+    public List<ApprovalTaskSummaryDTO> removeDuplicateApprovalTasks() {
+
+        List<ApprovalTaskSummaryDTO> copy = new ArrayList<>(tasks);
+        Utils.removeDuplicateApprovalTasks(copy);
+        return copy;
+    }
+
+    private static ApprovalTaskSummaryDTO task(Random random, String requestId, String workflowId,
+                                               TaskStatus status) {
+
+        ApprovalTaskSummaryDTO task = new ApprovalTaskSummaryDTO();
+        task.setId(new UUID(random.nextLong(), random.nextLong()).toString());
+        task.setRequestId(requestId);
+        task.setWorkflowId(workflowId);
+        task.setApprovalStatus(status.name());
+        return task;
+    }
+}
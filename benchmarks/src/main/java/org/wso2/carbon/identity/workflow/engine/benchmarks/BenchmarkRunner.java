@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the standard JMH command line options and always enables the GC
+ * profiler, so every run reports the allocation rate alongside the timings.
+ * <p>
+ * Usage: {@code java -jar target/benchmarks.jar [JMH options] [benchmark regex]}
+ */
+public class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterCondition;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterExpression;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+import org.wso2.carbon.identity.workflow.engine.util.FilterParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of the approval task filter expressions received by the list API, and cached compilation of the
+ * same expressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterParserBenchmark {
+
+    @Param({
+            "",
+            "workflowId eq 0c4a8f4e-4c1f-4a53-9f0e-2d6f3b1c9a7e",
+            "workflowRequestId sw 5d1c",
+            "workflowId eq 0c4a8f4e-4c1f-4a53-9f0e-2d6f3b1c9a7e and workflowRequestId sw 5d1c"
+    })
+    public String filter;
+
+    @Benchmark
+    public List<FilterCondition> parse() throws WorkflowEngineClientException {
+
+        return FilterParser.parse(filter);
+    }
+
+    @Benchmark
+    public FilterExpression compile() throws WorkflowEngineClientException {
+
+        // Served from the compiled filter cache after the first invocation.
+        return FilterParser.compile(filter);
+    }
+}
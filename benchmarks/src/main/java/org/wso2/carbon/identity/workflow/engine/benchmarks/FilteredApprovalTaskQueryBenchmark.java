@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterCondition;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterOperator;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.impl.ApprovalTaskDAOImpl;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures assembly of the filtered approval task query. The number of entity IDs is one plus the number of roles of
+ * the user listing their tasks, so the upper end of the range covers users with very large role assignments.
+ * Queries are cached by shape, so after warm up this measures the shape lookup rather than the SQL assembly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilteredApprovalTaskQueryBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int entityIds;
+
+    @Param({"NONE", "STATUS", "ALL"})
+    public String filterType;
+
+    private ApprovalTaskFilterDTO filter;
+
+    @Setup
+    public void setUp() {
+
+        filter = new ApprovalTaskFilterDTO();
+        if ("NONE".equals(filterType)) {
+            return;
+        }
+        filter.setStatusList(Arrays.asList(WorkflowEngineConstants.TaskStatus.READY.name(),
+                WorkflowEngineConstants.TaskStatus.RESERVED.name()));
+        if ("ALL".equals(filterType)) {
+            filter.setOperationTypeList(Arrays.asList("ADD_USER", "ADD_ROLE", "UPDATE_ROLES_OF_USERS"));
+            filter.setFilterConditions(Collections.singletonList(new FilterCondition(
+                    WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID, FilterOperator.SW, "0c4a")));
+        }
+    }
+
+    @Benchmark
+    public String buildFilteredApprovalTaskQuery() {
+
+        return ApprovalTaskDAOImpl.buildFilteredApprovalTaskQuery(entityIds, filter);
+    }
+}
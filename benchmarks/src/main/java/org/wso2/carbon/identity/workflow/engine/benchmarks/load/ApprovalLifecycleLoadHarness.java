@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks.load;
+
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.identity.workflow.engine.ApprovalTaskServiceImpl;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.mgt.callback.WSWorkflowCallBackService;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+/**
+ * End to end throughput harness of the approval lifecycle. Runs the real {@link ApprovalTaskServiceImpl} and DAOs
+ * against an in-memory H2 database, with the OSGi services it depends on replaced by stubs of configurable latency.
+ * A fixed number of virtual users drive create, list, claim and approve cycles concurrently and the harness reports
+ * the throughput, latency percentiles and SQL statements per operation.
+ *
+ * <p>Usage: {@code java -cp benchmarks.jar ...load.ApprovalLifecycleLoadHarness users=16 durationSeconds=60}. See
+ * {@link LoadHarnessOptions} for all options.
+ */
+public class ApprovalLifecycleLoadHarness {
+
+    private static final String CALLBACK_SERVICE_FIELD = "wsWorkflowCallBackService";
+    private static final String BACKGROUND_WORKFLOW_ID = "load-background-workflow";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    public static void main(String[] args) throws Exception {
+
+        LoadHarnessOptions options = LoadHarnessOptions.parse(args);
+        if (System.getProperty(CarbonBaseConstants.CARBON_HOME) == null) {
+            System.setProperty(CarbonBaseConstants.CARBON_HOME,
+                    Files.createTempDirectory("workflow-engine-load").toString());
+        }
+
+        try (LoadHarnessDatabase database = LoadHarnessDatabase.create(options.getUsers() * 2,
+                MultitenantConstants.SUPER_TENANT_ID)) {
+            database.insertWorkflow(BACKGROUND_WORKFLOW_ID, BACKGROUND_WORKFLOW_ID);
+            database.insertBackgroundRequests(options.getBackgroundRequests(), BACKGROUND_WORKFLOW_ID);
+            if (options.isApprovalInbox()) {
+                database.rebuildApprovalInbox();
+                WorkflowEngineServiceDataHolder.getInstance().setApprovalInboxEnabled(true);
+            }
+
+            LoadHarnessStubs stubs = new LoadHarnessStubs(options);
+            stubs.register();
+            ApprovalTaskServiceImpl approvalTaskService = new ApprovalTaskServiceImpl();
+            replaceCallBackService(approvalTaskService, stubs.createCallBackService());
+
+            DataSource dataSource = new StatementCountingDataSource(database.getDataSource());
+            LoadReport report = new LoadReport();
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<VirtualUser> virtualUsers = new ArrayList<>(options.getUsers());
+            for (int i = 0; i < options.getUsers(); i++) {
+                virtualUsers.add(new VirtualUser(i, options, approvalTaskService, stubs, database, dataSource,
+                        report, running::get));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(options.getUsers());
+            List<Future<?>> futures = new ArrayList<>(virtualUsers.size());
+            for (VirtualUser virtualUser : virtualUsers) {
+                futures.add(executor.submit(virtualUser));
+            }
+            TimeUnit.SECONDS.sleep(options.getWarmupSeconds());
+            report.start();
+            TimeUnit.SECONDS.sleep(options.getDurationSeconds());
+            report.stop();
+            running.set(false);
+
+            executor.shutdown();
+            for (Future<?> future : futures) {
+                future.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            report.print(System.out, options);
+            System.out.println("Workflow callbacks: " + stubs.getCallbackCount());
+        }
+    }
+
+    private static void replaceCallBackService(ApprovalTaskServiceImpl approvalTaskService,
+                                               WSWorkflowCallBackService callBackService) throws Exception {
+
+        // The callback service is created by the service itself and has no setter.
+        Field field = ApprovalTaskServiceImpl.class.getDeclaredField(CALLBACK_SERVICE_FIELD);
+        field.setAccessible(true);
+        field.set(approvalTaskService, callBackService);
+    }
+}
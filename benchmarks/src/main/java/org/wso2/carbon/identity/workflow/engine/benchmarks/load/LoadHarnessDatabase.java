@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks.load;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.h2.tools.RunScript;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+/**
+ * In-memory H2 database of the load harness. The schema is the one the engine unit tests use, so the harness runs
+ * the production SQL against the same tables.
+ */
+public class LoadHarnessDatabase implements AutoCloseable {
+
+    private static final String SCHEMA_SCRIPT = "dbscripts/h2.sql";
+    private static final String ENGINE_SCRIPT = "dbscripts/workflow-engine/h2.sql";
+    private static final String DB_URL = "jdbc:h2:mem:workflow_engine_load;DB_CLOSE_DELAY=-1";
+    private static final String DB_USER = "sa";
+    private static final String DB_PASSWORD = "";
+    private static final String PENDING = "PENDING";
+    private static final int BATCH_SIZE = 500;
+    private static final int BACKGROUND_APPROVERS = 100;
+
+    private static final String INSERT_WORKFLOW = "INSERT INTO WF_WORKFLOW (ID, WF_NAME, DESCRIPTION, " +
+            "TEMPLATE_ID, IMPL_ID, TENANT_ID) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REQUEST = "INSERT INTO WF_REQUEST (UUID, CREATED_BY, TENANT_ID, " +
+            "OPERATION_TYPE, CREATED_AT, UPDATED_AT, STATUS) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REQUEST_RELATION = "INSERT INTO WF_WORKFLOW_REQUEST_RELATION " +
+            "(RELATIONSHIP_ID, WORKFLOW_ID, REQUEST_ID, UPDATED_AT, STATUS, TENANT_ID) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_APPROVAL_TASK = "INSERT INTO WF_WORKFLOW_APPROVAL_RELATION (TASK_ID, " +
+            "EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_APPROVAL_STATE = "INSERT INTO WF_WORKFLOW_APPROVAL_STATE (EVENT_ID, " +
+            "WORKFLOW_ID, CURRENT_STEP) VALUES (?, ?, ?)";
+
+    private final JdbcConnectionPool connectionPool;
+    private final int tenantId;
+
+    private LoadHarnessDatabase(JdbcConnectionPool connectionPool, int tenantId) {
+
+        this.connectionPool = connectionPool;
+        this.tenantId = tenantId;
+    }
+
+    /**
+     * Create the database and its schema, together with the index set and approval inbox of the engine.
+     *
+     * @param maxConnections Maximum number of pooled connections.
+     * @param tenantId       Tenant the harness data belongs to.
+     * @return Database of the harness.
+     */
+    public static LoadHarnessDatabase create(int maxConnections, int tenantId) throws SQLException, IOException {
+
+        JdbcConnectionPool connectionPool = JdbcConnectionPool.create(DB_URL, DB_USER, DB_PASSWORD);
+        connectionPool.setMaxConnections(maxConnections);
+        try (Connection connection = connectionPool.getConnection()) {
+            runScript(connection, SCHEMA_SCRIPT);
+            runScript(connection, ENGINE_SCRIPT);
+        }
+        return new LoadHarnessDatabase(connectionPool, tenantId);
+    }
+
+    private static void runScript(Connection connection, String script) throws SQLException, IOException {
+
+        try (InputStream inputStream = LoadHarnessDatabase.class.getClassLoader().getResourceAsStream(script)) {
+            if (inputStream == null) {
+                throw new IOException("Schema script not found in the classpath: " + script);
+            }
+            try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                RunScript.execute(connection, reader);
+            }
+        }
+    }
+
+    public DataSource getDataSource() {
+
+        return connectionPool;
+    }
+
+    public void insertWorkflow(String workflowId, String workflowName) throws SQLException {
+
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT_WORKFLOW)) {
+            statement.setString(1, workflowId);
+            statement.setString(2, workflowName);
+            statement.setString(3, workflowName);
+            statement.setString(4, "MultiStepApprovalTemplate");
+            statement.setString(5, "WorkflowEngine");
+            statement.setInt(6, tenantId);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Insert a pending workflow request and its workflow relation, as the workflow management service does before
+     * handing the request to the engine.
+     *
+     * @param requestId     Workflow request ID.
+     * @param workflowId    Workflow the request is engaged in.
+     * @param createdBy     Initiator of the request.
+     * @param operationType Operation type of the request.
+     */
+    public void insertWorkflowRequest(String requestId, String workflowId, String createdBy, String operationType)
+            throws SQLException {
+
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement requestStatement = connection.prepareStatement(INSERT_REQUEST);
+             PreparedStatement relationStatement = connection.prepareStatement(INSERT_REQUEST_RELATION)) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            addRequest(requestStatement, requestId, createdBy, operationType, now);
+            requestStatement.executeUpdate();
+            addRequestRelation(relationStatement, requestId, workflowId, now);
+            relationStatement.executeUpdate();
+        }
+    }
+
+    /**
+     * Insert pending requests of other users with a READY approval task each, so the listing queries run against a
+     * populated table.
+     *
+     * @param count      Number of requests to insert.
+     * @param workflowId Workflow the requests are engaged in.
+     */
+    public void insertBackgroundRequests(int count, String workflowId) throws SQLException {
+
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement requestStatement = connection.prepareStatement(INSERT_REQUEST);
+             PreparedStatement relationStatement = connection.prepareStatement(INSERT_REQUEST_RELATION);
+             PreparedStatement taskStatement = connection.prepareStatement(INSERT_APPROVAL_TASK);
+             PreparedStatement stateStatement = connection.prepareStatement(INSERT_APPROVAL_STATE)) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (int i = 0; i < count; i++) {
+                String requestId = UUID.randomUUID().toString();
+                addRequest(requestStatement, requestId, "background-initiator", LoadHarnessStubs.EVENT_TYPE, now);
+                requestStatement.addBatch();
+                addRequestRelation(relationStatement, requestId, workflowId, now);
+                relationStatement.addBatch();
+                taskStatement.setString(1, UUID.randomUUID().toString());
+                taskStatement.setString(2, requestId);
+                taskStatement.setString(3, workflowId);
+                taskStatement.setString(4, WorkflowEngineConstants.APPROVER_TYPE_USERS);
+                taskStatement.setString(5, "background-approver-" + (i % BACKGROUND_APPROVERS));
+                taskStatement.setString(6, WorkflowEngineConstants.TaskStatus.READY.toString());
+                taskStatement.addBatch();
+                stateStatement.setString(1, requestId);
+                stateStatement.setString(2, workflowId);
+                stateStatement.setInt(3, 1);
+                stateStatement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == count - 1) {
+                    requestStatement.executeBatch();
+                    relationStatement.executeBatch();
+                    taskStatement.executeBatch();
+                    stateStatement.executeBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuild the approval inbox of the harness tenant, so that it includes the requests inserted directly.
+     */
+    public void rebuildApprovalInbox() throws SQLException {
+
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement deleteStatement = connection.prepareStatement(
+                     WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_OF_TENANT);
+             PreparedStatement insertStatement = connection.prepareStatement(
+                     WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT)) {
+            deleteStatement.setInt(1, tenantId);
+            deleteStatement.executeUpdate();
+            insertStatement.setInt(1, tenantId);
+            insertStatement.executeUpdate();
+        }
+    }
+
+    @Override
+    public void close() {
+
+        connectionPool.dispose();
+    }
+
+    private void addRequest(PreparedStatement statement, String requestId, String createdBy, String operationType,
+                            Timestamp createdAt) throws SQLException {
+
+        statement.setString(1, requestId);
+        statement.setString(2, createdBy);
+        statement.setInt(3, tenantId);
+        statement.setString(4, operationType);
+        statement.setTimestamp(5, createdAt);
+        statement.setTimestamp(6, createdAt);
+        statement.setString(7, PENDING);
+    }
+
+    private void addRequestRelation(PreparedStatement statement, String requestId, String workflowId,
+                                    Timestamp updatedAt) throws SQLException {
+
+        statement.setString(1, UUID.randomUUID().toString());
+        statement.setString(2, workflowId);
+        statement.setString(3, requestId);
+        statement.setTimestamp(4, updatedAt);
+        statement.setString(5, PENDING);
+        statement.setInt(6, tenantId);
+    }
+}
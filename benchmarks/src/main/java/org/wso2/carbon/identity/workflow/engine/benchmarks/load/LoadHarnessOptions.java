@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of the approval lifecycle load harness, given as {@code key=value} program arguments.
+ */
+public class LoadHarnessOptions {
+
+    private final int users;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int steps;
+    private final int approversPerStep;
+    private final int rolesPerUser;
+    private final int backgroundRequests;
+    private final long workflowServiceLatencyMicros;
+    private final long roleServiceLatencyMicros;
+    private final long realmServiceLatencyMicros;
+    private final long eventServiceLatencyMicros;
+    private final long callbackLatencyMicros;
+    private final boolean approvalInbox;
+
+    private LoadHarnessOptions(Map<String, String> options) {
+
+        users = getInt(options, "users", 8);
+        durationSeconds = getInt(options, "durationSeconds", 30);
+        warmupSeconds = getInt(options, "warmupSeconds", 10);
+        steps = getInt(options, "steps", 2);
+        approversPerStep = getInt(options, "approversPerStep", 5);
+        rolesPerUser = getInt(options, "rolesPerUser", 10);
+        backgroundRequests = getInt(options, "backgroundRequests", 1000);
+        long stubLatencyMicros = getLong(options, "stubLatencyMicros", 500);
+        workflowServiceLatencyMicros = getLong(options, "workflowServiceLatencyMicros", stubLatencyMicros);
+        roleServiceLatencyMicros = getLong(options, "roleServiceLatencyMicros", stubLatencyMicros);
+        realmServiceLatencyMicros = getLong(options, "realmServiceLatencyMicros", stubLatencyMicros);
+        eventServiceLatencyMicros = getLong(options, "eventServiceLatencyMicros", stubLatencyMicros);
+        callbackLatencyMicros = getLong(options, "callbackLatencyMicros", stubLatencyMicros);
+        approvalInbox = Boolean.parseBoolean(options.get("approvalInbox"));
+        if (users < 1 || steps < 1 || approversPerStep < 1 || rolesPerUser < 1) {
+            throw new IllegalArgumentException("users, steps, approversPerStep and rolesPerUser must be positive.");
+        }
+    }
+
+    /**
+     * Parse the program arguments.
+     *
+     * @param args Arguments of the form {@code key=value}.
+     * @return Parsed options, with defaults for the ones not given.
+     */
+    public static LoadHarnessOptions parse(String[] args) {
+
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid argument: " + arg + ". Expected key=value.");
+            }
+            options.put(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+        return new LoadHarnessOptions(options);
+    }
+
+    private static int getInt(Map<String, String> options, String key, int defaultValue) {
+
+        return (int) getLong(options, key, defaultValue);
+    }
+
+    private static long getLong(Map<String, String> options, String key, long defaultValue) {
+
+        String value = options.get(key);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public int getUsers() {
+
+        return users;
+    }
+
+    public int getDurationSeconds() {
+
+        return durationSeconds;
+    }
+
+    public int getWarmupSeconds() {
+
+        return warmupSeconds;
+    }
+
+    public int getSteps() {
+
+        return steps;
+    }
+
+    public int getApproversPerStep() {
+
+        return approversPerStep;
+    }
+
+    public int getRolesPerUser() {
+
+        return rolesPerUser;
+    }
+
+    public int getBackgroundRequests() {
+
+        return backgroundRequests;
+    }
+
+    public long getWorkflowServiceLatencyMicros() {
+
+        return workflowServiceLatencyMicros;
+    }
+
+    public long getRoleServiceLatencyMicros() {
+
+        return roleServiceLatencyMicros;
+    }
+
+    public long getRealmServiceLatencyMicros() {
+
+        return realmServiceLatencyMicros;
+    }
+
+    public long getEventServiceLatencyMicros() {
+
+        return eventServiceLatencyMicros;
+    }
+
+    public long getCallbackLatencyMicros() {
+
+        return callbackLatencyMicros;
+    }
+
+    public boolean isApprovalInbox() {
+
+        return approvalInbox;
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("users=%d durationSeconds=%d warmupSeconds=%d steps=%d approversPerStep=%d " +
+                        "rolesPerUser=%d backgroundRequests=%d workflowServiceLatencyMicros=%d " +
+                        "roleServiceLatencyMicros=%d realmServiceLatencyMicros=%d eventServiceLatencyMicros=%d " +
+                        "callbackLatencyMicros=%d approvalInbox=%b", users, durationSeconds, warmupSeconds, steps,
+                approversPerStep, rolesPerUser, backgroundRequests, workflowServiceLatencyMicros,
+                roleServiceLatencyMicros, realmServiceLatencyMicros, eventServiceLatencyMicros, callbackLatencyMicros,
+                approvalInbox);
+    }
+}
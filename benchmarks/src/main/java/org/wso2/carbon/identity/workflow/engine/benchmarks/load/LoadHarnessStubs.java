@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks.load;
+
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.wso2.carbon.identity.event.services.IdentityEventService;
+import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.mgt.WorkflowManagementService;
+import org.wso2.carbon.identity.workflow.mgt.bean.Parameter;
+import org.wso2.carbon.identity.workflow.mgt.callback.WSWorkflowCallBackService;
+import org.wso2.carbon.identity.workflow.mgt.dto.Association;
+import org.wso2.carbon.identity.workflow.mgt.dto.WorkflowRequest;
+import org.wso2.carbon.user.core.service.RealmService;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stubs of the OSGi services the approval task service depends on. Every stubbed call is delayed by the configured
+ * latency of its service, which stands in for the remote user store, role store and workflow management calls of a
+ * real deployment.
+ */
+public class LoadHarnessStubs {
+
+    static final String EVENT_TYPE = "ADD_USER";
+    static final String ASSOCIATION_NAME = "load-harness-association";
+
+    private final Map<String, WorkflowRequest> workflowRequests = new ConcurrentHashMap<>();
+    private final Map<String, List<Parameter>> workflowParameters = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> userRoles = new ConcurrentHashMap<>();
+    private final LongAdder callbacks = new LongAdder();
+    private final LoadHarnessOptions options;
+
+    public LoadHarnessStubs(LoadHarnessOptions options) {
+
+        this.options = options;
+    }
+
+    /**
+     * Register the stubbed services in the workflow engine data holder.
+     */
+    public void register() {
+
+        Association association = new Association();
+        association.setEventId(EVENT_TYPE);
+        association.setAssociationName(ASSOCIATION_NAME);
+        List<Association> associations = Collections.singletonList(association);
+
+        WorkflowManagementService workflowManagementService = mockWithLatency(WorkflowManagementService.class,
+                options.getWorkflowServiceLatencyMicros(), invocation -> {
+                    switch (invocation.getMethod().getName()) {
+                        case "getWorkflowRequest":
+                            return workflowRequests.get(invocation.<String>getArgument(0));
+                        case "getWorkflowParameters":
+                            return workflowParameters.get(invocation.<String>getArgument(0));
+                        case "getAssociationsForWorkflow":
+                            return associations;
+                        default:
+                            return Mockito.RETURNS_DEFAULTS.answer(invocation);
+                    }
+                });
+        RoleManagementService roleManagementService = mockWithLatency(RoleManagementService.class,
+                options.getRoleServiceLatencyMicros(), invocation -> {
+                    if ("getRoleIdListOfUser".equals(invocation.getMethod().getName())) {
+                        return userRoles.getOrDefault(invocation.<String>getArgument(0), Collections.emptyList());
+                    }
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+                });
+
+        WorkflowEngineServiceDataHolder dataHolder = WorkflowEngineServiceDataHolder.getInstance();
+        dataHolder.setWorkflowManagementService(workflowManagementService);
+        dataHolder.setRoleManagementService(roleManagementService);
+        dataHolder.setRealmService(mockWithLatency(RealmService.class, options.getRealmServiceLatencyMicros(),
+                Mockito.RETURNS_DEFAULTS));
+        dataHolder.setIdentityEventService(mockWithLatency(IdentityEventService.class,
+                options.getEventServiceLatencyMicros(), Mockito.RETURNS_DEFAULTS));
+    }
+
+    /**
+     * @return Callback service that only counts the callbacks after the configured latency.
+     */
+    public WSWorkflowCallBackService createCallBackService() {
+
+        return mockWithLatency(WSWorkflowCallBackService.class, options.getCallbackLatencyMicros(), invocation -> {
+            if ("onCallback".equals(invocation.getMethod().getName())) {
+                callbacks.increment();
+            }
+            return Mockito.RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+
+    public void addUser(String userId, List<String> roleIds) {
+
+        userRoles.put(userId, roleIds);
+    }
+
+    public void addWorkflow(String workflowId, List<Parameter> parameters) {
+
+        workflowParameters.put(workflowId, parameters);
+    }
+
+    public void addWorkflowRequest(WorkflowRequest workflowRequest) {
+
+        workflowRequests.put(workflowRequest.getUuid(), workflowRequest);
+    }
+
+    public void removeWorkflowRequest(String requestId) {
+
+        workflowRequests.remove(requestId);
+    }
+
+    public long getCallbackCount() {
+
+        return callbacks.sum();
+    }
+
+    private static <T> T mockWithLatency(Class<T> type, long latencyMicros, Answer<?> answer) {
+
+        return Mockito.mock(type, Mockito.withSettings().defaultAnswer(invocation -> {
+            if (latencyMicros > 0 && invocation.getMethod().getDeclaringClass() != Object.class) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+            }
+            return answer.answer(invocation);
+        }));
+    }
+}
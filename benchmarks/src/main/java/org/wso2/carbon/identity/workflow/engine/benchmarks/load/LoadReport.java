@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks.load;
+
+import org.wso2.carbon.identity.workflow.engine.metrics.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the per operation results of a load harness run. Samples are only recorded while the measurement window
+ * is open, so the warm up iterations do not skew the report.
+ */
+public class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000d;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final LongAdder completedLifecycles = new LongAdder();
+    private final LongAdder failedLifecycles = new LongAdder();
+    private volatile boolean recording;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public LoadReport() {
+
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Open the measurement window.
+     */
+    public void start() {
+
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    /**
+     * Close the measurement window.
+     */
+    public void stop() {
+
+        recording = false;
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Record a single operation invocation.
+     *
+     * @param operation    Operation performed.
+     * @param elapsedNanos Wall clock time of the invocation.
+     * @param statements   Number of SQL statements the invocation executed.
+     * @param success      Whether the invocation succeeded.
+     */
+    public void record(Operation operation, long elapsedNanos, long statements, boolean success) {
+
+        if (!recording) {
+            return;
+        }
+        OperationStats operationStats = stats.get(operation);
+        operationStats.histogram.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        operationStats.statements.add(statements);
+        if (!success) {
+            operationStats.errors.increment();
+        }
+    }
+
+    public void recordLifecycle(boolean completed) {
+
+        if (!recording) {
+            return;
+        }
+        if (completed) {
+            completedLifecycles.increment();
+        } else {
+            failedLifecycles.increment();
+        }
+    }
+
+    /**
+     * Print the report.
+     *
+     * @param out     Stream to print to.
+     * @param options Options the run was started with.
+     */
+    public void print(PrintStream out, LoadHarnessOptions options) {
+
+        double seconds = (endNanos - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        out.println("Approval lifecycle load harness: " + options);
+        out.printf("Measured %.1f s, lifecycles completed=%d failed=%d (%.2f/s)%n", seconds,
+                completedLifecycles.sum(), failedLifecycles.sum(), completedLifecycles.sum() / seconds);
+        out.printf("%-14s %10s %8s %10s %10s %10s %10s %12s%n", "operation", "count", "errors", "ops/s",
+                "mean(ms)", "p50(ms)", "p99(ms)", "statements");
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            LatencyHistogram histogram = entry.getValue().histogram;
+            long count = histogram.getCount();
+            out.printf("%-14s %10d %8d %10.2f %10.3f %10.3f %10.3f %12.2f%n", entry.getKey(), count,
+                    entry.getValue().errors.sum(), count / seconds, histogram.getMeanInMicros() / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentileInMicros(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentileInMicros(99) / MICROS_PER_MILLI,
+                    count == 0 ? 0 : (double) entry.getValue().statements.sum() / count);
+        }
+    }
+
+    /**
+     * Operations of the approval lifecycle driven by the harness.
+     */
+    public enum Operation {
+
+        CREATE,
+        LIST_READY,
+        CLAIM,
+        LIST_RESERVED,
+        APPROVE
+    }
+
+    private static final class OperationStats {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
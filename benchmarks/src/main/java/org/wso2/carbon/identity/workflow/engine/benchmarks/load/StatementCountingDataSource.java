@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks.load;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Data source wrapper that counts the statements executed by the current thread. Connections and statements are
+ * wrapped in dynamic proxies, so the count covers every statement regardless of how the JDBC templates issue it.
+ */
+public class StatementCountingDataSource implements DataSource {
+
+    private static final ThreadLocal<long[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final String EXECUTE_METHOD_PREFIX = "execute";
+
+    private final DataSource delegate;
+
+    public StatementCountingDataSource(DataSource delegate) {
+
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return Number of statements executed by the current thread so far.
+     */
+    public static long getStatementCount() {
+
+        return STATEMENT_COUNT.get()[0];
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        return wrapConnection(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+
+        return wrapConnection(delegate.getConnection(username, password));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+
+        return delegate.isWrapperFor(iface);
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof CallableStatement) {
+                        return wrapStatement((Statement) result, CallableStatement.class);
+                    }
+                    if (result instanceof PreparedStatement) {
+                        return wrapStatement((Statement) result, PreparedStatement.class);
+                    }
+                    if (result instanceof Statement) {
+                        return wrapStatement((Statement) result, Statement.class);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object wrapStatement(Statement statement, Class<? extends Statement> statementType) {
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith(EXECUTE_METHOD_PREFIX)) {
+                STATEMENT_COUNT.get()[0]++;
+            }
+            return invoke(statement, method, args);
+        };
+        return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{statementType}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
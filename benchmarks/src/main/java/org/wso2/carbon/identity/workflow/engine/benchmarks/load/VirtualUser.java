@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.benchmarks.load;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.workflow.engine.ApprovalTaskService;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.StateDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+import org.wso2.carbon.identity.workflow.mgt.bean.Parameter;
+import org.wso2.carbon.identity.workflow.mgt.bean.RequestParameter;
+import org.wso2.carbon.identity.workflow.mgt.dto.WorkflowRequest;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Drives approval lifecycles for a single approver until the run is over. Every lifecycle creates a request, then
+ * lists, claims and approves the task of each approval step. Odd steps are assigned to the approver directly and
+ * even steps through one of the approver's roles, so both claim paths of the engine are exercised.
+ */
+public class VirtualUser implements Runnable {
+
+    private static final Log log = LogFactory.getLog(VirtualUser.class);
+    private static final String HOLDER = WorkflowEngineConstants.ParameterHolder.WORKFLOW_NAME;
+    private static final int LIST_LIMIT = 20;
+
+    private final String userId;
+    private final String workflowId;
+    private final List<Parameter> workflowParameters;
+    private final LoadHarnessOptions options;
+    private final ApprovalTaskService approvalTaskService;
+    private final LoadHarnessStubs stubs;
+    private final LoadHarnessDatabase database;
+    private final DataSource dataSource;
+    private final LoadReport report;
+    private final BooleanSupplier running;
+    private boolean failureLogged;
+
+    public VirtualUser(int index, LoadHarnessOptions options, ApprovalTaskService approvalTaskService,
+                       LoadHarnessStubs stubs, LoadHarnessDatabase database, DataSource dataSource, LoadReport report,
+                       BooleanSupplier running) throws SQLException {
+
+        this.userId = "load-user-" + index;
+        this.workflowId = "load-workflow-" + index;
+        this.options = options;
+        this.approvalTaskService = approvalTaskService;
+        this.stubs = stubs;
+        this.database = database;
+        this.dataSource = dataSource;
+        this.report = report;
+        this.running = running;
+
+        List<String> roleIds = new ArrayList<>(options.getRolesPerUser());
+        for (int i = 0; i < options.getRolesPerUser(); i++) {
+            roleIds.add("load-role-" + index + "-" + i);
+        }
+        this.workflowParameters = buildWorkflowParameters(index, roleIds.get(0));
+        stubs.addUser(userId, roleIds);
+        stubs.addWorkflow(workflowId, workflowParameters);
+        database.insertWorkflow(workflowId, workflowId);
+    }
+
+    @Override
+    public void run() {
+
+        PrivilegedCarbonContext.startTenantFlow();
+        // Static mocks are scoped to the thread that opens them, so every virtual user opens its own.
+        try (MockedStatic<JdbcUtils> jdbcUtils = Mockito.mockStatic(JdbcUtils.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = Mockito.mockStatic(IdentityTenantUtil.class);
+             MockedStatic<LoggerUtils> loggerUtils = Mockito.mockStatic(LoggerUtils.class)) {
+            jdbcUtils.when(JdbcUtils::getNewTemplate).thenAnswer(invocation -> new JdbcTemplate(dataSource));
+            jdbcUtils.when(JdbcUtils::getNewNamedJdbcTemplate)
+                    .thenAnswer(invocation -> new NamedJdbcTemplate(dataSource));
+            jdbcUtils.when(JdbcUtils::isH2DB).thenReturn(true);
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(Mockito.anyInt()))
+                    .thenReturn(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            loggerUtils.when(LoggerUtils::isEnableV2AuditLogs).thenReturn(false);
+
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+            carbonContext.setTenantId(MultitenantConstants.SUPER_TENANT_ID);
+            carbonContext.setUsername(userId);
+            carbonContext.setUserId(userId);
+
+            while (running.getAsBoolean()) {
+                report.recordLifecycle(runLifecycle());
+            }
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private boolean runLifecycle() {
+
+        String requestId = UUID.randomUUID().toString();
+        try {
+            database.insertWorkflowRequest(requestId, workflowId, userId, LoadHarnessStubs.EVENT_TYPE);
+        } catch (SQLException e) {
+            logFailure("Error while inserting workflow request: " + requestId, e);
+            return false;
+        }
+        WorkflowRequest workflowRequest = buildWorkflowRequest(requestId);
+        stubs.addWorkflowRequest(workflowRequest);
+        try {
+            call(LoadReport.Operation.CREATE, () -> {
+                approvalTaskService.addApprovalTasksForWorkflowRequest(workflowRequest, workflowParameters);
+                return null;
+            });
+            for (int step = 1; step <= options.getSteps(); step++) {
+                String readyTaskId = call(LoadReport.Operation.LIST_READY,
+                        () -> findTask(requestId, WorkflowEngineConstants.TaskStatus.READY));
+                if (readyTaskId == null) {
+                    logFailure("No READY task found for request: " + requestId + " at step: " + step, null);
+                    return false;
+                }
+                call(LoadReport.Operation.CLAIM, () -> {
+                    approvalTaskService.updateApprovalTaskStatus(readyTaskId, buildState(StateDTO.ActionEnum.CLAIM));
+                    return null;
+                });
+                String reservedTaskId = call(LoadReport.Operation.LIST_RESERVED,
+                        () -> findTask(requestId, WorkflowEngineConstants.TaskStatus.RESERVED));
+                if (reservedTaskId == null) {
+                    logFailure("No RESERVED task found for request: " + requestId + " at step: " + step, null);
+                    return false;
+                }
+                call(LoadReport.Operation.APPROVE, () -> {
+                    approvalTaskService.updateApprovalTaskStatus(reservedTaskId,
+                            buildState(StateDTO.ActionEnum.APPROVE));
+                    return null;
+                });
+            }
+            return true;
+        } catch (WorkflowEngineException e) {
+            logFailure("Error while driving the approval lifecycle of request: " + requestId, e);
+            return false;
+        } finally {
+            stubs.removeWorkflowRequest(requestId);
+        }
+    }
+
+    private <T> T call(LoadReport.Operation operation, Call<T> call) throws WorkflowEngineException {
+
+        long statementsBefore = StatementCountingDataSource.getStatementCount();
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.execute();
+            success = true;
+            return result;
+        } finally {
+            report.record(operation, System.nanoTime() - startNanos,
+                    StatementCountingDataSource.getStatementCount() - statementsBefore, success);
+        }
+    }
+
+    private String findTask(String requestId, WorkflowEngineConstants.TaskStatus status)
+            throws WorkflowEngineException {
+
+        ApprovalTaskFilterDTO filter = new ApprovalTaskFilterDTO();
+        filter.setStatusList(Collections.singletonList(status.toString()));
+        for (ApprovalTaskSummaryDTO approvalTask : approvalTaskService.listApprovalTasks(LIST_LIMIT, 0, filter)) {
+            if (requestId.equals(approvalTask.getRequestId())) {
+                return approvalTask.getId();
+            }
+        }
+        return null;
+    }
+
+    private List<Parameter> buildWorkflowParameters(int index, String approverRoleId) {
+
+        List<Parameter> parameters = new ArrayList<>();
+        for (int step = 1; step <= options.getSteps(); step++) {
+            List<String> approvers = new ArrayList<>(options.getApproversPerStep());
+            String approverType;
+            if (step % 2 == 1) {
+                approverType = WorkflowEngineConstants.APPROVER_TYPE_USERS;
+                approvers.add(userId);
+                for (int i = 1; i < options.getApproversPerStep(); i++) {
+                    approvers.add("load-approver-" + index + "-" + step + "-" + i);
+                }
+            } else {
+                approverType = WorkflowEngineConstants.APPROVER_TYPE_ROLES;
+                approvers.add(approverRoleId);
+                for (int i = 1; i < options.getApproversPerStep(); i++) {
+                    approvers.add("load-approver-role-" + index + "-" + step + "-" + i);
+                }
+            }
+            String qName = String.join(WorkflowEngineConstants.Q_NAME_STEP_SEPARATOR,
+                    WorkflowEngineConstants.ParameterName.USER_AND_ROLE_STEP, String.valueOf(step), approverType);
+            parameters.add(new Parameter(workflowId, WorkflowEngineConstants.ParameterName.USER_AND_ROLE_STEP,
+                    String.join(",", approvers), qName, HOLDER));
+        }
+        return parameters;
+    }
+
+    private WorkflowRequest buildWorkflowRequest(String requestId) {
+
+        RequestParameter requestParameter = new RequestParameter();
+        requestParameter.setName(WorkflowEngineConstants.ParameterName.REQUEST_ID);
+        requestParameter.setValue(requestId);
+        WorkflowRequest workflowRequest = new WorkflowRequest();
+        workflowRequest.setUuid(requestId);
+        workflowRequest.setEventType(LoadHarnessStubs.EVENT_TYPE);
+        workflowRequest.setTenantId(MultitenantConstants.SUPER_TENANT_ID);
+        workflowRequest.setRequestParameters(Collections.singletonList(requestParameter));
+        return workflowRequest;
+    }
+
+    private static StateDTO buildState(StateDTO.ActionEnum action) {
+
+        StateDTO state = new StateDTO();
+        state.setAction(action);
+        return state;
+    }
+
+    private void logFailure(String message, Exception e) {
+
+        // Log the first failure of each virtual user in full. The rest are counted in the report.
+        if (!failureLogged) {
+            failureLogged = true;
+            log.error(message, e);
+        } else if (log.isDebugEnabled()) {
+            log.debug(message, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+
+        T execute() throws WorkflowEngineException;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Context of a single call to the approval task service, created at the entry point of the call and passed through
+ * its helpers. It holds the tenant of the caller, and resolves the user ID of the caller and the roles assigned to
+ * them at most once, when first needed, so that nested helpers do not repeat these lookups. Checking a single role
+ * probes the membership of the caller in that role, and only loads all the roles of the caller when the probe cannot
+ * confirm it.
+ * <p>
+ * A context is confined to the thread that handles the call, and is not shared with asynchronous tasks.
+ */
+final class ApprovalCallContext {
+
+    private final int tenantId;
+    private final String tenantDomain;
+    private final long startTimeMillis;
+    private final UserIdResolver userIdResolver;
+    private final RoleIdLoader roleIdLoader;
+    private final RoleMembershipProbe roleMembershipProbe;
+    private String userId;
+    private Set<String> roleIds;
+
+    ApprovalCallContext(int tenantId, String tenantDomain, UserIdResolver userIdResolver,
+                        RoleIdLoader roleIdLoader, RoleMembershipProbe roleMembershipProbe) {
+
+        this.tenantId = tenantId;
+        this.tenantDomain = tenantDomain;
+        this.startTimeMillis = System.currentTimeMillis();
+        this.userIdResolver = userIdResolver;
+        this.roleIdLoader = roleIdLoader;
+        this.roleMembershipProbe = roleMembershipProbe;
+    }
+
+    int getTenantId() {
+
+        return tenantId;
+    }
+
+    String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    /**
+     * Time the call started at, in milliseconds since the epoch.
+     */
+    long getStartTimeMillis() {
+
+        return startTimeMillis;
+    }
+
+    /**
+     * Get the resolved user ID of the caller. The user ID is resolved on the first call only.
+     *
+     * @return User ID of the caller.
+     * @throws WorkflowEngineException If the user ID could not be resolved.
+     */
+    String getUserId() throws WorkflowEngineException {
+
+        if (userId == null) {
+            userId = userIdResolver.resolve();
+        }
+        return userId;
+    }
+
+    /**
+     * Get the IDs of the roles assigned to the caller, in the order the role management service returned them.
+     * The roles are loaded on the first call only.
+     *
+     * @return Unmodifiable set of role IDs.
+     * @throws WorkflowEngineException If the roles could not be loaded.
+     */
+    Set<String> getRoleIds() throws WorkflowEngineException {
+
+        if (roleIds == null) {
+            roleIds = Collections.unmodifiableSet(new LinkedHashSet<>(roleIdLoader.load(getUserId(), tenantDomain)));
+        }
+        return roleIds;
+    }
+
+    /**
+     * Check whether the caller is assigned the given role. Unless the roles of the caller are already loaded, the
+     * membership of the caller in the role is probed first, which does not depend on the number of roles assigned to
+     * the caller. The roles of the caller are loaded only if the probe cannot confirm the membership, for example
+     * when the role is assigned through a group.
+     *
+     * @param roleId Role ID.
+     * @return True if the role is assigned to the caller.
+     * @throws WorkflowEngineException If the membership could not be checked.
+     */
+    boolean hasRole(String roleId) throws WorkflowEngineException {
+
+        if (roleIds == null && roleMembershipProbe.isAssigned(getUserId(), roleId)) {
+            return true;
+        }
+        return getRoleIds().contains(roleId);
+    }
+
+    /**
+     * Resolves the user ID of the caller.
+     */
+    @FunctionalInterface
+    interface UserIdResolver {
+
+        String resolve() throws WorkflowEngineException;
+    }
+
+    /**
+     * Loads the IDs of the roles assigned to a user.
+     */
+    @FunctionalInterface
+    interface RoleIdLoader {
+
+        List<String> load(String userId, String tenantDomain) throws WorkflowEngineException;
+    }
+
+    /**
+     * Checks whether a role is directly assigned to a user, without loading the other roles of the user. A probe
+     * returns false when it cannot confirm the assignment.
+     */
+    @FunctionalInterface
+    interface RoleMembershipProbe {
+
+        boolean isAssigned(String userId, String roleId) throws WorkflowEngineException;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Groups the approval task creation of concurrently executed workflow requests, so that the approval tasks of many
+ * requests are written in a single transaction. The first caller to find no batch in progress writes the requests
+ * queued so far, up to the maximum batch size, while the callers arriving in the meantime queue their requests for
+ * the next batch. Every caller returns only once its own request is written, so a workflow request is never reported
+ * as executed before its approval tasks are committed.
+ * <p>
+ * A lone caller waits at most the configured maximum wait for other requests to join its batch. With the default wait
+ * of zero, batches form only from the requests queued while the previous batch is written.
+ * When a batch fails, its requests are written one at a time, so that a single failing request does not fail the
+ * requests it was batched with.
+ */
+public final class ApprovalTaskCreationBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalTaskCreationBatcher.class);
+
+    private static final ApprovalTaskCreationBatcher INSTANCE = new ApprovalTaskCreationBatcher();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchFull = lock.newCondition();
+    private final Condition batchWritten = lock.newCondition();
+    private final Deque<PendingRequest> queue = new ArrayDeque<>();
+    private boolean writing;
+    private volatile boolean enabled;
+    private volatile int maxBatchSize = WorkflowEngineConstants.DEFAULT_TASK_CREATION_BATCH_MAX_SIZE;
+    private volatile long maxWaitMillis = WorkflowEngineConstants.DEFAULT_TASK_CREATION_BATCH_MAX_WAIT_MILLIS;
+
+    ApprovalTaskCreationBatcher() {
+
+    }
+
+    public static ApprovalTaskCreationBatcher getInstance() {
+
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+    }
+
+    /**
+     * @return Number of workflow requests waiting for a batch to be written.
+     */
+    int getQueuedRequestCount() {
+
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add the approval tasks of a workflow request as part of a batch, and wait until they are written.
+     *
+     * @param plan   Approval tasks of the workflow request.
+     * @param writer Writer used if this caller writes the batch.
+     * @throws WorkflowEngineException If the approval tasks of the workflow request could not be added.
+     */
+    void add(ApprovalTaskPlan plan, BatchWriter writer) throws WorkflowEngineException {
+
+        PendingRequest request = new PendingRequest(plan);
+        boolean writesBatch;
+        lock.lock();
+        try {
+            queue.add(request);
+            if (queue.size() >= maxBatchSize) {
+                batchFull.signal();
+            }
+            // The request is already queued, so it is written by whichever caller writes the next batches.
+            while (writing && !request.done) {
+                batchWritten.awaitUninterruptibly();
+            }
+            writesBatch = !request.done;
+            writing |= writesBatch;
+        } finally {
+            lock.unlock();
+        }
+        if (writesBatch) {
+            try {
+                while (!request.done) {
+                    write(nextBatch(), writer);
+                }
+            } finally {
+                lock.lock();
+                try {
+                    writing = false;
+                    batchWritten.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        request.throwIfFailed();
+    }
+
+    /**
+     * Take the next batch from the queue, once it is full or the maximum wait has passed.
+     */
+    private List<PendingRequest> nextBatch() {
+
+        lock.lock();
+        try {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+            while (queue.size() < maxBatchSize && remainingNanos > 0) {
+                try {
+                    remainingNanos = batchFull.awaitNanos(remainingNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            List<PendingRequest> batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+            while (!queue.isEmpty() && batch.size() < maxBatchSize) {
+                batch.add(queue.poll());
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<PendingRequest> batch, BatchWriter writer) {
+
+        try {
+            writer.write(plansOf(batch));
+        } catch (WorkflowEngineException | RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).failure = e;
+            } else {
+                log.warn("Error while adding the approval tasks of a batch of {} workflow requests. Adding them " +
+                        "one at a time.", batch.size(), e);
+                for (PendingRequest request : batch) {
+                    try {
+                        writer.write(Collections.singletonList(request.plan));
+                    } catch (WorkflowEngineException | RuntimeException requestException) {
+                        request.failure = requestException;
+                    }
+                }
+            }
+        } finally {
+            lock.lock();
+            try {
+                for (PendingRequest request : batch) {
+                    request.done = true;
+                }
+                batchWritten.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static List<ApprovalTaskPlan> plansOf(List<PendingRequest> batch) {
+
+        List<ApprovalTaskPlan> plans = new ArrayList<>(batch.size());
+        for (PendingRequest request : batch) {
+            plans.add(request.plan);
+        }
+        return plans;
+    }
+
+    /**
+     * Writes the approval tasks of a batch of workflow requests.
+     */
+    interface BatchWriter {
+
+        /**
+         * Add the approval tasks of the given workflow requests in a single transaction.
+         *
+         * @param plans Approval tasks of the workflow requests of the batch.
+         * @throws WorkflowEngineException If the approval tasks could not be added. None of them are added then.
+         */
+        void write(List<ApprovalTaskPlan> plans) throws WorkflowEngineException;
+    }
+
+    /**
+     * A workflow request waiting for its approval tasks to be added.
+     */
+    private static final class PendingRequest {
+
+        private final ApprovalTaskPlan plan;
+        // Guarded by the lock of the batcher.
+        private boolean done;
+        private Exception failure;
+
+        private PendingRequest(ApprovalTaskPlan plan) {
+
+            this.plan = plan;
+        }
+
+        private void throwIfFailed() throws WorkflowEngineException {
+
+            if (failure instanceof WorkflowEngineException) {
+                throw (WorkflowEngineException) failure;
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+        }
+    }
+}
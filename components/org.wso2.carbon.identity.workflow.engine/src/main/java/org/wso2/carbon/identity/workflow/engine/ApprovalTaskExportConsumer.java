@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskExportDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+
+/**
+ * Receives the approval tasks exported by {@link ApprovalTaskService#exportApprovalTasks(ApprovalTaskExportConsumer)}
+ * one at a time.
+ */
+@FunctionalInterface
+public interface ApprovalTaskExportConsumer {
+
+    /**
+     * Accept an exported approval task. Throwing an exception aborts the export.
+     *
+     * @param approvalTask Exported approval task.
+     * @throws WorkflowEngineException If the approval task cannot be processed.
+     */
+    void accept(ApprovalTaskExportDTO approvalTask) throws WorkflowEngineException;
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskRelationDTO;
+
+import java.util.List;
+
+/**
+ * Approval tasks to be added for the current approval step of a workflow request, resolved from the workflow
+ * parameters before any of them is written. Holds the context of the call that executed the workflow request, so that
+ * the approvers can be notified in its tenant once the approval tasks are written.
+ */
+final class ApprovalTaskPlan {
+
+    private final ApprovalCallContext context;
+    private final String tenantDomain;
+    private final String workflowRequestId;
+    private final String workflowId;
+    private final int step;
+    private final boolean firstStep;
+    private final List<ApprovalTaskRelationDTO> approvalTasks;
+    private final String approverNotificationChannels;
+
+    ApprovalTaskPlan(ApprovalCallContext context, String tenantDomain, String workflowRequestId, String workflowId,
+                     int step, boolean firstStep, List<ApprovalTaskRelationDTO> approvalTasks,
+                     String approverNotificationChannels) {
+
+        this.context = context;
+        this.tenantDomain = tenantDomain;
+        this.workflowRequestId = workflowRequestId;
+        this.workflowId = workflowId;
+        this.step = step;
+        this.firstStep = firstStep;
+        this.approvalTasks = approvalTasks;
+        this.approverNotificationChannels = approverNotificationChannels;
+    }
+
+    ApprovalCallContext getContext() {
+
+        return context;
+    }
+
+    /**
+     * Tenant domain of the workflow request, which the role approvers are resolved in.
+     */
+    String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    String getWorkflowRequestId() {
+
+        return workflowRequestId;
+    }
+
+    String getWorkflowId() {
+
+        return workflowId;
+    }
+
+    /**
+     * Approval step the approval tasks are added for.
+     */
+    int getStep() {
+
+        return step;
+    }
+
+    /**
+     * Whether the workflow request has no approval step state yet, in which case it is added at the first step.
+     * Otherwise the existing state is moved to the step of the plan.
+     */
+    boolean isFirstStep() {
+
+        return firstStep;
+    }
+
+    List<ApprovalTaskRelationDTO> getApprovalTasks() {
+
+        return approvalTasks;
+    }
+
+    String getApproverNotificationChannels() {
+
+        return approverNotificationChannels;
+    }
+}
@@ -20,6 +20,7 @@ package org.wso2.carbon.identity.workflow.engine;
 
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskListDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.StateDTO;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
@@ -46,6 +47,49 @@ public interface ApprovalTaskService {
     List<ApprovalTaskSummaryDTO> listApprovalTasks(Integer limit, Integer offset, ApprovalTaskFilterDTO filter)
             throws WorkflowEngineException;
 
+    /**
+     * Search available approval tasks for the current authenticated user with advanced filtering, optionally
+     * returning the total number of matching tasks along with the requested page.
+     *
+     * @param limit             number of records to be returned.
+     * @param offset            start page.
+     * @param filter            filter criteria for approval tasks.
+     * @param includeTotalCount whether the total number of matching tasks should be returned.
+     * @return ApprovalTaskListDTO with the requested page and, if requested, the total count.
+     */
+    ApprovalTaskListDTO listApprovalTasks(Integer limit, Integer offset, ApprovalTaskFilterDTO filter,
+                                          boolean includeTotalCount) throws WorkflowEngineException;
+
+    /**
+     * Count the approval tasks of the current authenticated user matching the filter, e.g. for an inbox badge.
+     * The count is computed from tasks grouped by the database without loading them, and equals the number of tasks
+     * {@link #listApprovalTasks(Integer, Integer, ApprovalTaskFilterDTO)} returns across all pages.
+     *
+     * @param filter filter criteria for approval tasks.
+     * @return number of matching approval tasks.
+     */
+    int countApprovalTasks(ApprovalTaskFilterDTO filter) throws WorkflowEngineException;
+
+    /**
+     * Count the READY and RESERVED approval tasks assigned to the current authenticated user and their roles, e.g.
+     * for a pending task badge. Unlike {@link #countApprovalTasks(ApprovalTaskFilterDTO)}, a task is counted once per
+     * assignment, so a task offered to both the user and one of their roles is counted twice. When the pending task
+     * counters are enabled, the count is served from memory and may briefly lag changes made by other nodes.
+     *
+     * @return number of pending approval tasks.
+     */
+    int countPendingApprovalTasks() throws WorkflowEngineException;
+
+    /**
+     * Export all the approval tasks of the current tenant, together with the properties of their workflow requests,
+     * e.g. for compliance reports. The tasks are read through a database cursor and handed to the consumer in
+     * workflow request order, so memory use does not grow with the number of tasks. The caller is responsible for
+     * authorizing the export, as it is not limited to the tasks of the current user.
+     *
+     * @param consumer consumer the approval tasks are handed to. Exceptions it throws abort the export.
+     */
+    void exportApprovalTasks(ApprovalTaskExportConsumer consumer) throws WorkflowEngineException;
+
     /**
      * Get details of a task identified by the taskId.
      *
@@ -45,21 +45,30 @@ import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagemen
 import org.wso2.carbon.identity.role.v2.mgt.core.exception.IdentityRoleManagementException;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.RoleBasicInfo;
 import org.wso2.carbon.identity.role.v2.mgt.core.model.UserBasicInfo;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskExportDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskListDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskRelationDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApproverDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.PropertyDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.StateDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.WorkflowRequestSummaryDTO;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.ApprovalCallbackQueue;
+import org.wso2.carbon.identity.workflow.engine.internal.PendingApprovalTaskCounters;
+import org.wso2.carbon.identity.workflow.engine.internal.RoleInfoCache;
 import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowRequestSummaryCache;
 import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalTaskDAO;
 import org.wso2.carbon.identity.workflow.engine.internal.dao.WorkflowRequestDAO;
 import org.wso2.carbon.identity.workflow.engine.internal.dao.impl.ApprovalTaskDAOImpl;
 import org.wso2.carbon.identity.workflow.engine.internal.dao.impl.WorkflowRequestDAOImpl;
+import org.wso2.carbon.identity.workflow.engine.metrics.ApprovalTaskMetrics;
 import org.wso2.carbon.identity.workflow.engine.model.TaskModel;
 import org.wso2.carbon.identity.workflow.engine.util.ApprovalTaskAuditLogger;
 import org.wso2.carbon.identity.workflow.engine.util.Utils;
@@ -74,6 +83,7 @@ import org.wso2.carbon.identity.workflow.mgt.exception.WorkflowException;
 import org.wso2.carbon.identity.workflow.mgt.util.WorkflowDataType;
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
+import org.wso2.carbon.user.core.util.UserCoreUtil;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -81,13 +91,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.wso2.carbon.identity.claim.metadata.mgt.util.ClaimConstants.DISPLAY_NAME_PROPERTY;
@@ -108,10 +120,16 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
 
     private final ApprovalTaskDAO approvalTaskDAO = new ApprovalTaskDAOImpl();
     private final WorkflowRequestDAO workflowRequestDAO = new WorkflowRequestDAOImpl();
-    private final WSWorkflowCallBackService wsWorkflowCallBackService = new WSWorkflowCallBackService();
-    private final ClaimMetadataManagementServiceImpl claimMetadataManagementService =
-            new ClaimMetadataManagementServiceImpl();
+    // Created on first use, as most calls to the service neither complete a workflow request nor resolve claims.
+    private volatile WSWorkflowCallBackService wsWorkflowCallBackService;
+    private volatile ClaimMetadataManagementServiceImpl claimMetadataManagementService;
     private final ApprovalTaskAuditLogger auditLogger = new ApprovalTaskAuditLogger();
+    private final ApprovalTaskMetrics metrics = ApprovalTaskMetrics.getInstance();
+    private final PendingApprovalTaskCounters pendingTaskCounters = PendingApprovalTaskCounters.getInstance();
+    private final WorkflowRequestSummaryCache requestSummaryCache = WorkflowRequestSummaryCache.getInstance();
+    private final RoleInfoCache roleInfoCache = RoleInfoCache.getInstance();
+    private final ApprovalCallbackQueue callbackQueue = ApprovalCallbackQueue.getInstance();
+    private final ApprovalTaskCreationBatcher taskCreationBatcher = ApprovalTaskCreationBatcher.getInstance();
 
     private static final String ROLE_ID_PARAM_NAME = "Role ID";
     private static final String ROLE_NAME_PARAM_NAME = "Role Name";
@@ -129,90 +147,343 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
     private static final String NOTIFICATION_EVENT_NAME_PREFIX = "TRIGGER_";
     private static final String NOTIFICATION_EVENT_NAME_SUFFIX = "_NOTIFICATION";
     private static final String NOTIFICATION_EVENT_NAME_SUFFIX_LOCAL = "_LOCAL";
-    private static final int THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
-    private final ExecutorService executorService = ThreadLocalAwareExecutors.newFixedThreadPool(THREAD_POOL_SIZE);
+    private static final int DEFAULT_THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    private final ExecutorService executorService;
+    // Separate from the notification pool, so that queued notifications do not delay the approval task views.
+    private final ExecutorService propertyResolutionExecutor;
+    private final PropertyLookupResolver propertyLookupResolver;
+
+    public ApprovalTaskServiceImpl() {
+
+        this(newThreadPool(WorkflowEngineConstants.ConfigKeys.NOTIFICATION_THREAD_POOL_SIZE),
+                newThreadPool(WorkflowEngineConstants.ConfigKeys.PROPERTY_RESOLUTION_THREAD_POOL_SIZE));
+    }
+
+    ApprovalTaskServiceImpl(ExecutorService executorService, ExecutorService propertyResolutionExecutor) {
+
+        this.executorService = executorService;
+        this.propertyResolutionExecutor = propertyResolutionExecutor;
+        this.propertyLookupResolver = new PropertyLookupResolver(propertyResolutionExecutor);
+    }
 
     @Override
     public List<ApprovalTaskSummaryDTO> listApprovalTasks(Integer limit, Integer offset, ApprovalTaskFilterDTO filter)
             throws WorkflowEngineException {
 
-        if (limit == null || limit < 0) {
-            limit = LIMIT;
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(ApprovalTaskMetrics.Operation.LIST_APPROVAL_TASKS)) {
+            List<ApprovalTaskSummaryDTO> approvalTasks = listAssignedApprovalTasks(newCallContext(), limit, offset,
+                    filter, null);
+            timer.success();
+            return approvalTasks;
         }
-        if (offset == null || offset < 0) {
-            offset = OFFSET;
+    }
+
+    @Override
+    public ApprovalTaskListDTO listApprovalTasks(Integer limit, Integer offset, ApprovalTaskFilterDTO filter,
+                                                 boolean includeTotalCount) throws WorkflowEngineException {
+
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(ApprovalTaskMetrics.Operation.LIST_APPROVAL_TASKS)) {
+            ApprovalTaskListDTO approvalTaskList = new ApprovalTaskListDTO();
+            approvalTaskList.setApprovalTasks(listAssignedApprovalTasks(newCallContext(), limit, offset, filter,
+                    includeTotalCount ? approvalTaskList : null));
+            timer.success();
+            return approvalTaskList;
         }
+    }
 
-        String userId = Utils.resolveUserID(CarbonContext.getThreadLocalCarbonContext().getUserId());
+    @Override
+    public int countApprovalTasks(ApprovalTaskFilterDTO filter) throws WorkflowEngineException {
+
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(
+                ApprovalTaskMetrics.Operation.COUNT_APPROVAL_TASKS)) {
+            ApprovalCallContext context = newCallContext();
+            int count = approvalTaskDAO.countFilteredApprovalTasks(getAssignedEntityIds(context), filter,
+                    context.getTenantId());
+            timer.success();
+            return count;
+        }
+    }
 
-        // Filter the reserved workflow requests to filter out the BLOCKED tasks corresponding to the same request.
-        List<ApprovalTaskSummaryDTO> approvalTaskSummaryDTOS = getAllAssignedTasksWithFilter(filter, userId, limit,
-                offset);
+    @Override
+    public int countPendingApprovalTasks() throws WorkflowEngineException {
+
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(
+                ApprovalTaskMetrics.Operation.COUNT_PENDING_APPROVAL_TASKS)) {
+            ApprovalCallContext context = newCallContext();
+            List<String> entityIds = getAssignedEntityIds(context);
+            int count = pendingTaskCounters.isEnabled() ?
+                    pendingTaskCounters.getPendingTaskCount(context.getTenantId(), entityIds) :
+                    approvalTaskDAO.countPendingApprovalTasks(entityIds, context.getTenantId());
+            timer.success();
+            return count;
+        }
+    }
 
-        List<String> reservedWorkflowRequests = approvalTaskSummaryDTOS.stream()
-                .filter(approvalTask -> WorkflowEngineConstants.TaskStatus.RESERVED.name()
-                        .equals(approvalTask.getApprovalStatus()))
-                .map(approvalTask -> approvalTask.getRequestId() + ":" + approvalTask.getWorkflowId())
-                .collect(Collectors.toList());
-        Set<String> processedRequestIds = new HashSet<>();
-        Iterator<ApprovalTaskSummaryDTO> iterator = approvalTaskSummaryDTOS.iterator();
-        while (iterator.hasNext()) {
-            ApprovalTaskSummaryDTO approvalTaskSummaryDTO = iterator.next();
-            String uniqueKey = approvalTaskSummaryDTO.getRequestId() + ":" + approvalTaskSummaryDTO.getWorkflowId();
-            if (processedRequestIds.contains(uniqueKey)) {
-                iterator.remove();
-                continue;
+    @Override
+    public void exportApprovalTasks(ApprovalTaskExportConsumer consumer) throws WorkflowEngineException {
+
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(
+                ApprovalTaskMetrics.Operation.EXPORT_APPROVAL_TASKS)) {
+            ApprovalCallContext context = newCallContext();
+            int fetchSize = Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.EXPORT_FETCH_SIZE,
+                    WorkflowEngineConstants.DEFAULT_EXPORT_FETCH_SIZE);
+            int batchSize = Math.max(1, Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.EXPORT_BATCH_SIZE,
+                    WorkflowEngineConstants.DEFAULT_EXPORT_BATCH_SIZE));
+            List<ApprovalTaskExportDTO> batch = new ArrayList<>(batchSize);
+            approvalTaskDAO.streamApprovalTasksOfTenant(context.getTenantId(), fetchSize, approvalTask -> {
+                batch.add(approvalTask);
+                if (batch.size() >= batchSize) {
+                    exportApprovalTaskBatch(context, batch, consumer);
+                }
+            });
+            exportApprovalTaskBatch(context, batch, consumer);
+            timer.success();
+        }
+    }
+
+    @Override
+    public ApprovalTaskDTO getApprovalTaskByTaskId(String taskId) throws WorkflowEngineException {
+
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(ApprovalTaskMetrics.Operation.GET_APPROVAL_TASK)) {
+            ApprovalTaskDTO approvalTaskDTO = buildApprovalTaskDTO(newCallContext(), taskId);
+            timer.success();
+            return approvalTaskDTO;
+        }
+    }
+
+    @Override
+    public void updateApprovalTaskStatus(String approvalTaskId, StateDTO nextState) throws WorkflowEngineException {
+
+        String action = nextState.getAction() != null ? nextState.getAction().name() : null;
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(
+                ApprovalTaskMetrics.Operation.UPDATE_APPROVAL_TASK_STATUS, action)) {
+            ApprovalCallContext context = newCallContext();
+            String requestId = pendingTaskCounters.isEnabled() ?
+                    approvalTaskDAO.getWorkflowRequestIdByApprovalTaskId(approvalTaskId) : null;
+            updateTrackingPendingTaskCounts(context, requestId,
+                    () -> performApprovalTaskAction(context, approvalTaskId, nextState));
+            timer.success();
+        }
+    }
+
+    @Override
+    public void addApprovalTasksForWorkflowRequest(WorkflowRequest workflowRequest, List<Parameter> parameterList)
+            throws WorkflowEngineException {
+
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(ApprovalTaskMetrics.Operation.ADD_APPROVAL_TASKS)) {
+            ApprovalCallContext context = newCallContext();
+            updateTrackingPendingTaskCounts(context, getWorkflowRequestId(workflowRequest),
+                    () -> addApprovalTasks(context, workflowRequest, parameterList, true));
+            timer.success();
+        }
+    }
+
+    @Override
+    public void updatePendingApprovalTasksOnWorkflowUpdate(String workflowId, List<Parameter> newWorkflowParams,
+                                                           List<Parameter> oldWorkflowParams)
+            throws WorkflowEngineException {
+
+        ApprovalCallContext context = newCallContext();
+        try (ApprovalTaskMetrics.Timer timer = metrics.startTimer(
+                ApprovalTaskMetrics.Operation.UPDATE_PENDING_APPROVAL_TASKS_ON_WORKFLOW_UPDATE);
+             PendingApprovalTaskCounters.Update ignored = pendingTaskCounters.beginUpdate(context.getTenantId())) {
+            // Not recorded, as any request of the workflow may be affected. The counters of the tenant are reloaded.
+            updatePendingApprovalTasks(context, workflowId, newWorkflowParams, oldWorkflowParams);
+            timer.success();
+        }
+    }
+
+    /**
+     * Stop the thread pools of the service. Notifications and property lookups already submitted are given a short
+     * time to complete.
+     */
+    public void shutdown() {
+
+        List<ExecutorService> executors = Arrays.asList(executorService, propertyResolutionExecutor);
+        executors.forEach(ExecutorService::shutdown);
+        try {
+            for (ExecutorService executor : executors) {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executors.forEach(ExecutorService::shutdownNow);
+        }
+    }
 
-            /* The tasks with BLOCKED state where the corresponding workflow request already has a RESERVED task should
-               be skipped to avoid duplication in the list. */
-            if (reservedWorkflowRequests.contains(uniqueKey) && WorkflowEngineConstants.TaskStatus.BLOCKED.name()
-                    .equals(approvalTaskSummaryDTO.getApprovalStatus())) {
-                iterator.remove();
-                continue;
+    private static ExecutorService newThreadPool(String poolSizeKey) {
+
+        return ThreadLocalAwareExecutors.newFixedThreadPool(Math.max(1, Utils.getIntConfig(poolSizeKey,
+                DEFAULT_THREAD_POOL_SIZE)));
+    }
+
+    private WSWorkflowCallBackService getWSWorkflowCallBackService() {
+
+        WSWorkflowCallBackService callBackService = wsWorkflowCallBackService;
+        if (callBackService == null) {
+            synchronized (this) {
+                callBackService = wsWorkflowCallBackService;
+                if (callBackService == null) {
+                    callBackService = new WSWorkflowCallBackService();
+                    wsWorkflowCallBackService = callBackService;
+                }
+            }
+        }
+        return callBackService;
+    }
+
+    private ClaimMetadataManagementServiceImpl getClaimMetadataManagementService() {
+
+        ClaimMetadataManagementServiceImpl claimMetadataService = claimMetadataManagementService;
+        if (claimMetadataService == null) {
+            synchronized (this) {
+                claimMetadataService = claimMetadataManagementService;
+                if (claimMetadataService == null) {
+                    claimMetadataService = new ClaimMetadataManagementServiceImpl();
+                    claimMetadataManagementService = claimMetadataService;
+                }
+            }
+        }
+        return claimMetadataService;
+    }
+
+    /**
+     * Create the context of a call to the service, from the carbon context of the calling thread.
+     *
+     * @return Context of the call.
+     */
+    private ApprovalCallContext newCallContext() {
+
+        CarbonContext carbonContext = CarbonContext.getThreadLocalCarbonContext();
+        String callerUserId = carbonContext.getUserId();
+        int tenantId = carbonContext.getTenantId();
+        String tenantDomain = carbonContext.getTenantDomain();
+        return new ApprovalCallContext(tenantId, tenantDomain, () -> Utils.resolveUserID(callerUserId),
+                this::getAssignedRoleIds, new RoleNameMembershipProbe(tenantDomain, this::loadRoleInfo,
+                        (userId, roleName) -> isUserInRole(userId, roleName, tenantId)));
+    }
+
+    /**
+     * Runs an update of the approval tasks of a workflow request, and records the resulting change of the pending
+     * task counts of its approvers when the pending task counters are maintained.
+     *
+     * @param context   Context of the call.
+     * @param requestId Workflow request ID, may be null if the counters are not maintained.
+     * @param update    Update of the approval tasks of the request.
+     */
+    private void updateTrackingPendingTaskCounts(ApprovalCallContext context, String requestId,
+                                                 ApprovalTaskUpdate update) throws WorkflowEngineException {
+
+        try (PendingApprovalTaskCounters.Update countersUpdate = pendingTaskCounters.beginUpdate(
+                context.getTenantId(), StringUtils.defaultIfEmpty(requestId, null))) {
+            if (!countersUpdate.isTracked() || StringUtils.isEmpty(requestId)) {
+                update.execute();
+                return;
             }
+            Map<String, Integer> before = getPendingTaskCountsOfRequest(requestId);
+            update.execute();
+            countersUpdate.record(before, getPendingTaskCountsOfRequest(requestId));
+        }
+    }
+
+    private Map<String, Integer> getPendingTaskCountsOfRequest(String requestId)
+            throws WorkflowEngineServerException {
 
-            /* If the task is in APPROVED state, skip adding it to the processedRequestIds set as there can be tasks in
-               READY / RESERVED state for the same workflow request when it is a multistep approval process. */
-            if (!WorkflowEngineConstants.TaskStatus.APPROVED.name()
-                    .equals(approvalTaskSummaryDTO.getApprovalStatus())) {
-                processedRequestIds.add(uniqueKey);
+        Map<String, Integer> pendingTaskCounts = new HashMap<>();
+        for (ApprovalTaskRelationDTO relation : approvalTaskDAO.getApprovalTaskRelationsByWorkflowRequestId(
+                requestId)) {
+            if (WorkflowEngineConstants.TaskStatus.READY.name().equals(relation.getTaskStatus()) ||
+                    WorkflowEngineConstants.TaskStatus.RESERVED.name().equals(relation.getTaskStatus())) {
+                pendingTaskCounts.merge(relation.getApproverName(), 1, Integer::sum);
             }
+        }
+        return pendingTaskCounts;
+    }
+
+    private List<ApprovalTaskSummaryDTO> listAssignedApprovalTasks(ApprovalCallContext context, Integer limit,
+                                                                   Integer offset, ApprovalTaskFilterDTO filter,
+                                                                   ApprovalTaskListDTO totalCountHolder)
+            throws WorkflowEngineException {
+
+        if (limit == null || limit < 0) {
+            limit = LIMIT;
+        }
+        if (offset == null || offset < 0) {
+            offset = OFFSET;
+        }
 
-            WorkflowRequest request = getWorkflowRequest(approvalTaskSummaryDTO.getRequestId());
+        List<ApprovalTaskSummaryDTO> approvalTaskSummaryDTOS = getAllAssignedTasksWithFilter(context, filter, limit,
+                offset);
+
+        // Filter the reserved workflow requests to filter out the BLOCKED tasks corresponding to the same request.
+        Utils.removeDuplicateApprovalTasks(approvalTaskSummaryDTOS);
+        if (totalCountHolder != null) {
+            totalCountHolder.setTotalCount(approvalTaskSummaryDTOS.size());
+        }
+
+        // Only the tasks of the requested page are enriched, as each of them costs several lookups.
+        List<ApprovalTaskSummaryDTO> page = approvalTaskSummaryDTOS.subList(
+                Math.min(offset, approvalTaskSummaryDTOS.size()),
+                Math.min(offset + limit, approvalTaskSummaryDTOS.size()));
+        for (ApprovalTaskSummaryDTO approvalTaskSummaryDTO : page) {
+            WorkflowRequestSummaryDTO request = getWorkflowRequestSummary(approvalTaskSummaryDTO.getRequestId());
             
             String eventType = request.getEventType();
 
             String workflowID = approvalTaskSummaryDTO.getWorkflowId();
             String workflowAssociationName = findAssociationNameByWorkflowAndEvent(workflowID, eventType);
 
-            Timestamp createdTime = workflowRequestDAO.getCreatedAtTimeInMill(request.getUuid());
+            Timestamp createdTime = request.getCreatedTime();
             approvalTaskSummaryDTO.setName(workflowAssociationName);
             approvalTaskSummaryDTO.setTaskType(eventType);
             approvalTaskSummaryDTO.setCreatedTimeInMillis(String.valueOf(createdTime.getTime()));
             approvalTaskSummaryDTO.setPriority(WorkflowEngineConstants.ParameterName.PRIORITY);
         }
 
-        return approvalTaskSummaryDTOS.subList(Math.min(offset, approvalTaskSummaryDTOS.size()),
-                Math.min(offset + limit, approvalTaskSummaryDTOS.size()));
+        return page;
     }
 
-    @Override
-    public ApprovalTaskDTO getApprovalTaskByTaskId(String taskId) throws WorkflowEngineException {
+    /**
+     * Add the properties of their workflow requests to a batch of exported approval tasks, hand them to the
+     * consumer and clear the batch. The tasks are streamed in workflow request order, so the properties of a request
+     * are usually resolved once for all of its tasks.
+     */
+    private void exportApprovalTaskBatch(ApprovalCallContext context, List<ApprovalTaskExportDTO> batch,
+                                         ApprovalTaskExportConsumer consumer) throws WorkflowEngineException {
+
+        Map<String, List<PropertyDTO>> requestProperties = new HashMap<>();
+        for (ApprovalTaskExportDTO approvalTask : batch) {
+            List<PropertyDTO> properties = requestProperties.get(approvalTask.getRequestId());
+            if (properties == null) {
+                WorkflowRequestSummaryDTO request = getWorkflowRequestSummary(approvalTask.getRequestId());
+                properties = request != null ? getRequestParameters(context, request) : Collections.emptyList();
+                requestProperties.put(approvalTask.getRequestId(), properties);
+            }
+            approvalTask.setProperties(properties);
+            consumer.accept(approvalTask);
+        }
+        batch.clear();
+    }
+
+    private ApprovalTaskDTO buildApprovalTaskDTO(ApprovalCallContext context, String taskId)
+            throws WorkflowEngineException {
 
         taskId = taskId.trim();
         String requestId = approvalTaskDAO.getWorkflowRequestIdByApprovalTaskId(taskId);
         if (StringUtils.isEmpty(requestId)) {
             return null;
         }
-        WorkflowRequest request = getWorkflowRequest(requestId);
+        WorkflowRequestSummaryDTO request = getWorkflowRequestSummary(requestId);
         String initiator = workflowRequestDAO.getInitiatedUser(requestId);
         List<String> approvers = approvalTaskDAO.listApprovers(taskId);
         Map<String, String> assigneeMap = new HashMap<>();
         for (String assignee : approvers) {
             assigneeMap.put(WorkflowEngineConstants.ParameterName.ASSIGNEE_TYPE, assignee);
         }
-        List<PropertyDTO> properties = getRequestParameters(request);
+        List<PropertyDTO> properties = getRequestParameters(context, request);
         ApprovalTaskDTO approvalTaskDTO = new ApprovalTaskDTO();
         approvalTaskDTO.setId(taskId);
         String statusValue = approvalTaskDAO.getApprovalTaskStatus(taskId);
@@ -226,23 +497,23 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         return approvalTaskDTO;
     }
 
-    @Override
-    public void updateApprovalTaskStatus(String approvalTaskId, StateDTO nextState) throws WorkflowEngineException {
+    private void performApprovalTaskAction(ApprovalCallContext context, String approvalTaskId, StateDTO nextState)
+            throws WorkflowEngineException {
 
-        validateApprovers(approvalTaskId);
+        validateApprovers(context, approvalTaskId);
 
         switch (nextState.getAction()) {
             case APPROVE:
-                handleApproval(approvalTaskId);
+                handleApproval(context, approvalTaskId);
                 break;
             case REJECT:
-                handleReject(approvalTaskId);
+                handleReject(context, approvalTaskId);
                 break;
             case RELEASE:
                 handleRelease(approvalTaskId);
                 break;
             case CLAIM:
-                handleClaim(approvalTaskId);
+                handleClaim(context, approvalTaskId);
                 break;
             default:
                 throw new WorkflowEngineClientException(
@@ -311,7 +582,7 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
-    private WorkflowRequest buildWorkflowRequest(String workflowRequestId) {
+    private WorkflowRequest buildWorkflowRequest(ApprovalCallContext context, String workflowRequestId) {
 
         WorkflowRequest workflowRequest = new WorkflowRequest();
         RequestParameter requestParameter = new RequestParameter();
@@ -319,17 +590,65 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         requestParameter.setValue(workflowRequestId);
         workflowRequest.setRequestParameters(Collections.singletonList(requestParameter));
         workflowRequest.setUuid(workflowRequestId);
-        workflowRequest.setTenantId(CarbonContext.getThreadLocalCarbonContext().getTenantId());
+        workflowRequest.setTenantId(context.getTenantId());
         return workflowRequest;
     }
 
-    @Override
-    public void addApprovalTasksForWorkflowRequest(WorkflowRequest workflowRequest, List<Parameter> parameterList)
-            throws WorkflowEngineException {
+    private void addApprovalTasks(ApprovalCallContext context, WorkflowRequest workflowRequest,
+                                  List<Parameter> parameterList) throws WorkflowEngineException {
 
-        if (CollectionUtils.isEmpty(parameterList)) {
+        addApprovalTasks(context, workflowRequest, parameterList, false);
+    }
+
+    /**
+     * Add the approval tasks of the current approval step of a workflow request.
+     *
+     * @param batched Whether the approval tasks may be written in a batch with those of other workflow requests, when
+     *                task creation batching is enabled. Only workflow requests starting at their first step are
+     *                batched.
+     */
+    private void addApprovalTasks(ApprovalCallContext context, WorkflowRequest workflowRequest,
+                                  List<Parameter> parameterList, boolean batched) throws WorkflowEngineException {
+
+        ApprovalTaskPlan plan = planApprovalTasks(context, workflowRequest, parameterList);
+        if (plan == null) {
             return;
         }
+        if (batched && plan.isFirstStep() && taskCreationBatcher.isEnabled()) {
+            // Returns once the batch holding the approval tasks is written.
+            taskCreationBatcher.add(plan, this::addApprovalTasksInBatch);
+            return;
+        }
+
+        if (plan.isFirstStep()) {
+            approvalTaskDAO.addApprovalTaskStep(plan.getWorkflowRequestId(), plan.getWorkflowId());
+        } else {
+            approvalTaskDAO.updateStateOfRequest(plan.getWorkflowRequestId(), plan.getWorkflowId(), plan.getStep());
+        }
+        for (ApprovalTaskRelationDTO approvalTask : plan.getApprovalTasks()) {
+            approvalTaskDAO.addApproversOfRequest(approvalTask.getTaskId(), approvalTask.getEventId(),
+                    approvalTask.getWorkflowId(), approvalTask.getApproverType(), approvalTask.getApproverName(),
+                    approvalTask.getTaskStatus());
+        }
+
+        // Trigger notifications asynchronously to avoid blocking the main thread.
+        for (String approverUserId : getApproversToNotify(plan, new HashMap<>())) {
+            executeNotificationAsync(context, approverUserId, plan.getWorkflowId(), plan.getWorkflowRequestId(), true,
+                    null, plan.getApproverNotificationChannels());
+        }
+    }
+
+    /**
+     * Resolve the approval tasks of the current approval step of a workflow request from the workflow parameters.
+     *
+     * @return Approval tasks to be added, or null if the workflow has no parameters.
+     */
+    private ApprovalTaskPlan planApprovalTasks(ApprovalCallContext context, WorkflowRequest workflowRequest,
+                                               List<Parameter> parameterList) throws WorkflowEngineException {
+
+        if (CollectionUtils.isEmpty(parameterList)) {
+            return null;
+        }
 
         String workflowRequestId = getWorkflowRequestId(workflowRequest);
         /* The workflow parameter list has the workflow ID for each property object. Retrieve the workflow ID from
@@ -339,19 +658,13 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         String approverNotificationChannels = null;
 
         int currentStep = approvalTaskDAO.getCurrentApprovalStepOfWorkflowRequest(workflowRequestId, workflowId);
-        if (currentStep == WorkflowEngineConstants.NO_CURRENT_STEP) {
-            approvalTaskDAO.addApprovalTaskStep(workflowRequestId, workflowId);
-            currentStep = 1;
-        } else {
-            currentStep += 1;
-            approvalTaskDAO.updateStateOfRequest(workflowRequestId, workflowId, currentStep);
-        }
+        boolean firstStep = currentStep == WorkflowEngineConstants.NO_CURRENT_STEP;
+        currentStep = firstStep ? 1 : currentStep + 1;
 
-        // Collect approvers to notify after processing all parameters.
-        Set<String> approversToNotify = new HashSet<>();
+        List<ApprovalTaskRelationDTO> approvalTasks = new ArrayList<>();
         String tenantDomain = IdentityTenantUtil.getTenantDomain(workflowRequest.getTenantId());
 
-        // Single loop to extract notification channels and create approval tasks.
+        // Single loop to extract notification channels and resolve approval tasks.
         for (Parameter parameter : parameterList) {
             // Extract notification channels.
             if (approverNotificationChannels == null && parameter.getParamName().equalsIgnoreCase(PARAM_NOTIFICATION)) {
@@ -371,53 +684,137 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
                     if (StringUtils.isNotBlank(approverIdentifiers)) {
                         String[] approverIdentifierList = approverIdentifiers.split(COMMA_SEPARATOR, 0);
                         for (String approverIdentifier : approverIdentifierList) {
-                            String taskId = UUID.randomUUID().toString();
-                            approvalTaskDAO.addApproversOfRequest(taskId, workflowRequestId, workflowId,
-                                    approverType,
-                                    approverIdentifier, WorkflowEngineConstants.TaskStatus.READY.toString());
-
-                            // Collect approvers for notification after all parameters are processed.
-                            collectApproversForNotification(approverType, approverIdentifier, tenantDomain,
-                                    approversToNotify);
+                            ApprovalTaskRelationDTO approvalTask = new ApprovalTaskRelationDTO();
+                            approvalTask.setTaskId(UUID.randomUUID().toString());
+                            approvalTask.setEventId(workflowRequestId);
+                            approvalTask.setWorkflowId(workflowId);
+                            approvalTask.setApproverType(approverType);
+                            approvalTask.setApproverName(approverIdentifier);
+                            approvalTask.setTaskStatus(WorkflowEngineConstants.TaskStatus.READY.toString());
+                            approvalTasks.add(approvalTask);
                         }
                     }
                 }
             }
         }
+        return new ApprovalTaskPlan(context, tenantDomain, workflowRequestId, workflowId, currentStep, firstStep,
+                approvalTasks, approverNotificationChannels);
+    }
 
-        // Trigger notifications asynchronously to avoid blocking the main thread.
-        if (CollectionUtils.isNotEmpty(approversToNotify) && StringUtils.isNotBlank(approverNotificationChannels)) {
-            int approverCount = approversToNotify.size();
-            int maxApproverNotifications = IdentityUtil.getMaxApproverNotificationsForWorkflow();
-            int notificationCount = Math.min(approverCount, maxApproverNotifications);
-
-            if (approverCount > maxApproverNotifications) {
-                log.warn("Number of approvers ({}) exceeds the maximum allowed limit ({}). " +
-                        "Notifications will be sent to only the first {} approvers to prevent memory issues. " +
-                        "WorkflowRequestId: {}",
-                        approverCount, maxApproverNotifications, maxApproverNotifications, workflowRequestId);
-            }
+    /**
+     * Add the approval tasks of a batch of workflow requests starting at their first step in a single transaction.
+     * The members of the role approvers are resolved once per batch, and the approvers of each tenant are notified
+     * from a single asynchronous task.
+     *
+     * @param plans Approval tasks of the workflow requests of the batch.
+     */
+    private void addApprovalTasksInBatch(List<ApprovalTaskPlan> plans) throws WorkflowEngineException {
 
-            if (log.isDebugEnabled()) {
-                log.debug("Triggering notifications for {} approvers asynchronously. WorkflowRequestId: {}",
-                        notificationCount, workflowRequestId);
-            }
+        Map<String, String> firstStepWorkflowIds = new LinkedHashMap<>();
+        List<ApprovalTaskRelationDTO> approvalTasks = new ArrayList<>();
+        for (ApprovalTaskPlan plan : plans) {
+            firstStepWorkflowIds.put(plan.getWorkflowRequestId(), plan.getWorkflowId());
+            approvalTasks.addAll(plan.getApprovalTasks());
+        }
+        approvalTaskDAO.addApprovalTasksOfRequests(firstStepWorkflowIds, approvalTasks);
+        if (log.isDebugEnabled()) {
+            log.debug("Added {} approval tasks of {} workflow requests in a batch.", approvalTasks.size(),
+                    plans.size());
+        }
 
-            int count = 0;
-            for (String approverUserId : approversToNotify) {
-                if (count >= maxApproverNotifications) {
-                    break;
-                }
-                executeNotificationAsync(approverUserId, workflowId, workflowRequestId, true, null,
-                        approverNotificationChannels);
-                count++;
+        Map<List<String>, List<String>> roleMembers = new HashMap<>();
+        Map<Integer, Map<ApprovalTaskPlan, List<String>>> approversToNotifyByTenant = new LinkedHashMap<>();
+        for (ApprovalTaskPlan plan : plans) {
+            List<String> approversToNotify = getApproversToNotify(plan, roleMembers);
+            if (!approversToNotify.isEmpty()) {
+                approversToNotifyByTenant.computeIfAbsent(plan.getContext().getTenantId(),
+                        tenantId -> new LinkedHashMap<>()).put(plan, approversToNotify);
             }
         }
+        for (Map<ApprovalTaskPlan, List<String>> approversToNotify : approversToNotifyByTenant.values()) {
+            executeApproverNotificationsAsync(approversToNotify);
+        }
+    }
+
+    /**
+     * Get the user IDs of the approvers to be notified about the approval tasks of a workflow request, up to the
+     * maximum number of approver notifications of a workflow.
+     *
+     * @param plan        Approval tasks of the workflow request.
+     * @param roleMembers Members of the role approvers resolved so far, keyed by tenant domain and role ID.
+     * @return User IDs of the approvers to be notified. Empty if no notification channel is configured.
+     */
+    private List<String> getApproversToNotify(ApprovalTaskPlan plan, Map<List<String>, List<String>> roleMembers) {
+
+        if (plan.getApprovalTasks().isEmpty() || StringUtils.isBlank(plan.getApproverNotificationChannels())) {
+            return Collections.emptyList();
+        }
+        Set<String> approversToNotify = new HashSet<>();
+        for (ApprovalTaskRelationDTO approvalTask : plan.getApprovalTasks()) {
+            collectApproversForNotification(approvalTask.getApproverType(), approvalTask.getApproverName(),
+                    plan.getTenantDomain(), approversToNotify, roleMembers);
+        }
+        if (approversToNotify.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String workflowRequestId = plan.getWorkflowRequestId();
+        int approverCount = approversToNotify.size();
+        int maxApproverNotifications = IdentityUtil.getMaxApproverNotificationsForWorkflow();
+        int notificationCount = Math.min(approverCount, maxApproverNotifications);
+
+        if (approverCount > maxApproverNotifications) {
+            log.warn("Number of approvers ({}) exceeds the maximum allowed limit ({}). " +
+                    "Notifications will be sent to only the first {} approvers to prevent memory issues. " +
+                    "WorkflowRequestId: {}",
+                    approverCount, maxApproverNotifications, maxApproverNotifications, workflowRequestId);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Triggering notifications for {} approvers asynchronously. WorkflowRequestId: {}",
+                    notificationCount, workflowRequestId);
+        }
+        return approversToNotify.stream().limit(notificationCount).collect(Collectors.toList());
+    }
+
+    /**
+     * Notifies the approvers of several workflow requests of the same tenant from a single asynchronous task, with
+     * the tenant context of the call that executed the first of them.
+     *
+     * @param approversToNotify User IDs of the approvers to be notified, per workflow request.
+     */
+    private void executeApproverNotificationsAsync(Map<ApprovalTaskPlan, List<String>> approversToNotify) {
+
+        ApprovalCallContext context = approversToNotify.keySet().iterator().next().getContext();
+        int tenantId = context.getTenantId();
+        String tenantDomain = context.getTenantDomain();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                PrivilegedCarbonContext.startTenantFlow();
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId);
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+
+                approversToNotify.forEach((plan, approverUserIds) -> {
+                    for (String approverUserId : approverUserIds) {
+                        try {
+                            triggerNotification(approverUserId, plan.getWorkflowId(), plan.getWorkflowRequestId(),
+                                    true, null, plan.getApproverNotificationChannels());
+                        } catch (Exception e) {
+                            log.error("Error while triggering notification for approver: {}", approverUserId, e);
+                        }
+                    }
+                });
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        }, executorService);
     }
 
     /**
      * Executes a single notification asynchronously with proper tenant context propagation.
      *
+     * @param context                The context of the call, whose tenant the notification is sent in.
      * @param recipientUserId        The recipient user ID.
      * @param workflowId             The workflow ID.
      * @param workflowRequestId      The workflow request ID.
@@ -425,15 +822,15 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
      * @param decision               The approval decision (for initiator notifications).
      * @param notificationChannels   The notification channels configuration.
      */
-    private void executeNotificationAsync(String recipientUserId, String workflowId, String workflowRequestId,
-                                          boolean isApproverNotification, String decision,
+    private void executeNotificationAsync(ApprovalCallContext context, String recipientUserId, String workflowId,
+                                          String workflowRequestId, boolean isApproverNotification, String decision,
                                           String notificationChannels) {
 
         // Capture tenant context before async execution.
         // Note: ThreadLocalAwareExecutors only propagates MDC context, not CarbonContext.
         // CompletableFuture.supplyAsync() also bypasses the execute() override, so we need manual propagation.
-        int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
-        String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        int tenantId = context.getTenantId();
+        String tenantDomain = context.getTenantDomain();
 
         CompletableFuture.supplyAsync(() -> {
             try {
@@ -465,18 +862,25 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
      * @param approverIdentifier The approver identifier (user ID or role ID).
      * @param tenantDomain       The tenant domain.
      * @param approversToNotify  The set to collect approver user IDs.
+     * @param resolvedRoles      Members of the roles resolved so far, keyed by tenant domain and role ID.
      */
     private void collectApproversForNotification(String approverType, String approverIdentifier,
-                                                 String tenantDomain, Set<String> approversToNotify) {
+                                                 String tenantDomain, Set<String> approversToNotify,
+                                                 Map<List<String>, List<String>> resolvedRoles) {
 
         if (WorkflowEngineConstants.APPROVER_TYPE_ROLES.equalsIgnoreCase(approverType)) {
-            List<String> roleMembers = new ArrayList<>();
-            try {
-                roleMembers = getUserIdsAssignedToRole(approverIdentifier, tenantDomain);
-            } catch (WorkflowEngineException e) {
-                log.error("Error while retrieving assigned user IDs for role: {} in tenant: {}. " +
-                                "Continuing without adding notifications for this role.",
-                        approverIdentifier, tenantDomain, e);
+            List<String> roleKey = Arrays.asList(tenantDomain, approverIdentifier);
+            List<String> roleMembers = resolvedRoles.get(roleKey);
+            if (roleMembers == null) {
+                roleMembers = new ArrayList<>();
+                try {
+                    roleMembers = getUserIdsAssignedToRole(approverIdentifier, tenantDomain);
+                } catch (WorkflowEngineException e) {
+                    log.error("Error while retrieving assigned user IDs for role: {} in tenant: {}. " +
+                                    "Continuing without adding notifications for this role.",
+                            approverIdentifier, tenantDomain, e);
+                }
+                resolvedRoles.put(roleKey, roleMembers);
             }
             if (CollectionUtils.isEmpty(roleMembers)) {
                 if (log.isDebugEnabled()) {
@@ -664,12 +1068,14 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
                     WorkflowEngineConstants.ErrorMessages.WORKFLOW_ID_NOT_FOUND.getDescription(),
                     WorkflowEngineConstants.ErrorMessages.WORKFLOW_ID_NOT_FOUND.getCode());
         }
-        approvalTaskDAO.deletePendingApprovalTasks(workflowId);
+        ApprovalCallContext context = newCallContext();
+        try (PendingApprovalTaskCounters.Update ignored = pendingTaskCounters.beginUpdate(context.getTenantId())) {
+            approvalTaskDAO.deletePendingApprovalTasks(workflowId);
+        }
     }
 
-    @Override
-    public void updatePendingApprovalTasksOnWorkflowUpdate(String workflowId, List<Parameter> newWorkflowParams,
-                                                           List<Parameter> oldWorkflowParams)
+    private void updatePendingApprovalTasks(ApprovalCallContext context, String workflowId,
+                                            List<Parameter> newWorkflowParams, List<Parameter> oldWorkflowParams)
             throws WorkflowEngineException {
 
         // Get the list of pending requests corresponding to given workflow ID.
@@ -681,6 +1087,9 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         // Get the modified steps.
         List<Integer> modifiedSteps = Utils.getModifiedApprovalSteps(newWorkflowParams, oldWorkflowParams);
 
+        // Entity IDs of the users with reserved tasks, as a user may have reserved tasks of many requests.
+        Map<String, Set<String>> reservedUserEntityIds = new HashMap<>();
+
         // For each request, delete the existing approval tasks and
         // add new tasks based on the updated workflow parameters.
         for (String requestId : pendingRequestList) {
@@ -712,7 +1121,7 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
             // Get corresponding workflow request.
             WorkflowRequest request = getWorkflowRequest(requestId);
             // Add new approval tasks based on updated workflow parameters.
-            addApprovalTasksForWorkflowRequest(request, newWorkflowParams);
+            addApprovalTasks(context, request, newWorkflowParams);
 
             if (reservedTask != null) {
                 /*
@@ -724,18 +1133,16 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
                 // Get the new workflow APPROVER_NAME list for the current step.
                 List<String> approverNamesForCurrentStep =
                         newParamValuesForApprovalSteps.get(currentStep);
-
-                // Retrieving the tenant domain of the user corresponding to the userId to validate reserved task users.
-                String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
-                // Get the user's roles.
-                List<String> entityIds = getAssignedRoleIds(userId, tenantDomain);
-                // Add userId as eligible entity if the workflow has USER.
-                entityIds.add(userId);
+                if (CollectionUtils.isEmpty(approverNamesForCurrentStep)) {
+                    // No one can be eligible, so the roles of the user are not loaded.
+                    continue;
+                }
+                Set<String> approverNames = new HashSet<>(approverNamesForCurrentStep);
 
                 // Check if the user is still eligible to approve the request,
                 // by checking if any entityId is present in the approverNamesForCurrentStep.
-                for (String entityId : entityIds) {
-                    if (approverNamesForCurrentStep != null && approverNamesForCurrentStep.contains(entityId)) {
+                for (String entityId : getReservedUserEntityIds(context, userId, reservedUserEntityIds)) {
+                    if (approverNames.contains(entityId)) {
                         // Get the tasks respect to the request ID with status 'READY'.
                         List<ApprovalTaskRelationDTO> approvalTaskRelationsDTOs =
                                 approvalTaskDAO.getApprovalTaskRelationsByWorkflowRequestId(requestId);
@@ -751,36 +1158,72 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
 
                         // If a task is found, perform reservation.
                         if (taskId != null) {
-                            handleClaim(taskId);
+                            handleClaim(context, taskId);
                         }
                         break;
                     }
                 }
             }
         }
+        if (log.isDebugEnabled()) {
+            log.debug("Updated the approval tasks of {} pending requests of workflow: {} in {} ms.",
+                    pendingRequestList.size(), workflowId, System.currentTimeMillis() - context.getStartTimeMillis());
+        }
+    }
+
+    /**
+     * Retrieves the entity IDs of a user with a reserved task, i.e. the IDs of the roles assigned to the user in the
+     * tenant of the call, followed by the user ID. The entity IDs of a user are loaded once per call.
+     *
+     * @param context               The context of the call.
+     * @param userId                The ID of the user the task is reserved for.
+     * @param reservedUserEntityIds The entity IDs already loaded in the call, per user ID.
+     * @return The role IDs of the user followed by the user ID.
+     */
+    private Set<String> getReservedUserEntityIds(ApprovalCallContext context, String userId,
+                                                 Map<String, Set<String>> reservedUserEntityIds)
+            throws WorkflowEngineException {
+
+        Set<String> entityIds = reservedUserEntityIds.get(userId);
+        if (entityIds == null) {
+            entityIds = new LinkedHashSet<>(getAssignedRoleIds(userId, context.getTenantDomain()));
+            // Add userId as eligible entity if the workflow has USER.
+            entityIds.add(userId);
+            reservedUserEntityIds.put(userId, entityIds);
+        }
+        return entityIds;
     }
 
     /**
      * Retrieves all the approval tasks assigned to the user.
      *
+     * @param context  The context of the call, whose user the tasks are retrieved for.
      * @param filter   The filter criteria to apply when retrieving the approval tasks.
-     * @param userId The ID of the user whose related task IDs should be retrieved.
      * @param limit    The maximum number of task IDs to return.
      * @param offset   The starting point from which to return task IDs.
      * @return List of task IDs assigned to the user, filtered by the specified statuses.
      */
-    private List<ApprovalTaskSummaryDTO> getAllAssignedTasksWithFilter(ApprovalTaskFilterDTO filter, String userId,
-                                                                       int limit, int offset)
-            throws WorkflowEngineException {
+    private List<ApprovalTaskSummaryDTO> getAllAssignedTasksWithFilter(ApprovalCallContext context,
+                                                                       ApprovalTaskFilterDTO filter, int limit,
+                                                                       int offset) throws WorkflowEngineException {
 
-        String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
-        List<String> entityIds = new ArrayList<>();
-        entityIds.add(userId);
+        return approvalTaskDAO.getFilteredApprovalTaskDetails(getAssignedEntityIds(context), filter, limit, offset,
+                context.getTenantId());
+    }
+
+    /**
+     * Retrieves the entity IDs approval tasks can be assigned to for the user of the call, i.e. the user ID and
+     * role IDs.
+     *
+     * @param context The context of the call.
+     * @return The user ID followed by the IDs of the roles assigned to the user.
+     */
+    private List<String> getAssignedEntityIds(ApprovalCallContext context) throws WorkflowEngineException {
 
-        List<String> roleIds = getAssignedRoleIds(userId, tenantDomain);
-        entityIds.addAll(roleIds);
-        int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
-        return approvalTaskDAO.getFilteredApprovalTaskDetails(entityIds, filter, limit, offset, tenantId);
+        List<String> entityIds = new ArrayList<>();
+        entityIds.add(context.getUserId());
+        entityIds.addAll(context.getRoleIds());
+        return entityIds;
     }
 
     private List<String> getAssignedRoleIds(String userId, String tenantDomain) throws WorkflowEngineException {
@@ -802,6 +1245,24 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
 
     }
 
+    /**
+     * Check whether the internal role of the given name is assigned to a user in the user store.
+     *
+     * @return True if the role is assigned to the user.
+     */
+    private boolean isUserInRole(String userId, String roleName, int tenantId) throws WorkflowEngineException {
+
+        try {
+            AbstractUserStoreManager userStoreManager = (AbstractUserStoreManager) WorkflowEngineServiceDataHolder
+                    .getInstance().getRealmService().getTenantUserRealm(tenantId).getUserStoreManager();
+            return userStoreManager.isUserInRoleWithID(userId, UserCoreUtil.addInternalDomainName(roleName));
+        } catch (UserStoreException e) {
+            throw new WorkflowEngineException(
+                    WorkflowEngineConstants.ErrorMessages.ERROR_OCCURRED_WHILE_RETRIEVING_APPROVAL_TASKS_FOR_USER.
+                            getDescription(), e);
+        }
+    }
+
     /**
      * Builds notification properties for initiators.
      *
@@ -875,6 +1336,21 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
+    private WorkflowRequestSummaryDTO getWorkflowRequestSummary(String requestId) throws WorkflowEngineException {
+
+        return requestSummaryCache.get(requestId, this::loadWorkflowRequestSummary);
+    }
+
+    private WorkflowRequestSummaryDTO loadWorkflowRequestSummary(String requestId) throws WorkflowEngineException {
+
+        WorkflowRequest request = getWorkflowRequest(requestId);
+        if (request == null) {
+            return null;
+        }
+        return new WorkflowRequestSummaryDTO(request.getUuid(), request.getEventType(), request.getTenantId(),
+                request.getRequestParameters(), workflowRequestDAO.getCreatedAtTimeInMill(request.getUuid()));
+    }
+
     private List<String> getUserIdsAssignedToRole(String roleId, String tenantDomain) throws WorkflowEngineException {
 
         try {
@@ -890,21 +1366,17 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
-    private void validateApprovers(String taskId) throws WorkflowEngineException {
-
-        String userId = Utils.resolveUserID(CarbonContext.getThreadLocalCarbonContext().getUserId());
-        String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+    private void validateApprovers(ApprovalCallContext context, String taskId) throws WorkflowEngineException {
 
         boolean isAssignedApprovalTask = false;
         ApproverDTO approverDTO = approvalTaskDAO.getApproverDetailForApprovalTask(taskId);
         if (ENTITY_TYPE_USERS.equals(approverDTO.getApproverType()) ||
                 ENTITY_TYPE_CLAIMED_USERS.equals(approverDTO.getApproverType())) {
-            if (approverDTO.getApproverName().equals(userId)) {
+            if (approverDTO.getApproverName().equals(context.getUserId())) {
                 isAssignedApprovalTask = true;
             }
         } else {
-            List<String> roleIds = getAssignedRoleIds(userId, tenantDomain);
-            if (roleIds.contains(approverDTO.getApproverName())) {
+            if (context.hasRole(approverDTO.getApproverName())) {
                 isAssignedApprovalTask = true;
             }
         }
@@ -962,14 +1434,25 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
-    private void handleApproval(String approvalTaskId) throws WorkflowEngineException {
+    private void handleApproval(ApprovalCallContext context, String approvalTaskId) throws WorkflowEngineException {
 
         String workflowRequestId = approvalTaskDAO.getWorkflowRequestIdByApprovalTaskId(approvalTaskId);
         String workflowId = approvalTaskDAO.getWorkflowID(approvalTaskId);
+        int stepValue = approvalTaskDAO.getCurrentApprovalStepOfWorkflowRequest(workflowRequestId, workflowId);
+        List<Parameter> approvalWorkflowParameterList = getApprovalWorkflowParameters(workflowId);
 
-        handleApprovalTaskApproval(approvalTaskId, workflowRequestId, workflowId);
+        /* If the current step value is less than the total number of approval steps defined in the workflow
+           parameters, then we need to add more approval tasks for the next step. Otherwise,
+           we can complete the workflow request with an approved status. The final step is resolved before the
+           approval task is completed, so that the completion callback is recorded with the approval. */
+        boolean finalStep = stepValue >= getNumberOfApprovalStepsFromWorkflowParameters(approvalWorkflowParameterList);
+        List<ApprovalCallbackDTO> callbacks = Collections.emptyList();
+        if (finalStep && callbackQueue.isEnabled()) {
+            callbacks = buildCompletionCallbacks(context, workflowRequestId, APPROVED, Collections.singletonList(
+                    workflowRequestDAO.getRelationshipId(workflowRequestId, workflowId)));
+        }
 
-        int stepValue = approvalTaskDAO.getCurrentApprovalStepOfWorkflowRequest(workflowRequestId, workflowId);
+        handleApprovalTaskApproval(context, approvalTaskId, workflowRequestId, workflowId, callbacks);
 
         // Audit log for approval action.
         ApprovalTaskAuditLogger.AuditLogBuilder auditBuilder = auditLogger.auditBuilder()
@@ -981,24 +1464,24 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
                 .stepValue(stepValue);
         auditLogger.printAuditLog(auditBuilder);
 
-        List<Parameter> approvalWorkflowParameterList = getApprovalWorkflowParameters(workflowId);
-
-        /* If the current step value is less than the total number of approval steps defined in the workflow
-           parameters, then we need to add more approval tasks for the next step. Otherwise,
-           we can complete the workflow request with an approved status. */
-        if (stepValue < getNumberOfApprovalStepsFromWorkflowParameters(approvalWorkflowParameterList)) {
-            WorkflowRequest workflowRequest = buildWorkflowRequest(workflowRequestId);
-            addApprovalTasksForWorkflowRequest(workflowRequest, approvalWorkflowParameterList);
+        if (!finalStep) {
+            WorkflowRequest workflowRequest = buildWorkflowRequest(context, workflowRequestId);
+            addApprovalTasks(context, workflowRequest, approvalWorkflowParameterList);
         } else {
-            completeWorkflowApproval(workflowRequestId, workflowId);
+            completeWorkflowApproval(context, workflowRequestId, workflowId, callbacks);
         }
     }
 
-    private void handleReject(String approvalTaskId) throws WorkflowEngineException {
+    private void handleReject(ApprovalCallContext context, String approvalTaskId) throws WorkflowEngineException {
 
         String workflowRequestId = approvalTaskDAO.getWorkflowRequestIdByApprovalTaskId(approvalTaskId);
         String workflowId = approvalTaskDAO.getWorkflowID(approvalTaskId);
-        handleApprovalTaskRejection(approvalTaskId, workflowRequestId);
+        List<ApprovalCallbackDTO> callbacks = Collections.emptyList();
+        if (callbackQueue.isEnabled()) {
+            callbacks = buildCompletionCallbacks(context, workflowRequestId, REJECTED,
+                    workflowRequestDAO.getRelationshipIds(workflowRequestId));
+        }
+        handleApprovalTaskRejection(context, approvalTaskId, workflowRequestId, callbacks);
 
         // Audit log for rejection action.
         ApprovalTaskAuditLogger.AuditLogBuilder auditBuilder = auditLogger.auditBuilder()
@@ -1008,7 +1491,7 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
                 .newStatus(WorkflowEngineConstants.TaskStatus.REJECTED.toString());
         auditLogger.printAuditLog(auditBuilder);
 
-        completeWorkflowReject(workflowRequestId, workflowId);
+        completeWorkflowReject(context, workflowRequestId, workflowId, callbacks);
     }
 
     private void handleRelease(String taskId) throws WorkflowEngineServerException {
@@ -1028,9 +1511,10 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
-    private void handleClaim(String updatedApprovalTaskId) throws WorkflowEngineException {
+    private void handleClaim(ApprovalCallContext context, String updatedApprovalTaskId)
+            throws WorkflowEngineException {
 
-        String userId = Utils.resolveUserID(CarbonContext.getThreadLocalCarbonContext().getUserId());
+        String userId = context.getUserId();
         String reservedStatus = WorkflowEngineConstants.TaskStatus.RESERVED.toString();
         String blockedStatus = WorkflowEngineConstants.TaskStatus.BLOCKED.toString();
 
@@ -1096,21 +1580,24 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
-    private void completeWorkflowApproval(String workflowRequestId, String workflowId)
-            throws WorkflowEngineServerException {
+    private void completeWorkflowApproval(ApprovalCallContext context, String workflowRequestId, String workflowId,
+                                          List<ApprovalCallbackDTO> callbacks) throws WorkflowEngineServerException {
 
-        WSWorkflowResponse wsWorkflowResponse = new WSWorkflowResponse();
-        String relationshipId = workflowRequestDAO.getRelationshipId(workflowRequestId, workflowId);
-        wsWorkflowResponse.setUuid(relationshipId);
-        wsWorkflowResponse.setStatus(APPROVED);
-        wsWorkflowCallBackService.onCallback(wsWorkflowResponse);
+        if (callbacks.isEmpty()) {
+            completeWorkflowRelationships(workflowRequestId, Collections.singletonList(
+                    workflowRequestDAO.getRelationshipId(workflowRequestId, workflowId)), APPROVED);
+        } else {
+            // The callbacks were committed with the approval, and are executed by the completion callback queue.
+            callbackQueue.dispatch();
+        }
+        requestSummaryCache.evict(workflowRequestId);
 
         // Trigger initiator notification asynchronously.
         try {
             String notificationChannels = extractWorkFlowInitiatorNotificationChannels(workflowId);
-            String userId = Utils.resolveUserID(CarbonContext.getThreadLocalCarbonContext().getUserId());
+            String userId = context.getUserId();
             if (StringUtils.isNotBlank(notificationChannels)) {
-                executeNotificationAsync(userId, workflowId, workflowRequestId, false, APPROVED,
+                executeNotificationAsync(context, userId, workflowId, workflowRequestId, false, APPROVED,
                         notificationChannels);
             }
         } catch (WorkflowEngineException e) {
@@ -1119,23 +1606,25 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
-    private void completeWorkflowReject(String workflowRequestId, String workflowId) throws WorkflowEngineException {
+    private void completeWorkflowReject(ApprovalCallContext context, String workflowRequestId, String workflowId,
+                                        List<ApprovalCallbackDTO> callbacks) throws WorkflowEngineException {
 
-        WSWorkflowResponse wsWorkflowResponse = new WSWorkflowResponse();
-        List<String> workflowRelationshipIds = workflowRequestDAO.getRelationshipIds(workflowRequestId);
-        for (String relationshipId : workflowRelationshipIds) {
-            wsWorkflowResponse.setUuid(relationshipId);
-            wsWorkflowResponse.setStatus(REJECTED);
-            wsWorkflowCallBackService.onCallback(wsWorkflowResponse);
+        if (callbacks.isEmpty()) {
+            completeWorkflowRelationships(workflowRequestId, workflowRequestDAO.getRelationshipIds(workflowRequestId),
+                    REJECTED);
+        } else {
+            // The callbacks were committed with the rejection, and are executed by the completion callback queue.
+            callbackQueue.dispatch();
         }
+        requestSummaryCache.evict(workflowRequestId);
 
         // Trigger initiator notification asynchronously.
         try {
             String notificationChannels = extractWorkFlowInitiatorNotificationChannels(workflowId);
-            String userId = Utils.resolveUserID(CarbonContext.getThreadLocalCarbonContext().getUserId());
+            String userId = context.getUserId();
 
             if (StringUtils.isNotBlank(notificationChannels)) {
-                executeNotificationAsync(userId, workflowId, workflowRequestId, false, REJECTED,
+                executeNotificationAsync(context, userId, workflowId, workflowRequestId, false, REJECTED,
                         notificationChannels);
             }
         } catch (WorkflowEngineException e) {
@@ -1144,6 +1633,66 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
+    /**
+     * Complete the workflow relationships of a workflow request with the given decision, one after the other. Each
+     * callback checks whether the other relationships of the request are complete, so concurrent callbacks of one
+     * request could miss each other's update and leave the request incomplete. Relationships of different requests are
+     * completed concurrently by the completion callback queue, which runs the callbacks of each request in order, so
+     * the deciding request does not wait for them when the queue is enabled.
+     * The callback service logs and swallows its own errors, so only runtime exceptions escaping it are caught here.
+     * The remaining relationships are still completed, and the failed ones are reported together.
+     */
+    private void completeWorkflowRelationships(String workflowRequestId, List<String> relationshipIds,
+                                               String decision) throws WorkflowEngineServerException {
+
+        List<String> failedRelationshipIds = new ArrayList<>();
+        WorkflowEngineServerException error = null;
+        for (String relationshipId : relationshipIds) {
+            try {
+                getWSWorkflowCallBackService().onCallback(buildWorkflowResponse(relationshipId, decision));
+            } catch (RuntimeException e) {
+                failedRelationshipIds.add(relationshipId);
+                if (error == null) {
+                    error = new WorkflowEngineServerException(WorkflowEngineConstants.ErrorMessages.
+                            ERROR_OCCURRED_WHILE_COMPLETING_WORKFLOW_RELATIONSHIPS.getDescription(), e);
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        if (error != null) {
+            log.error("{} of {} workflow relationships of workflow request: {} failed to complete: {}",
+                    failedRelationshipIds.size(), relationshipIds.size(), workflowRequestId, failedRelationshipIds);
+            throw error;
+        }
+    }
+
+    private WSWorkflowResponse buildWorkflowResponse(String relationshipId, String decision) {
+
+        WSWorkflowResponse wsWorkflowResponse = new WSWorkflowResponse();
+        wsWorkflowResponse.setUuid(relationshipId);
+        wsWorkflowResponse.setStatus(decision);
+        return wsWorkflowResponse;
+    }
+
+    /**
+     * Build the completion callbacks of a workflow request, one per workflow request relationship, to be recorded
+     * with the decision that completes it.
+     */
+    private List<ApprovalCallbackDTO> buildCompletionCallbacks(ApprovalCallContext context, String workflowRequestId,
+                                                               String decision, List<String> relationshipIds) {
+
+        List<ApprovalCallbackDTO> callbacks = new ArrayList<>(relationshipIds.size());
+        String username = CarbonContext.getThreadLocalCarbonContext().getUsername();
+        for (String relationshipId : relationshipIds) {
+            if (StringUtils.isNotBlank(relationshipId)) {
+                callbacks.add(callbackQueue.newCallback(context.getTenantId(), workflowRequestId, relationshipId,
+                        decision, username));
+            }
+        }
+        return callbacks;
+    }
+
     /**
      * Extracts workflow initiator notification channels from workflow parameters.
      *
@@ -1176,9 +1725,15 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
-    private List<PropertyDTO> getRequestParameters(WorkflowRequest workflowRequest) throws WorkflowEngineException {
+    private List<PropertyDTO> getRequestParameters(ApprovalCallContext context,
+                                                   WorkflowRequestSummaryDTO workflowRequest)
+            throws WorkflowEngineException {
 
-        List<PropertyDTO> workflowRequestProperties = new ArrayList<>();
+        /* Role names, user names and claim display names are independent lookups, so they are collected first and
+           resolved concurrently. The properties keep the order of the request parameters. */
+        List<List<PropertyDTO>> workflowRequestProperties = new ArrayList<>();
+        List<Integer> propertyLookupSlots = new ArrayList<>();
+        List<PropertyLookupResolver.Lookup<List<PropertyDTO>>> propertyLookups = new ArrayList<>();
 
         for (RequestParameter param : workflowRequest.getRequestParameters()) {
             if (param.getName().equals(WorkflowEngineConstants.ParameterName.CREDENTIAL)) {
@@ -1188,86 +1743,121 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
             if (value != null) {
                 String valueString = value.toString().trim();
                 String paramString = param.getName().trim();
+                PropertyLookupResolver.Lookup<List<PropertyDTO>> propertyLookup = null;
                 if (ROLE_ID_PARAM_NAME.equals(param.getName())) {
-                    String tenantDomain = IdentityTenantUtil.getTenantDomain(workflowRequest.getTenantId());
-                    try {
-                        paramString = ROLE_NAME_PARAM_NAME;
-                        RoleBasicInfo roleBasicInfo = WorkflowEngineServiceDataHolder.getInstance()
-                                .getRoleManagementService().getRoleBasicInfoById(valueString, tenantDomain);
-                        valueString = roleBasicInfo.getName();
-                        if (RoleConstants.APPLICATION.equals(roleBasicInfo.getAudience())) {
-                            PropertyDTO propertyDTO = new PropertyDTO();
-                            propertyDTO.setKey(ROLE_ASSOCIATED_APPLICATION_PARAM_NAME);
-                            propertyDTO.setValue(roleBasicInfo.getAudienceName());
-                            workflowRequestProperties.add(propertyDTO);
-                        }
-                    } catch (IdentityRoleManagementException e) {
-                        if (StringUtils.equals(ROLE_NOT_FOUND_ERROR_CODE, e.getErrorCode())) {
-                            valueString = StringUtils.EMPTY;
-                        } else {
-                            throw new WorkflowEngineException(e.getMessage(), e);
-                        }
-                    }
+                    propertyLookup = () -> resolveRoleProperties(valueString, workflowRequest.getTenantId());
                 } else if (USERS_TO_BE_ADDED_PARAM_NAME.equals(paramString)
                         || USERS_TO_BE_DELETED_PARAM_NAME.equals(paramString)) {
-                    try {
-                        AbstractUserStoreManager userStoreManager =
-                                (AbstractUserStoreManager) WorkflowEngineServiceDataHolder.getInstance()
-                                        .getRealmService().getTenantUserRealm(workflowRequest.getTenantId())
-                                        .getUserStoreManager();
-                        if (value instanceof List) {
-                            List<String> userNames = userStoreManager.getUserNamesFromUserIDs((List<String>) value);
-                            if (CollectionUtils.isNotEmpty(userNames)) {
-                                valueString = String.join(COMMA_SEPARATOR, userNames);
-                            } else {
-                                valueString = StringUtils.EMPTY;
-                            }
-                        }
-                    } catch (UserStoreException e) {
-                        throw new WorkflowEngineException(e.getMessage(), e);
-                    }
+                    propertyLookup = () -> Collections.singletonList(getPropertyDTO(paramString,
+                            resolveUserNames(value, valueString, workflowRequest.getTenantId())));
                 } else if (CLAIMS_PROPERTY_NAME.equals(paramString)) {
-                    if (WorkflowDataType.STRING_STRING_MAP_TYPE.equals(param.getValueType()) &&
-                            param.getValue() != null) {
-                        Map<String, String> claimsMap = (Map<String, String>) param.getValue();
-
-                        List<LocalClaim> localClaims;
-                        try {
-                            localClaims = claimMetadataManagementService.getLocalClaims(
-                                    CarbonContext.getThreadLocalCarbonContext().getTenantDomain());
-                        } catch (ClaimMetadataException e) {
-                            log.error("Error while retrieving local claims for tenant: {}",
-                                    CarbonContext.getThreadLocalCarbonContext().getTenantDomain(), e);
-                            continue;
-                        }
-
-                        for (Map.Entry<String, String> entry : claimsMap.entrySet()) {
-                            String claimUri = entry.getKey();
-                            String claimValue = entry.getValue();
-                            String displayName = localClaims.stream()
-                                    .filter(localClaim -> localClaim.getClaimURI().equals(claimUri))
-                                    .map(localClaim -> localClaim.getClaimProperty(DISPLAY_NAME_PROPERTY))
-                                    .findFirst()
-                                    .orElse(claimUri);
-                            PropertyDTO propertyDTO = new PropertyDTO();
-                            propertyDTO.setKey(displayName);
-                            propertyDTO.setValue(claimValue);
-                            workflowRequestProperties.add(propertyDTO);
-                        }
-                        // The claims are already added. No need to add the full claim list as another parameter again.
-                        continue;
+                    if (WorkflowDataType.STRING_STRING_MAP_TYPE.equals(param.getValueType())) {
+                        // The claims are added one by one. No need to add the full claim list as another parameter.
+                        propertyLookup = () -> resolveClaimProperties((Map<String, String>) value,
+                                context.getTenantDomain());
                     }
                 } else if (TENANT_DOMAIN_PARAM_NAME.equals(paramString)) {
                     // Skip these parameters as they are not required in the task parameters.
                     continue;
                 }
-                PropertyDTO propertyDTO = new PropertyDTO();
-                propertyDTO.setKey(paramString);
-                propertyDTO.setValue(valueString);
-                workflowRequestProperties.add(propertyDTO);
+                if (propertyLookup != null) {
+                    propertyLookupSlots.add(workflowRequestProperties.size());
+                    propertyLookups.add(propertyLookup);
+                    workflowRequestProperties.add(null);
+                } else {
+                    workflowRequestProperties.add(Collections.singletonList(getPropertyDTO(paramString,
+                            valueString)));
+                }
             }
         }
-        return workflowRequestProperties;
+        List<List<PropertyDTO>> resolvedProperties = propertyLookupResolver.resolve(propertyLookups,
+                context.getTenantId(), context.getTenantDomain(), Utils.getLongConfig(
+                        WorkflowEngineConstants.ConfigKeys.PROPERTY_RESOLUTION_TIMEOUT_MILLIS,
+                        WorkflowEngineConstants.DEFAULT_PROPERTY_RESOLUTION_TIMEOUT_MILLIS));
+        for (int i = 0; i < propertyLookupSlots.size(); i++) {
+            workflowRequestProperties.set(propertyLookupSlots.get(i), resolvedProperties.get(i));
+        }
+        return workflowRequestProperties.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    private List<PropertyDTO> resolveRoleProperties(String roleId, int tenantId) throws WorkflowEngineException {
+
+        List<PropertyDTO> roleProperties = new ArrayList<>();
+        RoleInfoCache.RoleInfo roleInfo = roleInfoCache.get(roleId, IdentityTenantUtil.getTenantDomain(tenantId),
+                this::loadRoleInfo);
+        String roleName = StringUtils.EMPTY;
+        if (roleInfo != null) {
+            roleName = roleInfo.getName();
+            if (RoleConstants.APPLICATION.equals(roleInfo.getAudience())) {
+                roleProperties.add(getPropertyDTO(ROLE_ASSOCIATED_APPLICATION_PARAM_NAME, roleInfo.getAudienceName()));
+            }
+        }
+        roleProperties.add(getPropertyDTO(ROLE_NAME_PARAM_NAME, roleName));
+        return roleProperties;
+    }
+
+    /**
+     * Load the basic information of a role from the role management service.
+     *
+     * @return Basic information of the role, or null if the role no longer exists.
+     */
+    private RoleInfoCache.RoleInfo loadRoleInfo(String roleId, String tenantDomain) throws WorkflowEngineException {
+
+        try {
+            RoleBasicInfo roleBasicInfo = WorkflowEngineServiceDataHolder.getInstance()
+                    .getRoleManagementService().getRoleBasicInfoById(roleId, tenantDomain);
+            return new RoleInfoCache.RoleInfo(roleBasicInfo.getName(), roleBasicInfo.getAudience(),
+                    roleBasicInfo.getAudienceName());
+        } catch (IdentityRoleManagementException e) {
+            if (StringUtils.equals(ROLE_NOT_FOUND_ERROR_CODE, e.getErrorCode())) {
+                return null;
+            }
+            throw new WorkflowEngineException(e.getMessage(), e);
+        }
+    }
+
+    private String resolveUserNames(Object value, String valueString, int tenantId) throws WorkflowEngineException {
+
+        try {
+            AbstractUserStoreManager userStoreManager =
+                    (AbstractUserStoreManager) WorkflowEngineServiceDataHolder.getInstance()
+                            .getRealmService().getTenantUserRealm(tenantId)
+                            .getUserStoreManager();
+            if (value instanceof List) {
+                List<String> userNames = userStoreManager.getUserNamesFromUserIDs((List<String>) value);
+                if (CollectionUtils.isNotEmpty(userNames)) {
+                    return String.join(COMMA_SEPARATOR, userNames);
+                }
+                return StringUtils.EMPTY;
+            }
+            return valueString;
+        } catch (UserStoreException e) {
+            throw new WorkflowEngineException(e.getMessage(), e);
+        }
+    }
+
+    private List<PropertyDTO> resolveClaimProperties(Map<String, String> claimsMap, String tenantDomain) {
+
+        List<LocalClaim> localClaims;
+        try {
+            localClaims = getClaimMetadataManagementService().getLocalClaims(tenantDomain);
+        } catch (ClaimMetadataException e) {
+            log.error("Error while retrieving local claims for tenant: {}", tenantDomain, e);
+            return Collections.emptyList();
+        }
+
+        List<PropertyDTO> claimProperties = new ArrayList<>();
+        for (Map.Entry<String, String> entry : claimsMap.entrySet()) {
+            String claimUri = entry.getKey();
+            String claimValue = entry.getValue();
+            String displayName = localClaims.stream()
+                    .filter(localClaim -> localClaim.getClaimURI().equals(claimUri))
+                    .map(localClaim -> localClaim.getClaimProperty(DISPLAY_NAME_PROPERTY))
+                    .findFirst()
+                    .orElse(claimUri);
+            claimProperties.add(getPropertyDTO(displayName, claimValue));
+        }
+        return claimProperties;
     }
 
     private List<PropertyDTO> getPropertyDTOs(Map<String, String> props) {
@@ -1312,40 +1902,40 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
         }
     }
 
-    private void handleApprovalTaskApproval(String approvalTaskId, String workflowRequestId, String workflowId)
-            throws WorkflowEngineServerException {
-
-        // Update the approval task status to APPROVED / REJECTED and delete other tasks of the same workflow request.
-        approvalTaskDAO.updateApprovalTaskStatus(approvalTaskId, ApprovalTaskServiceImpl.APPROVED);
-        approvalTaskDAO.deleteApprovalTasksExceptGivenApprovalTaskId(workflowRequestId, workflowId, approvalTaskId);
+    private void handleApprovalTaskApproval(ApprovalCallContext context, String approvalTaskId,
+                                            String workflowRequestId, String workflowId,
+                                            List<ApprovalCallbackDTO> callbacks) throws WorkflowEngineServerException {
 
-        /* Update the entity of the approval task to the current user.
+        /* Update the approval task status to APPROVED and the entity of the approval task to the current user.
            This is to ensure that the task is marked as completed by the user who approved it
            and to maintain the integrity of the task history. */
-        try {
-            String userId = Utils.resolveUserID(CarbonContext.getThreadLocalCarbonContext().getUserId());
-            approvalTaskDAO.updateApprovalTaskEntityDetail(approvalTaskId, ENTITY_TYPE_USERS, userId);
-        } catch (WorkflowEngineException e) {
-            throw new WorkflowEngineServerException(
-                    WorkflowEngineConstants.ErrorMessages.ERROR_RETRIEVING_ASSOCIATED_USER_ID.getDescription(), e);
-        }
+        approvalTaskDAO.completeApprovalTask(approvalTaskId, ApprovalTaskServiceImpl.APPROVED, ENTITY_TYPE_USERS,
+                resolveCompletingUserId(context), callbacks);
+        // Delete other tasks of the same workflow request.
+        approvalTaskDAO.deleteApprovalTasksExceptGivenApprovalTaskId(workflowRequestId, workflowId, approvalTaskId);
     }
 
-    private void handleApprovalTaskRejection(String approvalTaskId, String workflowRequestId)
+    private void handleApprovalTaskRejection(ApprovalCallContext context, String approvalTaskId,
+                                             String workflowRequestId, List<ApprovalCallbackDTO> callbacks)
             throws WorkflowEngineServerException {
 
-        // Update the approval task status to REJECTED and delete other tasks of the same workflow request.
-        approvalTaskDAO.updateApprovalTaskStatus(approvalTaskId, ApprovalTaskServiceImpl.REJECTED);
+        /* Update the approval task status to REJECTED and the entity of the approval task to the current user.
+           This is to ensure that the task is marked as completed by the user who rejected it
+           and to maintain the integrity of the task history. */
+        approvalTaskDAO.completeApprovalTask(approvalTaskId, ApprovalTaskServiceImpl.REJECTED, ENTITY_TYPE_USERS,
+                resolveCompletingUserId(context), callbacks);
+        // Delete other tasks of the same workflow request.
         approvalTaskDAO.deleteApprovalTasksExceptGivenApprovalTaskId(workflowRequestId, approvalTaskId);
+    }
 
-        /* Update the entity of the approval task to the current user.
-           This is to ensure that the task is marked as completed by the user who approved it
-           and to maintain the integrity of the task history. */
+    /**
+     * Resolve the ID of the user completing an approval task. Resolved before the task is completed, so that the
+     * status, the entity and the move to the approval history are written in a single transaction.
+     */
+    private String resolveCompletingUserId(ApprovalCallContext context) throws WorkflowEngineServerException {
 
         try {
-            String userId = Utils.resolveUserID(CarbonContext.getThreadLocalCarbonContext().getUserId());
-            approvalTaskDAO.updateApprovalTaskEntityDetail(approvalTaskId, ENTITY_TYPE_USERS,
-                    userId);
+            return context.getUserId();
         } catch (WorkflowEngineException e) {
             throw new WorkflowEngineServerException(
                     WorkflowEngineConstants.ErrorMessages.ERROR_RETRIEVING_ASSOCIATED_USER_ID.getDescription(), e);
@@ -1368,4 +1958,13 @@ public class ApprovalTaskServiceImpl implements ApprovalTaskService {
                     tenantDomain, e);
         }
     }
+
+    /**
+     * An update of approval tasks.
+     */
+    @FunctionalInterface
+    private interface ApprovalTaskUpdate {
+
+        void execute() throws WorkflowEngineException;
+    }
 }
@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.workflow.engine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
 import org.wso2.carbon.identity.workflow.mgt.bean.Parameter;
 import org.wso2.carbon.identity.workflow.mgt.dto.WorkflowRequest;
 import org.wso2.carbon.identity.workflow.mgt.workflow.WorkFlowExecutor;
@@ -35,8 +36,6 @@ public class DefaultApprovalWorkflowRequestExecutor implements WorkFlowExecutor
     private List<Parameter> parameterList;
     private static final String EXECUTOR_NAME = "Approval Workflow Engine";
 
-    private final ApprovalTaskService approvalTaskService = new ApprovalTaskServiceImpl();
-
     private static final Logger LOG = LoggerFactory.getLogger(DefaultApprovalWorkflowRequestExecutor.class);
 
     /**
@@ -63,6 +62,14 @@ public class DefaultApprovalWorkflowRequestExecutor implements WorkFlowExecutor
     @Override
     public void execute(WorkflowRequest request) {
 
+        // Executors are instantiated by the workflow framework, so they share the service of the component.
+        ApprovalTaskService approvalTaskService = WorkflowEngineServiceDataHolder.getInstance()
+                .getApprovalTaskService();
+        if (approvalTaskService == null) {
+            LOG.error("Approval task service is not available to execute approval workflow request: {}",
+                    request.getUuid());
+            return;
+        }
         try {
             approvalTaskService.addApprovalTasksForWorkflowRequest(request, parameterList);
         } catch (WorkflowEngineException e) {
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the independent property lookups of a workflow request concurrently, in the tenant flow of the caller, and
+ * returns their results in the order of the lookups. A single lookup is run on the calling thread.
+ * <p>
+ * All lookups have to complete within the given timeout. Once the deadline passes or a lookup fails, the remaining
+ * lookups are cancelled and interrupted. A lookup blocked in a call that does not respond to interrupts keeps its pool
+ * thread until the call returns, so the deadline bounds the wait of the caller, not the use of the pool.
+ */
+class PropertyLookupResolver {
+
+    private final ExecutorService executor;
+
+    PropertyLookupResolver(ExecutorService executor) {
+
+        this.executor = executor;
+    }
+
+    /**
+     * @param lookups       Lookups to run.
+     * @param tenantId      Tenant ID of the caller.
+     * @param tenantDomain  Tenant domain of the caller.
+     * @param timeoutMillis Time within which all lookups have to complete.
+     * @return Results of the lookups, in the order of the lookups.
+     * @throws WorkflowEngineException If a lookup fails, or the lookups do not complete within the timeout.
+     */
+    <T> List<T> resolve(List<Lookup<T>> lookups, int tenantId, String tenantDomain, long timeoutMillis)
+            throws WorkflowEngineException {
+
+        List<T> results = new ArrayList<>(lookups.size());
+        if (lookups.size() <= 1) {
+            for (Lookup<T> lookup : lookups) {
+                results.add(lookup.lookup());
+            }
+            return results;
+        }
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<Future<T>> futures = new ArrayList<>(lookups.size());
+        try {
+            for (Lookup<T> lookup : lookups) {
+                futures.add(executor.submit(() -> runInTenantFlow(tenantId, tenantDomain, lookup)));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof WorkflowEngineException) {
+                throw (WorkflowEngineException) e.getCause();
+            }
+            throw new WorkflowEngineServerException(WorkflowEngineConstants.ErrorMessages.
+                    ERROR_OCCURRED_WHILE_RESOLVING_REQUEST_PROPERTIES.getDescription(), e.getCause());
+        } catch (TimeoutException e) {
+            cancel(futures);
+            throw new WorkflowEngineServerException(WorkflowEngineConstants.ErrorMessages.
+                    ERROR_OCCURRED_WHILE_RESOLVING_REQUEST_PROPERTIES.getDescription(), e);
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new WorkflowEngineServerException(WorkflowEngineConstants.ErrorMessages.
+                    ERROR_OCCURRED_WHILE_RESOLVING_REQUEST_PROPERTIES.getDescription(), e);
+        }
+    }
+
+    /**
+     * Run a lookup on a pool thread in the given tenant. The pool does not propagate the CarbonContext, so the tenant
+     * flow is set here.
+     */
+    <T> T runInTenantFlow(int tenantId, String tenantDomain, Lookup<T> lookup) throws WorkflowEngineException {
+
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId);
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+            return lookup.lookup();
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    /**
+     * A lookup resolving the properties of a workflow request parameter.
+     */
+    @FunctionalInterface
+    interface Lookup<T> {
+
+        T lookup() throws WorkflowEngineException;
+    }
+}
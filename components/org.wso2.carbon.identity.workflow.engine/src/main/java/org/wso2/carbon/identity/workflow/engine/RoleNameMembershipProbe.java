@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.internal.RoleInfoCache;
+
+/**
+ * Probes whether an organization role is directly assigned to a user, by checking the user store for the internal
+ * role of the same name. Application roles are not probed, as roles of different applications may share a name.
+ * <p>
+ * The name of the role is loaded on every probe instead of being read from the {@link RoleInfoCache}. A cached name
+ * may belong to another role once the role is renamed, or deleted and created again, on another node, and would then
+ * confirm an assignment of that other role.
+ */
+final class RoleNameMembershipProbe implements ApprovalCallContext.RoleMembershipProbe {
+
+    private final String tenantDomain;
+    private final RoleInfoCache.RoleInfoLoader roleInfoLoader;
+    private final RoleNameChecker roleNameChecker;
+
+    RoleNameMembershipProbe(String tenantDomain, RoleInfoCache.RoleInfoLoader roleInfoLoader,
+                            RoleNameChecker roleNameChecker) {
+
+        this.tenantDomain = tenantDomain;
+        this.roleInfoLoader = roleInfoLoader;
+        this.roleNameChecker = roleNameChecker;
+    }
+
+    @Override
+    public boolean isAssigned(String userId, String roleId) throws WorkflowEngineException {
+
+        RoleInfoCache.RoleInfo roleInfo = roleInfoLoader.load(roleId, tenantDomain);
+        if (roleInfo == null || !RoleConstants.ORGANIZATION.equals(roleInfo.getAudience())) {
+            return false;
+        }
+        return roleNameChecker.isUserInRole(userId, roleInfo.getName());
+    }
+
+    /**
+     * Checks whether a user is assigned the internal role of the given name in the user store.
+     */
+    @FunctionalInterface
+    interface RoleNameChecker {
+
+        boolean isUserInRole(String userId, String roleName) throws WorkflowEngineException;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * DTO class to represent a workflow completion callback in WF_APPROVAL_CALLBACK.
+ */
+public class ApprovalCallbackDTO {
+
+    private String callbackId = null;
+
+    private int tenantId;
+
+    private String workflowRequestId = null;
+
+    private String relationshipId = null;
+
+    private String decision = null;
+
+    private String username = null;
+
+    private String status = null;
+
+    private int attempts;
+
+    private Timestamp nextAttemptTime = null;
+
+    private String lastError = null;
+
+    private Timestamp updatedTime = null;
+
+    /**
+     * Unique ID of the callback.
+     **/
+    public String getCallbackId() {
+
+        return callbackId;
+    }
+
+    /**
+     * Set unique ID of the callback.
+     **/
+    public void setCallbackId(String callbackId) {
+
+        this.callbackId = callbackId;
+    }
+
+    /**
+     * Tenant ID of the workflow request.
+     **/
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    /**
+     * Set tenant ID of the workflow request.
+     **/
+    public void setTenantId(int tenantId) {
+
+        this.tenantId = tenantId;
+    }
+
+    /**
+     * The workflow request ID the callback completes.
+     **/
+    public String getWorkflowRequestId() {
+
+        return workflowRequestId;
+    }
+
+    /**
+     * Set the workflow request ID the callback completes.
+     **/
+    public void setWorkflowRequestId(String workflowRequestId) {
+
+        this.workflowRequestId = workflowRequestId;
+    }
+
+    /**
+     * The workflow request relationship ID the callback is sent for.
+     **/
+    public String getRelationshipId() {
+
+        return relationshipId;
+    }
+
+    /**
+     * Set the workflow request relationship ID the callback is sent for.
+     **/
+    public void setRelationshipId(String relationshipId) {
+
+        this.relationshipId = relationshipId;
+    }
+
+    /**
+     * The decision sent by the callback [APPROVED or REJECTED].
+     **/
+    public String getDecision() {
+
+        return decision;
+    }
+
+    /**
+     * Set the decision sent by the callback [APPROVED or REJECTED].
+     **/
+    public void setDecision(String decision) {
+
+        this.decision = decision;
+    }
+
+    /**
+     * The user who made the decision. The callback is executed as this user.
+     **/
+    public String getUsername() {
+
+        return username;
+    }
+
+    /**
+     * Set the user who made the decision.
+     **/
+    public void setUsername(String username) {
+
+        this.username = username;
+    }
+
+    /**
+     * Status of the callback [PENDING, IN_PROGRESS, COMPLETED or FAILED].
+     **/
+    public String getStatus() {
+
+        return status;
+    }
+
+    /**
+     * Set status of the callback [PENDING, IN_PROGRESS, COMPLETED or FAILED].
+     **/
+    public void setStatus(String status) {
+
+        this.status = status;
+    }
+
+    /**
+     * Number of times the callback has been claimed for execution.
+     **/
+    public int getAttempts() {
+
+        return attempts;
+    }
+
+    /**
+     * Set number of times the callback has been claimed for execution.
+     **/
+    public void setAttempts(int attempts) {
+
+        this.attempts = attempts;
+    }
+
+    /**
+     * Time of the next attempt of a pending callback.
+     **/
+    public Timestamp getNextAttemptTime() {
+
+        return nextAttemptTime;
+    }
+
+    /**
+     * Set time of the next attempt of a pending callback.
+     **/
+    public void setNextAttemptTime(Timestamp nextAttemptTime) {
+
+        this.nextAttemptTime = nextAttemptTime;
+    }
+
+    /**
+     * Error of the last failed attempt, if any.
+     **/
+    public String getLastError() {
+
+        return lastError;
+    }
+
+    /**
+     * Set error of the last failed attempt, if any.
+     **/
+    public void setLastError(String lastError) {
+
+        this.lastError = lastError;
+    }
+
+    /**
+     * Time the callback was last updated.
+     **/
+    public Timestamp getUpdatedTime() {
+
+        return updatedTime;
+    }
+
+    /**
+     * Set time the callback was last updated.
+     **/
+    public void setUpdatedTime(Timestamp updatedTime) {
+
+        this.updatedTime = updatedTime;
+    }
+}
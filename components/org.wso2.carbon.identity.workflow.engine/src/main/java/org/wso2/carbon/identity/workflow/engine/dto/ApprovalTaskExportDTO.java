@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO class to represent an exported approval task together with the properties of its workflow request.
+ */
+public class ApprovalTaskExportDTO {
+
+    private String taskId = null;
+
+    private String requestId = null;
+
+    private String workflowId = null;
+
+    private String approverType = null;
+
+    private String approverName = null;
+
+    private String taskStatus = null;
+
+    private String operationType = null;
+
+    private String initiator = null;
+
+    private String createdTimeInMillis = null;
+
+    private String updatedTimeInMillis = null;
+
+    private List<PropertyDTO> properties = new ArrayList<>();
+
+    /**
+     * Unique ID of the task.
+     **/
+    public String getTaskId() {
+
+        return taskId;
+    }
+
+    /**
+     * Set unique ID of the task.
+     **/
+    public void setTaskId(String taskId) {
+
+        this.taskId = taskId;
+    }
+
+    /**
+     * The workflow request ID corresponding to the task.
+     **/
+    public String getRequestId() {
+
+        return requestId;
+    }
+
+    /**
+     * Set the workflow request ID corresponding to the task.
+     **/
+    public void setRequestId(String requestId) {
+
+        this.requestId = requestId;
+    }
+
+    /**
+     * The workflow ID corresponding to the task.
+     **/
+    public String getWorkflowId() {
+
+        return workflowId;
+    }
+
+    /**
+     * Set the workflow ID corresponding to the task.
+     **/
+    public void setWorkflowId(String workflowId) {
+
+        this.workflowId = workflowId;
+    }
+
+    /**
+     * The type of the approver, either users or roles.
+     **/
+    public String getApproverType() {
+
+        return approverType;
+    }
+
+    /**
+     * Set the type of the approver, either users or roles.
+     **/
+    public void setApproverType(String approverType) {
+
+        this.approverType = approverType;
+    }
+
+    /**
+     * The ID of the user or role the task is assigned to.
+     **/
+    public String getApproverName() {
+
+        return approverName;
+    }
+
+    /**
+     * Set the ID of the user or role the task is assigned to.
+     **/
+    public void setApproverName(String approverName) {
+
+        this.approverName = approverName;
+    }
+
+    /**
+     * State of the task.
+     **/
+    public String getTaskStatus() {
+
+        return taskStatus;
+    }
+
+    /**
+     * Set state of the task.
+     **/
+    public void setTaskStatus(String taskStatus) {
+
+        this.taskStatus = taskStatus;
+    }
+
+    /**
+     * The operation the workflow request was raised for.
+     **/
+    public String getOperationType() {
+
+        return operationType;
+    }
+
+    /**
+     * Set the operation the workflow request was raised for.
+     **/
+    public void setOperationType(String operationType) {
+
+        this.operationType = operationType;
+    }
+
+    /**
+     * The user who initiated the workflow request.
+     **/
+    public String getInitiator() {
+
+        return initiator;
+    }
+
+    /**
+     * Set the user who initiated the workflow request.
+     **/
+    public void setInitiator(String initiator) {
+
+        this.initiator = initiator;
+    }
+
+    /**
+     * The time the workflow request was created, in milliseconds.
+     **/
+    public String getCreatedTimeInMillis() {
+
+        return createdTimeInMillis;
+    }
+
+    /**
+     * Set the time the workflow request was created, in milliseconds.
+     **/
+    public void setCreatedTimeInMillis(String createdTimeInMillis) {
+
+        this.createdTimeInMillis = createdTimeInMillis;
+    }
+
+    /**
+     * The time the workflow request was last updated, in milliseconds.
+     **/
+    public String getUpdatedTimeInMillis() {
+
+        return updatedTimeInMillis;
+    }
+
+    /**
+     * Set the time the workflow request was last updated, in milliseconds.
+     **/
+    public void setUpdatedTimeInMillis(String updatedTimeInMillis) {
+
+        this.updatedTimeInMillis = updatedTimeInMillis;
+    }
+
+    /**
+     * The properties of the workflow request corresponding to the task.
+     **/
+    public List<PropertyDTO> getProperties() {
+
+        return properties;
+    }
+
+    /**
+     * Set the properties of the workflow request corresponding to the task.
+     **/
+    public void setProperties(List<PropertyDTO> properties) {
+
+        this.properties = properties;
+    }
+}
@@ -29,6 +29,7 @@ public class ApprovalTaskFilterDTO {
     private List<String> statusList;
     private List<String> operationTypeList;
     private List<FilterCondition> filterConditions;
+    private FilterExpression filterExpression;
 
     public List<String> getStatusList() {
 
@@ -59,4 +60,17 @@ public class ApprovalTaskFilterDTO {
 
         this.filterConditions = filterConditions;
     }
+
+    /**
+     * @return Compiled filter expression, applied in addition to the other criteria. May be null.
+     */
+    public FilterExpression getFilterExpression() {
+
+        return filterExpression;
+    }
+
+    public void setFilterExpression(FilterExpression filterExpression) {
+
+        this.filterExpression = filterExpression;
+    }
 }
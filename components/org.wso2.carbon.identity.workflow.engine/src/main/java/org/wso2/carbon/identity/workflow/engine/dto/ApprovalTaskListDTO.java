@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.dto;
+
+import java.util.List;
+
+/**
+ * DTO class to represent a page of approval tasks, optionally along with the total number of matching tasks.
+ */
+public class ApprovalTaskListDTO {
+
+    private List<ApprovalTaskSummaryDTO> approvalTasks = null;
+
+    private Integer totalCount = null;
+
+    /**
+     * Approval tasks of the requested page
+     **/
+    public List<ApprovalTaskSummaryDTO> getApprovalTasks() {
+
+        return approvalTasks;
+    }
+
+    /**
+     * Set approval tasks of the requested page
+     **/
+    public void setApprovalTasks(List<ApprovalTaskSummaryDTO> approvalTasks) {
+
+        this.approvalTasks = approvalTasks;
+    }
+
+    /**
+     * Total number of approval tasks matching the filter across all pages, or null if it was not requested
+     **/
+    public Integer getTotalCount() {
+
+        return totalCount;
+    }
+
+    /**
+     * Set total number of approval tasks matching the filter across all pages
+     **/
+    public void setTotalCount(Integer totalCount) {
+
+        this.totalCount = totalCount;
+    }
+}
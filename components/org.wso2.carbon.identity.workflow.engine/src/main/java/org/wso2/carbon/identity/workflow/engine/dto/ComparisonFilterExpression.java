@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filter expression comparing an approval task attribute with one or more values. The values are typed by the
+ * attribute: {@link java.sql.Timestamp} for the created time and {@link String} for all other attributes.
+ * Only the {@link FilterOperator#IN} operator has more than one value.
+ */
+public class ComparisonFilterExpression implements FilterExpression {
+
+    private final String attribute;
+    private final FilterOperator operator;
+    private final List<Object> values;
+
+    public ComparisonFilterExpression(String attribute, FilterOperator operator, List<?> values) {
+
+        this.attribute = attribute;
+        this.operator = operator;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    public String getAttribute() {
+
+        return attribute;
+    }
+
+    public FilterOperator getOperator() {
+
+        return operator;
+    }
+
+    public List<Object> getValues() {
+
+        return values;
+    }
+
+    @Override
+    public String toString() {
+
+        return attribute + " " + operator.name().toLowerCase(Locale.ENGLISH) + " " +
+                (operator == FilterOperator.IN ? values.toString() : String.valueOf(values.get(0)));
+    }
+}
@@ -29,12 +29,24 @@ public enum FilterOperator {
     EQ,
 
     /** Starts-with prefix match. */
-    SW;
+    SW,
+
+    /** Substring match. */
+    CO,
+
+    /** Match any of a list of values. */
+    IN,
+
+    /** Greater than or equal to. */
+    GE,
+
+    /** Less than or equal to. */
+    LE;
 
     /**
      * Resolve a {@link FilterOperator} from its string representation (case-insensitive).
      *
-     * @param op the operator string (e.g. {@code "eq"}, {@code "sw"}).
+     * @param op the operator string (e.g. {@code "eq"}, {@code "sw"}, {@code "in"}).
      * @return the matching {@link FilterOperator}.
      * @throws IllegalArgumentException if the operator string is not supported.
      */
@@ -45,6 +57,14 @@ public enum FilterOperator {
                 return EQ;
             case "sw":
                 return SW;
+            case "co":
+                return CO;
+            case "in":
+                return IN;
+            case "ge":
+                return GE;
+            case "le":
+                return LE;
             default:
                 throw new IllegalArgumentException("Unsupported filter operator: " + op);
         }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filter expression that combines two or more expressions with {@code and} or {@code or}.
+ */
+public class LogicalFilterExpression implements FilterExpression {
+
+    private final Operator operator;
+    private final List<FilterExpression> operands;
+
+    public LogicalFilterExpression(Operator operator, List<FilterExpression> operands) {
+
+        this.operator = operator;
+        this.operands = Collections.unmodifiableList(new ArrayList<>(operands));
+    }
+
+    public Operator getOperator() {
+
+        return operator;
+    }
+
+    public List<FilterExpression> getOperands() {
+
+        return operands;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder expression = new StringBuilder("(");
+        for (int i = 0; i < operands.size(); i++) {
+            if (i > 0) {
+                expression.append(' ').append(operator.name().toLowerCase(Locale.ENGLISH)).append(' ');
+            }
+            expression.append(operands.get(i));
+        }
+        return expression.append(')').toString();
+    }
+
+    /**
+     * Logical operators of filter expressions.
+     */
+    public enum Operator {
+
+        AND,
+        OR
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.dto;
+
+import org.wso2.carbon.identity.workflow.mgt.bean.RequestParameter;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DTO class to represent the parts of a workflow request read when listing and viewing its approval tasks. Workflow
+ * requests do not change once created, so a summary can be reused until the request completes.
+ */
+public class WorkflowRequestSummaryDTO {
+
+    private final String requestId;
+
+    private final String eventType;
+
+    private final int tenantId;
+
+    private final List<RequestParameter> requestParameters;
+
+    private final Timestamp createdTime;
+
+    public WorkflowRequestSummaryDTO(String requestId, String eventType, int tenantId,
+                                     List<RequestParameter> requestParameters, Timestamp createdTime) {
+
+        this.requestId = requestId;
+        this.eventType = eventType;
+        this.tenantId = tenantId;
+        this.requestParameters = requestParameters == null ? Collections.emptyList() :
+                Collections.unmodifiableList(requestParameters);
+        this.createdTime = createdTime;
+    }
+
+    /**
+     * The workflow request ID.
+     **/
+    public String getRequestId() {
+
+        return requestId;
+    }
+
+    /**
+     * The event type of the workflow request, e.g. ADD_USER.
+     **/
+    public String getEventType() {
+
+        return eventType;
+    }
+
+    /**
+     * The tenant ID of the workflow request.
+     **/
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    /**
+     * The parameters of the workflow request.
+     **/
+    public List<RequestParameter> getRequestParameters() {
+
+        return requestParameters;
+    }
+
+    /**
+     * The time the workflow request was created.
+     **/
+    public Timestamp getCreatedTime() {
+
+        return createdTime;
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalCallbackDAO;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.impl.ApprovalCallbackDAOImpl;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes the workflow completion callbacks recorded with the approval or rejection that completes a workflow
+ * request. A poller claims the due callbacks and hands them to a pool of workers, so that the approving request does
+ * not wait for the callback. Failed callbacks are retried with an exponential backoff until the maximum number of
+ * attempts, after which they are kept as FAILED.
+ * Callbacks are executed at least once. A callback claimed by a node that stops before recording the outcome is claimed
+ * again once the lease timeout passes.
+ * The callbacks of a workflow request are executed one after the other by a single worker, as each of them checks
+ * whether the other relationships of the request are complete. Callbacks of different requests run concurrently.
+ */
+public class ApprovalCallbackQueue implements ApprovalCallbackQueueMBean {
+
+    public static final String OBJECT_NAME = "org.wso2.carbon.identity.workflow.engine:type=ApprovalCallbackQueue";
+    private static final Log log = LogFactory.getLog(ApprovalCallbackQueue.class);
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private static final ApprovalCallbackQueue INSTANCE = new ApprovalCallbackQueue(new ApprovalCallbackDAOImpl(),
+            null);
+
+    private final ApprovalCallbackDAO callbackDAO;
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    // Workflow requests whose callbacks are being executed, mapped to whether a poll deferred more of their callbacks.
+    private final Map<String, Boolean> inFlightRequests = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile int batchSize = WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_BATCH_SIZE;
+    private volatile int maxAttempts = WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_MAX_ATTEMPTS;
+    private volatile long retryDelayMillis = WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_RETRY_DELAY_MILLIS;
+    private volatile long leaseTimeoutMillis =
+            TimeUnit.SECONDS.toMillis(WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_LEASE_TIMEOUT_SECONDS);
+    private volatile CallbackHandler callbackHandler;
+    private ScheduledExecutorService poller;
+    private ExecutorService workers;
+
+    ApprovalCallbackQueue(ApprovalCallbackDAO callbackDAO, CallbackHandler callbackHandler) {
+
+        this.callbackDAO = callbackDAO;
+        this.callbackHandler = callbackHandler;
+    }
+
+    public static ApprovalCallbackQueue getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Start polling for due callbacks and executing them.
+     *
+     * @param callbackHandler    Handler executing the callbacks.
+     * @param workerCount        Number of callbacks executed concurrently.
+     * @param pollIntervalMillis Interval between two polls for due callbacks.
+     */
+    public synchronized void start(CallbackHandler callbackHandler, int workerCount, long pollIntervalMillis) {
+
+        stop();
+        this.callbackHandler = callbackHandler;
+        workers = Executors.newFixedThreadPool(Math.max(1, workerCount), newThreadFactory(
+                "WorkflowEngineCompletionCallbackWorker"));
+        poller = Executors.newSingleThreadScheduledExecutor(newThreadFactory("WorkflowEngineCompletionCallbackPoller"));
+        poller.scheduleWithFixedDelay(this::poll, 0, Math.max(1, pollIntervalMillis), TimeUnit.MILLISECONDS);
+        enabled = true;
+    }
+
+    /**
+     * Stop executing callbacks. Callbacks claimed but not executed yet are claimed again after the lease timeout.
+     */
+    public synchronized void stop() {
+
+        enabled = false;
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+        // Callbacks dropped with the workers are claimed again after the lease timeout.
+        inFlightRequests.clear();
+    }
+
+    @Override
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setBatchSize(int batchSize) {
+
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public void setRetryDelayMillis(long retryDelayMillis) {
+
+        this.retryDelayMillis = Math.max(0, retryDelayMillis);
+    }
+
+    public void setLeaseTimeoutSeconds(long leaseTimeoutSeconds) {
+
+        this.leaseTimeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(1, leaseTimeoutSeconds));
+    }
+
+    /**
+     * Build a callback to be recorded with the decision that completes a workflow request.
+     *
+     * @param tenantId          Tenant ID of the workflow request.
+     * @param workflowRequestId Workflow request ID.
+     * @param relationshipId    Workflow request relationship the callback is made for.
+     * @param decision          Decision of the workflow request [APPROVED or REJECTED].
+     * @param username          User who made the decision. The callback is executed as this user.
+     * @return Callback.
+     */
+    public ApprovalCallbackDTO newCallback(int tenantId, String workflowRequestId, String relationshipId,
+                                           String decision, String username) {
+
+        ApprovalCallbackDTO callback = new ApprovalCallbackDTO();
+        callback.setCallbackId(UUID.randomUUID().toString());
+        callback.setTenantId(tenantId);
+        callback.setWorkflowRequestId(workflowRequestId);
+        callback.setRelationshipId(relationshipId);
+        callback.setDecision(decision);
+        callback.setUsername(username);
+        callback.setStatus(WorkflowEngineConstants.CallbackStatus.PENDING.name());
+        return callback;
+    }
+
+    /**
+     * Poll for due callbacks now, instead of waiting for the next poll. Called once new callbacks are committed.
+     */
+    public void dispatch() {
+
+        ScheduledExecutorService currentPoller = poller;
+        if (!enabled || currentPoller == null) {
+            return;
+        }
+        try {
+            currentPoller.execute(this::poll);
+        } catch (RejectedExecutionException e) {
+            // The queue is being stopped. The callbacks are executed once it is started again.
+            log.debug("Completion callback queue is stopped. Callbacks are executed on the next start.", e);
+        }
+    }
+
+    @Override
+    public int getPendingCallbackCount() {
+
+        return getCallbackCount(WorkflowEngineConstants.CallbackStatus.PENDING);
+    }
+
+    @Override
+    public int getFailedCallbackCount() {
+
+        return getCallbackCount(WorkflowEngineConstants.CallbackStatus.FAILED);
+    }
+
+    @Override
+    public String[] getCallbackStatus(String workflowRequestId) {
+
+        try {
+            List<ApprovalCallbackDTO> callbacks = callbackDAO.getCallbacksOfWorkflowRequest(workflowRequestId);
+            String[] callbackStatus = new String[callbacks.size()];
+            for (int i = 0; i < callbacks.size(); i++) {
+                ApprovalCallbackDTO callback = callbacks.get(i);
+                callbackStatus[i] = String.format("%s relationship=%s decision=%s status=%s attempts=%d " +
+                                "lastError=%s", callback.getCallbackId(), callback.getRelationshipId(),
+                        callback.getDecision(), callback.getStatus(), callback.getAttempts(),
+                        callback.getLastError());
+            }
+            return callbackStatus;
+        } catch (WorkflowEngineServerException e) {
+            log.error(e.getMessage(), e);
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    @Override
+    public int retryFailedCallbacks() {
+
+        try {
+            int retriedCount = callbackDAO.retryFailedCallbacks();
+            log.info(String.format("Retrying %d failed workflow completion callbacks.", retriedCount));
+            dispatch();
+            return retriedCount;
+        } catch (WorkflowEngineServerException e) {
+            log.error(e.getMessage(), e);
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    /**
+     * Claim the due callbacks and hand them to the workers, the callbacks of each workflow request to a single worker.
+     * Only as many callbacks as fit in the batch alongside the callbacks still being executed are claimed, so that
+     * claimed callbacks do not pile up behind slow callbacks.
+     */
+    private void poll() {
+
+        ExecutorService currentWorkers = workers;
+        int limit = batchSize - inFlightCount.get();
+        if (!enabled || currentWorkers == null || limit <= 0) {
+            return;
+        }
+        try {
+            Map<String, List<ApprovalCallbackDTO>> requestCallbacks = new LinkedHashMap<>();
+            for (ApprovalCallbackDTO callback : claimDueCallbacks(limit)) {
+                requestCallbacks.computeIfAbsent(callback.getWorkflowRequestId(), requestId -> new ArrayList<>())
+                        .add(callback);
+            }
+            for (Map.Entry<String, List<ApprovalCallbackDTO>> callbacks : requestCallbacks.entrySet()) {
+                inFlightCount.addAndGet(callbacks.getValue().size());
+                inFlightRequests.put(callbacks.getKey(), false);
+                try {
+                    currentWorkers.execute(() -> execute(callbacks.getKey(), callbacks.getValue()));
+                } catch (RejectedExecutionException e) {
+                    // The queue is being stopped. The callbacks are claimed again after the lease timeout.
+                    inFlightCount.addAndGet(-callbacks.getValue().size());
+                    inFlightRequests.remove(callbacks.getKey());
+                    return;
+                }
+            }
+        } catch (WorkflowEngineServerException | RuntimeException e) {
+            // Logged here, as an exception would cancel the following polls.
+            log.error("Error while polling for due workflow completion callbacks.", e);
+        }
+    }
+
+    /**
+     * Claim up to the given number of due callbacks. A callback claimed by another node in the meantime is skipped.
+     * So is a callback of a workflow request whose callbacks are being executed, which is claimed by the poll made
+     * once they complete.
+     */
+    List<ApprovalCallbackDTO> claimDueCallbacks(int limit) throws WorkflowEngineServerException {
+
+        long now = System.currentTimeMillis();
+        List<ApprovalCallbackDTO> dueCallbacks = callbackDAO.getDueCallbacks(new Timestamp(now),
+                new Timestamp(now - leaseTimeoutMillis), limit);
+        List<ApprovalCallbackDTO> claimedCallbacks = new ArrayList<>(dueCallbacks.size());
+        for (ApprovalCallbackDTO callback : dueCallbacks) {
+            if (inFlightRequests.replace(callback.getWorkflowRequestId(), true) != null) {
+                continue;
+            }
+            if (callbackDAO.claimCallback(callback.getCallbackId(), callback.getAttempts(), new Timestamp(now))) {
+                callback.setAttempts(callback.getAttempts() + 1);
+                callback.setStatus(WorkflowEngineConstants.CallbackStatus.IN_PROGRESS.name());
+                claimedCallbacks.add(callback);
+            }
+        }
+        return claimedCallbacks;
+    }
+
+    /**
+     * Execute the claimed callbacks of a workflow request in order, and poll again if callbacks of the request were
+     * deferred meanwhile.
+     */
+    private void execute(String workflowRequestId, List<ApprovalCallbackDTO> callbacks) {
+
+        try {
+            for (ApprovalCallbackDTO callback : callbacks) {
+                try {
+                    execute(callback);
+                } finally {
+                    inFlightCount.decrementAndGet();
+                }
+            }
+        } finally {
+            if (Boolean.TRUE.equals(inFlightRequests.remove(workflowRequestId))) {
+                dispatch();
+            }
+        }
+    }
+
+    /**
+     * Execute a claimed callback and record the outcome. A failed callback is made pending again after the retry
+     * delay, unless it has reached the maximum number of attempts.
+     */
+    void execute(ApprovalCallbackDTO callback) {
+
+        String lastError = null;
+        try {
+            callbackHandler.handle(callback);
+        } catch (WorkflowEngineException | RuntimeException e) {
+            lastError = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+            log.warn(String.format("Attempt %d of the workflow completion callback: %s of workflow request: %s " +
+                    "failed.", callback.getAttempts(), callback.getCallbackId(), callback.getWorkflowRequestId()), e);
+        }
+        try {
+            if (lastError == null) {
+                updateClaimedCallback(callback, WorkflowEngineConstants.CallbackStatus.COMPLETED, null, null);
+            } else if (callback.getAttempts() >= maxAttempts) {
+                log.error(String.format("Workflow completion callback: %s of workflow request: %s failed after %d " +
+                                "attempts.", callback.getCallbackId(), callback.getWorkflowRequestId(),
+                        callback.getAttempts()));
+                updateClaimedCallback(callback, WorkflowEngineConstants.CallbackStatus.FAILED, null, lastError);
+            } else {
+                updateClaimedCallback(callback, WorkflowEngineConstants.CallbackStatus.PENDING,
+                        new Timestamp(System.currentTimeMillis() + getRetryDelayMillis(callback.getAttempts())),
+                        lastError);
+            }
+        } catch (WorkflowEngineServerException e) {
+            // The callback is claimed again after the lease timeout.
+            log.error(String.format("Error while recording the outcome of the workflow completion callback: %s.",
+                    callback.getCallbackId()), e);
+        }
+    }
+
+    /**
+     * Delay before the next attempt of a callback, doubled on every failed attempt up to the maximum retry delay.
+     */
+    long getRetryDelayMillis(int attempts) {
+
+        int shift = Math.min(Math.max(0, attempts - 1), MAX_BACKOFF_SHIFT);
+        if (retryDelayMillis > MAX_RETRY_DELAY_MILLIS >> shift) {
+            // Shifting further would overflow for large configured delays.
+            return MAX_RETRY_DELAY_MILLIS;
+        }
+        return retryDelayMillis << shift;
+    }
+
+    private void updateClaimedCallback(ApprovalCallbackDTO callback, WorkflowEngineConstants.CallbackStatus status,
+                                       Timestamp nextAttemptTime, String lastError)
+            throws WorkflowEngineServerException {
+
+        if (!callbackDAO.updateClaimedCallback(callback.getCallbackId(), callback.getAttempts(), status.name(),
+                nextAttemptTime, lastError) && log.isDebugEnabled()) {
+            log.debug(String.format("Workflow completion callback: %s was claimed again before its outcome was " +
+                    "recorded.", callback.getCallbackId()));
+        }
+    }
+
+    private int getCallbackCount(WorkflowEngineConstants.CallbackStatus status) {
+
+        try {
+            Map<String, Integer> callbackCounts = callbackDAO.getCallbackCounts();
+            return callbackCounts.getOrDefault(status.name(), 0);
+        } catch (WorkflowEngineServerException e) {
+            log.error(e.getMessage(), e);
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(String threadName) {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Executes a workflow completion callback.
+     */
+    @FunctionalInterface
+    public interface CallbackHandler {
+
+        /**
+         * @param callback Callback to be executed.
+         * @throws WorkflowEngineException If the callback fails. The callback is retried.
+         */
+        void handle(ApprovalCallbackDTO callback) throws WorkflowEngineException;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+/**
+ * JMX management interface of the workflow completion callback queue.
+ * Callbacks that failed on every attempt are kept as FAILED until they are retried with
+ * {@link #retryFailedCallbacks()}.
+ */
+public interface ApprovalCallbackQueueMBean {
+
+    boolean isEnabled();
+
+    int getPendingCallbackCount();
+
+    int getFailedCallbackCount();
+
+    /**
+     * @param workflowRequestId Workflow request ID.
+     * @return Status, attempts and last error of each callback of the workflow request.
+     */
+    String[] getCallbackStatus(String workflowRequestId);
+
+    /**
+     * @return Number of failed callbacks made pending again.
+     */
+    int retryFailedCallbacks();
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalInboxDAO;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.impl.ApprovalInboxDAOImpl;
+
+/**
+ * Switches the approval inbox read model on and off and rebuilds it from the approval task relations.
+ * Errors are reported to JMX clients by message only, as they cannot load the workflow engine exception classes.
+ */
+public class ApprovalInboxManager implements ApprovalInboxManagerMBean {
+
+    public static final String OBJECT_NAME = "org.wso2.carbon.identity.workflow.engine:type=ApprovalInbox";
+    private static final Log log = LogFactory.getLog(ApprovalInboxManager.class);
+
+    private final ApprovalInboxDAO approvalInboxDAO = new ApprovalInboxDAOImpl();
+
+    @Override
+    public boolean isEnabled() {
+
+        return WorkflowEngineServiceDataHolder.getInstance().isApprovalInboxEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalInboxEnabled(enabled);
+    }
+
+    @Override
+    public int rebuild(int tenantId) {
+
+        try {
+            int entryCount = approvalInboxDAO.rebuildApprovalInbox(tenantId);
+            log.info(String.format("Rebuilt the approval inbox of tenant: %d with %d entries.", tenantId,
+                    entryCount));
+            return entryCount;
+        } catch (WorkflowEngineServerException e) {
+            log.error(e.getMessage(), e);
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    @Override
+    public int getEntryCount(int tenantId) {
+
+        try {
+            return approvalInboxDAO.countApprovalInboxEntries(tenantId);
+        } catch (WorkflowEngineServerException e) {
+            log.error(e.getMessage(), e);
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+}
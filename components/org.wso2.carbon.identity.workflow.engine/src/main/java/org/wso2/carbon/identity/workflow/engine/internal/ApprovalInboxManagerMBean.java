@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+/**
+ * JMX management interface of the approval inbox read model.
+ * Enabling the inbox at runtime starts maintaining it on every approval task update, after which the existing approval
+ * tasks of each tenant are brought in with {@link #rebuild(int)}.
+ */
+public interface ApprovalInboxManagerMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @param tenantId Tenant ID.
+     * @return Number of inbox entries of the tenant after the rebuild.
+     */
+    int rebuild(int tenantId);
+
+    int getEntryCount(int tenantId);
+}
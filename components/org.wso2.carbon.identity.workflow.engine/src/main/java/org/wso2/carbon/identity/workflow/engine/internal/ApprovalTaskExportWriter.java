@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskExportDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.PropertyDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes exported approval tasks to a file as NDJSON or CSV.
+ * Records are encoded into a buffer that is written to the file channel only once full, optionally through a gzip
+ * stream. The properties of a task are written as a JSON array of key and value pairs in both formats. CSV fields
+ * that a spreadsheet would evaluate as formulas are written as text.
+ */
+final class ApprovalTaskExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_FORMULA_PREFIXES = "=+-@\t\r";
+    private static final String[] FIELD_NAMES = {"taskId", "requestId", "workflowId", "approverType",
+            "approverName", "taskStatus", "operationType", "initiator", "createdTimeInMillis", "updatedTimeInMillis",
+            "properties"};
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Format format;
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final StringBuilder record = new StringBuilder();
+
+    private ApprovalTaskExportWriter(Format format, WritableByteChannel channel) {
+
+        this.format = format;
+        this.channel = channel;
+    }
+
+    /**
+     * Create a new export file and open a writer on it.
+     *
+     * @param file   Export file. Must not exist.
+     * @param format Format of the records.
+     * @param gzip   Whether the file is gzip compressed.
+     * @return Writer of the file.
+     * @throws IOException If the file could not be created.
+     */
+    static ApprovalTaskExportWriter open(Path file, Format format, boolean gzip) throws IOException {
+
+        FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        WritableByteChannel channel = fileChannel;
+        if (gzip) {
+            try {
+                channel = Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(fileChannel),
+                        BUFFER_SIZE));
+            } catch (IOException e) {
+                fileChannel.close();
+                throw e;
+            }
+        }
+        ApprovalTaskExportWriter writer = new ApprovalTaskExportWriter(format, channel);
+        if (format == Format.CSV) {
+            writer.writeCsvHeader();
+        }
+        return writer;
+    }
+
+    /**
+     * Append an approval task to the export file.
+     *
+     * @param approvalTask Approval task.
+     * @throws IOException If the record could not be written.
+     */
+    void write(ApprovalTaskExportDTO approvalTask) throws IOException {
+
+        record.setLength(0);
+        String[] values = {approvalTask.getTaskId(), approvalTask.getRequestId(), approvalTask.getWorkflowId(),
+                approvalTask.getApproverType(), approvalTask.getApproverName(), approvalTask.getTaskStatus(),
+                approvalTask.getOperationType(), approvalTask.getInitiator(), approvalTask.getCreatedTimeInMillis(),
+                approvalTask.getUpdatedTimeInMillis()};
+        if (format == Format.NDJSON) {
+            record.append('{');
+            for (int i = 0; i < values.length; i++) {
+                appendJsonString(record, FIELD_NAMES[i]).append(':');
+                appendJsonValue(record, values[i]).append(',');
+            }
+            appendJsonString(record, FIELD_NAMES[values.length]).append(':');
+            appendProperties(record, approvalTask.getProperties()).append('}');
+        } else {
+            for (String value : values) {
+                appendCsvValue(record, value).append(',');
+            }
+            StringBuilder properties = new StringBuilder();
+            appendCsvValue(record, appendProperties(properties, approvalTask.getProperties()).toString());
+        }
+        record.append('\n');
+        put(record.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeCsvHeader() throws IOException {
+
+        record.setLength(0);
+        record.append(String.join(",", FIELD_NAMES)).append('\n');
+        put(record.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void put(byte[] bytes) throws IOException {
+
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            ByteBuffer oversized = ByteBuffer.wrap(bytes);
+            while (oversized.hasRemaining()) {
+                channel.write(oversized);
+            }
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    private void flush() throws IOException {
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static StringBuilder appendProperties(StringBuilder builder, List<PropertyDTO> properties) {
+
+        builder.append('[');
+        if (properties != null) {
+            for (int i = 0; i < properties.size(); i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append("{\"key\":");
+                appendJsonValue(builder, properties.get(i).getKey()).append(",\"value\":");
+                appendJsonValue(builder, properties.get(i).getValue()).append('}');
+            }
+        }
+        return builder.append(']');
+    }
+
+    private static StringBuilder appendJsonValue(StringBuilder builder, String value) {
+
+        return value == null ? builder.append("null") : appendJsonString(builder, value);
+    }
+
+    private static StringBuilder appendJsonString(StringBuilder builder, String value) {
+
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append("\\u00").append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"');
+    }
+
+    /**
+     * Append a CSV field, quoted as per RFC 4180 when it contains a separator, a quote or a line break. Null values
+     * are written as empty fields. Values such as the initiator are provided by users, so a value a spreadsheet would
+     * evaluate as a formula, i.e. one starting with '=', '+', '-', '@', a tab or a carriage return, is prefixed with
+     * a single quote to be read as text.
+     */
+    private static StringBuilder appendCsvValue(StringBuilder builder, String value) {
+
+        if (value == null) {
+            return builder;
+        }
+        if (!value.isEmpty() && CSV_FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return builder.append(value);
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                builder.append('"');
+            }
+            builder.append(c);
+        }
+        return builder.append('"');
+    }
+
+    /**
+     * Supported export file formats.
+     */
+    enum Format {
+
+        NDJSON("ndjson"),
+        CSV("csv");
+
+        private final String fileExtension;
+
+        Format(String fileExtension) {
+
+            this.fileExtension = fileExtension;
+        }
+
+        String getFileExtension() {
+
+            return fileExtension;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.workflow.engine.ApprovalTaskService;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exports the approval tasks of a tenant to a file in the background, so that large exports neither hold a JMX or
+ * service call open nor load the tasks into memory. The tasks are read through
+ * {@link ApprovalTaskService#exportApprovalTasks} and written with an {@link ApprovalTaskExportWriter}.
+ * Errors are reported to JMX clients by message only, as they cannot load the workflow engine exception classes.
+ */
+public class ApprovalTaskExporter implements ApprovalTaskExporterMBean {
+
+    public static final String OBJECT_NAME = "org.wso2.carbon.identity.workflow.engine:type=ApprovalTaskExporter";
+    private static final Log log = LogFactory.getLog(ApprovalTaskExporter.class);
+    private static final String EXPORT_FILE_PREFIX = "approval-tasks-";
+    private static final String GZIP_FILE_EXTENSION = ".gz";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ApprovalTaskService approvalTaskService;
+    private final Path exportDirectory;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "WorkflowEngineApprovalTaskExporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong exportedTaskCount = new AtomicLong();
+    private volatile Status status = Status.IDLE;
+    private volatile boolean cancelled;
+    private volatile Path exportFile;
+    private volatile String error;
+    private volatile long startTimeMillis;
+    private volatile long endTimeMillis;
+
+    public ApprovalTaskExporter(ApprovalTaskService approvalTaskService, Path exportDirectory) {
+
+        this.approvalTaskService = approvalTaskService;
+        this.exportDirectory = exportDirectory;
+    }
+
+    @Override
+    public synchronized String startExport(int tenantId, String format, boolean gzip) {
+
+        if (status == Status.RUNNING) {
+            throw new IllegalStateException("An approval task export is already running: " + exportFile);
+        }
+        ApprovalTaskExportWriter.Format exportFormat;
+        try {
+            exportFormat = ApprovalTaskExportWriter.Format.valueOf(StringUtils.upperCase(format, Locale.ENGLISH));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format + ". Use NDJSON or CSV.");
+        }
+        try {
+            Files.createDirectories(exportDirectory);
+        } catch (IOException e) {
+            log.error("Error while creating the export directory: " + exportDirectory, e);
+            throw new IllegalStateException("Error while creating the export directory: " + exportDirectory);
+        }
+        Path file = exportDirectory.resolve(EXPORT_FILE_PREFIX + tenantId + "-" + System.currentTimeMillis() + "." +
+                exportFormat.getFileExtension() + (gzip ? GZIP_FILE_EXTENSION : StringUtils.EMPTY));
+        exportedTaskCount.set(0);
+        cancelled = false;
+        error = null;
+        exportFile = file;
+        startTimeMillis = System.currentTimeMillis();
+        endTimeMillis = 0;
+        status = Status.RUNNING;
+        executor.execute(() -> export(tenantId, exportFormat, gzip, file));
+        return file.toString();
+    }
+
+    @Override
+    public void cancel() {
+
+        if (status == Status.RUNNING) {
+            cancelled = true;
+        }
+    }
+
+    @Override
+    public String getStatus() {
+
+        return status.name();
+    }
+
+    @Override
+    public long getExportedTaskCount() {
+
+        return exportedTaskCount.get();
+    }
+
+    @Override
+    public long getElapsedTimeMillis() {
+
+        if (startTimeMillis == 0) {
+            return 0;
+        }
+        return (status == Status.RUNNING ? System.currentTimeMillis() : endTimeMillis) - startTimeMillis;
+    }
+
+    @Override
+    public String getExportFile() {
+
+        return exportFile == null ? null : exportFile.toString();
+    }
+
+    @Override
+    public String getError() {
+
+        return error;
+    }
+
+    /**
+     * Cancel the running export and stop the export thread. The running export stops at the next approval task and
+     * deletes its incomplete file. It is interrupted if it does not stop within the shutdown timeout.
+     */
+    void shutdown() {
+
+        cancel();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void export(int tenantId, ApprovalTaskExportWriter.Format format, boolean gzip, Path file) {
+
+        Status finalStatus = Status.FAILED;
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantId(tenantId);
+            carbonContext.setTenantDomain(IdentityTenantUtil.getTenantDomain(tenantId));
+            try (ApprovalTaskExportWriter writer = ApprovalTaskExportWriter.open(file, format, gzip)) {
+                approvalTaskService.exportApprovalTasks(approvalTask -> {
+                    if (cancelled) {
+                        throw new WorkflowEngineClientException("The approval task export was cancelled.", null);
+                    }
+                    try {
+                        writer.write(approvalTask);
+                    } catch (IOException e) {
+                        throw new WorkflowEngineServerException("Error while writing the export file: " + file, e);
+                    }
+                    exportedTaskCount.incrementAndGet();
+                });
+            }
+            finalStatus = Status.COMPLETED;
+            log.info(String.format("Exported %d approval tasks of tenant: %d to: %s", exportedTaskCount.get(),
+                    tenantId, file));
+        } catch (WorkflowEngineException | IOException | RuntimeException e) {
+            if (cancelled) {
+                finalStatus = Status.CANCELLED;
+                log.info("Cancelled the approval task export of tenant: " + tenantId);
+            } else {
+                error = e.getMessage();
+                log.error("Error while exporting the approval tasks of tenant: " + tenantId, e);
+            }
+            deleteExportFile(file);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+            endTimeMillis = System.currentTimeMillis();
+            status = finalStatus;
+        }
+    }
+
+    private void deleteExportFile(Path file) {
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Error while deleting the incomplete export file: " + file, e);
+        }
+    }
+
+    private enum Status {
+
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+/**
+ * JMX management interface of the approval task export job.
+ * An export runs in the background and writes the approval tasks of a tenant, together with the properties of their
+ * workflow requests, to a file in the configured export directory. Only one export runs at a time.
+ */
+public interface ApprovalTaskExporterMBean {
+
+    /**
+     * @param tenantId Tenant ID.
+     * @param format   File format, either NDJSON or CSV.
+     * @param gzip     Whether the file is gzip compressed.
+     * @return Path of the export file.
+     */
+    String startExport(int tenantId, String format, boolean gzip);
+
+    /**
+     * Cancel the running export. The partially written file is deleted.
+     */
+    void cancel();
+
+    /**
+     * @return One of IDLE, RUNNING, COMPLETED, FAILED or CANCELLED.
+     */
+    String getStatus();
+
+    /**
+     * @return Number of approval tasks written by the current or last export.
+     */
+    long getExportedTaskCount();
+
+    long getElapsedTimeMillis();
+
+    String getExportFile();
+
+    String getError();
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalTaskRetentionDAO;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purges the approval tasks of workflow requests completed before the retention period, either archiving or deleting
+ * them. Workflow requests are processed in chunks, each in its own short transaction, with a pause between chunks so
+ * that the job does not hold locks on the approval task tables for long while they are in use.
+ */
+public class ApprovalTaskRetentionJob implements Runnable {
+
+    private static final Log log = LogFactory.getLog(ApprovalTaskRetentionJob.class);
+
+    private final ApprovalTaskRetentionDAO retentionDAO;
+    private final Mode mode;
+    private final long retentionPeriodMillis;
+    private final int chunkSize;
+    private final long chunkIntervalMillis;
+    private final int maxChunksPerRun;
+
+    /**
+     * @param retentionDAO        DAO used to purge the approval tasks.
+     * @param mode                Whether the approval tasks are archived or deleted.
+     * @param retentionPeriodDays Approval tasks of workflow requests updated within this period are kept.
+     * @param chunkSize           Number of workflow requests purged per transaction.
+     * @param chunkIntervalMillis Pause between two chunks.
+     * @param maxChunksPerRun     Maximum number of chunks purged per run. Zero or less purges all chunks.
+     */
+    public ApprovalTaskRetentionJob(ApprovalTaskRetentionDAO retentionDAO, Mode mode, int retentionPeriodDays,
+                                    int chunkSize, long chunkIntervalMillis, int maxChunksPerRun) {
+
+        this.retentionDAO = retentionDAO;
+        this.mode = mode;
+        this.retentionPeriodMillis = TimeUnit.DAYS.toMillis(retentionPeriodDays);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkIntervalMillis = chunkIntervalMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Override
+    public void run() {
+
+        Timestamp updatedBefore = new Timestamp(System.currentTimeMillis() - retentionPeriodMillis);
+        // Purged workflow requests no longer match, so resuming from the last update time skips only the requests
+        // that are not completed yet.
+        Timestamp updatedFrom = new Timestamp(0);
+        int chunkCount = 0;
+        int workflowRequestCount = 0;
+        int taskCount = 0;
+        try {
+            while (maxChunksPerRun <= 0 || chunkCount < maxChunksPerRun) {
+                List<Map.Entry<String, Timestamp>> workflowRequests = retentionDAO.getCompletedWorkflowRequests(
+                        updatedFrom, updatedBefore, chunkSize);
+                if (workflowRequests.isEmpty()) {
+                    break;
+                }
+                List<String> workflowRequestIds = new ArrayList<>(workflowRequests.size());
+                for (Map.Entry<String, Timestamp> workflowRequest : workflowRequests) {
+                    workflowRequestIds.add(workflowRequest.getKey());
+                }
+                taskCount += retentionDAO.purgeCompletedApprovalTasks(workflowRequestIds, mode == Mode.ARCHIVE);
+                workflowRequestCount += workflowRequestIds.size();
+                chunkCount++;
+                updatedFrom = workflowRequests.get(workflowRequests.size() - 1).getValue();
+                if (workflowRequests.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(chunkIntervalMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (WorkflowEngineServerException | RuntimeException e) {
+            // Logged here, as an exception would cancel the following runs of the job.
+            log.error("Error while purging the completed approval tasks.", e);
+        }
+        if (workflowRequestCount > 0) {
+            log.info(String.format("%s %d approval tasks of %d workflow requests updated before: %s.",
+                    mode == Mode.ARCHIVE ? "Archived" : "Deleted", taskCount, workflowRequestCount, updatedBefore));
+        }
+    }
+
+    /**
+     * What happens to the purged approval tasks.
+     */
+    public enum Mode {
+
+        /** Copy the approval tasks to the archive table before deleting them. */
+        ARCHIVE,
+
+        /** Delete the approval tasks. */
+        DELETE
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Invalidates the caches of the workflow engine on the identity events that change their content. The roles cached in
+ * the {@link RoleInfoCache} are invalidated when they are renamed or deleted, and the {@link SharedUserIdCache} is
+ * cleared when a user is deleted, which includes the shared users removed when a user is unshared.
+ */
+public class CacheInvalidationHandler extends AbstractEventHandler {
+
+    private static final Log log = LogFactory.getLog(CacheInvalidationHandler.class);
+    private static final String HANDLER_NAME = "workflowEngineCacheInvalidationHandler";
+    private static final Set<String> ROLE_EVENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            IdentityEventConstants.Event.POST_UPDATE_ROLE_V2_NAME_EVENT,
+            IdentityEventConstants.Event.POST_DELETE_ROLE_V2_EVENT)));
+    private static final Set<String> USER_EVENTS = Collections.singleton(
+            IdentityEventConstants.Event.POST_DELETE_USER);
+
+    @Override
+    public String getName() {
+
+        return HANDLER_NAME;
+    }
+
+    @Override
+    public boolean canHandle(MessageContext messageContext) {
+
+        // Subscribed here rather than in the event handler configuration, so no deployment change is needed.
+        if (!(messageContext instanceof IdentityEventMessageContext)) {
+            return false;
+        }
+        Event event = ((IdentityEventMessageContext) messageContext).getEvent();
+        return event != null && (ROLE_EVENTS.contains(event.getEventName()) ||
+                USER_EVENTS.contains(event.getEventName()));
+    }
+
+    @Override
+    public void handleEvent(Event event) throws IdentityEventException {
+
+        if (USER_EVENTS.contains(event.getEventName())) {
+            SharedUserIdCache sharedUserIdCache = SharedUserIdCache.getInstance();
+            if (sharedUserIdCache.isEnabled()) {
+                sharedUserIdCache.invalidateAll();
+            }
+            return;
+        }
+        RoleInfoCache roleInfoCache = RoleInfoCache.getInstance();
+        if (!roleInfoCache.isEnabled()) {
+            return;
+        }
+        Map<String, Object> eventProperties = event.getEventProperties();
+        Object roleId = eventProperties.get(IdentityEventConstants.EventProperty.ROLE_ID);
+        Object tenantDomain = eventProperties.get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
+        if (roleId == null) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Invalidating the cached role: " + roleId + " on event: " + event.getEventName());
+        }
+        roleInfoCache.invalidate(roleId.toString(), tenantDomain == null ? null : tenantDomain.toString());
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.impl.ApprovalTaskDAOImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory counters of the READY and RESERVED approval tasks per tenant and approver entity, used to serve the
+ * pending task badge without querying the database.
+ * <p>
+ * The counters of a tenant are loaded from the database on first read and then adjusted by the approval task service
+ * on each task transition. Bulk changes drop the counters of the tenant, so they are loaded again on the next read.
+ * The counters are local to the node, so {@link #reconcile()} is run periodically to pick up the changes made by
+ * other nodes and any drift. A load is only cached when no update of the tenant ran while it was executing.
+ * <p>
+ * The change of an update is taken from snapshots of the pending task counts of its workflow request before and
+ * after the update. When updates of the same workflow request overlap, each snapshot may include the change of the
+ * other update, so the overlapping updates drop the counters of the tenant instead of applying their changes.
+ */
+public class PendingApprovalTaskCounters {
+
+    private static final Log log = LogFactory.getLog(PendingApprovalTaskCounters.class);
+    private static final PendingApprovalTaskCounters INSTANCE = new PendingApprovalTaskCounters(
+            new ApprovalTaskDAOImpl()::getPendingApprovalTaskCountsOfTenant);
+
+    private final CountLoader countLoader;
+    private final Map<Integer, Map<String, Integer>> tenantCounters = new ConcurrentHashMap<>();
+    private final Map<Integer, UpdateTracker> updateTrackers = new ConcurrentHashMap<>();
+    private final Map<String, RequestTracker> requestTrackers = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    PendingApprovalTaskCounters(CountLoader countLoader) {
+
+        this.countLoader = countLoader;
+    }
+
+    public static PendingApprovalTaskCounters getInstance() {
+
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+        if (!enabled) {
+            tenantCounters.clear();
+        }
+    }
+
+    /**
+     * Get the number of pending approval tasks assigned to the given entities. A task is counted once per entity it
+     * is assigned to.
+     *
+     * @param tenantId  Tenant ID.
+     * @param entityIds User ID and role IDs of the approver.
+     * @return Number of pending approval tasks.
+     * @throws WorkflowEngineServerException If the counters of the tenant need to be loaded and loading fails.
+     */
+    public int getPendingTaskCount(int tenantId, Collection<String> entityIds) throws WorkflowEngineServerException {
+
+        Map<String, Integer> counters = tenantCounters.get(tenantId);
+        if (counters == null) {
+            counters = load(tenantId);
+        }
+        int count = 0;
+        for (String entityId : entityIds) {
+            count += counters.getOrDefault(entityId, 0);
+        }
+        return count;
+    }
+
+    /**
+     * Start tracking an update of the approval tasks of a tenant. The counters of the tenant are dropped when the
+     * update is closed without recording its changes.
+     *
+     * @param tenantId Tenant ID.
+     * @return Update to be closed once the approval tasks are updated.
+     */
+    public Update beginUpdate(int tenantId) {
+
+        return beginUpdate(tenantId, null);
+    }
+
+    /**
+     * Start tracking an update of the approval tasks of a workflow request. The counters of the tenant are dropped
+     * when the update is closed without recording its changes, or when another update of the same workflow request
+     * runs while it is in progress.
+     *
+     * @param tenantId  Tenant ID.
+     * @param requestId Workflow request ID, or null if the update is not limited to a single request.
+     * @return Update to be closed once the approval tasks are updated.
+     */
+    public Update beginUpdate(int tenantId, String requestId) {
+
+        if (!enabled) {
+            return Update.NOOP;
+        }
+        UpdateTracker tracker = updateTrackers.computeIfAbsent(tenantId, key -> new UpdateTracker());
+        tracker.inFlight.incrementAndGet();
+        tracker.version.incrementAndGet();
+        if (requestId != null) {
+            requestTrackers.compute(requestId, (key, requestTracker) -> {
+                if (requestTracker == null) {
+                    requestTracker = new RequestTracker();
+                } else {
+                    requestTracker.overlapped = true;
+                }
+                requestTracker.inFlight++;
+                return requestTracker;
+            });
+        }
+        return new Update(this, tenantId, requestId, tracker);
+    }
+
+    /**
+     * Reload the counters of all the tenants currently held in memory from the database.
+     */
+    public void reconcile() {
+
+        for (Integer tenantId : new ArrayList<>(tenantCounters.keySet())) {
+            try {
+                load(tenantId);
+            } catch (WorkflowEngineServerException e) {
+                log.error("Error while reconciling the pending approval task counters of tenant: " + tenantId, e);
+                tenantCounters.remove(tenantId);
+            }
+        }
+    }
+
+    /**
+     * Drop the counters of a tenant, so that they are loaded from the database on the next read.
+     *
+     * @param tenantId Tenant ID.
+     */
+    public void invalidate(int tenantId) {
+
+        tenantCounters.remove(tenantId);
+    }
+
+    private Map<String, Integer> load(int tenantId) throws WorkflowEngineServerException {
+
+        UpdateTracker tracker = updateTrackers.computeIfAbsent(tenantId, key -> new UpdateTracker());
+        long version = tracker.version.get();
+        boolean quiet = tracker.inFlight.get() == 0;
+        Map<String, Integer> counters = new ConcurrentHashMap<>(countLoader.load(tenantId));
+        if (enabled && quiet && tracker.inFlight.get() == 0 && tracker.version.get() == version) {
+            tenantCounters.put(tenantId, counters);
+        } else {
+            // An update ran during the load, so it may or may not be reflected in the loaded counts.
+            tenantCounters.remove(tenantId);
+        }
+        return counters;
+    }
+
+    private void apply(int tenantId, String requestId, Map<String, Integer> before, Map<String, Integer> after) {
+
+        if (requestId != null && isOverlapped(requestId)) {
+            invalidate(tenantId);
+            return;
+        }
+        Map<String, Integer> counters = tenantCounters.get(tenantId);
+        if (counters == null) {
+            return;
+        }
+        Set<String> entityIds = new HashSet<>(before.keySet());
+        entityIds.addAll(after.keySet());
+        for (String entityId : entityIds) {
+            int delta = after.getOrDefault(entityId, 0) - before.getOrDefault(entityId, 0);
+            if (delta != 0) {
+                counters.compute(entityId, (key, count) -> {
+                    int updated = (count == null ? 0 : count) + delta;
+                    return updated > 0 ? updated : null;
+                });
+            }
+        }
+    }
+
+    private boolean isOverlapped(String requestId) {
+
+        boolean[] overlapped = new boolean[1];
+        requestTrackers.computeIfPresent(requestId, (key, requestTracker) -> {
+            overlapped[0] = requestTracker.overlapped;
+            return requestTracker;
+        });
+        return overlapped[0];
+    }
+
+    private void endRequestUpdate(String requestId) {
+
+        requestTrackers.computeIfPresent(requestId, (key, requestTracker) ->
+                --requestTracker.inFlight == 0 ? null : requestTracker);
+    }
+
+    /**
+     * Loads the number of pending approval tasks per approver entity of a tenant.
+     */
+    @FunctionalInterface
+    interface CountLoader {
+
+        Map<String, Integer> load(int tenantId) throws WorkflowEngineServerException;
+    }
+
+    /**
+     * An update of the approval tasks of a tenant. {@link #record(Map, Map)} applies the difference between the
+     * pending task counts of the affected approver entities before and after the update.
+     */
+    public static final class Update implements AutoCloseable {
+
+        private static final Update NOOP = new Update(null, 0, null, null);
+
+        private final PendingApprovalTaskCounters owner;
+        private final int tenantId;
+        private final String requestId;
+        private final UpdateTracker tracker;
+        private boolean recorded;
+
+        private Update(PendingApprovalTaskCounters owner, int tenantId, String requestId, UpdateTracker tracker) {
+
+            this.owner = owner;
+            this.tenantId = tenantId;
+            this.requestId = requestId;
+            this.tracker = tracker;
+        }
+
+        /**
+         * @return true if the counters are maintained and the changes of the update need to be recorded.
+         */
+        public boolean isTracked() {
+
+            return owner != null;
+        }
+
+        /**
+         * Record the changes of the update.
+         *
+         * @param before Pending task counts per approver entity before the update.
+         * @param after  Pending task counts per approver entity after the update.
+         */
+        public void record(Map<String, Integer> before, Map<String, Integer> after) {
+
+            if (owner != null && !recorded) {
+                owner.apply(tenantId, requestId, before, after);
+                recorded = true;
+            }
+        }
+
+        @Override
+        public void close() {
+
+            if (owner == null) {
+                return;
+            }
+            if (!recorded) {
+                owner.invalidate(tenantId);
+            }
+            if (requestId != null) {
+                owner.endRequestUpdate(requestId);
+            }
+            tracker.version.incrementAndGet();
+            tracker.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Updates in progress of a workflow request. Only accessed within the compute functions of its map.
+     */
+    private static final class RequestTracker {
+
+        private int inFlight;
+        private boolean overlapped;
+    }
+
+    private static final class UpdateTracker {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong version = new AtomicLong();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of the basic information of roles per tenant, used to show the role of a workflow request without
+ * calling the role management service on each view. Roles that are not found are cached as well, so a deleted role
+ * is not looked up again on every view.
+ * <p>
+ * Role name updates and role deletions on this node invalidate the role right away. Entries also expire after the
+ * configured time to live, which bounds how long the changes made on other nodes, or while the role was being
+ * loaded, are missed.
+ */
+public class RoleInfoCache {
+
+    private static final RoleInfoCache INSTANCE = new RoleInfoCache();
+
+    private final Map<RoleKey, Entry> entries = Collections.synchronizedMap(
+            new LinkedHashMap<RoleKey, Entry>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<RoleKey, Entry> eldest) {
+
+                    return size() > maxEntries;
+                }
+            });
+    private volatile boolean enabled;
+    private volatile int maxEntries = WorkflowEngineConstants.DEFAULT_ROLE_INFO_CACHE_MAX_ENTRIES;
+    private volatile long timeToLiveNanos =
+            TimeUnit.SECONDS.toNanos(WorkflowEngineConstants.DEFAULT_ROLE_INFO_CACHE_TIME_TO_LIVE_SECONDS);
+
+    RoleInfoCache() {
+
+    }
+
+    public static RoleInfoCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+        if (!enabled) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Set the maximum number of cached roles. Lowering it takes effect as new roles are cached.
+     *
+     * @param maxEntries Maximum number of cached roles. Values below 1 are treated as 1.
+     */
+    public void setMaxEntries(int maxEntries) {
+
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Set the time a role stays cached. It applies to the roles cached afterwards.
+     *
+     * @param timeToLiveSeconds Time to live in seconds.
+     */
+    public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(Math.max(0, timeToLiveSeconds));
+    }
+
+    /**
+     * Get the basic information of a role, loading it on a miss or once the cached entry has expired.
+     *
+     * @param roleId       Role ID.
+     * @param tenantDomain Tenant domain of the role.
+     * @param loader       Loader of the role, used on a miss or when the cache is disabled.
+     * @return Basic information of the role, or null if the role does not exist.
+     * @throws WorkflowEngineException If loading the role fails. Failures are not cached.
+     */
+    public RoleInfo get(String roleId, String tenantDomain, RoleInfoLoader loader) throws WorkflowEngineException {
+
+        if (!enabled) {
+            return loader.load(roleId, tenantDomain);
+        }
+        RoleKey key = new RoleKey(tenantDomain, roleId);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.isExpired(System.nanoTime())) {
+            RoleInfo roleInfo = loader.load(roleId, tenantDomain);
+            entry = new Entry(roleInfo, System.nanoTime() + timeToLiveNanos);
+            entries.put(key, entry);
+        }
+        return entry.roleInfo;
+    }
+
+    /**
+     * Invalidate a cached role, once it is updated or deleted.
+     *
+     * @param roleId       Role ID.
+     * @param tenantDomain Tenant domain of the role. If null, the role is invalidated in all the tenants.
+     */
+    public void invalidate(String roleId, String tenantDomain) {
+
+        if (roleId == null) {
+            return;
+        }
+        if (tenantDomain != null) {
+            entries.remove(new RoleKey(tenantDomain, roleId));
+            return;
+        }
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> roleId.equals(key.roleId));
+        }
+    }
+
+    int size() {
+
+        return entries.size();
+    }
+
+    /**
+     * Basic information of a role.
+     */
+    public static final class RoleInfo {
+
+        private final String name;
+        private final String audience;
+        private final String audienceName;
+
+        public RoleInfo(String name, String audience, String audienceName) {
+
+            this.name = name;
+            this.audience = audience;
+            this.audienceName = audienceName;
+        }
+
+        public String getName() {
+
+            return name;
+        }
+
+        public String getAudience() {
+
+            return audience;
+        }
+
+        public String getAudienceName() {
+
+            return audienceName;
+        }
+    }
+
+    /**
+     * Loads the basic information of a role from the role management service.
+     */
+    @FunctionalInterface
+    public interface RoleInfoLoader {
+
+        /**
+         * Load the basic information of a role.
+         *
+         * @param roleId       Role ID.
+         * @param tenantDomain Tenant domain of the role.
+         * @return Basic information of the role, or null if the role does not exist.
+         * @throws WorkflowEngineException If loading the role fails.
+         */
+        RoleInfo load(String roleId, String tenantDomain) throws WorkflowEngineException;
+    }
+
+    private static final class Entry {
+
+        private final RoleInfo roleInfo;
+        private final long expiryNanos;
+
+        private Entry(RoleInfo roleInfo, long expiryNanos) {
+
+            this.roleInfo = roleInfo;
+            this.expiryNanos = expiryNanos;
+        }
+
+        private boolean isExpired(long nowNanos) {
+
+            return nowNanos - expiryNanos >= 0;
+        }
+    }
+
+    private static final class RoleKey {
+
+        private final String tenantDomain;
+        private final String roleId;
+
+        private RoleKey(String tenantDomain, String roleId) {
+
+            this.tenantDomain = tenantDomain;
+            this.roleId = roleId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RoleKey)) {
+                return false;
+            }
+            RoleKey roleKey = (RoleKey) o;
+            return Objects.equals(tenantDomain, roleKey.tenantDomain) && Objects.equals(roleId, roleKey.roleId);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(tenantDomain, roleId);
+        }
+    }
+}
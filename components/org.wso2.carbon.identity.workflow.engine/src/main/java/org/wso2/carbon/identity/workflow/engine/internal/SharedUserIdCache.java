@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the IDs of the shared users associated with a user in an organization, so that users accessing an
+ * organization other than the one they reside in are not resolved against the database on every call.
+ * <p>
+ * The last resolution is also kept in the request properties of the caller, so resolving the same user again within
+ * a request does not touch the shared cache. Users without an associated user are not cached. Invalidation clears all
+ * the entries, including the ones kept in request properties, and entries expire after the configured time to live
+ * to pick up the sharing changes made on other nodes.
+ */
+public class SharedUserIdCache {
+
+    private static final SharedUserIdCache INSTANCE = new SharedUserIdCache();
+    private static final String REQUEST_PROPERTY_KEY = SharedUserIdCache.class.getName();
+
+    private final Map<UserKey, Entry> entries = Collections.synchronizedMap(
+            new LinkedHashMap<UserKey, Entry>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UserKey, Entry> eldest) {
+
+                    return size() > maxEntries;
+                }
+            });
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean enabled;
+    private volatile int maxEntries = WorkflowEngineConstants.DEFAULT_SHARED_USER_ID_CACHE_MAX_ENTRIES;
+    private volatile long timeToLiveNanos =
+            TimeUnit.SECONDS.toNanos(WorkflowEngineConstants.DEFAULT_SHARED_USER_ID_CACHE_TIME_TO_LIVE_SECONDS);
+
+    SharedUserIdCache() {
+
+    }
+
+    public static SharedUserIdCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+        invalidateAll();
+    }
+
+    /**
+     * Set the maximum number of cached users. Lowering it takes effect as new users are cached.
+     *
+     * @param maxEntries Maximum number of cached users. Values below 1 are treated as 1.
+     */
+    public void setMaxEntries(int maxEntries) {
+
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Set the time a user stays cached. It applies to the users cached afterwards.
+     *
+     * @param timeToLiveSeconds Time to live in seconds.
+     */
+    public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(Math.max(0, timeToLiveSeconds));
+    }
+
+    /**
+     * Get the ID of the shared user associated with a user in an organization, loading it on a miss.
+     *
+     * @param userId            ID of the user in its resident organization.
+     * @param orgId             ID of the accessed organization.
+     * @param requestProperties Properties of the current request, used to remember the last resolution. May be null.
+     * @param loader            Loader of the shared user ID, used on a miss or when the cache is disabled.
+     * @return ID of the associated shared user, or null if the user has no associated user in the organization.
+     * @throws WorkflowEngineException If loading the shared user ID fails.
+     */
+    public String get(String userId, String orgId, Map<String, Object> requestProperties,
+                      SharedUserIdLoader loader) throws WorkflowEngineException {
+
+        if (!enabled) {
+            return loader.load(userId, orgId);
+        }
+        UserKey key = new UserKey(userId, orgId);
+        long now = System.nanoTime();
+        if (requestProperties != null) {
+            Object lastResolution = requestProperties.get(REQUEST_PROPERTY_KEY);
+            if (lastResolution instanceof Entry && ((Entry) lastResolution).isValidFor(key, generation.get(), now)) {
+                return ((Entry) lastResolution).sharedUserId;
+            }
+        }
+
+        long currentGeneration = generation.get();
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.isValidFor(key, currentGeneration, now)) {
+            String sharedUserId = loader.load(userId, orgId);
+            if (sharedUserId == null) {
+                return null;
+            }
+            entry = new Entry(key, sharedUserId, currentGeneration, System.nanoTime() + timeToLiveNanos);
+            entries.put(key, entry);
+        }
+        if (requestProperties != null) {
+            requestProperties.put(REQUEST_PROPERTY_KEY, entry);
+        }
+        return entry.sharedUserId;
+    }
+
+    /**
+     * Invalidate all the cached users, once the users shared with organizations change.
+     */
+    public void invalidateAll() {
+
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    int size() {
+
+        return entries.size();
+    }
+
+    /**
+     * Loads the ID of the shared user associated with a user in an organization.
+     */
+    @FunctionalInterface
+    public interface SharedUserIdLoader {
+
+        /**
+         * Load the ID of the shared user associated with a user in an organization.
+         *
+         * @param userId ID of the user in its resident organization.
+         * @param orgId  ID of the accessed organization.
+         * @return ID of the associated shared user, or null if there is none.
+         * @throws WorkflowEngineException If loading the shared user ID fails.
+         */
+        String load(String userId, String orgId) throws WorkflowEngineException;
+    }
+
+    private static final class Entry {
+
+        private final UserKey key;
+        private final String sharedUserId;
+        private final long generation;
+        private final long expiryNanos;
+
+        private Entry(UserKey key, String sharedUserId, long generation, long expiryNanos) {
+
+            this.key = key;
+            this.sharedUserId = sharedUserId;
+            this.generation = generation;
+            this.expiryNanos = expiryNanos;
+        }
+
+        private boolean isValidFor(UserKey key, long currentGeneration, long nowNanos) {
+
+            return this.key.equals(key) && generation == currentGeneration && nowNanos - expiryNanos < 0;
+        }
+    }
+
+    private static final class UserKey {
+
+        private final String userId;
+        private final String orgId;
+
+        private UserKey(String userId, String orgId) {
+
+            this.userId = userId;
+            this.orgId = orgId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof UserKey)) {
+                return false;
+            }
+            UserKey userKey = (UserKey) o;
+            return Objects.equals(userId, userKey.userId) && Objects.equals(orgId, userKey.orgId);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(userId, orgId);
+        }
+    }
+}
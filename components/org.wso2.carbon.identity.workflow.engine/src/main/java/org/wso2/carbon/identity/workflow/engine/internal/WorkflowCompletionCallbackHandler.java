@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.WorkflowRequestDAO;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+import org.wso2.carbon.identity.workflow.mgt.callback.WSWorkflowCallBackService;
+import org.wso2.carbon.identity.workflow.mgt.callback.WSWorkflowResponse;
+
+/**
+ * Completes a workflow request relationship through the workflow management callback service, in the tenant of the
+ * workflow request and as the user who made the decision.
+ * The callback service logs and swallows its own errors, so the outcome is read back from the relationship status. A
+ * relationship still pending after the callback is reported as a failure, so that the callback is retried.
+ * The workflow request is completed by the callback that finds no other relationship of the request pending. Callbacks
+ * of the request run concurrently, e.g. on different nodes, can each miss the update of the other, so a request still
+ * pending once none of its relationships is pending is reported as a failure as well, and the retried callback
+ * completes it.
+ */
+public class WorkflowCompletionCallbackHandler implements ApprovalCallbackQueue.CallbackHandler {
+
+    private static final String PENDING_STATUS = "PENDING";
+
+    private final WSWorkflowCallBackService wsWorkflowCallBackService;
+    private final WorkflowRequestDAO workflowRequestDAO;
+
+    public WorkflowCompletionCallbackHandler(WSWorkflowCallBackService wsWorkflowCallBackService,
+                                             WorkflowRequestDAO workflowRequestDAO) {
+
+        this.wsWorkflowCallBackService = wsWorkflowCallBackService;
+        this.workflowRequestDAO = workflowRequestDAO;
+    }
+
+    @Override
+    public void handle(ApprovalCallbackDTO callback) throws WorkflowEngineServerException {
+
+        WSWorkflowResponse wsWorkflowResponse = new WSWorkflowResponse();
+        wsWorkflowResponse.setUuid(callback.getRelationshipId());
+        wsWorkflowResponse.setStatus(callback.getDecision());
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantId(callback.getTenantId());
+            carbonContext.setTenantDomain(IdentityTenantUtil.getTenantDomain(callback.getTenantId()));
+            carbonContext.setUsername(callback.getUsername());
+            wsWorkflowCallBackService.onCallback(wsWorkflowResponse);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+        // A relationship that no longer exists was removed along with its workflow request, and needs no retry.
+        if (PENDING_STATUS.equals(workflowRequestDAO.getRelationshipStatus(callback.getRelationshipId()))) {
+            throw new WorkflowEngineServerException(String.format("Workflow request relationship: %s is still " +
+                    "pending after the completion callback.", callback.getRelationshipId()),
+                    WorkflowEngineConstants.ErrorMessages.ERROR_OCCURRED_WHILE_COMPLETING_WORKFLOW_RELATIONSHIPS
+                            .getCode());
+        }
+        if (PENDING_STATUS.equals(workflowRequestDAO.getWorkflowRequestStatus(callback.getWorkflowRequestId())) &&
+                !workflowRequestDAO.getRelationshipStatuses(callback.getWorkflowRequestId()).contains(PENDING_STATUS)) {
+            throw new WorkflowEngineServerException(String.format("Workflow request: %s is still pending after the " +
+                    "completion callback of its last pending relationship.", callback.getWorkflowRequestId()),
+                    WorkflowEngineConstants.ErrorMessages.ERROR_OCCURRED_WHILE_COMPLETING_WORKFLOW_RELATIONSHIPS
+                            .getCode());
+        }
+    }
+}
@@ -18,23 +18,47 @@
 
 package org.wso2.carbon.identity.workflow.engine.internal;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
+import org.wso2.carbon.identity.workflow.engine.ApprovalTaskCreationBatcher;
 import org.wso2.carbon.identity.workflow.engine.ApprovalTaskServiceImpl;
 import org.wso2.carbon.identity.workflow.engine.DefaultApprovalWorkflow;
 import org.wso2.carbon.identity.workflow.engine.DefaultApprovalWorkflowRequestExecutor;
 import org.wso2.carbon.identity.workflow.engine.DefaultTemplateInitializer;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.impl.ApprovalTaskRetentionDAOImpl;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.impl.WorkflowRequestDAOImpl;
+import org.wso2.carbon.identity.workflow.engine.metrics.ApprovalTaskMetrics;
+import org.wso2.carbon.identity.workflow.engine.metrics.SqlStatementMetrics;
+import org.wso2.carbon.identity.workflow.engine.util.Utils;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
 import org.wso2.carbon.identity.workflow.mgt.WorkflowManagementService;
+import org.wso2.carbon.identity.workflow.mgt.callback.WSWorkflowCallBackService;
 import org.wso2.carbon.identity.workflow.mgt.workflow.AbstractWorkflow;
 import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
  * OSGi declarative services component which handles registration and un-registration of workflow engine management
@@ -45,6 +69,20 @@ import org.wso2.carbon.user.core.service.RealmService;
         immediate = true)
 public class WorkflowEngineServiceComponent {
 
+    private static final Log log = LogFactory.getLog(WorkflowEngineServiceComponent.class);
+    private static final int DEFAULT_PENDING_TASK_COUNTERS_RECONCILE_INTERVAL_SECONDS = 300;
+
+    private static final String DEFAULT_EXPORT_DIRECTORY = "repository/data/workflow-engine/exports";
+    private static final int DEFAULT_RETENTION_PERIOD_DAYS = 90;
+    private static final int DEFAULT_RETENTION_CHUNK_SIZE = 100;
+    private static final long DEFAULT_RETENTION_CHUNK_INTERVAL_MILLIS = 500;
+    private static final int DEFAULT_RETENTION_MAX_CHUNKS_PER_RUN = 0;
+    private static final int DEFAULT_RETENTION_RUN_INTERVAL_MINUTES = 1440;
+
+    private ScheduledExecutorService pendingTaskCountersReconciler;
+    private ApprovalTaskExporter approvalTaskExporter;
+    private ScheduledExecutorService approvalTaskRetentionScheduler;
+
     /**
      * Register Default Approval Workflow as an OSGi service.
      *
@@ -57,8 +95,262 @@ public class WorkflowEngineServiceComponent {
         bundleContext.registerService(AbstractWorkflow.class,
                 new DefaultApprovalWorkflow(DefaultTemplateInitializer.class,
                 DefaultApprovalWorkflowRequestExecutor.class, getMetaDataXML()), null);
+        // The single instance of the service, also used by the workflow request executors through the data holder.
         ApprovalTaskServiceImpl approvalTaskServiceImpl = new ApprovalTaskServiceImpl();
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalTaskService(approvalTaskServiceImpl);
         bundleContext.registerService(ApprovalTaskServiceImpl.class, approvalTaskServiceImpl, null);
+        bundleContext.registerService(AbstractEventHandler.class.getName(), new CacheInvalidationHandler(), null);
+        registerMetricsMBeans();
+        registerApprovalInboxMBean();
+        registerApprovalTaskExporterMBean(approvalTaskServiceImpl);
+        configureRequestSummaryCache();
+        configureRoleInfoCache();
+        configureSharedUserIdCache();
+        configureTaskCreationBatching();
+        startPendingTaskCounters();
+        startApprovalTaskRetention();
+        startCompletionCallbackQueue();
+    }
+
+    @Deactivate
+    protected void deactivate(ComponentContext context) {
+
+        ApprovalCallbackQueue.getInstance().stop();
+        stopApprovalTaskRetention();
+        stopPendingTaskCounters();
+        WorkflowRequestSummaryCache.getInstance().setEnabled(false);
+        RoleInfoCache.getInstance().setEnabled(false);
+        SharedUserIdCache.getInstance().setEnabled(false);
+        ApprovalTaskCreationBatcher.getInstance().setEnabled(false);
+        if (approvalTaskExporter != null) {
+            approvalTaskExporter.shutdown();
+            approvalTaskExporter = null;
+        }
+        ApprovalTaskServiceImpl approvalTaskServiceImpl =
+                WorkflowEngineServiceDataHolder.getInstance().getApprovalTaskService();
+        if (approvalTaskServiceImpl != null) {
+            WorkflowEngineServiceDataHolder.getInstance().setApprovalTaskService(null);
+            approvalTaskServiceImpl.shutdown();
+        }
+        unregisterMBean(ApprovalCallbackQueue.OBJECT_NAME);
+        unregisterMBean(ApprovalTaskExporter.OBJECT_NAME);
+        unregisterMBean(ApprovalInboxManager.OBJECT_NAME);
+        unregisterMBean(SqlStatementMetrics.OBJECT_NAME);
+        unregisterMBean(ApprovalTaskMetrics.OBJECT_NAME);
+    }
+
+    private void registerMetricsMBeans() {
+
+        boolean metricsEnabled = Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.METRICS_ENABLED, false);
+        ApprovalTaskMetrics approvalTaskMetrics = ApprovalTaskMetrics.getInstance();
+        approvalTaskMetrics.setEnabled(metricsEnabled);
+        registerMBean(approvalTaskMetrics, ApprovalTaskMetrics.OBJECT_NAME);
+
+        SqlStatementMetrics sqlStatementMetrics = SqlStatementMetrics.getInstance();
+        sqlStatementMetrics.setEnabled(metricsEnabled);
+        sqlStatementMetrics.setSlowQueryThresholdMillis(Utils.getLongConfig(
+                WorkflowEngineConstants.ConfigKeys.SLOW_QUERY_THRESHOLD_MILLIS,
+                SqlStatementMetrics.DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS));
+        registerMBean(sqlStatementMetrics, SqlStatementMetrics.OBJECT_NAME);
+    }
+
+    private void registerApprovalInboxMBean() {
+
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalInboxEnabled(
+                Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.APPROVAL_INBOX_ENABLED, false));
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalHistoryEnabled(
+                Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.APPROVAL_HISTORY_ENABLED, false));
+        WorkflowEngineServiceDataHolder.getInstance().setEntityIdChunkSize(
+                Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.ENTITY_ID_CHUNK_SIZE,
+                        WorkflowEngineConstants.DEFAULT_ENTITY_ID_CHUNK_SIZE));
+        registerMBean(new ApprovalInboxManager(), ApprovalInboxManager.OBJECT_NAME);
+    }
+
+    private void registerApprovalTaskExporterMBean(ApprovalTaskServiceImpl approvalTaskServiceImpl) {
+
+        String exportDirectory = Utils.getStringConfig(WorkflowEngineConstants.ConfigKeys.EXPORT_DIRECTORY,
+                Paths.get(CarbonUtils.getCarbonHome(), DEFAULT_EXPORT_DIRECTORY).toString());
+        approvalTaskExporter = new ApprovalTaskExporter(approvalTaskServiceImpl, Paths.get(exportDirectory));
+        registerMBean(approvalTaskExporter, ApprovalTaskExporter.OBJECT_NAME);
+    }
+
+    private void configureRequestSummaryCache() {
+
+        WorkflowRequestSummaryCache requestSummaryCache = WorkflowRequestSummaryCache.getInstance();
+        requestSummaryCache.setMaxEntries(Utils.getIntConfig(
+                WorkflowEngineConstants.ConfigKeys.REQUEST_SUMMARY_CACHE_MAX_ENTRIES,
+                WorkflowEngineConstants.DEFAULT_REQUEST_SUMMARY_CACHE_MAX_ENTRIES));
+        requestSummaryCache.setEnabled(
+                Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.REQUEST_SUMMARY_CACHE_ENABLED, true));
+    }
+
+    private void configureRoleInfoCache() {
+
+        RoleInfoCache roleInfoCache = RoleInfoCache.getInstance();
+        roleInfoCache.setMaxEntries(Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.ROLE_INFO_CACHE_MAX_ENTRIES,
+                WorkflowEngineConstants.DEFAULT_ROLE_INFO_CACHE_MAX_ENTRIES));
+        roleInfoCache.setTimeToLiveSeconds(Utils.getLongConfig(
+                WorkflowEngineConstants.ConfigKeys.ROLE_INFO_CACHE_TIME_TO_LIVE_SECONDS,
+                WorkflowEngineConstants.DEFAULT_ROLE_INFO_CACHE_TIME_TO_LIVE_SECONDS));
+        roleInfoCache.setEnabled(
+                Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.ROLE_INFO_CACHE_ENABLED, true));
+    }
+
+    private void configureSharedUserIdCache() {
+
+        SharedUserIdCache sharedUserIdCache = SharedUserIdCache.getInstance();
+        sharedUserIdCache.setMaxEntries(Utils.getIntConfig(
+                WorkflowEngineConstants.ConfigKeys.SHARED_USER_ID_CACHE_MAX_ENTRIES,
+                WorkflowEngineConstants.DEFAULT_SHARED_USER_ID_CACHE_MAX_ENTRIES));
+        sharedUserIdCache.setTimeToLiveSeconds(Utils.getLongConfig(
+                WorkflowEngineConstants.ConfigKeys.SHARED_USER_ID_CACHE_TIME_TO_LIVE_SECONDS,
+                WorkflowEngineConstants.DEFAULT_SHARED_USER_ID_CACHE_TIME_TO_LIVE_SECONDS));
+        sharedUserIdCache.setEnabled(
+                Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.SHARED_USER_ID_CACHE_ENABLED, true));
+    }
+
+    private void configureTaskCreationBatching() {
+
+        ApprovalTaskCreationBatcher taskCreationBatcher = ApprovalTaskCreationBatcher.getInstance();
+        taskCreationBatcher.setMaxBatchSize(Utils.getIntConfig(
+                WorkflowEngineConstants.ConfigKeys.TASK_CREATION_BATCHING_MAX_BATCH_SIZE,
+                WorkflowEngineConstants.DEFAULT_TASK_CREATION_BATCH_MAX_SIZE));
+        taskCreationBatcher.setMaxWaitMillis(Utils.getLongConfig(
+                WorkflowEngineConstants.ConfigKeys.TASK_CREATION_BATCHING_MAX_WAIT_MILLIS,
+                WorkflowEngineConstants.DEFAULT_TASK_CREATION_BATCH_MAX_WAIT_MILLIS));
+        taskCreationBatcher.setEnabled(
+                Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.TASK_CREATION_BATCHING_ENABLED, false));
+    }
+
+    private void startPendingTaskCounters() {
+
+        PendingApprovalTaskCounters pendingTaskCounters = PendingApprovalTaskCounters.getInstance();
+        pendingTaskCounters.setEnabled(
+                Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.PENDING_TASK_COUNTERS_ENABLED, false));
+        if (!pendingTaskCounters.isEnabled()) {
+            return;
+        }
+        int reconcileIntervalSeconds = Utils.getIntConfig(
+                WorkflowEngineConstants.ConfigKeys.PENDING_TASK_COUNTERS_RECONCILE_INTERVAL_SECONDS,
+                DEFAULT_PENDING_TASK_COUNTERS_RECONCILE_INTERVAL_SECONDS);
+        if (reconcileIntervalSeconds <= 0) {
+            return;
+        }
+        pendingTaskCountersReconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WorkflowEnginePendingTaskCountersReconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pendingTaskCountersReconciler.scheduleWithFixedDelay(pendingTaskCounters::reconcile,
+                reconcileIntervalSeconds, reconcileIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private void stopPendingTaskCounters() {
+
+        if (pendingTaskCountersReconciler != null) {
+            pendingTaskCountersReconciler.shutdownNow();
+            pendingTaskCountersReconciler = null;
+        }
+        PendingApprovalTaskCounters.getInstance().setEnabled(false);
+    }
+
+    private void startApprovalTaskRetention() {
+
+        if (!Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.RETENTION_ENABLED, false)) {
+            return;
+        }
+        String mode = Utils.getStringConfig(WorkflowEngineConstants.ConfigKeys.RETENTION_MODE,
+                ApprovalTaskRetentionJob.Mode.ARCHIVE.name());
+        ApprovalTaskRetentionJob.Mode retentionMode;
+        try {
+            retentionMode = ApprovalTaskRetentionJob.Mode.valueOf(mode.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid value: " + mode + " configured for: " +
+                    WorkflowEngineConstants.ConfigKeys.RETENTION_MODE + ". The approval task retention job is not " +
+                    "started.");
+            return;
+        }
+        int runIntervalMinutes = Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.RETENTION_RUN_INTERVAL_MINUTES,
+                DEFAULT_RETENTION_RUN_INTERVAL_MINUTES);
+        if (runIntervalMinutes <= 0) {
+            return;
+        }
+        ApprovalTaskRetentionJob retentionJob = new ApprovalTaskRetentionJob(new ApprovalTaskRetentionDAOImpl(),
+                retentionMode,
+                Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.RETENTION_PERIOD_DAYS,
+                        DEFAULT_RETENTION_PERIOD_DAYS),
+                Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.RETENTION_CHUNK_SIZE,
+                        DEFAULT_RETENTION_CHUNK_SIZE),
+                Utils.getLongConfig(WorkflowEngineConstants.ConfigKeys.RETENTION_CHUNK_INTERVAL_MILLIS,
+                        DEFAULT_RETENTION_CHUNK_INTERVAL_MILLIS),
+                Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.RETENTION_MAX_CHUNKS_PER_RUN,
+                        DEFAULT_RETENTION_MAX_CHUNKS_PER_RUN));
+        approvalTaskRetentionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WorkflowEngineApprovalTaskRetention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        approvalTaskRetentionScheduler.scheduleWithFixedDelay(retentionJob, runIntervalMinutes, runIntervalMinutes,
+                TimeUnit.MINUTES);
+    }
+
+    private void stopApprovalTaskRetention() {
+
+        if (approvalTaskRetentionScheduler != null) {
+            approvalTaskRetentionScheduler.shutdownNow();
+            approvalTaskRetentionScheduler = null;
+        }
+    }
+
+    private void startCompletionCallbackQueue() {
+
+        if (!Utils.getBooleanConfig(WorkflowEngineConstants.ConfigKeys.CALLBACK_QUEUE_ENABLED, false)) {
+            return;
+        }
+        ApprovalCallbackQueue callbackQueue = ApprovalCallbackQueue.getInstance();
+        callbackQueue.setBatchSize(Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.CALLBACK_QUEUE_BATCH_SIZE,
+                WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_BATCH_SIZE));
+        callbackQueue.setMaxAttempts(Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.CALLBACK_QUEUE_MAX_ATTEMPTS,
+                WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_MAX_ATTEMPTS));
+        callbackQueue.setRetryDelayMillis(Utils.getLongConfig(
+                WorkflowEngineConstants.ConfigKeys.CALLBACK_QUEUE_RETRY_DELAY_MILLIS,
+                WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_RETRY_DELAY_MILLIS));
+        callbackQueue.setLeaseTimeoutSeconds(Utils.getLongConfig(
+                WorkflowEngineConstants.ConfigKeys.CALLBACK_QUEUE_LEASE_TIMEOUT_SECONDS,
+                WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_LEASE_TIMEOUT_SECONDS));
+        callbackQueue.start(new WorkflowCompletionCallbackHandler(new WSWorkflowCallBackService(),
+                        new WorkflowRequestDAOImpl()),
+                Utils.getIntConfig(WorkflowEngineConstants.ConfigKeys.CALLBACK_QUEUE_WORKER_COUNT,
+                        WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_WORKER_COUNT),
+                Utils.getLongConfig(WorkflowEngineConstants.ConfigKeys.CALLBACK_QUEUE_POLL_INTERVAL_MILLIS,
+                        WorkflowEngineConstants.DEFAULT_CALLBACK_QUEUE_POLL_INTERVAL_MILLIS));
+        registerMBean(callbackQueue, ApprovalCallbackQueue.OBJECT_NAME);
+    }
+
+    private void registerMBean(Object mBean, String name) {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(name);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(mBean, objectName);
+            }
+        } catch (JMException e) {
+            log.error("Error while registering the MBean: " + name, e);
+        }
+    }
+
+    private void unregisterMBean(String name) {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(name);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.error("Error while unregistering the MBean: " + name, e);
+        }
     }
 
     private String getMetaDataXML() {
@@ -21,6 +21,8 @@ package org.wso2.carbon.identity.workflow.engine.internal;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleManagementService;
+import org.wso2.carbon.identity.workflow.engine.ApprovalTaskServiceImpl;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
 import org.wso2.carbon.identity.workflow.mgt.WorkflowManagementService;
 import org.wso2.carbon.identity.workflow.mgt.workflow.AbstractWorkflow;
 import org.wso2.carbon.user.core.service.RealmService;
@@ -40,6 +42,10 @@ public class WorkflowEngineServiceDataHolder {
     private RealmService realmService;
     private IdentityEventService identityEventService;
     private ApplicationManagementService applicationManagementService;
+    private volatile ApprovalTaskServiceImpl approvalTaskService;
+    private volatile boolean approvalInboxEnabled;
+    private volatile boolean approvalHistoryEnabled;
+    private volatile int entityIdChunkSize = WorkflowEngineConstants.DEFAULT_ENTITY_ID_CHUNK_SIZE;
 
     private WorkflowEngineServiceDataHolder() {
 
@@ -106,4 +112,60 @@ public class WorkflowEngineServiceDataHolder {
 
         this.applicationManagementService = applicationManagementService;
     }
+
+    /**
+     * @return The approval task service of the component, shared by all the workflow request executors. Null while
+     * the component is not active.
+     */
+    public ApprovalTaskServiceImpl getApprovalTaskService() {
+
+        return approvalTaskService;
+    }
+
+    public void setApprovalTaskService(ApprovalTaskServiceImpl approvalTaskService) {
+
+        this.approvalTaskService = approvalTaskService;
+    }
+
+    /**
+     * @return true if approval tasks are listed from the WF_APPROVAL_INBOX read model, which is then maintained
+     * together with the approval task relations.
+     */
+    public boolean isApprovalInboxEnabled() {
+
+        return approvalInboxEnabled;
+    }
+
+    public void setApprovalInboxEnabled(boolean approvalInboxEnabled) {
+
+        this.approvalInboxEnabled = approvalInboxEnabled;
+    }
+
+    /**
+     * @return true if approved and rejected tasks are moved to the WF_WORKFLOW_APPROVAL_HISTORY table, so that the
+     * approval task relations hold the pending tasks only. Completed tasks are not moved back when disabled again.
+     */
+    public boolean isApprovalHistoryEnabled() {
+
+        return approvalHistoryEnabled;
+    }
+
+    public void setApprovalHistoryEnabled(boolean approvalHistoryEnabled) {
+
+        this.approvalHistoryEnabled = approvalHistoryEnabled;
+    }
+
+    /**
+     * @return Largest number of entity IDs matched against the approvers in a single query. Users with more roles
+     * have their approval tasks queried in chunks. A non-positive value disables chunking.
+     */
+    public int getEntityIdChunkSize() {
+
+        return entityIdChunkSize;
+    }
+
+    public void setEntityIdChunkSize(int entityIdChunkSize) {
+
+        this.entityIdChunkSize = entityIdChunkSize;
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.wso2.carbon.identity.workflow.engine.dto.WorkflowRequestSummaryDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of workflow request summaries keyed by workflow request ID, so that repeated listings and views of
+ * the approval tasks of a pending request do not read and deserialize the stored request each time.
+ * <p>
+ * Workflow requests do not change once created, so a cached summary never goes stale. Summaries are evicted when
+ * their request completes and, as the least recently used ones, when the cache is full. A summary loaded while its
+ * request completes may be cached again, which only costs a slot until it is evicted.
+ */
+public class WorkflowRequestSummaryCache {
+
+    private static final WorkflowRequestSummaryCache INSTANCE = new WorkflowRequestSummaryCache();
+
+    private final Map<String, WorkflowRequestSummaryDTO> summaries = Collections.synchronizedMap(
+            new LinkedHashMap<String, WorkflowRequestSummaryDTO>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, WorkflowRequestSummaryDTO> eldest) {
+
+                    return size() > maxEntries;
+                }
+            });
+    private volatile boolean enabled;
+    private volatile int maxEntries = WorkflowEngineConstants.DEFAULT_REQUEST_SUMMARY_CACHE_MAX_ENTRIES;
+
+    WorkflowRequestSummaryCache() {
+
+    }
+
+    public static WorkflowRequestSummaryCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+        if (!enabled) {
+            summaries.clear();
+        }
+    }
+
+    public int getMaxEntries() {
+
+        return maxEntries;
+    }
+
+    /**
+     * Set the maximum number of cached summaries. Lowering it takes effect as new summaries are cached.
+     *
+     * @param maxEntries Maximum number of cached summaries. Values below 1 are treated as 1.
+     */
+    public void setMaxEntries(int maxEntries) {
+
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Get the summary of a workflow request, loading it on a miss. Missing requests are not cached.
+     *
+     * @param requestId Workflow request ID.
+     * @param loader    Loader of the summary, used on a miss or when the cache is disabled.
+     * @return Summary of the workflow request, or null if the request does not exist.
+     * @throws WorkflowEngineException If loading the summary fails.
+     */
+    public WorkflowRequestSummaryDTO get(String requestId, SummaryLoader loader) throws WorkflowEngineException {
+
+        if (!enabled) {
+            return loader.load(requestId);
+        }
+        WorkflowRequestSummaryDTO summary = summaries.get(requestId);
+        if (summary == null) {
+            summary = loader.load(requestId);
+            if (summary != null) {
+                summaries.put(requestId, summary);
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Evict the summary of a workflow request, once the request completes.
+     *
+     * @param requestId Workflow request ID.
+     */
+    public void evict(String requestId) {
+
+        if (requestId != null) {
+            summaries.remove(requestId);
+        }
+    }
+
+    int size() {
+
+        return summaries.size();
+    }
+
+    /**
+     * Loads the summary of a workflow request from its store.
+     */
+    @FunctionalInterface
+    public interface SummaryLoader {
+
+        WorkflowRequestSummaryDTO load(String requestId) throws WorkflowEngineException;
+    }
+}
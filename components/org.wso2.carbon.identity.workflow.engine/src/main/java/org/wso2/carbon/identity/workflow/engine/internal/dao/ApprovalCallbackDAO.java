@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao;
+
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ApprovalCallbackDAO interface provides methods to manage the workflow completion callbacks executed by the
+ * completion callback queue. Callbacks are added together with the approval task decision in {@link ApprovalTaskDAO}.
+ */
+public interface ApprovalCallbackDAO {
+
+    /**
+     * Returns the callbacks due for execution, i.e. the pending callbacks whose next attempt is due, and the claimed
+     * callbacks whose claim has expired without an update, oldest first.
+     *
+     * @param now           Current time.
+     * @param claimedBefore Claims last updated before this time are expired.
+     * @param limit         Maximum number of callbacks to return.
+     * @return Callbacks due for execution.
+     * @throws WorkflowEngineServerException If an error occurs while retrieving the callbacks.
+     */
+    List<ApprovalCallbackDTO> getDueCallbacks(Timestamp now, Timestamp claimedBefore, int limit)
+            throws WorkflowEngineServerException;
+
+    /**
+     * Claim a callback for execution by incrementing its attempts, unless it was claimed since it was read.
+     *
+     * @param callbackId Callback ID.
+     * @param attempts   Attempts of the callback when it was read.
+     * @param now        Current time.
+     * @return True if the callback was claimed.
+     * @throws WorkflowEngineServerException If an error occurs while claiming the callback.
+     */
+    boolean claimCallback(String callbackId, int attempts, Timestamp now) throws WorkflowEngineServerException;
+
+    /**
+     * Record the outcome of a claimed callback, unless it was claimed again since.
+     *
+     * @param callbackId      Callback ID.
+     * @param attempts        Attempts of the callback after it was claimed.
+     * @param status          New status of the callback [PENDING, COMPLETED or FAILED].
+     * @param nextAttemptTime Time of the next attempt of a pending callback, null otherwise.
+     * @param lastError       Error of the failed attempt, null if the attempt succeeded.
+     * @return True if the callback was updated.
+     * @throws WorkflowEngineServerException If an error occurs while updating the callback.
+     */
+    boolean updateClaimedCallback(String callbackId, int attempts, String status, Timestamp nextAttemptTime,
+                                  String lastError) throws WorkflowEngineServerException;
+
+    /**
+     * Returns the callbacks of a workflow request.
+     *
+     * @param workflowRequestId Workflow request ID.
+     * @return Callbacks of the workflow request, in creation order.
+     * @throws WorkflowEngineServerException If an error occurs while retrieving the callbacks.
+     */
+    List<ApprovalCallbackDTO> getCallbacksOfWorkflowRequest(String workflowRequestId)
+            throws WorkflowEngineServerException;
+
+    /**
+     * Returns the number of callbacks per status.
+     *
+     * @return Map of callback status to the number of callbacks with the status.
+     * @throws WorkflowEngineServerException If an error occurs while counting the callbacks.
+     */
+    Map<String, Integer> getCallbackCounts() throws WorkflowEngineServerException;
+
+    /**
+     * Make the failed callbacks pending again, with their attempts reset.
+     *
+     * @return Number of callbacks made pending.
+     * @throws WorkflowEngineServerException If an error occurs while updating the callbacks.
+     */
+    int retryFailedCallbacks() throws WorkflowEngineServerException;
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao;
+
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+
+/**
+ * ApprovalInboxDAO interface provides methods to manage the approval inbox read model.
+ * Regular maintenance of the inbox happens together with the approval task updates in {@link ApprovalTaskDAO}.
+ */
+public interface ApprovalInboxDAO {
+
+    /**
+     * Rebuild the approval inbox entries of a tenant from the approval task relations.
+     *
+     * @param tenantId Tenant ID.
+     * @return Number of inbox entries of the tenant after the rebuild.
+     * @throws WorkflowEngineServerException If an error occurs while rebuilding the inbox.
+     */
+    int rebuildApprovalInbox(int tenantId) throws WorkflowEngineServerException;
+
+    /**
+     * Returns the number of approval inbox entries of a tenant.
+     *
+     * @param tenantId Tenant ID.
+     * @return Number of inbox entries.
+     * @throws WorkflowEngineServerException If an error occurs while counting the entries.
+     */
+    int countApprovalInboxEntries(int tenantId) throws WorkflowEngineServerException;
+}
@@ -18,13 +18,17 @@
 
 package org.wso2.carbon.identity.workflow.engine.internal.dao;
 
+import org.wso2.carbon.identity.workflow.engine.ApprovalTaskExportConsumer;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskRelationDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApproverDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * ApprovalTaskDAO interface provides methods to manage approval tasks
@@ -44,6 +48,16 @@ public interface ApprovalTaskDAO {
     void addApproversOfRequest(String taskId, String eventId, String workflowId, String approverType,
                                String approverName, String taskStatus) throws WorkflowEngineServerException;
 
+    /**
+     * Add the approval tasks of several workflow requests in a single transaction, together with the approval step
+     * state of the requests that start at their first step. The rows are sent to the database in batches.
+     *
+     * @param firstStepWorkflowIds workflow ID per workflow request ID, for the requests starting at their first step.
+     * @param approvalTasks        approval tasks to be added.
+     */
+    void addApprovalTasksOfRequests(Map<String, String> firstStepWorkflowIds,
+                                    List<ApprovalTaskRelationDTO> approvalTasks) throws WorkflowEngineServerException;
+
     /**
      * Return ths approval task details given the approval task ID.
      *
@@ -129,6 +143,51 @@ public interface ApprovalTaskDAO {
                                                                 int limit, int offset, int tenantId)
             throws WorkflowEngineServerException;
 
+    /**
+     * Returns the number of approval tasks matching the provided filter criteria that are left after de-duplicating
+     * the filtered approval task details for listing, i.e. the number of tasks the listing shows across all pages.
+     *
+     * @param entityIds List of entity IDs (user ID and role IDs).
+     * @param filter    Filter criteria for approval tasks.
+     * @param tenantId  Tenant ID.
+     * @return Number of approval tasks.
+     * @throws WorkflowEngineServerException if an error occurs while counting the approval tasks.
+     */
+    int countFilteredApprovalTasks(List<String> entityIds, ApprovalTaskFilterDTO filter, int tenantId)
+            throws WorkflowEngineServerException;
+
+    /**
+     * Returns the number of READY and RESERVED approval tasks of the tenant per approver entity.
+     *
+     * @param tenantId Tenant ID.
+     * @return Map of approver entity ID (user ID or role ID) to the number of its pending approval tasks.
+     * @throws WorkflowEngineServerException if an error occurs while counting the approval tasks.
+     */
+    Map<String, Integer> getPendingApprovalTaskCountsOfTenant(int tenantId) throws WorkflowEngineServerException;
+
+    /**
+     * Returns the number of READY and RESERVED approval tasks assigned to the given entities. A task is counted once
+     * per entity it is assigned to.
+     *
+     * @param entityIds List of entity IDs (user ID and role IDs).
+     * @param tenantId  Tenant ID.
+     * @return Number of pending approval tasks.
+     * @throws WorkflowEngineServerException if an error occurs while counting the approval tasks.
+     */
+    int countPendingApprovalTasks(List<String> entityIds, int tenantId) throws WorkflowEngineServerException;
+
+    /**
+     * Stream all the approval tasks of a tenant to the consumer, ordered by workflow request. The tasks are read
+     * through a forward only cursor, so only the rows of the current fetch are held in memory.
+     *
+     * @param tenantId  Tenant ID.
+     * @param fetchSize Number of rows fetched from the database at a time.
+     * @param consumer  Consumer the approval tasks are handed to. Exceptions it throws abort the stream.
+     * @throws WorkflowEngineException if an error occurs while reading the approval tasks, or the consumer fails.
+     */
+    void streamApprovalTasksOfTenant(int tenantId, int fetchSize, ApprovalTaskExportConsumer consumer)
+            throws WorkflowEngineException;
+
     /**
      * Returns the approval task status given the task ID [RESERVED, READY or COMPLETED].
      *
@@ -155,6 +214,21 @@ public interface ApprovalTaskDAO {
     void updateApprovalTaskEntityDetail(String taskId, String entityType, String entityId)
             throws WorkflowEngineServerException;
 
+    /**
+     * Complete the approval task given the task ID, by updating its status and assigning it to the entity that
+     * completed it. When the approval history is enabled, the task is moved to the history in the same transaction.
+     * The given workflow completion callbacks are recorded in the same transaction as well, so that a decision that
+     * completes the workflow request is never committed without them.
+     *
+     * @param taskId     the task ID that need to be completed.
+     * @param taskStatus final state of the task [APPROVED or REJECTED].
+     * @param entityType the type of the entity that completed the task (e.g., user).
+     * @param entityId   the ID of the entity that completed the task.
+     * @param callbacks  workflow completion callbacks to be recorded. Empty when none are to be recorded.
+     */
+    void completeApprovalTask(String taskId, String taskStatus, String entityType, String entityId,
+                              List<ApprovalCallbackDTO> callbacks) throws WorkflowEngineServerException;
+
     /**
      * Returns the approvers list given the authenticated approver name.
      *
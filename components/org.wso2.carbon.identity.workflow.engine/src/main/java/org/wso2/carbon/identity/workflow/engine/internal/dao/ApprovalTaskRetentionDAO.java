@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao;
+
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ApprovalTaskRetentionDAO interface provides methods to purge the approval tasks of completed workflow requests.
+ * A workflow request is completed once all of its approval tasks are approved or rejected.
+ */
+public interface ApprovalTaskRetentionDAO {
+
+    /**
+     * Returns completed workflow requests last updated in the given window, oldest first.
+     *
+     * @param updatedFrom   Inclusive lower bound of the update time.
+     * @param updatedBefore Exclusive upper bound of the update time.
+     * @param limit         Maximum number of workflow requests to return.
+     * @return Workflow request IDs mapped to their update time, in update time order.
+     * @throws WorkflowEngineServerException If an error occurs while retrieving the workflow requests.
+     */
+    List<Map.Entry<String, Timestamp>> getCompletedWorkflowRequests(Timestamp updatedFrom, Timestamp updatedBefore,
+                                                                    int limit) throws WorkflowEngineServerException;
+
+    /**
+     * Remove the completed approval tasks and the approval state of the given workflow requests in a single
+     * transaction.
+     *
+     * @param workflowRequestIds Workflow request IDs.
+     * @param archive            Whether to copy the approval tasks to the archive table before removing them.
+     * @return Number of approval tasks removed.
+     * @throws WorkflowEngineServerException If an error occurs while removing the approval tasks.
+     */
+    int purgeCompletedApprovalTasks(List<String> workflowRequestIds, boolean archive)
+            throws WorkflowEngineServerException;
+}
@@ -44,6 +44,30 @@ public interface WorkflowRequestDAO {
      */
     List<String> getRelationshipIds(String requestId) throws WorkflowEngineServerException;
 
+    /**
+     * Returns the status of a workflow request relationship.
+     *
+     * @param relationshipId the relationship ID that need to be checked.
+     * @return the relationship status, or null if the relationship does not exist.
+     */
+    String getRelationshipStatus(String relationshipId) throws WorkflowEngineServerException;
+
+    /**
+     * Returns the statuses of the relationships of a workflow request.
+     *
+     * @param requestId the request ID that need to be checked.
+     * @return the relationship statuses.
+     */
+    List<String> getRelationshipStatuses(String requestId) throws WorkflowEngineServerException;
+
+    /**
+     * Returns the status of a workflow request.
+     *
+     * @param requestId the request ID that need to be checked.
+     * @return the request status, or null if the request does not exist.
+     */
+    String getWorkflowRequestStatus(String requestId) throws WorkflowEngineServerException;
+
     /**
      * Returns the initiator given the request ID.
      *
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalCallbackDAO;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link ApprovalCallbackDAO}. Each claim and outcome of a callback is written in its own short
+ * transaction, conditioned on the attempts of the callback, so that concurrent workers on different nodes do not
+ * overwrite each other.
+ */
+public class ApprovalCallbackDAOImpl implements ApprovalCallbackDAO {
+
+    private static final Log log = LogFactory.getLog(ApprovalCallbackDAOImpl.class.getName());
+    private static final int MAX_LAST_ERROR_LENGTH = 1024;
+
+    @Override
+    public List<ApprovalCallbackDTO> getDueCallbacks(Timestamp now, Timestamp claimedBefore, int limit)
+            throws WorkflowEngineServerException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            return getDueCallbacks(connection, now, claimedBefore, limit);
+        } catch (SQLException | DataAccessException e) {
+            throw handleException("Error occurred while retrieving the due workflow completion callbacks.", e);
+        }
+    }
+
+    @Override
+    public boolean claimCallback(String callbackId, int attempts, Timestamp now) throws WorkflowEngineServerException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try {
+                boolean claimed = claimCallback(connection, callbackId, attempts, now);
+                IdentityDatabaseUtil.commitTransaction(connection);
+                return claimed;
+            } catch (SQLException | DataAccessException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException | DataAccessException e) {
+            throw handleException(String.format("Error occurred while claiming the workflow completion callback: %s",
+                    callbackId), e);
+        }
+    }
+
+    @Override
+    public boolean updateClaimedCallback(String callbackId, int attempts, String status, Timestamp nextAttemptTime,
+                                         String lastError) throws WorkflowEngineServerException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try {
+                boolean updated = updateClaimedCallback(connection, callbackId, attempts, status, nextAttemptTime,
+                        lastError, new Timestamp(System.currentTimeMillis()));
+                IdentityDatabaseUtil.commitTransaction(connection);
+                return updated;
+            } catch (SQLException | DataAccessException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException | DataAccessException e) {
+            throw handleException(String.format("Error occurred while updating the workflow completion callback: %s " +
+                    "to status: %s", callbackId, status), e);
+        }
+    }
+
+    @Override
+    public List<ApprovalCallbackDTO> getCallbacksOfWorkflowRequest(String workflowRequestId)
+            throws WorkflowEngineServerException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            return getCallbacksOfWorkflowRequest(connection, workflowRequestId);
+        } catch (SQLException | DataAccessException e) {
+            throw handleException(String.format("Error occurred while retrieving the workflow completion callbacks " +
+                    "of workflow request: %s", workflowRequestId), e);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> getCallbackCounts() throws WorkflowEngineServerException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            return getCallbackCounts(connection);
+        } catch (SQLException | DataAccessException e) {
+            throw handleException("Error occurred while counting the workflow completion callbacks.", e);
+        }
+    }
+
+    @Override
+    public int retryFailedCallbacks() throws WorkflowEngineServerException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try {
+                int retriedCount = retryFailedCallbacks(connection, new Timestamp(System.currentTimeMillis()));
+                IdentityDatabaseUtil.commitTransaction(connection);
+                return retriedCount;
+            } catch (SQLException | DataAccessException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException | DataAccessException e) {
+            throw handleException("Error occurred while retrying the failed workflow completion callbacks.", e);
+        }
+    }
+
+    /**
+     * Get the callbacks due for execution using the given connection.
+     */
+    static List<ApprovalCallbackDTO> getDueCallbacks(Connection connection, Timestamp now, Timestamp claimedBefore,
+                                                     int limit) throws SQLException, DataAccessException {
+
+        String query = WorkflowEngineConstants.SqlQueries.GET_DUE_APPROVAL_CALLBACKS;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            // Limits the rows through the driver, as the row limiting syntax differs between the databases.
+            preparedStatement.setMaxRows(limit);
+            preparedStatement.setTimestamp(1, now);
+            preparedStatement.setTimestamp(2, claimedBefore);
+            return StatementProfiler.query(query, "GET_DUE_APPROVAL_CALLBACKS",
+                    sql -> readCallbacks(preparedStatement));
+        }
+    }
+
+    /**
+     * Claim a callback using the given connection. The caller is responsible for committing or rolling back the
+     * transaction.
+     */
+    static boolean claimCallback(Connection connection, String callbackId, int attempts, Timestamp now)
+            throws SQLException, DataAccessException {
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                WorkflowEngineConstants.SqlQueries.CLAIM_APPROVAL_CALLBACK)) {
+            preparedStatement.setTimestamp(1, now);
+            preparedStatement.setString(2, callbackId);
+            preparedStatement.setInt(3, attempts);
+            return executeUpdate(WorkflowEngineConstants.SqlQueries.CLAIM_APPROVAL_CALLBACK, "CLAIM_APPROVAL_CALLBACK",
+                    preparedStatement) > 0;
+        }
+    }
+
+    /**
+     * Record the outcome of a claimed callback using the given connection. The caller is responsible for committing
+     * or rolling back the transaction.
+     */
+    static boolean updateClaimedCallback(Connection connection, String callbackId, int attempts, String status,
+                                         Timestamp nextAttemptTime, String lastError, Timestamp now)
+            throws SQLException, DataAccessException {
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                WorkflowEngineConstants.SqlQueries.UPDATE_CLAIMED_APPROVAL_CALLBACK)) {
+            preparedStatement.setString(1, status);
+            preparedStatement.setTimestamp(2, nextAttemptTime);
+            preparedStatement.setString(3, lastError == null || lastError.length() <= MAX_LAST_ERROR_LENGTH ?
+                    lastError : lastError.substring(0, MAX_LAST_ERROR_LENGTH));
+            preparedStatement.setTimestamp(4, now);
+            preparedStatement.setString(5, callbackId);
+            preparedStatement.setInt(6, attempts);
+            return executeUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_CLAIMED_APPROVAL_CALLBACK,
+                    "UPDATE_CLAIMED_APPROVAL_CALLBACK", preparedStatement) > 0;
+        }
+    }
+
+    /**
+     * Get the callbacks of a workflow request using the given connection.
+     */
+    static List<ApprovalCallbackDTO> getCallbacksOfWorkflowRequest(Connection connection, String workflowRequestId)
+            throws SQLException, DataAccessException {
+
+        String query = WorkflowEngineConstants.SqlQueries.GET_APPROVAL_CALLBACKS_OF_WORKFLOW_REQUEST;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, workflowRequestId);
+            return StatementProfiler.query(query, "GET_APPROVAL_CALLBACKS_OF_WORKFLOW_REQUEST",
+                    sql -> readCallbacks(preparedStatement));
+        }
+    }
+
+    /**
+     * Count the callbacks per status using the given connection.
+     */
+    static Map<String, Integer> getCallbackCounts(Connection connection) throws SQLException, DataAccessException {
+
+        String query = WorkflowEngineConstants.SqlQueries.GET_APPROVAL_CALLBACK_COUNTS;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            return StatementProfiler.query(query, "GET_APPROVAL_CALLBACK_COUNTS", sql -> {
+                Map<String, Integer> callbackCounts = new HashMap<>();
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        callbackCounts.put(resultSet.getString(WorkflowEngineConstants.CALLBACK_STATUS_COLUMN),
+                                resultSet.getInt(WorkflowEngineConstants.ENTRY_COUNT_COLUMN));
+                    }
+                } catch (SQLException e) {
+                    throw new DataAccessException("Error occurred while executing the query.", e);
+                }
+                return callbackCounts;
+            });
+        }
+    }
+
+    /**
+     * Make the failed callbacks pending again using the given connection. The caller is responsible for committing
+     * or rolling back the transaction.
+     */
+    static int retryFailedCallbacks(Connection connection, Timestamp now) throws SQLException, DataAccessException {
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                WorkflowEngineConstants.SqlQueries.RETRY_FAILED_APPROVAL_CALLBACKS)) {
+            preparedStatement.setTimestamp(1, now);
+            preparedStatement.setTimestamp(2, now);
+            return executeUpdate(WorkflowEngineConstants.SqlQueries.RETRY_FAILED_APPROVAL_CALLBACKS,
+                    "RETRY_FAILED_APPROVAL_CALLBACKS", preparedStatement);
+        }
+    }
+
+    private static List<ApprovalCallbackDTO> readCallbacks(PreparedStatement preparedStatement)
+            throws DataAccessException {
+
+        List<ApprovalCallbackDTO> callbacks = new ArrayList<>();
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                ApprovalCallbackDTO callback = new ApprovalCallbackDTO();
+                callback.setCallbackId(resultSet.getString(WorkflowEngineConstants.CALLBACK_ID_COLUMN));
+                callback.setTenantId(resultSet.getInt(WorkflowEngineConstants.TENANT_ID_COLUMN));
+                callback.setWorkflowRequestId(resultSet.getString(WorkflowEngineConstants.EVENT_ID));
+                callback.setRelationshipId(resultSet.getString(
+                        WorkflowEngineConstants.RELATIONSHIP_ID_IN_REQUEST_COLUMN));
+                callback.setDecision(resultSet.getString(WorkflowEngineConstants.DECISION_COLUMN));
+                callback.setUsername(resultSet.getString(WorkflowEngineConstants.USERNAME_COLUMN));
+                callback.setStatus(resultSet.getString(WorkflowEngineConstants.CALLBACK_STATUS_COLUMN));
+                callback.setAttempts(resultSet.getInt(WorkflowEngineConstants.ATTEMPTS_COLUMN));
+                callback.setNextAttemptTime(resultSet.getTimestamp(WorkflowEngineConstants.NEXT_ATTEMPT_AT_COLUMN));
+                callback.setLastError(resultSet.getString(WorkflowEngineConstants.LAST_ERROR_COLUMN));
+                callback.setUpdatedTime(resultSet.getTimestamp(WorkflowEngineConstants.UPDATED_AT_COLUMN));
+                callbacks.add(callback);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error occurred while executing the query.", e);
+        }
+        return callbacks;
+    }
+
+    private static int executeUpdate(String sql, String fingerprint, PreparedStatement preparedStatement)
+            throws DataAccessException {
+
+        return StatementProfiler.update(sql, fingerprint, statementSql -> {
+            try {
+                return preparedStatement.executeUpdate();
+            } catch (SQLException e) {
+                throw new DataAccessException("Error occurred while executing the update.", e);
+            }
+        });
+    }
+
+    private static WorkflowEngineServerException handleException(String errorMessage, Exception e) {
+
+        if (log.isDebugEnabled()) {
+            log.debug(errorMessage, e);
+        }
+        return new WorkflowEngineServerException(errorMessage, e);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalInboxDAO;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+/**
+ * Implementation of {@link ApprovalInboxDAO} to handle the maintenance of the approval inbox read model.
+ */
+public class ApprovalInboxDAOImpl implements ApprovalInboxDAO {
+
+    private static final Log log = LogFactory.getLog(ApprovalInboxDAOImpl.class.getName());
+
+    @Override
+    public int rebuildApprovalInbox(int tenantId) throws WorkflowEngineServerException {
+
+        // Completed approval tasks moved to the approval history are listed from the inbox as well.
+        boolean historyEnabled = WorkflowEngineServiceDataHolder.getInstance().isApprovalHistoryEnabled();
+        String addEntriesSql = historyEnabled ?
+                WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT_WITH_HISTORY :
+                WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT;
+        String addEntriesFingerprint = historyEnabled ? "ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT_WITH_HISTORY" :
+                "ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT";
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            jdbcTemplate.withTransaction(template -> {
+                StatementProfiler.templateUpdate(
+                        WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_OF_TENANT,
+                        "DELETE_APPROVAL_INBOX_ENTRIES_OF_TENANT",
+                        sql -> template.executeUpdate(sql, preparedStatement -> preparedStatement.setInt(1,
+                                tenantId)));
+                StatementProfiler.templateUpdate(addEntriesSql, addEntriesFingerprint,
+                        sql -> template.executeUpdate(sql, preparedStatement -> preparedStatement.setInt(1,
+                                tenantId)));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while rebuilding the approval inbox of tenant: %d",
+                    tenantId);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+        return countApprovalInboxEntries(tenantId);
+    }
+
+    @Override
+    public int countApprovalInboxEntries(int tenantId) throws WorkflowEngineServerException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            Integer count = StatementProfiler.query(WorkflowEngineConstants.SqlQueries
+                            .COUNT_APPROVAL_INBOX_ENTRIES_OF_TENANT,
+                    "COUNT_APPROVAL_INBOX_ENTRIES_OF_TENANT", sql -> jdbcTemplate.fetchSingleRecord(sql,
+                    (resultSet, rowNumber) -> resultSet.getInt(WorkflowEngineConstants.ENTRY_COUNT_COLUMN),
+                    preparedStatement -> preparedStatement.setInt(1, tenantId)));
+            return count != null ? count : 0;
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while counting the approval inbox entries of " +
+                    "tenant: %d", tenantId);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+}
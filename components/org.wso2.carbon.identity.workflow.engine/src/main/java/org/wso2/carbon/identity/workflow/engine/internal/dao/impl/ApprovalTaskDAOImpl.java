@@ -22,22 +22,47 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
 import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.NamedPreparedStatement;
+import org.wso2.carbon.database.utils.jdbc.QueryFilter;
 import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.workflow.engine.ApprovalTaskExportConsumer;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskExportDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskRelationDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.ApproverDTO;
 import org.wso2.carbon.identity.workflow.engine.dto.FilterCondition;
 import org.wso2.carbon.identity.workflow.engine.dto.FilterOperator;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
 import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalTaskDAO;
 import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -50,7 +75,15 @@ import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConsta
 import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SQLPlaceholders.STATUS_LIST_PLACEHOLDER;
 import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SQLPlaceholders.STATUS_PLACEHOLDER_PREFIX;
 import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SQLPlaceholders.TENANT_ID_PLACEHOLDER;
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GET_FILTERED_APPROVAL_INBOX_COUNT_BASE;
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GET_FILTERED_APPROVAL_INBOX_DETAILS_BASE;
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GET_FILTERED_APPROVAL_TASK_COUNT_BASE;
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GET_FILTERED_APPROVAL_TASK_COUNT_WITH_HISTORY_BASE;
 import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GET_FILTERED_APPROVAL_TASK_DETAILS_BASE;
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GET_FILTERED_APPROVAL_TASK_DETAILS_WITH_HISTORY_BASE;
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GROUP_BY_FILTERED_APPROVAL_INBOX_COUNT;
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GROUP_BY_FILTERED_APPROVAL_TASK_COUNT;
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SqlQueries.GROUP_BY_FILTERED_APPROVAL_TASK_COUNT_WITH_HISTORY;
 
 /**
  * Workflow Event Request DAO implementation.
@@ -59,21 +92,46 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
 
     private static final Log log = LogFactory.getLog(ApprovalTaskDAOImpl.class.getName());
 
+    /**
+     * IN lists are padded up to the next power of two, up to this size. Larger lists are padded to this size, which
+     * is also the largest IN list Oracle accepts, and lists beyond it are left as they are.
+     */
+    static final int MAX_PADDED_IN_LIST_SIZE = 1000;
+    private static final int MAX_CACHED_QUERY_SHAPES = 1024;
+    private static final Map<List<Object>, String> QUERY_SHAPE_CACHE = new ConcurrentHashMap<>();
+    private static final Set<String> PENDING_TASK_STATUSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            WorkflowEngineConstants.TaskStatus.READY.name(), WorkflowEngineConstants.TaskStatus.RESERVED.name(),
+            WorkflowEngineConstants.TaskStatus.BLOCKED.name())));
+    /**
+     * Order of the statuses of approval tasks with the same update time in the filtered approval task listing, as
+     * in {@link WorkflowEngineConstants.SqlQueries#ORDER_BY_UPDATED_AT_DESC}. Other statuses follow these.
+     */
+    private static final List<String> LISTED_TASK_STATUS_ORDER = Collections.unmodifiableList(Arrays.asList(
+            WorkflowEngineConstants.TaskStatus.APPROVED.name(), WorkflowEngineConstants.TaskStatus.RESERVED.name(),
+            WorkflowEngineConstants.TaskStatus.READY.name(), WorkflowEngineConstants.TaskStatus.BLOCKED.name()));
+
     @Override
     public void addApproversOfRequest(String taskId, String eventId, String workflowId, String approverType,
                                       String approverName, String taskStatus) throws WorkflowEngineServerException {
 
-        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        QueryFilter queryFilter = preparedStatement -> {
+            preparedStatement.setString(1, taskId);
+            preparedStatement.setString(2, eventId);
+            preparedStatement.setString(3, workflowId);
+            preparedStatement.setString(4, approverType);
+            preparedStatement.setString(5, approverName);
+            preparedStatement.setString(6, taskStatus);
+        };
+        QueryFilter inboxQueryFilter = preparedStatement -> {
+            preparedStatement.setString(1, taskId);
+            preparedStatement.setString(2, approverType);
+            preparedStatement.setString(3, approverName);
+        };
         try {
-            jdbcTemplate.executeUpdate(WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_LIST_RELATED_TO_USER,
-                    preparedStatement -> {
-                        preparedStatement.setString(1, taskId);
-                        preparedStatement.setString(2, eventId);
-                        preparedStatement.setString(3, workflowId);
-                        preparedStatement.setString(4, approverType);
-                        preparedStatement.setString(5, approverName);
-                        preparedStatement.setString(6, taskStatus);
-                    });
+            executeUpdate(WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_LIST_RELATED_TO_USER,
+                    "ADD_APPROVAL_LIST_RELATED_TO_USER", queryFilter,
+                    WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_INBOX_ENTRY, "ADD_APPROVAL_INBOX_ENTRY",
+                    inboxQueryFilter);
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while adding request details" +
                     "in eventId: %s  & workflowId: %s", eventId, workflowId);
@@ -84,20 +142,108 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
         }
     }
 
+    @Override
+    public void addApprovalTasksOfRequests(Map<String, String> firstStepWorkflowIds,
+                                           List<ApprovalTaskRelationDTO> approvalTasks)
+            throws WorkflowEngineServerException {
+
+        boolean inboxEnabled = WorkflowEngineServiceDataHolder.getInstance().isApprovalInboxEnabled();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try {
+                addApprovalTasksOfRequests(connection, firstStepWorkflowIds, approvalTasks, inboxEnabled);
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException | DataAccessException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException | DataAccessException e) {
+            String errorMessage = String.format("Error occurred while adding the approval tasks of %d workflow " +
+                    "requests.", firstStepWorkflowIds.size());
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Add the approval tasks of several workflow requests using the given connection. The inbox entries are derived
+     * from the added approval tasks, so they are added after them. The caller is responsible for committing or
+     * rolling back the transaction.
+     */
+    static void addApprovalTasksOfRequests(Connection connection, Map<String, String> firstStepWorkflowIds,
+                                           List<ApprovalTaskRelationDTO> approvalTasks, boolean inboxEnabled)
+            throws SQLException, DataAccessException {
+
+        executeBatch(connection, WorkflowEngineConstants.SqlQueries.ADD_CURRENT_STEP_FOR_EVENT,
+                "ADD_CURRENT_STEP_FOR_EVENT", firstStepWorkflowIds.entrySet(), step -> preparedStatement -> {
+                    preparedStatement.setString(1, step.getKey());
+                    preparedStatement.setString(2, step.getValue());
+                });
+        executeBatch(connection, WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_LIST_RELATED_TO_USER,
+                "ADD_APPROVAL_LIST_RELATED_TO_USER", approvalTasks, approvalTask -> preparedStatement -> {
+                    preparedStatement.setString(1, approvalTask.getTaskId());
+                    preparedStatement.setString(2, approvalTask.getEventId());
+                    preparedStatement.setString(3, approvalTask.getWorkflowId());
+                    preparedStatement.setString(4, approvalTask.getApproverType());
+                    preparedStatement.setString(5, approvalTask.getApproverName());
+                    preparedStatement.setString(6, approvalTask.getTaskStatus());
+                });
+        if (inboxEnabled) {
+            executeBatch(connection, WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_INBOX_ENTRY,
+                    "ADD_APPROVAL_INBOX_ENTRY", approvalTasks, approvalTask -> preparedStatement -> {
+                        preparedStatement.setString(1, approvalTask.getTaskId());
+                        preparedStatement.setString(2, approvalTask.getApproverType());
+                        preparedStatement.setString(3, approvalTask.getApproverName());
+                    });
+        }
+    }
+
+    /**
+     * Execute a statement once per item as a single batch.
+     *
+     * @param queryFilter Provides the filter setting the parameters of the statement for an item.
+     */
+    private static <T> void executeBatch(Connection connection, String sql, String fingerprint, Collection<T> items,
+                                         Function<T, QueryFilter> queryFilter)
+            throws SQLException, DataAccessException {
+
+        if (items.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (T item : items) {
+                queryFilter.apply(item).filter(preparedStatement);
+                preparedStatement.addBatch();
+            }
+            StatementProfiler.update(sql, fingerprint, statementSql -> {
+                try {
+                    return StatementProfiler.sumUpdateCounts(preparedStatement.executeBatch());
+                } catch (SQLException e) {
+                    throw new DataAccessException("Error occurred while executing the batch.", e);
+                }
+            });
+        }
+    }
+
 
     @Override
     public ApproverDTO getApproverDetailForApprovalTask(String eventId) throws WorkflowEngineServerException {
 
+        String query = withHistory(WorkflowEngineConstants.SqlQueries.GET_APPROVER_DETAILS_BY_TASK_ID,
+                WorkflowEngineConstants.SqlQueries.GET_APPROVER_DETAILS_BY_TASK_ID_WITH_HISTORY);
+        String fingerprint = withHistory("GET_APPROVER_DETAILS_BY_TASK_ID",
+                "GET_APPROVER_DETAILS_BY_TASK_ID_WITH_HISTORY");
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            return jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.
-                            GET_APPROVER_DETAILS_BY_TASK_ID, (resultSet, rowNumber) -> {
+            return StatementProfiler.query(query, fingerprint,
+                    sql -> jdbcTemplate.fetchSingleRecord(sql, (resultSet, rowNumber) -> {
                         ApproverDTO approverDTO = new ApproverDTO();
                         approverDTO.setApproverName(resultSet.getString(WorkflowEngineConstants.APPROVER_NAME_COLUMN));
                         approverDTO.setApproverType(resultSet.getString(WorkflowEngineConstants.APPROVER_TYPE_COLUMN));
                         approverDTO.setTaskStatus(resultSet.getString(WorkflowEngineConstants.TASK_STATUS_COLUMN));
                         return approverDTO;
-                    }, preparedStatement -> preparedStatement.setString(1, eventId));
+                    }, preparedStatement -> preparedStatement.setString(1, eventId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving taskId from" +
                     "requestId: %s", eventId);
@@ -113,11 +259,17 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
                                                              String approvalTaskId)
             throws WorkflowEngineServerException {
 
-        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         String sqlStmt = WorkflowEngineConstants.SqlQueries
                 .DELETE_APPROVAL_TASKS_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_UPDATED_TASK_ID;
+        String inboxSqlStmt = WorkflowEngineConstants.SqlQueries
+                .DELETE_APPROVAL_INBOX_ENTRIES_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_TASK_ID;
+        String historySqlStmt = WorkflowEngineConstants.SqlQueries
+                .DELETE_APPROVAL_HISTORY_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_TASK_ID;
         try {
-            jdbcTemplate.executeUpdate(sqlStmt, preparedStatement -> {
+            executeUpdate(sqlStmt, "DELETE_APPROVAL_TASKS_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_UPDATED_TASK_ID",
+                    inboxSqlStmt, "DELETE_APPROVAL_INBOX_ENTRIES_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_TASK_ID",
+                    historySqlStmt, "DELETE_APPROVAL_HISTORY_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_TASK_ID",
+                    preparedStatement -> {
                 preparedStatement.setString(1, workflowRequestId);
                 preparedStatement.setString(2, workflowId);
                 preparedStatement.setString(3, approvalTaskId);
@@ -133,10 +285,13 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     public void deleteApprovalTasksExceptGivenApprovalTaskId(String workflowRequestId, String approvalTaskId)
             throws WorkflowEngineServerException {
 
-        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         String sqlStmt = WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_TASKS_EXCLUDING_UPDATED_TASK_ID;
+        String inboxSqlStmt = WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_EXCLUDING_TASK_ID;
+        String historySqlStmt = WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_HISTORY_EXCLUDING_TASK_ID;
         try {
-            jdbcTemplate.executeUpdate(sqlStmt, preparedStatement -> {
+            executeUpdate(sqlStmt, "DELETE_APPROVAL_TASKS_EXCLUDING_UPDATED_TASK_ID", inboxSqlStmt,
+                    "DELETE_APPROVAL_INBOX_ENTRIES_EXCLUDING_TASK_ID", historySqlStmt,
+                    "DELETE_APPROVAL_HISTORY_EXCLUDING_TASK_ID", preparedStatement -> {
                         preparedStatement.setString(1, workflowRequestId);
                         preparedStatement.setString(2, approvalTaskId);
             });
@@ -150,9 +305,13 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     @Override
     public void deleteApprovalTasksOfWorkflowRequest(String workflowRequestId) throws WorkflowEngineServerException {
 
-        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            jdbcTemplate.executeUpdate(WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_TASKS_OF_WORKFLOW_REQUEST,
+            executeUpdate(WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_TASKS_OF_WORKFLOW_REQUEST,
+                    "DELETE_APPROVAL_TASKS_OF_WORKFLOW_REQUEST",
+                    WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST,
+                    "DELETE_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST",
+                    WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_HISTORY_OF_WORKFLOW_REQUEST,
+                    "DELETE_APPROVAL_HISTORY_OF_WORKFLOW_REQUEST",
                     preparedStatement -> preparedStatement.setString(1, workflowRequestId));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error while deleting the approval tasks of workflow request: %s",
@@ -172,11 +331,13 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            jdbcTemplate.executeUpdate(WorkflowEngineConstants.SqlQueries.ADD_CURRENT_STEP_FOR_EVENT,
+            StatementProfiler.templateUpdate(WorkflowEngineConstants.SqlQueries.ADD_CURRENT_STEP_FOR_EVENT,
+                    "ADD_CURRENT_STEP_FOR_EVENT",
+                    sql -> jdbcTemplate.executeUpdate(sql,
                     preparedStatement -> {
                         preparedStatement.setString(1, eventId);
                         preparedStatement.setString(2, workflowId);
-                    });
+                    }));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while adding request approval steps" +
                     "in event Id: %s & workflowId: %s", eventId, workflowId);
@@ -194,13 +355,15 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         String stepExists;
         try {
-            stepExists = jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.GET_CURRENT_STEP,
+            stepExists = StatementProfiler.query(WorkflowEngineConstants.SqlQueries.GET_CURRENT_STEP,
+                    "GET_CURRENT_STEP",
+                    sql -> jdbcTemplate.fetchSingleRecord(sql,
                     ((resultSet, i) -> (
                             Integer.toString(resultSet.getInt(WorkflowEngineConstants.CURRENT_STEP_COLUMN)))),
                     preparedStatement -> {
                         preparedStatement.setString(1, requestId);
                         preparedStatement.setString(2, workflowId);
-                    });
+                    }));
             if (stepExists == null) {
                 return WorkflowEngineConstants.NO_CURRENT_STEP;
             }
@@ -224,13 +387,15 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            jdbcTemplate.executeUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_STATE_OF_REQUEST,
+            StatementProfiler.templateUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_STATE_OF_REQUEST,
+                    "UPDATE_STATE_OF_REQUEST",
+                    sql -> jdbcTemplate.executeUpdate(sql,
                     (preparedStatement -> {
                         setPreparedStatementForStateOfRequest(currentStep, eventId, workflowId, preparedStatement);
                         preparedStatement.setInt(1, currentStep);
                         preparedStatement.setString(2, eventId);
                         preparedStatement.setString(3, workflowId);
-                    }));
+                    })));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while updating state from" +
                     "eventId: %s", eventId);
@@ -252,13 +417,17 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     @Override
     public List<String> listApprovers(String taskId) throws WorkflowEngineServerException {
 
+        String query = withHistory(WorkflowEngineConstants.SqlQueries.GET_APPROVER_NAME_RELATED_TO_CURRENT_TASK_ID,
+                WorkflowEngineConstants.SqlQueries.GET_APPROVER_NAME_RELATED_TO_CURRENT_TASK_ID_WITH_HISTORY);
+        String fingerprint = withHistory("GET_APPROVER_NAME_RELATED_TO_CURRENT_TASK_ID",
+                "GET_APPROVER_NAME_RELATED_TO_CURRENT_TASK_ID_WITH_HISTORY");
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         List<String> approversList;
         try {
-            approversList = jdbcTemplate.executeQuery(WorkflowEngineConstants.SqlQueries.
-                            GET_APPROVER_NAME_RELATED_TO_CURRENT_TASK_ID, (resultSet, rowNumber) ->
+            approversList = StatementProfiler.query(query, fingerprint,
+                    sql -> jdbcTemplate.executeQuery(sql, (resultSet, rowNumber) ->
                             resultSet.getString(WorkflowEngineConstants.APPROVER_NAME_COLUMN),
-                    preparedStatement -> preparedStatement.setString(1, taskId));
+                    preparedStatement -> preparedStatement.setString(1, taskId)));
         } catch (DataAccessException e) {
             String errorMessage = "Error occurred while retrieving approvers.";
             if (log.isDebugEnabled()) {
@@ -272,14 +441,17 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     @Override
     public String getApproverType(String taskId) throws WorkflowEngineServerException {
 
+        String query = withHistory(WorkflowEngineConstants.SqlQueries.GET_APPROVER_TYPE_RELATED_TO_CURRENT_TASK_ID,
+                WorkflowEngineConstants.SqlQueries.GET_APPROVER_TYPE_RELATED_TO_CURRENT_TASK_ID_WITH_HISTORY);
+        String fingerprint = withHistory("GET_APPROVER_TYPE_RELATED_TO_CURRENT_TASK_ID",
+                "GET_APPROVER_TYPE_RELATED_TO_CURRENT_TASK_ID_WITH_HISTORY");
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         String approverType;
         try {
-            approverType = jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.
-                            GET_APPROVER_TYPE_RELATED_TO_CURRENT_TASK_ID,
+            approverType = StatementProfiler.query(query, fingerprint, sql -> jdbcTemplate.fetchSingleRecord(sql,
                     ((resultSet, i) -> (
                             resultSet.getString(WorkflowEngineConstants.APPROVER_TYPE_COLUMN))),
-                    preparedStatement -> preparedStatement.setString(1, taskId));
+                    preparedStatement -> preparedStatement.setString(1, taskId)));
         } catch (DataAccessException e) {
             String errorMessage = "Error occurred while retrieving approver type";
             if (log.isDebugEnabled()) {
@@ -293,13 +465,15 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     @Override
     public String getWorkflowRequestIdByApprovalTaskId(String approvalTaskId) throws WorkflowEngineServerException {
 
+        String query = withHistory(WorkflowEngineConstants.SqlQueries.GET_APPROVAL_TASK_BY_TASK_ID,
+                WorkflowEngineConstants.SqlQueries.GET_APPROVAL_TASK_BY_TASK_ID_WITH_HISTORY);
+        String fingerprint = withHistory("GET_APPROVAL_TASK_BY_TASK_ID", "GET_APPROVAL_TASK_BY_TASK_ID_WITH_HISTORY");
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         String requestId;
         try {
-            requestId = jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.
-                            GET_APPROVAL_TASK_BY_TASK_ID,
+            requestId = StatementProfiler.query(query, fingerprint, sql -> jdbcTemplate.fetchSingleRecord(sql,
                     ((resultSet, i) -> (resultSet.getString(WorkflowEngineConstants.EVENT_ID))),
-                    preparedStatement -> preparedStatement.setString(1, approvalTaskId));
+                    preparedStatement -> preparedStatement.setString(1, approvalTaskId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving request ID from" +
                     "taskID: %s", approvalTaskId);
@@ -321,62 +495,37 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
             return Collections.emptyList();
         }
 
-        NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
-
         try {
-            String entityIdPlaceholders = IntStream.range(0, entityIds.size())
-                    .mapToObj(i -> ":" + ENTITY_ID_PLACEHOLDER_PREFIX + i + ";")
-                    .collect(Collectors.joining(", "));
-
-            StringBuilder sqlBuilder = new StringBuilder(
-                    GET_FILTERED_APPROVAL_TASK_DETAILS_BASE.replace(ENTITY_ID_LIST_PLACEHOLDER,
-                            entityIdPlaceholders));
-
-            List<String> statusList = filter != null ? filter.getStatusList() : null;
-            if (statusList != null && !statusList.isEmpty()) {
-                String statusPlaceholders = IntStream.range(0, statusList.size())
-                        .mapToObj(i -> ":" + STATUS_PLACEHOLDER_PREFIX + i + ";")
-                        .collect(Collectors.joining(", "));
-                sqlBuilder.append(
-                        WorkflowEngineConstants.SqlQueries.STATUS_FILTER_CLAUSE.replace(
-                                STATUS_LIST_PLACEHOLDER, statusPlaceholders));
-            }
-
-            List<String> operationTypes = filter != null ? filter.getOperationTypeList() : null;
-            if (operationTypes != null && !operationTypes.isEmpty()) {
-                String operationTypePlaceholders = IntStream.range(0, operationTypes.size())
-                        .mapToObj(i -> ":" + OPERATION_TYPE_PLACEHOLDER_PREFIX + i + ";")
-                        .collect(Collectors.joining(", "));
-                sqlBuilder.append(
-                        WorkflowEngineConstants.SqlQueries.OPERATION_TYPE_FILTER_CLAUSE.replace(
-                                OPERATION_TYPE_LIST_PLACEHOLDER, operationTypePlaceholders));
-            }
-
-            List<FilterCondition> filterConditions = filter != null ? filter.getFilterConditions() : null;
-            FilterCondition workflowIdCondition = findFilterCondition(filterConditions,
-                    WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID);
-            FilterCondition requestIdCondition = findFilterCondition(filterConditions,
-                    WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID);
-
-            if (workflowIdCondition != null) {
-                if (workflowIdCondition.getOperator() == FilterOperator.SW) {
-                    sqlBuilder.append(WorkflowEngineConstants.SqlQueries.WORKFLOW_ID_SW_FILTER_CLAUSE);
-                } else {
-                    sqlBuilder.append(WorkflowEngineConstants.SqlQueries.WORKFLOW_ID_FILTER_CLAUSE);
-                }
-            }
-
-            if (requestIdCondition != null) {
-                if (requestIdCondition.getOperator() == FilterOperator.SW) {
-                    sqlBuilder.append(WorkflowEngineConstants.SqlQueries.REQUEST_ID_SW_FILTER_CLAUSE);
-                } else {
-                    sqlBuilder.append(WorkflowEngineConstants.SqlQueries.REQUEST_ID_FILTER_CLAUSE);
-                }
+            return getFilteredApprovalTaskDetails(JdbcUtils.getNewNamedJdbcTemplate(), entityIds, filter, tenantId);
+        } catch (DataAccessException e) {
+            String errorMessage = "Error occurred while retrieving filtered approval task details for entity IDs: " +
+                    String.join(", ", entityIds);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
             }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
 
-            sqlBuilder.append(WorkflowEngineConstants.SqlQueries.ORDER_BY_UPDATED_AT_DESC);
+    /**
+     * Get the filtered approval tasks of the given entities using the given template, querying the entity IDs in
+     * chunks and from the table selected for the filter.
+     */
+    static List<ApprovalTaskSummaryDTO> getFilteredApprovalTaskDetails(NamedJdbcTemplate namedJdbcTemplate,
+                                                                       List<String> entityIds,
+                                                                       ApprovalTaskFilterDTO filter, int tenantId)
+            throws DataAccessException {
 
-            return namedJdbcTemplate.executeQuery(sqlBuilder.toString(), (resultSet, rowNumber) -> {
+        FilteredQuery filteredQuery = selectFilteredQuery(filter);
+        String fingerprint = filteredQuery.getFingerprint(QueryType.DETAILS);
+        List<Map.Entry<ApprovalTaskSummaryDTO, Timestamp>> approvalTasks = new ArrayList<>();
+        for (List<String> chunk : chunkEntityIds(entityIds,
+                WorkflowEngineServiceDataHolder.getInstance().getEntityIdChunkSize())) {
+            String query = filteredQuery.build(chunk.size(), filter);
+            approvalTasks.addAll(StatementProfiler.query(query, fingerprint,
+                    countFilteredQueryBindParameters(chunk, filter),
+                    describeFilteredQueryBindParameters(chunk, filter),
+                    sql -> namedJdbcTemplate.executeQuery(sql, (resultSet, rowNumber) -> {
                 ApprovalTaskSummaryDTO approvalTaskSummaryDTO = new ApprovalTaskSummaryDTO();
                 approvalTaskSummaryDTO.setId(resultSet.getString(WorkflowEngineConstants.TASK_ID_COLUMN));
                 approvalTaskSummaryDTO.setRequestId(resultSet.getString(WorkflowEngineConstants.EVENT_ID));
@@ -384,38 +533,26 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
                         resultSet.getString(WorkflowEngineConstants.WORKFLOW_ID));
                 approvalTaskSummaryDTO
                         .setApprovalStatus(resultSet.getString(WorkflowEngineConstants.TASK_STATUS_COLUMN));
-                return approvalTaskSummaryDTO;
-            }, namedPreparedStatement -> {
-                namedPreparedStatement.setInt(TENANT_ID_PLACEHOLDER, tenantId);
-                for (int i = 0; i < entityIds.size(); i++) {
-                    namedPreparedStatement.setString(ENTITY_ID_PLACEHOLDER_PREFIX + i, entityIds.get(i));
-                }
-                if (statusList != null && !statusList.isEmpty()) {
-                    for (int i = 0; i < statusList.size(); i++) {
-                        namedPreparedStatement.setString(STATUS_PLACEHOLDER_PREFIX + i, statusList.get(i));
-                    }
-                }
-                if (operationTypes != null && !operationTypes.isEmpty()) {
-                    for (int i = 0; i < operationTypes.size(); i++) {
-                        namedPreparedStatement.setString(OPERATION_TYPE_PLACEHOLDER_PREFIX + i,
-                                operationTypes.get(i));
-                    }
-                }
-                if (workflowIdCondition != null) {
-                    String value = workflowIdCondition.getOperator() == FilterOperator.SW
-                            ? workflowIdCondition.getValue() + "%"
-                            : workflowIdCondition.getValue();
-                    namedPreparedStatement.setString(FILTER_WORKFLOW_ID_PLACEHOLDER, value);
-                }
-                if (requestIdCondition != null) {
-                    String value = requestIdCondition.getOperator() == FilterOperator.SW
-                            ? requestIdCondition.getValue() + "%"
-                            : requestIdCondition.getValue();
-                    namedPreparedStatement.setString(FILTER_REQUEST_ID_PLACEHOLDER, value);
-                }
-            });
+                return new AbstractMap.SimpleEntry<>(approvalTaskSummaryDTO,
+                        resultSet.getTimestamp(WorkflowEngineConstants.UPDATED_AT_COLUMN));
+            }, namedPreparedStatement -> setFilteredQueryParameters(namedPreparedStatement, chunk, filter,
+                    tenantId))));
+        }
+        return mergeByUpdatedTime(approvalTasks);
+    }
+
+    @Override
+    public int countFilteredApprovalTasks(List<String> entityIds, ApprovalTaskFilterDTO filter, int tenantId)
+            throws WorkflowEngineServerException {
+
+        if (entityIds == null || entityIds.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return countFilteredApprovalTasks(JdbcUtils.getNewNamedJdbcTemplate(), entityIds, filter, tenantId);
         } catch (DataAccessException e) {
-            String errorMessage = "Error occurred while retrieving filtered approval task details for entity IDs: " +
+            String errorMessage = "Error occurred while counting filtered approval tasks for entity IDs: " +
                     String.join(", ", entityIds);
             if (log.isDebugEnabled()) {
                 log.debug(errorMessage, e);
@@ -424,11 +561,513 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
         }
     }
 
+    /**
+     * Count the filtered approval tasks of the given entities using the given template, as they are listed after
+     * de-duplication. The database groups the matched tasks by workflow request, workflow, status and update time,
+     * and the tasks are counted from these groups. The groups of all chunks of entity IDs are counted together, as a
+     * workflow request may be assigned to entities of different chunks.
+     */
+    static int countFilteredApprovalTasks(NamedJdbcTemplate namedJdbcTemplate, List<String> entityIds,
+                                          ApprovalTaskFilterDTO filter, int tenantId) throws DataAccessException {
+
+        FilteredQuery filteredQuery = selectFilteredQuery(filter);
+        String fingerprint = filteredQuery.getFingerprint(QueryType.COUNT);
+        List<ApprovalTaskGroup> approvalTaskGroups = new ArrayList<>();
+        for (List<String> chunk : chunkEntityIds(entityIds,
+                WorkflowEngineServiceDataHolder.getInstance().getEntityIdChunkSize())) {
+            String query = filteredQuery.buildCount(chunk.size(), filter);
+            approvalTaskGroups.addAll(StatementProfiler.query(query, fingerprint,
+                    countFilteredQueryBindParameters(chunk, filter), describeFilteredQueryBindParameters(chunk, filter),
+                    sql -> namedJdbcTemplate.executeQuery(sql, (resultSet, rowNumber) -> new ApprovalTaskGroup(
+                                    resultSet.getString(WorkflowEngineConstants.EVENT_ID) + ":" +
+                                            resultSet.getString(WorkflowEngineConstants.WORKFLOW_ID),
+                                    resultSet.getString(WorkflowEngineConstants.TASK_STATUS_COLUMN),
+                                    resultSet.getTimestamp(WorkflowEngineConstants.UPDATED_AT_COLUMN),
+                                    resultSet.getInt(WorkflowEngineConstants.TASK_COUNT_COLUMN)),
+                            namedPreparedStatement -> setFilteredQueryParameters(namedPreparedStatement, chunk,
+                                    filter, tenantId))));
+        }
+        return countListedApprovalTasks(approvalTaskGroups);
+    }
+
+    /**
+     * Count the approval tasks of the given groups that the de-duplication of the listing keeps, visiting the groups
+     * in the order of the listing. Of the tasks of a workflow request and workflow, the APPROVED tasks are kept up to
+     * the first other task, which is kept as well, and BLOCKED tasks are skipped when there is a RESERVED task.
+     *
+     * @param approvalTaskGroups Groups of approval tasks. Sorted in place.
+     * @return Number of approval tasks listed after de-duplication.
+     * @see org.wso2.carbon.identity.workflow.engine.util.Utils#removeDuplicateApprovalTasks(List)
+     */
+    private static int countListedApprovalTasks(List<ApprovalTaskGroup> approvalTaskGroups) {
+
+        approvalTaskGroups.sort(Comparator.comparing((ApprovalTaskGroup approvalTaskGroup) ->
+                        approvalTaskGroup.updatedTime, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(approvalTaskGroup -> getListedTaskStatusOrder(approvalTaskGroup.taskStatus)));
+        Set<String> reservedKeys = approvalTaskGroups.stream()
+                .filter(approvalTaskGroup -> WorkflowEngineConstants.TaskStatus.RESERVED.name()
+                        .equals(approvalTaskGroup.taskStatus))
+                .map(approvalTaskGroup -> approvalTaskGroup.key)
+                .collect(Collectors.toSet());
+        Set<String> processedKeys = new HashSet<>();
+        int count = 0;
+        for (ApprovalTaskGroup approvalTaskGroup : approvalTaskGroups) {
+            if (processedKeys.contains(approvalTaskGroup.key) || (reservedKeys.contains(approvalTaskGroup.key) &&
+                    WorkflowEngineConstants.TaskStatus.BLOCKED.name().equals(approvalTaskGroup.taskStatus))) {
+                continue;
+            }
+            if (WorkflowEngineConstants.TaskStatus.APPROVED.name().equals(approvalTaskGroup.taskStatus)) {
+                count += approvalTaskGroup.taskCount;
+            } else {
+                count++;
+                processedKeys.add(approvalTaskGroup.key);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Position of the given status in the order of approval tasks with the same update time.
+     */
+    private static int getListedTaskStatusOrder(String taskStatus) {
+
+        int order = LISTED_TASK_STATUS_ORDER.indexOf(taskStatus);
+        return order >= 0 ? order : LISTED_TASK_STATUS_ORDER.size();
+    }
+
+    /**
+     * Select the table the filtered approval tasks are read from. The approval inbox serves every filter it supports.
+     * Otherwise, when the approval history is enabled, filters on pending statuses only are served from the approval
+     * task relations alone, and the others from the union of the relations and the history.
+     */
+    private static FilteredQuery selectFilteredQuery(ApprovalTaskFilterDTO filter) {
+
+        WorkflowEngineServiceDataHolder dataHolder = WorkflowEngineServiceDataHolder.getInstance();
+        if (dataHolder.isApprovalInboxEnabled() && FilteredQuery.APPROVAL_INBOX.supports(filter)) {
+            return FilteredQuery.APPROVAL_INBOX;
+        }
+        if (dataHolder.isApprovalHistoryEnabled() && !isPendingStatusFilter(filter)) {
+            return FilteredQuery.APPROVAL_TASK_WITH_HISTORY;
+        }
+        return FilteredQuery.APPROVAL_TASK;
+    }
+
+    /**
+     * @return true if the given filter matches pending approval tasks only, which are never moved to the history.
+     */
+    static boolean isPendingStatusFilter(ApprovalTaskFilterDTO filter) {
+
+        List<String> statusList = filter != null ? filter.getStatusList() : null;
+        return statusList != null && !statusList.isEmpty() && PENDING_TASK_STATUSES.containsAll(statusList);
+    }
+
+    /**
+     * Split the entity IDs into chunks of at most the given size, so that users with many roles do not produce IN
+     * lists beyond the limits of the database driver.
+     *
+     * @param entityIds Entity IDs to match approvers against.
+     * @param chunkSize Largest number of entity IDs in a chunk. A non-positive value disables chunking.
+     * @return Chunks of entity IDs.
+     */
+    static List<List<String>> chunkEntityIds(List<String> entityIds, int chunkSize) {
+
+        if (chunkSize <= 0 || entityIds.size() <= chunkSize) {
+            return Collections.singletonList(entityIds);
+        }
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < entityIds.size(); i += chunkSize) {
+            chunks.add(entityIds.subList(i, Math.min(i + chunkSize, entityIds.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Merge the approval tasks queried for each chunk of entity IDs into the order of the filtered approval task
+     * query, the latest updated first. Chunks match disjoint approvers, so no approval task is listed twice. Tasks
+     * of the same update time are ordered by status and ID as the query orders them, so that the de-duplication
+     * keeps the same tasks however the entity IDs are chunked.
+     *
+     * @param approvalTasks Approval tasks with the time their workflow request was last updated.
+     * @return Approval tasks, the latest updated first.
+     */
+    static List<ApprovalTaskSummaryDTO> mergeByUpdatedTime(
+            List<Map.Entry<ApprovalTaskSummaryDTO, Timestamp>> approvalTasks) {
+
+        approvalTasks.sort(Comparator.comparing((Map.Entry<ApprovalTaskSummaryDTO, Timestamp> approvalTask) ->
+                        approvalTask.getValue(), Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(approvalTask -> getListedTaskStatusOrder(approvalTask.getKey().getApprovalStatus()))
+                .thenComparing(approvalTask -> approvalTask.getKey().getId(),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+        List<ApprovalTaskSummaryDTO> mergedApprovalTasks = new ArrayList<>(approvalTasks.size());
+        for (Map.Entry<ApprovalTaskSummaryDTO, Timestamp> approvalTask : approvalTasks) {
+            mergedApprovalTasks.add(approvalTask.getKey());
+        }
+        return mergedApprovalTasks;
+    }
+
+    @Override
+    public Map<String, Integer> getPendingApprovalTaskCountsOfTenant(int tenantId)
+            throws WorkflowEngineServerException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            List<Map.Entry<String, Integer>> counts = StatementProfiler.query(WorkflowEngineConstants.SqlQueries.
+                            GET_PENDING_APPROVAL_TASK_COUNTS_OF_TENANT, "GET_PENDING_APPROVAL_TASK_COUNTS_OF_TENANT",
+                    sql -> jdbcTemplate.executeQuery(sql, (resultSet, rowNumber) -> new AbstractMap.SimpleEntry<>(
+                                    resultSet.getString(WorkflowEngineConstants.APPROVER_NAME_COLUMN),
+                                    resultSet.getInt(WorkflowEngineConstants.TASK_COUNT_COLUMN)),
+                            preparedStatement -> preparedStatement.setInt(1, tenantId)));
+            Map<String, Integer> pendingTaskCounts = new HashMap<>();
+            for (Map.Entry<String, Integer> count : counts) {
+                pendingTaskCounts.put(count.getKey(), count.getValue());
+            }
+            return pendingTaskCounts;
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while counting pending approval tasks of tenant: %d",
+                    tenantId);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
+    @Override
+    public int countPendingApprovalTasks(List<String> entityIds, int tenantId) throws WorkflowEngineServerException {
+
+        if (entityIds == null || entityIds.isEmpty()) {
+            return 0;
+        }
+
+        NamedJdbcTemplate namedJdbcTemplate = JdbcUtils.getNewNamedJdbcTemplate();
+        try {
+            // Pending tasks are counted once per approver entity, so the counts of the chunks add up.
+            int pendingTaskCount = 0;
+            for (List<String> chunk : chunkEntityIds(entityIds,
+                    WorkflowEngineServiceDataHolder.getInstance().getEntityIdChunkSize())) {
+                int entityIdCount = getPaddedInListSize(chunk.size());
+                String query = getCachedQuery(Arrays.asList("COUNT_PENDING_APPROVAL_TASKS_OF_ENTITIES", entityIdCount),
+                        () -> WorkflowEngineConstants.SqlQueries.COUNT_PENDING_APPROVAL_TASKS_OF_ENTITIES
+                                .replace(ENTITY_ID_LIST_PLACEHOLDER, buildPlaceholders(ENTITY_ID_PLACEHOLDER_PREFIX,
+                                        entityIdCount)));
+                Integer count = StatementProfiler.query(query, "COUNT_PENDING_APPROVAL_TASKS_OF_ENTITIES",
+                        1 + entityIdCount, "entityIds=" + chunk.size(),
+                        sql -> namedJdbcTemplate.fetchSingleRecord(sql, (resultSet, rowNumber) ->
+                                        resultSet.getInt(WorkflowEngineConstants.TASK_COUNT_COLUMN),
+                                namedPreparedStatement -> {
+                                    namedPreparedStatement.setInt(TENANT_ID_PLACEHOLDER, tenantId);
+                                    setPaddedInList(namedPreparedStatement, ENTITY_ID_PLACEHOLDER_PREFIX, chunk);
+                                }));
+                pendingTaskCount += count != null ? count : 0;
+            }
+            return pendingTaskCount;
+        } catch (DataAccessException e) {
+            String errorMessage = "Error occurred while counting pending approval tasks for entity IDs: " +
+                    String.join(", ", entityIds);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
+    @Override
+    public void streamApprovalTasksOfTenant(int tenantId, int fetchSize, ApprovalTaskExportConsumer consumer)
+            throws WorkflowEngineException {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            streamApprovalTasksOfTenant(connection, tenantId, fetchSize, consumer);
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException | DataAccessException e) {
+            String errorMessage = String.format("Error occurred while streaming the approval tasks of tenant: %d",
+                    tenantId);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Stream the approval tasks of a tenant read from the given connection. The connection needs to have auto commit
+     * disabled, as some drivers, e.g. PostgreSQL, ignore the fetch size otherwise and read the whole result.
+     */
+    static void streamApprovalTasksOfTenant(Connection connection, int tenantId, int fetchSize,
+                                            ApprovalTaskExportConsumer consumer)
+            throws SQLException, DataAccessException, WorkflowEngineException {
+
+        String query = withHistory(WorkflowEngineConstants.SqlQueries.GET_APPROVAL_TASKS_OF_TENANT,
+                WorkflowEngineConstants.SqlQueries.GET_APPROVAL_TASKS_OF_TENANT_WITH_HISTORY);
+        String fingerprint = withHistory("GET_APPROVAL_TASKS_OF_TENANT", "GET_APPROVAL_TASKS_OF_TENANT_WITH_HISTORY");
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            preparedStatement.setFetchSize(fetchSize);
+            preparedStatement.setInt(1, tenantId);
+            // Only the execution is timed. The rows are read while the consumer processes them.
+            try (ResultSet resultSet = StatementProfiler.query(query, fingerprint,
+                    sql -> executeQuery(preparedStatement))) {
+                while (resultSet.next()) {
+                    ApprovalTaskExportDTO approvalTask = new ApprovalTaskExportDTO();
+                    approvalTask.setTaskId(resultSet.getString(WorkflowEngineConstants.TASK_ID_COLUMN));
+                    approvalTask.setRequestId(resultSet.getString(WorkflowEngineConstants.EVENT_ID));
+                    approvalTask.setWorkflowId(resultSet.getString(WorkflowEngineConstants.WORKFLOW_ID));
+                    approvalTask.setApproverType(resultSet.getString(WorkflowEngineConstants.APPROVER_TYPE_COLUMN));
+                    approvalTask.setApproverName(resultSet.getString(WorkflowEngineConstants.APPROVER_NAME_COLUMN));
+                    approvalTask.setTaskStatus(resultSet.getString(WorkflowEngineConstants.TASK_STATUS_COLUMN));
+                    approvalTask.setOperationType(
+                            resultSet.getString(WorkflowEngineConstants.OPERATION_TYPE_COLUMN));
+                    approvalTask.setInitiator(resultSet.getString(WorkflowEngineConstants.CREATED_USER_COLUMN));
+                    approvalTask.setCreatedTimeInMillis(toMillis(
+                            resultSet.getTimestamp(WorkflowEngineConstants.CREATED_AT_IN_MILL_COLUMN)));
+                    approvalTask.setUpdatedTimeInMillis(toMillis(
+                            resultSet.getTimestamp(WorkflowEngineConstants.UPDATED_AT_COLUMN)));
+                    consumer.accept(approvalTask);
+                }
+            }
+        }
+    }
+
+    private static ResultSet executeQuery(PreparedStatement preparedStatement) throws DataAccessException {
+
+        try {
+            return preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            throw new DataAccessException("Error occurred while executing the query.", e);
+        }
+    }
+
+    private static String toMillis(Timestamp timestamp) {
+
+        return timestamp != null ? String.valueOf(timestamp.getTime()) : null;
+    }
+
+    /**
+     * Bind the values of a filtered approval task query or count query to its named placeholders.
+     */
+    private static void setFilteredQueryParameters(NamedPreparedStatement namedPreparedStatement,
+                                                   List<String> entityIds, ApprovalTaskFilterDTO filter,
+                                                   int tenantId) throws SQLException {
+
+        List<String> statusList = filter != null ? filter.getStatusList() : null;
+        List<String> operationTypes = filter != null ? filter.getOperationTypeList() : null;
+        List<FilterCondition> filterConditions = filter != null ? filter.getFilterConditions() : null;
+        FilterCondition workflowIdCondition = findFilterCondition(filterConditions,
+                WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID);
+        FilterCondition requestIdCondition = findFilterCondition(filterConditions,
+                WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID);
+
+        namedPreparedStatement.setInt(TENANT_ID_PLACEHOLDER, tenantId);
+        setPaddedInList(namedPreparedStatement, ENTITY_ID_PLACEHOLDER_PREFIX, entityIds);
+        if (statusList != null && !statusList.isEmpty()) {
+            setPaddedInList(namedPreparedStatement, STATUS_PLACEHOLDER_PREFIX, statusList);
+        }
+        if (operationTypes != null && !operationTypes.isEmpty()) {
+            setPaddedInList(namedPreparedStatement, OPERATION_TYPE_PLACEHOLDER_PREFIX, operationTypes);
+        }
+        if (workflowIdCondition != null) {
+            String value = workflowIdCondition.getOperator() == FilterOperator.SW
+                    ? workflowIdCondition.getValue() + "%"
+                    : workflowIdCondition.getValue();
+            namedPreparedStatement.setString(FILTER_WORKFLOW_ID_PLACEHOLDER, value);
+        }
+        if (requestIdCondition != null) {
+            String value = requestIdCondition.getOperator() == FilterOperator.SW
+                    ? requestIdCondition.getValue() + "%"
+                    : requestIdCondition.getValue();
+            namedPreparedStatement.setString(FILTER_REQUEST_ID_PLACEHOLDER, value);
+        }
+        if (filter != null && filter.getFilterExpression() != null) {
+            for (Map.Entry<String, Object> parameter : FilterExpressionSql.getParameters(
+                    filter.getFilterExpression()).entrySet()) {
+                if (parameter.getValue() instanceof Timestamp) {
+                    namedPreparedStatement.setTimeStamp(parameter.getKey(), (Timestamp) parameter.getValue(),
+                            Calendar.getInstance());
+                } else {
+                    namedPreparedStatement.setString(parameter.getKey(), String.valueOf(parameter.getValue()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Bind the values of an IN list generated for {@link #getPaddedInListSize(int)} placeholders. The placeholders
+     * beyond the given values repeat the last value, which does not change the result of the IN condition.
+     */
+    private static void setPaddedInList(NamedPreparedStatement namedPreparedStatement, String placeholderPrefix,
+                                        List<String> values) throws SQLException {
+
+        int paddedSize = getPaddedInListSize(values.size());
+        for (int i = 0; i < paddedSize; i++) {
+            namedPreparedStatement.setString(placeholderPrefix + i, values.get(Math.min(i, values.size() - 1)));
+        }
+    }
+
+    /**
+     * Get the number of placeholders generated for an IN list of the given size. Sizes are rounded up to the next
+     * power of two, so that users with a similar number of roles share the same SQL text and hit the driver and
+     * database statement caches.
+     *
+     * @param size Number of values in the IN list.
+     * @return Number of placeholders to generate.
+     */
+    static int getPaddedInListSize(int size) {
+
+        if (size <= 1) {
+            return size;
+        }
+        if (size > MAX_PADDED_IN_LIST_SIZE) {
+            return size;
+        }
+        return Math.min(Integer.highestOneBit(size - 1) << 1, MAX_PADDED_IN_LIST_SIZE);
+    }
+
+    /**
+     * Get the SQL of the given shape from the cache, building it on a miss. The cache is cleared once it is full,
+     * which only happens if unusually many distinct filter shapes are in use.
+     */
+    private static String getCachedQuery(List<Object> shape, Supplier<String> queryBuilder) {
+
+        String query = QUERY_SHAPE_CACHE.get(shape);
+        if (query == null) {
+            query = queryBuilder.get();
+            if (QUERY_SHAPE_CACHE.size() >= MAX_CACHED_QUERY_SHAPES) {
+                QUERY_SHAPE_CACHE.clear();
+            }
+            QUERY_SHAPE_CACHE.put(shape, query);
+        }
+        return query;
+    }
+
+    private static String buildPlaceholders(String placeholderPrefix, int count) {
+
+        return IntStream.range(0, count)
+                .mapToObj(i -> ":" + placeholderPrefix + i + ";")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static int countFilteredQueryBindParameters(List<String> entityIds, ApprovalTaskFilterDTO filter) {
+
+        return 1 + getPaddedInListSize(entityIds.size()) + getPaddedInListSize(countStatuses(filter)) +
+                getPaddedInListSize(countOperationTypes(filter)) + countConditions(filter) +
+                countExpressionParameters(filter);
+    }
+
+    private static String describeFilteredQueryBindParameters(List<String> entityIds, ApprovalTaskFilterDTO filter) {
+
+        return String.format("entityIds=%d, statuses=%d, operationTypes=%d, filters=%d, expressionParameters=%d",
+                entityIds.size(), countStatuses(filter), countOperationTypes(filter), countConditions(filter),
+                countExpressionParameters(filter));
+    }
+
+    private static int countExpressionParameters(ApprovalTaskFilterDTO filter) {
+
+        return filter != null && filter.getFilterExpression() != null ?
+                FilterExpressionSql.getParameters(filter.getFilterExpression()).size() : 0;
+    }
+
+    private static int countStatuses(ApprovalTaskFilterDTO filter) {
+
+        return filter != null && filter.getStatusList() != null ? filter.getStatusList().size() : 0;
+    }
+
+    private static int countOperationTypes(ApprovalTaskFilterDTO filter) {
+
+        return filter != null && filter.getOperationTypeList() != null ? filter.getOperationTypeList().size() : 0;
+    }
+
+    private static int countConditions(ApprovalTaskFilterDTO filter) {
+
+        List<FilterCondition> filterConditions = filter != null ? filter.getFilterConditions() : null;
+        return (findFilterCondition(filterConditions, WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID) != null ?
+                1 : 0) + (findFilterCondition(filterConditions, WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID)
+                != null ? 1 : 0);
+    }
+
+    /**
+     * Build the filtered approval task query for the given number of entity IDs and filter. Named placeholders are
+     * numbered in the order the values are bound in {@link #getFilteredApprovalTaskDetails}.
+     *
+     * @param entityIdCount Number of entity IDs (the user and their roles) to match approvers against.
+     * @param filter        Filter to apply, may be null.
+     * @return Query with named placeholders.
+     */
+    public static String buildFilteredApprovalTaskQuery(int entityIdCount, ApprovalTaskFilterDTO filter) {
+
+        return FilteredQuery.APPROVAL_TASK.build(entityIdCount, filter);
+    }
+
+    /**
+     * Build the filtered approval task query served from the approval inbox. The query has the same named
+     * placeholders as {@link #buildFilteredApprovalTaskQuery}, but reads a single table. Filter expressions on the
+     * initiator or the created time cannot be served from the inbox.
+     *
+     * @param entityIdCount Number of entity IDs (the user and their roles) to match approvers against.
+     * @param filter        Filter to apply, may be null.
+     * @return Query with named placeholders.
+     * @throws IllegalArgumentException If the filter expression references an attribute the inbox does not hold.
+     */
+    public static String buildFilteredApprovalInboxQuery(int entityIdCount, ApprovalTaskFilterDTO filter) {
+
+        return FilteredQuery.APPROVAL_INBOX.build(entityIdCount, filter);
+    }
+
+    /**
+     * Build the query grouping the approval tasks {@link #buildFilteredApprovalTaskQuery} lists by workflow request,
+     * workflow, status and update time, from which the tasks listed after de-duplication are counted.
+     *
+     * @param entityIdCount Number of entity IDs (the user and their roles) to match approvers against.
+     * @param filter        Filter to apply, may be null.
+     * @return Query with named placeholders.
+     */
+    public static String buildFilteredApprovalTaskCountQuery(int entityIdCount, ApprovalTaskFilterDTO filter) {
+
+        return FilteredQuery.APPROVAL_TASK.buildCount(entityIdCount, filter);
+    }
+
+    /**
+     * Build the count query of {@link #buildFilteredApprovalTaskCountQuery}, served from the approval inbox.
+     *
+     * @param entityIdCount Number of entity IDs (the user and their roles) to match approvers against.
+     * @param filter        Filter to apply, may be null.
+     * @return Query with named placeholders.
+     */
+    public static String buildFilteredApprovalInboxCountQuery(int entityIdCount, ApprovalTaskFilterDTO filter) {
+
+        return FilteredQuery.APPROVAL_INBOX.buildCount(entityIdCount, filter);
+    }
+
+    /**
+     * Build the filtered approval task query served from the union of the approval task relations and the approval
+     * history. The query has the same named placeholders as {@link #buildFilteredApprovalTaskQuery}.
+     *
+     * @param entityIdCount Number of entity IDs (the user and their roles) to match approvers against.
+     * @param filter        Filter to apply, may be null.
+     * @return Query with named placeholders.
+     */
+    public static String buildFilteredApprovalTaskWithHistoryQuery(int entityIdCount, ApprovalTaskFilterDTO filter) {
+
+        return FilteredQuery.APPROVAL_TASK_WITH_HISTORY.build(entityIdCount, filter);
+    }
+
+    /**
+     * Build the count query of {@link #buildFilteredApprovalTaskCountQuery}, served from the union of the approval
+     * task relations and the approval history.
+     *
+     * @param entityIdCount Number of entity IDs (the user and their roles) to match approvers against.
+     * @param filter        Filter to apply, may be null.
+     * @return Query with named placeholders.
+     */
+    public static String buildFilteredApprovalTaskWithHistoryCountQuery(int entityIdCount,
+                                                                        ApprovalTaskFilterDTO filter) {
+
+        return FilteredQuery.APPROVAL_TASK_WITH_HISTORY.buildCount(entityIdCount, filter);
+    }
+
     /**
      * Returns the first {@link FilterCondition} in {@code conditions} whose attribute matches
      * {@code attribute}, or {@code null} if none is found.
      */
-    private FilterCondition findFilterCondition(List<FilterCondition> conditions, String attribute) {
+    private static FilterCondition findFilterCondition(List<FilterCondition> conditions, String attribute) {
 
         if (conditions == null) {
             return null;
@@ -447,14 +1086,16 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     @Override
     public String getApprovalTaskStatus(String taskId) throws WorkflowEngineServerException {
 
+        String query = withHistory(WorkflowEngineConstants.SqlQueries.GET_TASK_STATUS,
+                WorkflowEngineConstants.SqlQueries.GET_TASK_STATUS_WITH_HISTORY);
+        String fingerprint = withHistory("GET_TASK_STATUS", "GET_TASK_STATUS_WITH_HISTORY");
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         String taskStatus;
         try {
-            taskStatus = jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.
-                            GET_TASK_STATUS,
+            taskStatus = StatementProfiler.query(query, fingerprint, sql -> jdbcTemplate.fetchSingleRecord(sql,
                     ((resultSet, i) -> (
                             resultSet.getString(WorkflowEngineConstants.TASK_STATUS_COLUMN))),
-                    preparedStatement -> preparedStatement.setString(1, taskId));
+                    preparedStatement -> preparedStatement.setString(1, taskId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving task status from" +
                     "task Id: %s", taskId);
@@ -469,9 +1110,10 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     @Override
     public void updateApprovalTaskStatus(String taskId, String taskStatus) throws WorkflowEngineServerException {
 
-        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            jdbcTemplate.executeUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_STATUS,
+            executeUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_STATUS, "UPDATE_TASK_STATUS",
+                    WorkflowEngineConstants.SqlQueries.UPDATE_APPROVAL_INBOX_TASK_STATUS,
+                    "UPDATE_APPROVAL_INBOX_TASK_STATUS",
                     (preparedStatement -> {
                         setPreparedStatementForStatusOfRequest(taskStatus, taskId, preparedStatement);
                         preparedStatement.setString(1, taskStatus);
@@ -491,9 +1133,10 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     public void updateApprovalTaskEntityDetail(String taskId, String entityType, String entityId)
             throws WorkflowEngineServerException {
 
-        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            jdbcTemplate.executeUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_ENTITY_DETAILS,
+            executeUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_ENTITY_DETAILS, "UPDATE_TASK_ENTITY_DETAILS",
+                    WorkflowEngineConstants.SqlQueries.UPDATE_APPROVAL_INBOX_ENTITY_DETAILS,
+                    "UPDATE_APPROVAL_INBOX_ENTITY_DETAILS",
                     (preparedStatement -> {
                         preparedStatement.setString(1, entityType);
                         preparedStatement.setString(2, entityId);
@@ -509,18 +1152,93 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
         }
     }
 
+    @Override
+    public void completeApprovalTask(String taskId, String taskStatus, String entityType, String entityId,
+                                     List<ApprovalCallbackDTO> callbacks) throws WorkflowEngineServerException {
+
+        WorkflowEngineServiceDataHolder dataHolder = WorkflowEngineServiceDataHolder.getInstance();
+        boolean inboxEnabled = dataHolder.isApprovalInboxEnabled();
+        boolean historyEnabled = dataHolder.isApprovalHistoryEnabled();
+        QueryFilter statusQueryFilter = preparedStatement -> setPreparedStatementForStatusOfRequest(taskStatus,
+                taskId, preparedStatement);
+        QueryFilter entityQueryFilter = preparedStatement -> {
+            preparedStatement.setString(1, entityType);
+            preparedStatement.setString(2, entityId);
+            preparedStatement.setString(3, taskId);
+        };
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            jdbcTemplate.withTransaction(template -> {
+                StatementProfiler.templateUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_STATUS,
+                        "UPDATE_TASK_STATUS",
+                        sql -> template.executeUpdate(sql, statusQueryFilter));
+                StatementProfiler.templateUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_ENTITY_DETAILS,
+                        "UPDATE_TASK_ENTITY_DETAILS",
+                        sql -> template.executeUpdate(sql, entityQueryFilter));
+                if (inboxEnabled) {
+                    StatementProfiler.templateUpdate(
+                            WorkflowEngineConstants.SqlQueries.UPDATE_APPROVAL_INBOX_TASK_STATUS,
+                            "UPDATE_APPROVAL_INBOX_TASK_STATUS",
+                            sql -> template.executeUpdate(sql, statusQueryFilter));
+                    StatementProfiler.templateUpdate(
+                            WorkflowEngineConstants.SqlQueries.UPDATE_APPROVAL_INBOX_ENTITY_DETAILS,
+                            "UPDATE_APPROVAL_INBOX_ENTITY_DETAILS",
+                            sql -> template.executeUpdate(sql, entityQueryFilter));
+                }
+                if (historyEnabled) {
+                    StatementProfiler.templateUpdate(WorkflowEngineConstants.SqlQueries.MOVE_APPROVAL_TASK_TO_HISTORY,
+                            "MOVE_APPROVAL_TASK_TO_HISTORY",
+                            sql -> template.executeUpdate(sql, preparedStatement -> {
+                                preparedStatement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                                preparedStatement.setString(2, taskId);
+                            }));
+                    StatementProfiler.templateUpdate(WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_TASK,
+                            "DELETE_APPROVAL_TASK",
+                            sql -> template.executeUpdate(sql, preparedStatement -> preparedStatement.setString(1,
+                                    taskId)));
+                }
+                for (ApprovalCallbackDTO callback : callbacks) {
+                    StatementProfiler.templateUpdate(WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_CALLBACK,
+                            "ADD_APPROVAL_CALLBACK",
+                            sql -> template.executeUpdate(sql, preparedStatement -> {
+                                Timestamp now = new Timestamp(System.currentTimeMillis());
+                                preparedStatement.setString(1, callback.getCallbackId());
+                                preparedStatement.setInt(2, callback.getTenantId());
+                                preparedStatement.setString(3, callback.getWorkflowRequestId());
+                                preparedStatement.setString(4, callback.getRelationshipId());
+                                preparedStatement.setString(5, callback.getDecision());
+                                preparedStatement.setString(6, callback.getUsername());
+                                preparedStatement.setTimestamp(7, now);
+                                preparedStatement.setTimestamp(8, now);
+                                preparedStatement.setTimestamp(9, now);
+                            }));
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while completing the approval task: %s with " +
+                    "status: %s", taskId, taskStatus);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
     @Override
     public List<String> getApprovalTasksByWorkflowRequestId(String workflowRequestId, String workflowId)
             throws WorkflowEngineServerException {
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            return jdbcTemplate.executeQuery(WorkflowEngineConstants.SqlQueries.GET_TASK_ID_FROM_REQUEST,
+            return StatementProfiler.query(WorkflowEngineConstants.SqlQueries.GET_TASK_ID_FROM_REQUEST,
+                    "GET_TASK_ID_FROM_REQUEST",
+                    sql -> jdbcTemplate.executeQuery(sql,
                     (resultSet, rowNumber) -> resultSet.getString(WorkflowEngineConstants.TASK_ID_COLUMN),
                     preparedStatement -> {
                         preparedStatement.setString(1, workflowRequestId);
                         preparedStatement.setString(2, workflowId);
-                    });
+                    }));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving approval tasks for the " +
                     "workflow request id: %s and workflow id: %s", workflowRequestId, workflowId);
@@ -537,14 +1255,16 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     @Override
     public String getWorkflowID(String taskId) throws WorkflowEngineServerException {
 
+        String query = withHistory(WorkflowEngineConstants.SqlQueries.GET_WORKFLOW_ID,
+                WorkflowEngineConstants.SqlQueries.GET_WORKFLOW_ID_WITH_HISTORY);
+        String fingerprint = withHistory("GET_WORKFLOW_ID", "GET_WORKFLOW_ID_WITH_HISTORY");
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         String workflowId;
         try {
-            workflowId = jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.
-                            GET_WORKFLOW_ID,
+            workflowId = StatementProfiler.query(query, fingerprint, sql -> jdbcTemplate.fetchSingleRecord(sql,
                     ((resultSet, i) -> (
                             resultSet.getString(WorkflowEngineConstants.WORKFLOW_ID))),
-                    preparedStatement -> preparedStatement.setString(1, taskId));
+                    preparedStatement -> preparedStatement.setString(1, taskId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving workflow from" +
                     "task Id: %s", taskId);
@@ -559,10 +1279,11 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
     @Override
     public void deletePendingApprovalTasks(String workflowRequestId) throws WorkflowEngineServerException {
 
-        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            jdbcTemplate.executeUpdate(WorkflowEngineConstants.SqlQueries
-                            .DELETE_PENDING_APPROVAL_TASKS_OF_WORKFLOW_REQUEST,
+            executeUpdate(WorkflowEngineConstants.SqlQueries.DELETE_PENDING_APPROVAL_TASKS_OF_WORKFLOW_REQUEST,
+                    "DELETE_PENDING_APPROVAL_TASKS_OF_WORKFLOW_REQUEST",
+                    WorkflowEngineConstants.SqlQueries.DELETE_PENDING_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST,
+                    "DELETE_PENDING_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST",
                     preparedStatement -> preparedStatement.setString(1, workflowRequestId));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error while deleting the pending approval tasks of workflow " +
@@ -579,10 +1300,12 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            return jdbcTemplate.executeQuery(WorkflowEngineConstants.SqlQueries.
-                            GET_ALL_UNFINISHED_APPROVAL_EVENTS_BY_WORKFLOW_ID, (resultSet, rowNumber) ->
+            return StatementProfiler.query(WorkflowEngineConstants.SqlQueries.
+                            GET_ALL_UNFINISHED_APPROVAL_EVENTS_BY_WORKFLOW_ID,
+                    "GET_ALL_UNFINISHED_APPROVAL_EVENTS_BY_WORKFLOW_ID",
+                    sql -> jdbcTemplate.executeQuery(sql, (resultSet, rowNumber) ->
                             resultSet.getString(WorkflowEngineConstants.REQUEST_ID_COLUMN),
-                    preparedStatement -> preparedStatement.setString(1, workflowId));
+                    preparedStatement -> preparedStatement.setString(1, workflowId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving approval tasks for the " +
                     "workflow id: %s", workflowId);
@@ -597,15 +1320,16 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            return jdbcTemplate.executeQuery(WorkflowEngineConstants.SqlQueries.
-                            GET_APPROVAL_TASK_RELATIONS_BY_REQUEST_ID, (resultSet, rowNumber) -> {
+            return StatementProfiler.query(WorkflowEngineConstants.SqlQueries.
+                            GET_APPROVAL_TASK_RELATIONS_BY_REQUEST_ID, "GET_APPROVAL_TASK_RELATIONS_BY_REQUEST_ID",
+                    sql -> jdbcTemplate.executeQuery(sql, (resultSet, rowNumber) -> {
                             ApprovalTaskRelationDTO dto = new ApprovalTaskRelationDTO();
                         dto.setTaskId(resultSet.getString(WorkflowEngineConstants.TASK_ID_COLUMN));
                         dto.setTaskStatus(resultSet.getString(WorkflowEngineConstants.TASK_STATUS_COLUMN));
                         dto.setApproverName(resultSet.getString(WorkflowEngineConstants.APPROVER_NAME_COLUMN));
                         dto.setApproverType(resultSet.getString(WorkflowEngineConstants.APPROVER_TYPE_COLUMN));
                         return dto;
-                    }, preparedStatement -> preparedStatement.setString(1, requestId));
+                    }, preparedStatement -> preparedStatement.setString(1, requestId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving approval task relations for the " +
                     "request id: %s", requestId);
@@ -614,10 +1338,271 @@ public class ApprovalTaskDAOImpl implements ApprovalTaskDAO {
         }
     }
 
+    /**
+     * Execute an update on the approval task relations. When the approval inbox is enabled, the corresponding inbox
+     * update is executed with the same parameters in the same transaction.
+     */
+    private void executeUpdate(String sqlStmt, String fingerprint, String inboxSqlStmt, String inboxFingerprint,
+                               QueryFilter queryFilter) throws DataAccessException {
+
+        executeUpdate(sqlStmt, fingerprint, queryFilter, inboxSqlStmt, inboxFingerprint, queryFilter);
+    }
+
+    /**
+     * Execute an update on the approval task relations. When the approval inbox or the approval history is enabled,
+     * the corresponding inbox or history update is executed with the same parameters in the same transaction.
+     */
+    private void executeUpdate(String sqlStmt, String fingerprint, String inboxSqlStmt, String inboxFingerprint,
+                               String historySqlStmt, String historyFingerprint, QueryFilter queryFilter)
+            throws DataAccessException {
+
+        executeUpdate(sqlStmt, fingerprint, queryFilter, inboxSqlStmt, inboxFingerprint, queryFilter, historySqlStmt,
+                historyFingerprint);
+    }
+
+    /**
+     * Execute an update on the approval task relations. When the approval inbox is enabled, the given inbox update is
+     * executed in the same transaction, so that the inbox never diverges from the relations it is derived from.
+     */
+    private void executeUpdate(String sqlStmt, String fingerprint, QueryFilter queryFilter, String inboxSqlStmt,
+                               String inboxFingerprint, QueryFilter inboxQueryFilter) throws DataAccessException {
+
+        executeUpdate(sqlStmt, fingerprint, queryFilter, inboxSqlStmt, inboxFingerprint, inboxQueryFilter, null,
+                null);
+    }
+
+    /**
+     * Execute an update on the approval task relations, together with the given inbox update when the approval inbox
+     * is enabled and the given history update, if any, when the approval history is enabled. The history update
+     * takes the parameters of the relation update. Each statement is profiled with the name of its SQL constant.
+     */
+    private void executeUpdate(String sqlStmt, String fingerprint, QueryFilter queryFilter, String inboxSqlStmt,
+                               String inboxFingerprint, QueryFilter inboxQueryFilter, String historySqlStmt,
+                               String historyFingerprint) throws DataAccessException {
+
+        WorkflowEngineServiceDataHolder dataHolder = WorkflowEngineServiceDataHolder.getInstance();
+        boolean inboxEnabled = dataHolder.isApprovalInboxEnabled();
+        boolean historyEnabled = historySqlStmt != null && dataHolder.isApprovalHistoryEnabled();
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        if (!inboxEnabled && !historyEnabled) {
+            StatementProfiler.templateUpdate(sqlStmt, fingerprint, sql -> jdbcTemplate.executeUpdate(sql, queryFilter));
+            return;
+        }
+        jdbcTemplate.withTransaction(template -> {
+            StatementProfiler.templateUpdate(sqlStmt, fingerprint, sql -> template.executeUpdate(sql, queryFilter));
+            if (inboxEnabled) {
+                StatementProfiler.templateUpdate(inboxSqlStmt, inboxFingerprint,
+                        sql -> template.executeUpdate(sql, inboxQueryFilter));
+            }
+            if (historyEnabled) {
+                StatementProfiler.templateUpdate(historySqlStmt, historyFingerprint,
+                        sql -> template.executeUpdate(sql, queryFilter));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return The given query, or the name of its SQL constant, when the approval history is disabled, otherwise its
+     * variant that reads the approval history as well, as the requested approval task may have been completed.
+     */
+    private static String withHistory(String sqlStmt, String sqlStmtWithHistory) {
+
+        return WorkflowEngineServiceDataHolder.getInstance().isApprovalHistoryEnabled() ? sqlStmtWithHistory :
+                sqlStmt;
+    }
+
     private void setPreparedStatementForStatusOfRequest(String taskStatus, String taskId,
                                                         PreparedStatement preparedStatement) throws SQLException {
 
         preparedStatement.setString(1, taskStatus);
         preparedStatement.setString(2, taskId);
     }
+
+    /**
+     * Clauses the filtered approval task query is assembled from, for each table it can be served from.
+     */
+    private enum FilteredQuery {
+
+        APPROVAL_TASK(GET_FILTERED_APPROVAL_TASK_DETAILS_BASE, GET_FILTERED_APPROVAL_TASK_COUNT_BASE,
+                GROUP_BY_FILTERED_APPROVAL_TASK_COUNT,
+                WorkflowEngineConstants.SqlQueries.OPERATION_TYPE_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.WORKFLOW_ID_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.WORKFLOW_ID_SW_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.REQUEST_ID_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.REQUEST_ID_SW_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.ORDER_BY_UPDATED_AT_DESC,
+                expressionColumns("WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID", "EVENT_ID", "WF_REQUEST.CREATED_BY",
+                        "WF_REQUEST.OPERATION_TYPE", "WF_REQUEST.CREATED_AT")),
+        APPROVAL_TASK_WITH_HISTORY(GET_FILTERED_APPROVAL_TASK_DETAILS_WITH_HISTORY_BASE,
+                GET_FILTERED_APPROVAL_TASK_COUNT_WITH_HISTORY_BASE, GROUP_BY_FILTERED_APPROVAL_TASK_COUNT_WITH_HISTORY,
+                WorkflowEngineConstants.SqlQueries.OPERATION_TYPE_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.WORKFLOW_ID_FILTER_CLAUSE_WITH_HISTORY,
+                WorkflowEngineConstants.SqlQueries.WORKFLOW_ID_SW_FILTER_CLAUSE_WITH_HISTORY,
+                WorkflowEngineConstants.SqlQueries.REQUEST_ID_FILTER_CLAUSE_WITH_HISTORY,
+                WorkflowEngineConstants.SqlQueries.REQUEST_ID_SW_FILTER_CLAUSE_WITH_HISTORY,
+                WorkflowEngineConstants.SqlQueries.ORDER_BY_UPDATED_AT_DESC,
+                expressionColumns("WF_WORKFLOW_APPROVAL_TASKS.WORKFLOW_ID", "EVENT_ID", "WF_REQUEST.CREATED_BY",
+                        "WF_REQUEST.OPERATION_TYPE", "WF_REQUEST.CREATED_AT")),
+        APPROVAL_INBOX(GET_FILTERED_APPROVAL_INBOX_DETAILS_BASE, GET_FILTERED_APPROVAL_INBOX_COUNT_BASE,
+                GROUP_BY_FILTERED_APPROVAL_INBOX_COUNT,
+                WorkflowEngineConstants.SqlQueries.INBOX_OPERATION_TYPE_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.INBOX_WORKFLOW_ID_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.INBOX_WORKFLOW_ID_SW_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.INBOX_REQUEST_ID_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.INBOX_REQUEST_ID_SW_FILTER_CLAUSE,
+                WorkflowEngineConstants.SqlQueries.INBOX_ORDER_BY_UPDATED_AT_DESC,
+                // The inbox holds neither the initiator nor the created time of the request.
+                expressionColumns("WORKFLOW_ID", "EVENT_ID", null, "OPERATION_TYPE", null));
+
+        private final String baseQuery;
+        private final String countBaseQuery;
+        private final String countGroupByClause;
+        private final String operationTypeClause;
+        private final String workflowIdClause;
+        private final String workflowIdStartsWithClause;
+        private final String requestIdClause;
+        private final String requestIdStartsWithClause;
+        private final String orderByClause;
+        private final Map<String, String> expressionColumns;
+
+        FilteredQuery(String baseQuery, String countBaseQuery, String countGroupByClause, String operationTypeClause,
+                      String workflowIdClause, String workflowIdStartsWithClause, String requestIdClause,
+                      String requestIdStartsWithClause, String orderByClause, Map<String, String> expressionColumns) {
+
+            this.baseQuery = baseQuery;
+            this.countBaseQuery = countBaseQuery;
+            this.countGroupByClause = countGroupByClause;
+            this.operationTypeClause = operationTypeClause;
+            this.workflowIdClause = workflowIdClause;
+            this.workflowIdStartsWithClause = workflowIdStartsWithClause;
+            this.requestIdClause = requestIdClause;
+            this.requestIdStartsWithClause = requestIdStartsWithClause;
+            this.orderByClause = orderByClause;
+            this.expressionColumns = expressionColumns;
+        }
+
+        private static Map<String, String> expressionColumns(String workflowIdColumn, String requestIdColumn,
+                                                             String initiatorColumn, String operationTypeColumn,
+                                                             String createdTimeColumn) {
+
+            Map<String, String> columns = new HashMap<>();
+            columns.put(WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID, workflowIdColumn);
+            columns.put(WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID, requestIdColumn);
+            columns.put(WorkflowEngineConstants.FILTER_ATTRIBUTE_INITIATOR, initiatorColumn);
+            columns.put(WorkflowEngineConstants.FILTER_ATTRIBUTE_OPERATION_TYPE, operationTypeColumn);
+            columns.put(WorkflowEngineConstants.FILTER_ATTRIBUTE_CREATED_TIME, createdTimeColumn);
+            columns.values().removeIf(Objects::isNull);
+            return Collections.unmodifiableMap(columns);
+        }
+
+        /**
+         * @return Fingerprint the given kind of this query is profiled with, e.g. GET_FILTERED_APPROVAL_TASK_DETAILS.
+         */
+        private String getFingerprint(QueryType queryType) {
+
+            return "GET_FILTERED_" + name() + "_" + queryType.name();
+        }
+
+        /**
+         * @return true if the filter expression of the given filter, if any, can be evaluated by this query.
+         */
+        private boolean supports(ApprovalTaskFilterDTO filter) {
+
+            return filter == null || filter.getFilterExpression() == null ||
+                    FilterExpressionSql.isSupported(filter.getFilterExpression(), expressionColumns);
+        }
+
+        private String build(int entityIdCount, ApprovalTaskFilterDTO filter) {
+
+            return build(entityIdCount, filter, QueryType.DETAILS);
+        }
+
+        private String buildCount(int entityIdCount, ApprovalTaskFilterDTO filter) {
+
+            return build(entityIdCount, filter, QueryType.COUNT);
+        }
+
+        /**
+         * Build the query, or get it from the cache. Queries are cached by their shape: the padded sizes of the IN
+         * lists, the operators of the filter conditions and the SQL of the filter expression, which holds
+         * placeholders only.
+         */
+        private String build(int entityIdCount, ApprovalTaskFilterDTO filter, QueryType queryType) {
+
+            List<FilterCondition> filterConditions = filter != null ? filter.getFilterConditions() : null;
+            FilterCondition workflowIdCondition = findFilterCondition(filterConditions,
+                    WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID);
+            FilterCondition requestIdCondition = findFilterCondition(filterConditions,
+                    WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID);
+            int paddedEntityIdCount = getPaddedInListSize(entityIdCount);
+            int statusCount = getPaddedInListSize(countStatuses(filter));
+            int operationTypeCount = getPaddedInListSize(countOperationTypes(filter));
+            FilterOperator workflowIdOperator = workflowIdCondition != null ? workflowIdCondition.getOperator() : null;
+            FilterOperator requestIdOperator = requestIdCondition != null ? requestIdCondition.getOperator() : null;
+            String expressionSql = filter != null && filter.getFilterExpression() != null ?
+                    FilterExpressionSql.toSql(filter.getFilterExpression(), expressionColumns) : null;
+
+            return getCachedQuery(Arrays.asList(this, queryType, paddedEntityIdCount, statusCount, operationTypeCount,
+                    workflowIdOperator, requestIdOperator, expressionSql), () -> {
+                StringBuilder sqlBuilder = new StringBuilder(getBaseQuery(queryType).replace(
+                        ENTITY_ID_LIST_PLACEHOLDER, buildPlaceholders(ENTITY_ID_PLACEHOLDER_PREFIX,
+                                paddedEntityIdCount)));
+                if (statusCount > 0) {
+                    sqlBuilder.append(WorkflowEngineConstants.SqlQueries.STATUS_FILTER_CLAUSE.replace(
+                            STATUS_LIST_PLACEHOLDER, buildPlaceholders(STATUS_PLACEHOLDER_PREFIX, statusCount)));
+                }
+                if (operationTypeCount > 0) {
+                    sqlBuilder.append(operationTypeClause.replace(OPERATION_TYPE_LIST_PLACEHOLDER,
+                            buildPlaceholders(OPERATION_TYPE_PLACEHOLDER_PREFIX, operationTypeCount)));
+                }
+                if (workflowIdOperator != null) {
+                    sqlBuilder.append(workflowIdOperator == FilterOperator.SW ?
+                            workflowIdStartsWithClause : workflowIdClause);
+                }
+                if (requestIdOperator != null) {
+                    sqlBuilder.append(requestIdOperator == FilterOperator.SW ?
+                            requestIdStartsWithClause : requestIdClause);
+                }
+                if (expressionSql != null) {
+                    sqlBuilder.append(" AND ").append(expressionSql);
+                }
+                sqlBuilder.append(queryType == QueryType.COUNT ? countGroupByClause : orderByClause);
+                return sqlBuilder.toString();
+            });
+        }
+
+        private String getBaseQuery(QueryType queryType) {
+
+            return queryType == QueryType.COUNT ? countBaseQuery : baseQuery;
+        }
+    }
+
+    /**
+     * Kinds of filtered approval task queries: the approval tasks, and the groups they are counted from.
+     */
+    private enum QueryType {
+
+        DETAILS,
+        COUNT
+    }
+
+    /**
+     * Filtered approval tasks of a workflow request and workflow with the same status and update time.
+     */
+    private static final class ApprovalTaskGroup {
+
+        private final String key;
+        private final String taskStatus;
+        private final Timestamp updatedTime;
+        private final int taskCount;
+
+        private ApprovalTaskGroup(String key, String taskStatus, Timestamp updatedTime, int taskCount) {
+
+            this.key = key;
+            this.taskStatus = taskStatus;
+            this.updatedTime = updatedTime;
+            this.taskCount = taskCount;
+        }
+    }
 }
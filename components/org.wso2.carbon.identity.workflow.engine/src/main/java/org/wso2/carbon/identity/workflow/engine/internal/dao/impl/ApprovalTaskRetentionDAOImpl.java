@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.Template;
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.core.util.JdbcUtils;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalTaskRetentionDAO;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.sql.Timestamp;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link ApprovalTaskRetentionDAO}. Approval tasks are removed with one batched statement per table,
+ * so that a chunk of workflow requests is purged in a single short transaction.
+ */
+public class ApprovalTaskRetentionDAOImpl implements ApprovalTaskRetentionDAO {
+
+    private static final Log log = LogFactory.getLog(ApprovalTaskRetentionDAOImpl.class.getName());
+
+    @Override
+    public List<Map.Entry<String, Timestamp>> getCompletedWorkflowRequests(Timestamp updatedFrom,
+                                                                           Timestamp updatedBefore, int limit)
+            throws WorkflowEngineServerException {
+
+        boolean historyEnabled = WorkflowEngineServiceDataHolder.getInstance().isApprovalHistoryEnabled();
+        try {
+            return getCompletedWorkflowRequests(JdbcUtils.getNewTemplate(), updatedFrom, updatedBefore, limit,
+                    historyEnabled);
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while retrieving the completed workflow requests " +
+                    "updated before: %s", updatedBefore);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
+    @Override
+    public int purgeCompletedApprovalTasks(List<String> workflowRequestIds, boolean archive)
+            throws WorkflowEngineServerException {
+
+        WorkflowEngineServiceDataHolder dataHolder = WorkflowEngineServiceDataHolder.getInstance();
+        try {
+            return purgeCompletedApprovalTasks(JdbcUtils.getNewTemplate(), workflowRequestIds, archive,
+                    dataHolder.isApprovalInboxEnabled(), dataHolder.isApprovalHistoryEnabled(),
+                    new Timestamp(System.currentTimeMillis()));
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while purging the approval tasks of %d workflow " +
+                    "requests", workflowRequestIds.size());
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Get the completed workflow requests using the given template. When the approval history is enabled, the
+     * approval tasks of the requests are read from both the approval task relations and the history.
+     */
+    static List<Map.Entry<String, Timestamp>> getCompletedWorkflowRequests(JdbcTemplate jdbcTemplate,
+                                                                           Timestamp updatedFrom,
+                                                                           Timestamp updatedBefore, int limit,
+                                                                           boolean historyEnabled)
+            throws DataAccessException {
+
+        String query = historyEnabled ?
+                WorkflowEngineConstants.SqlQueries.GET_COMPLETED_WORKFLOW_REQUESTS_UPDATED_BETWEEN_WITH_HISTORY :
+                WorkflowEngineConstants.SqlQueries.GET_COMPLETED_WORKFLOW_REQUESTS_UPDATED_BETWEEN;
+        String fingerprint = historyEnabled ? "GET_COMPLETED_WORKFLOW_REQUESTS_UPDATED_BETWEEN_WITH_HISTORY" :
+                "GET_COMPLETED_WORKFLOW_REQUESTS_UPDATED_BETWEEN";
+        return StatementProfiler.query(query, fingerprint, sql -> jdbcTemplate.executeQuery(sql,
+                (resultSet, rowNumber) -> new AbstractMap.SimpleEntry<>(resultSet.getString(
+                        WorkflowEngineConstants.UUID_COLUMN), resultSet.getTimestamp(
+                        WorkflowEngineConstants.UPDATED_AT_COLUMN)),
+                preparedStatement -> {
+                    // Limits the rows through the driver, as the row limiting syntax differs between the databases.
+                    preparedStatement.setMaxRows(limit);
+                    preparedStatement.setTimestamp(1, updatedFrom);
+                    preparedStatement.setTimestamp(2, updatedBefore);
+                }));
+    }
+
+    /**
+     * Remove the completed approval tasks of the given workflow requests in a single transaction of the given
+     * template. When the approval history is enabled, the completed approval tasks moved to the history are removed
+     * as well.
+     */
+    static int purgeCompletedApprovalTasks(JdbcTemplate jdbcTemplate, List<String> workflowRequestIds,
+                                           boolean archive, boolean inboxEnabled, boolean historyEnabled,
+                                           Timestamp archivedAt) throws DataAccessException {
+
+        return jdbcTemplate.withTransaction(template -> {
+            if (archive) {
+                String archiveSql = historyEnabled ? WorkflowEngineConstants.SqlQueries
+                        .ARCHIVE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST_WITH_HISTORY :
+                        WorkflowEngineConstants.SqlQueries.ARCHIVE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST;
+                String archiveFingerprint = historyEnabled ?
+                        "ARCHIVE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST_WITH_HISTORY" :
+                        "ARCHIVE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST";
+                executeBatch(template, archiveSql, archiveFingerprint, workflowRequestIds, archivedAt);
+            }
+            if (inboxEnabled) {
+                executeBatch(template,
+                        WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST,
+                        "DELETE_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST", workflowRequestIds, null);
+            }
+            int removedTaskCount = executeBatch(template,
+                    WorkflowEngineConstants.SqlQueries.DELETE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST,
+                    "DELETE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST", workflowRequestIds, null);
+            if (historyEnabled) {
+                removedTaskCount += executeBatch(template,
+                        WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_HISTORY_OF_WORKFLOW_REQUEST,
+                        "DELETE_APPROVAL_HISTORY_OF_WORKFLOW_REQUEST", workflowRequestIds, null);
+            }
+            executeBatch(template, WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_STATE_OF_WORKFLOW_REQUEST,
+                    "DELETE_APPROVAL_STATE_OF_WORKFLOW_REQUEST", workflowRequestIds, null);
+            return removedTaskCount;
+        });
+    }
+
+    /**
+     * Execute a statement once per workflow request as a single batch.
+     *
+     * @param timestamp Timestamp bound before the workflow request ID, or null if the statement takes only the ID.
+     * @return Number of rows affected by the batch, or 0 if the driver did not report it.
+     */
+    private static int executeBatch(Template<?> template, String sql, String fingerprint,
+                                    List<String> workflowRequestIds, Timestamp timestamp) throws DataAccessException {
+
+        int rowCount = StatementProfiler.update(sql, fingerprint, statementSql -> {
+            int[] batchRowCount = new int[1];
+            template.executeBatchInsert(statementSql, preparedStatement -> {
+                for (String workflowRequestId : workflowRequestIds) {
+                    int parameterIndex = 1;
+                    if (timestamp != null) {
+                        preparedStatement.setTimestamp(parameterIndex++, timestamp);
+                    }
+                    preparedStatement.setString(parameterIndex, workflowRequestId);
+                    preparedStatement.addBatch();
+                }
+                // The template does not return the update counts of the batch, so the batch is executed here. The
+                // template then executes the emptied batch, which updates nothing.
+                batchRowCount[0] = StatementProfiler.sumUpdateCounts(preparedStatement.executeBatch());
+            }, null);
+            return batchRowCount[0];
+        });
+        return Math.max(rowCount, 0);
+    }
+}
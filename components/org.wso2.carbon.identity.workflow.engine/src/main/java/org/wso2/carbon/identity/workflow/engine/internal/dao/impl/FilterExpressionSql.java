@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.wso2.carbon.identity.workflow.engine.dto.ComparisonFilterExpression;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterExpression;
+import org.wso2.carbon.identity.workflow.engine.dto.LogicalFilterExpression;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants.SQLPlaceholders.FILTER_EXPRESSION_PLACEHOLDER_PREFIX;
+
+/**
+ * Translates a compiled {@link FilterExpression} into a SQL condition with named placeholders, and resolves the
+ * values of those placeholders. Placeholders are numbered in the order the comparisons appear in the expression, so
+ * {@link #toSql(FilterExpression, Map)} and {@link #getParameters(FilterExpression)} always agree.
+ * Values are only ever bound as parameters. Pattern matches escape the LIKE wildcards of the value with '!', which
+ * has no special meaning in the string literals of any supported database.
+ */
+final class FilterExpressionSql {
+
+    private static final char LIKE_ESCAPE_CHARACTER = '!';
+    private static final String LIKE_ESCAPE_CLAUSE = " ESCAPE '" + LIKE_ESCAPE_CHARACTER + "'";
+
+    private FilterExpressionSql() {
+
+    }
+
+    /**
+     * Check whether all the attributes referenced by the expression map to a column.
+     *
+     * @param expression Filter expression.
+     * @param columns    Map of filter attribute to the column it is matched against.
+     * @return true if the expression can be translated with the given columns.
+     */
+    static boolean isSupported(FilterExpression expression, Map<String, String> columns) {
+
+        if (expression instanceof LogicalFilterExpression) {
+            for (FilterExpression operand : ((LogicalFilterExpression) expression).getOperands()) {
+                if (!isSupported(operand, columns)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return columns.containsKey(((ComparisonFilterExpression) expression).getAttribute());
+    }
+
+    /**
+     * Translate the expression into a SQL condition.
+     *
+     * @param expression Filter expression.
+     * @param columns    Map of filter attribute to the column it is matched against.
+     * @return SQL condition with named placeholders.
+     * @throws IllegalArgumentException If the expression references an attribute without a column.
+     */
+    static String toSql(FilterExpression expression, Map<String, String> columns) {
+
+        StringBuilder sql = new StringBuilder();
+        appendSql(expression, columns, sql, new int[1]);
+        return sql.toString();
+    }
+
+    /**
+     * Resolve the values of the placeholders of the SQL condition of the expression.
+     *
+     * @param expression Filter expression.
+     * @return Map of placeholder name to value, in placeholder order.
+     */
+    static Map<String, Object> getParameters(FilterExpression expression) {
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        collectParameters(expression, parameters);
+        return parameters;
+    }
+
+    private static void appendSql(FilterExpression expression, Map<String, String> columns, StringBuilder sql,
+                                  int[] parameterIndex) {
+
+        if (expression instanceof LogicalFilterExpression) {
+            LogicalFilterExpression logicalExpression = (LogicalFilterExpression) expression;
+            List<FilterExpression> operands = logicalExpression.getOperands();
+            sql.append('(');
+            for (int i = 0; i < operands.size(); i++) {
+                if (i > 0) {
+                    sql.append(' ').append(logicalExpression.getOperator().name()).append(' ');
+                }
+                appendSql(operands.get(i), columns, sql, parameterIndex);
+            }
+            sql.append(')');
+            return;
+        }
+
+        ComparisonFilterExpression comparison = (ComparisonFilterExpression) expression;
+        String column = columns.get(comparison.getAttribute());
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported filter attribute: " + comparison.getAttribute());
+        }
+        sql.append(column);
+        switch (comparison.getOperator()) {
+            case SW:
+            case CO:
+                sql.append(" LIKE ").append(placeholder(parameterIndex[0]++)).append(LIKE_ESCAPE_CLAUSE);
+                break;
+            case IN:
+                sql.append(" IN (");
+                for (int i = 0; i < comparison.getValues().size(); i++) {
+                    sql.append(i > 0 ? ", " : "").append(placeholder(parameterIndex[0]++));
+                }
+                sql.append(')');
+                break;
+            case GE:
+                sql.append(" >= ").append(placeholder(parameterIndex[0]++));
+                break;
+            case LE:
+                sql.append(" <= ").append(placeholder(parameterIndex[0]++));
+                break;
+            default:
+                sql.append(" = ").append(placeholder(parameterIndex[0]++));
+        }
+    }
+
+    private static void collectParameters(FilterExpression expression, Map<String, Object> parameters) {
+
+        if (expression instanceof LogicalFilterExpression) {
+            for (FilterExpression operand : ((LogicalFilterExpression) expression).getOperands()) {
+                collectParameters(operand, parameters);
+            }
+            return;
+        }
+
+        ComparisonFilterExpression comparison = (ComparisonFilterExpression) expression;
+        switch (comparison.getOperator()) {
+            case SW:
+                parameters.put(parameterName(parameters.size()),
+                        escapeLikeValue(String.valueOf(comparison.getValues().get(0))) + "%");
+                break;
+            case CO:
+                parameters.put(parameterName(parameters.size()),
+                        "%" + escapeLikeValue(String.valueOf(comparison.getValues().get(0))) + "%");
+                break;
+            default:
+                for (Object value : comparison.getValues()) {
+                    parameters.put(parameterName(parameters.size()), value);
+                }
+        }
+    }
+
+    private static String escapeLikeValue(String value) {
+
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == LIKE_ESCAPE_CHARACTER || character == '%' || character == '_') {
+                escaped.append(LIKE_ESCAPE_CHARACTER);
+            }
+            escaped.append(character);
+        }
+        return escaped.toString();
+    }
+
+    private static String placeholder(int index) {
+
+        return ":" + parameterName(index) + ";";
+    }
+
+    private static String parameterName(int index) {
+
+        return FILTER_EXPRESSION_PLACEHOLDER_PREFIX + index;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.workflow.engine.metrics.SqlStatementMetrics;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.util.Collection;
+
+/**
+ * Times the statements executed by the workflow engine DAOs and reports them to {@link SqlStatementMetrics}.
+ * Callers fingerprint a statement built from a {@link WorkflowEngineConstants.SqlQueries} constant with the
+ * constant name, and its bind parameter count is derived from the statement text. Dynamically assembled statements
+ * provide their bind parameter count explicitly as well.
+ */
+final class StatementProfiler {
+
+    private static final int NO_ROW_COUNT = -1;
+
+    private StatementProfiler() {
+
+    }
+
+    /**
+     * Execute and time a query built from a {@link WorkflowEngineConstants.SqlQueries} constant.
+     *
+     * @param sql         SQL constant.
+     * @param fingerprint Name of the SQL constant.
+     * @param statement   Statement execution, which receives the SQL to execute.
+     * @param <T>         Result type.
+     * @return Result of the statement.
+     * @throws DataAccessException If the statement fails.
+     */
+    static <T> T query(String sql, String fingerprint, Statement<T> statement) throws DataAccessException {
+
+        return execute(sql, fingerprint, countBindParameters(sql), null, statement, StatementProfiler::rowCount);
+    }
+
+    /**
+     * Execute and time a dynamically assembled query.
+     *
+     * @param sql         SQL to execute.
+     * @param fingerprint Fingerprint of the statement, usually the name of the base SQL constant.
+     * @param bindCount   Number of bind parameters.
+     * @param bindDetails Breakdown of the bind parameters, e.g. sizes of IN lists. Must not contain any values.
+     * @param statement   Statement execution, which receives the SQL to execute.
+     * @param <T>         Result type.
+     * @return Result of the statement.
+     * @throws DataAccessException If the statement fails.
+     */
+    static <T> T query(String sql, String fingerprint, int bindCount, String bindDetails, Statement<T> statement)
+            throws DataAccessException {
+
+        return execute(sql, fingerprint, bindCount, bindDetails, statement, StatementProfiler::rowCount);
+    }
+
+    /**
+     * Execute and time an update built from a {@link WorkflowEngineConstants.SqlQueries} constant, recording the
+     * number of rows it affected.
+     *
+     * @param sql         SQL constant.
+     * @param fingerprint Name of the SQL constant.
+     * @param statement   Statement execution, which receives the SQL to execute and returns the affected row count.
+     * @return Number of affected rows, or a negative value if the driver did not report it.
+     * @throws DataAccessException If the statement fails.
+     */
+    static int update(String sql, String fingerprint, UpdateStatement statement) throws DataAccessException {
+
+        return execute(sql, fingerprint, countBindParameters(sql), null, statement::execute, rowCount -> rowCount);
+    }
+
+    /**
+     * Execute and time an update run through a JDBC template, which does not report the number of affected rows.
+     *
+     * @param sql         SQL constant.
+     * @param fingerprint Name of the SQL constant.
+     * @param statement   Statement execution, which receives the SQL to execute.
+     * @throws DataAccessException If the statement fails.
+     */
+    static void templateUpdate(String sql, String fingerprint, TemplateUpdateStatement statement)
+            throws DataAccessException {
+
+        execute(sql, fingerprint, countBindParameters(sql), null, query -> {
+            statement.execute(query);
+            return null;
+        }, result -> NO_ROW_COUNT);
+    }
+
+    /**
+     * Add up the update counts of an executed batch.
+     *
+     * @param updateCounts Update counts returned by {@link java.sql.Statement#executeBatch()}.
+     * @return Total number of affected rows, or a negative value if the driver did not report the count of a
+     * statement of the batch.
+     */
+    static int sumUpdateCounts(int[] updateCounts) {
+
+        int rowCount = 0;
+        for (int updateCount : updateCounts) {
+            if (updateCount < 0) {
+                return NO_ROW_COUNT;
+            }
+            rowCount += updateCount;
+        }
+        return rowCount;
+    }
+
+    private static <T> T execute(String sql, String fingerprint, int bindCount, String bindDetails,
+                                 Statement<T> statement, RowCounter<T> rowCounter) throws DataAccessException {
+
+        SqlStatementMetrics metrics = SqlStatementMetrics.getInstance();
+        if (!metrics.isTimingRequired()) {
+            return statement.execute(sql);
+        }
+        long startNanos = System.nanoTime();
+        T result = null;
+        boolean success = false;
+        try {
+            result = statement.execute(sql);
+            success = true;
+            return result;
+        } finally {
+            metrics.record(fingerprint, bindCount, bindDetails, System.nanoTime() - startNanos,
+                    success ? rowCounter.count(result) : NO_ROW_COUNT, success);
+        }
+    }
+
+    private static int rowCount(Object result) {
+
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        return 1;
+    }
+
+    private static int countBindParameters(String sql) {
+
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Execution of a statement returning a result.
+     *
+     * @param <T> Result type.
+     */
+    @FunctionalInterface
+    interface Statement<T> {
+
+        T execute(String sql) throws DataAccessException;
+    }
+
+    /**
+     * Execution of an update returning the number of rows it affected.
+     */
+    @FunctionalInterface
+    interface UpdateStatement {
+
+        int execute(String sql) throws DataAccessException;
+    }
+
+    /**
+     * Execution of an update through a JDBC template, without a result.
+     */
+    @FunctionalInterface
+    interface TemplateUpdateStatement {
+
+        void execute(String sql) throws DataAccessException;
+    }
+
+    /**
+     * Derives the row count recorded for the result of a statement.
+     */
+    @FunctionalInterface
+    private interface RowCounter<T> {
+
+        int count(T result);
+    }
+}
@@ -42,14 +42,16 @@ public class WorkflowRequestDAOImpl implements WorkflowRequestDAO {
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            return jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.
+            return StatementProfiler.query(WorkflowEngineConstants.SqlQueries.
                             GET_RELATIONSHIP_ID_BY_REQUEST_ID_AND_WORKFLOW_ID,
+                    "GET_RELATIONSHIP_ID_BY_REQUEST_ID_AND_WORKFLOW_ID",
+                    sql -> jdbcTemplate.fetchSingleRecord(sql,
                     ((resultSet, i) -> (
                             resultSet.getString(WorkflowEngineConstants.RELATIONSHIP_ID_IN_REQUEST_COLUMN))),
                     preparedStatement -> {
                             preparedStatement.setString(1, workflowRequestId);
                             preparedStatement.setString(2, workflowId);
-                    });
+                    }));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving relationship ID from " +
                     "workflow request Id: %s and workflow Id: %s", workflowRequestId, workflowId);
@@ -65,12 +67,13 @@ public class WorkflowRequestDAOImpl implements WorkflowRequestDAO {
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            return jdbcTemplate.executeQuery(WorkflowEngineConstants.SqlQueries.
+            return StatementProfiler.query(WorkflowEngineConstants.SqlQueries.
                             GET_RELATIONSHIP_IDS_BY_REQUEST_ID,
+                    "GET_RELATIONSHIP_IDS_BY_REQUEST_ID", sql -> jdbcTemplate.executeQuery(sql,
                     ((resultSet, i) -> (
                             resultSet.getString(WorkflowEngineConstants.RELATIONSHIP_ID_IN_REQUEST_COLUMN))),
                     preparedStatement -> preparedStatement.setString(1,
-                            workflowRequestId));
+                            workflowRequestId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving relationship IDs from " +
                     "workflow request Id: %s", workflowRequestId);
@@ -81,17 +84,74 @@ public class WorkflowRequestDAOImpl implements WorkflowRequestDAO {
         }
     }
 
+    @Override
+    public String getRelationshipStatus(String relationshipId) throws WorkflowEngineServerException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            return StatementProfiler.query(WorkflowEngineConstants.SqlQueries.GET_RELATIONSHIP_STATUS,
+                    "GET_RELATIONSHIP_STATUS", sql -> jdbcTemplate.fetchSingleRecord(sql,
+                    ((resultSet, i) -> resultSet.getString(WorkflowEngineConstants.RELATIONSHIP_STATUS_COLUMN)),
+                    preparedStatement -> preparedStatement.setString(1, relationshipId)));
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while retrieving the status of the workflow " +
+                    "request relationship: %s", relationshipId);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
+    @Override
+    public List<String> getRelationshipStatuses(String requestId) throws WorkflowEngineServerException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            return StatementProfiler.query(WorkflowEngineConstants.SqlQueries.GET_RELATIONSHIP_STATUSES_BY_REQUEST_ID,
+                    "GET_RELATIONSHIP_STATUSES_BY_REQUEST_ID", sql -> jdbcTemplate.executeQuery(sql,
+                    ((resultSet, i) -> resultSet.getString(WorkflowEngineConstants.RELATIONSHIP_STATUS_COLUMN)),
+                    preparedStatement -> preparedStatement.setString(1, requestId)));
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while retrieving the relationship statuses of the " +
+                    "workflow request: %s", requestId);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
+    @Override
+    public String getWorkflowRequestStatus(String requestId) throws WorkflowEngineServerException {
+
+        JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
+        try {
+            return StatementProfiler.query(WorkflowEngineConstants.SqlQueries.GET_WORKFLOW_REQUEST_STATUS,
+                    "GET_WORKFLOW_REQUEST_STATUS", sql -> jdbcTemplate.fetchSingleRecord(sql,
+                    ((resultSet, i) -> resultSet.getString(WorkflowEngineConstants.WORKFLOW_REQUEST_STATUS_COLUMN)),
+                    preparedStatement -> preparedStatement.setString(1, requestId)));
+        } catch (DataAccessException e) {
+            String errorMessage = String.format("Error occurred while retrieving the status of the workflow " +
+                    "request: %s", requestId);
+            if (log.isDebugEnabled()) {
+                log.debug(errorMessage, e);
+            }
+            throw new WorkflowEngineServerException(errorMessage, e);
+        }
+    }
+
     @Override
     public String getInitiatedUser(String requestId) throws WorkflowEngineServerException {
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         String createdBy;
         try {
-            createdBy = jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.
-                            GET_CREATED_USER,
+            createdBy = StatementProfiler.query(WorkflowEngineConstants.SqlQueries.
+                            GET_CREATED_USER, "GET_CREATED_USER", sql -> jdbcTemplate.fetchSingleRecord(sql,
                     ((resultSet, i) -> (
                             resultSet.getString(WorkflowEngineConstants.CREATED_USER_COLUMN))),
-                    preparedStatement -> preparedStatement.setString(1, requestId));
+                    preparedStatement -> preparedStatement.setString(1, requestId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving initiator from " +
                     "workflow requestId: %s", requestId);
@@ -109,11 +169,12 @@ public class WorkflowRequestDAOImpl implements WorkflowRequestDAO {
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         java.sql.Timestamp createdTime;
         try {
-            createdTime = jdbcTemplate.fetchSingleRecord(WorkflowEngineConstants.SqlQueries.
+            createdTime = StatementProfiler.query(WorkflowEngineConstants.SqlQueries.
                             GET_CREATED_TIME_IN_MILL,
+                    "GET_CREATED_TIME_IN_MILL", sql -> jdbcTemplate.fetchSingleRecord(sql,
                     ((resultSet, i) -> (
                             resultSet.getTimestamp(WorkflowEngineConstants.CREATED_AT_IN_MILL_COLUMN))),
-                    preparedStatement -> preparedStatement.setString(1, requestId));
+                    preparedStatement -> preparedStatement.setString(1, requestId)));
         } catch (DataAccessException e) {
             String errorMessage = String.format("Error occurred while retrieving createdAt time from " +
                     "workflow request Id: %s", requestId);
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.metrics;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects operation level latency and throughput metrics of the approval task service.
+ * Metrics are grouped by operation, action and tenant tier. When disabled, {@link #startTimer(Operation)} returns a
+ * shared no-op timer, so the instrumented code path neither reads the clock nor allocates.
+ */
+public class ApprovalTaskMetrics implements ApprovalTaskMetricsMBean {
+
+    public static final String OBJECT_NAME = "org.wso2.carbon.identity.workflow.engine:type=ApprovalTaskMetrics";
+    private static final String NO_ACTION = "-";
+    private static final String KEY_SEPARATOR = "/";
+    private static final double MICROS_PER_MILLI = 1000d;
+
+    private static final ApprovalTaskMetrics INSTANCE = new ApprovalTaskMetrics();
+
+    private final Map<String, OperationMetrics> metrics = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    private ApprovalTaskMetrics() {
+
+    }
+
+    public static ApprovalTaskMetrics getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Start timing an operation that has no action dimension.
+     *
+     * @param operation Operation being timed.
+     * @return Timer to be closed once the operation completes.
+     */
+    public Timer startTimer(Operation operation) {
+
+        return startTimer(operation, null);
+    }
+
+    /**
+     * Start timing an operation.
+     *
+     * @param operation Operation being timed.
+     * @param action    Action performed by the operation, e.g. APPROVE. May be null.
+     * @return Timer to be closed once the operation completes.
+     */
+    public Timer startTimer(Operation operation, String action) {
+
+        if (!enabled) {
+            return Timer.NOOP;
+        }
+        return new Timer(this, operation, action == null ? NO_ACTION : action, System.nanoTime());
+    }
+
+    @Override
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String[] getMetricKeys() {
+
+        return new TreeMap<>(metrics).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public long getInvocationCount(String metricKey) {
+
+        OperationMetrics operationMetrics = metrics.get(metricKey);
+        return operationMetrics == null ? 0 : operationMetrics.histogram.getCount();
+    }
+
+    @Override
+    public long getErrorCount(String metricKey) {
+
+        OperationMetrics operationMetrics = metrics.get(metricKey);
+        return operationMetrics == null ? 0 : operationMetrics.errors.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMillis(String metricKey) {
+
+        OperationMetrics operationMetrics = metrics.get(metricKey);
+        return operationMetrics == null ? 0 : operationMetrics.histogram.getMeanInMicros() / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxLatencyMillis(String metricKey) {
+
+        OperationMetrics operationMetrics = metrics.get(metricKey);
+        return operationMetrics == null ? 0 : operationMetrics.histogram.getMaxInMicros() / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatencyPercentileMillis(String metricKey, double percentile) {
+
+        OperationMetrics operationMetrics = metrics.get(metricKey);
+        return operationMetrics == null ? 0 :
+                operationMetrics.histogram.getValueAtPercentileInMicros(percentile) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getThroughputPerSecond(String metricKey) {
+
+        OperationMetrics operationMetrics = metrics.get(metricKey);
+        if (operationMetrics == null) {
+            return 0;
+        }
+        long elapsedNanos = System.nanoTime() - operationMetrics.startNanos;
+        return elapsedNanos <= 0 ? 0 :
+                operationMetrics.histogram.getCount() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public String getSummary() {
+
+        StringBuilder summary = new StringBuilder();
+        for (String metricKey : getMetricKeys()) {
+            summary.append(String.format("%s count=%d errors=%d ops/s=%.2f mean=%.3fms p50=%.3fms p99=%.3fms " +
+                            "max=%.3fms%n", metricKey, getInvocationCount(metricKey), getErrorCount(metricKey),
+                    getThroughputPerSecond(metricKey), getMeanLatencyMillis(metricKey),
+                    getLatencyPercentileMillis(metricKey, 50), getLatencyPercentileMillis(metricKey, 99),
+                    getMaxLatencyMillis(metricKey)));
+        }
+        return summary.toString();
+    }
+
+    @Override
+    public void reset() {
+
+        metrics.clear();
+    }
+
+    private void record(Operation operation, String action, long startNanos, boolean success) {
+
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        String metricKey = operation.name() + KEY_SEPARATOR + action + KEY_SEPARATOR + resolveTenantTier().name();
+        OperationMetrics operationMetrics = metrics.computeIfAbsent(metricKey, key -> new OperationMetrics());
+        operationMetrics.histogram.record(elapsedMicros);
+        if (!success) {
+            operationMetrics.errors.increment();
+        }
+    }
+
+    private TenantTier resolveTenantTier() {
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        if (carbonContext.getTenantId() == MultitenantConstants.SUPER_TENANT_ID) {
+            return TenantTier.SUPER_TENANT;
+        }
+        if (!StringUtils.equals(carbonContext.getOrganizationId(), carbonContext.getUserResidentOrganizationId())) {
+            return TenantTier.ORGANIZATION;
+        }
+        return TenantTier.TENANT;
+    }
+
+    /**
+     * Instrumented operations of the approval task service.
+     */
+    public enum Operation {
+
+        LIST_APPROVAL_TASKS,
+        COUNT_APPROVAL_TASKS,
+        COUNT_PENDING_APPROVAL_TASKS,
+        EXPORT_APPROVAL_TASKS,
+        GET_APPROVAL_TASK,
+        UPDATE_APPROVAL_TASK_STATUS,
+        ADD_APPROVAL_TASKS,
+        UPDATE_PENDING_APPROVAL_TASKS_ON_WORKFLOW_UPDATE
+    }
+
+    /**
+     * Tenant tiers used to partition the metrics.
+     * ORGANIZATION covers calls where the user accesses an organization other than the one they reside in, which
+     * involves shared user resolution.
+     */
+    public enum TenantTier {
+
+        SUPER_TENANT,
+        TENANT,
+        ORGANIZATION
+    }
+
+    /**
+     * Measures a single operation invocation. The invocation is counted as an error unless {@link #success()} is
+     * called before the timer is closed.
+     */
+    public static final class Timer implements AutoCloseable {
+
+        private static final Timer NOOP = new Timer(null, null, null, 0);
+
+        private final ApprovalTaskMetrics owner;
+        private final Operation operation;
+        private final String action;
+        private final long startNanos;
+        private boolean success;
+
+        private Timer(ApprovalTaskMetrics owner, Operation operation, String action, long startNanos) {
+
+            this.owner = owner;
+            this.operation = operation;
+            this.action = action;
+            this.startNanos = startNanos;
+        }
+
+        public void success() {
+
+            success = true;
+        }
+
+        @Override
+        public void close() {
+
+            if (owner != null) {
+                owner.record(operation, action, startNanos, success);
+            }
+        }
+    }
+
+    private static final class OperationMetrics {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final long startNanos = System.nanoTime();
+    }
+}
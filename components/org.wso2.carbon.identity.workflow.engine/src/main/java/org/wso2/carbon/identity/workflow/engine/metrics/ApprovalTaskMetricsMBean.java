@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.metrics;
+
+/**
+ * JMX management interface exposing latency and throughput metrics of the approval task service.
+ * Metric keys have the form {@code <operation>/<action>/<tenant tier>}.
+ */
+public interface ApprovalTaskMetricsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return Keys of all metrics recorded so far.
+     */
+    String[] getMetricKeys();
+
+    long getInvocationCount(String metricKey);
+
+    long getErrorCount(String metricKey);
+
+    double getMeanLatencyMillis(String metricKey);
+
+    double getMaxLatencyMillis(String metricKey);
+
+    /**
+     * @param metricKey  Metric key.
+     * @param percentile Percentile in the range [0, 100].
+     * @return Latency at the given percentile in milliseconds.
+     */
+    double getLatencyPercentileMillis(String metricKey, double percentile);
+
+    /**
+     * @param metricKey Metric key.
+     * @return Average invocations per second since the metric was created or last reset.
+     */
+    double getThroughputPerSecond(String metricKey);
+
+    /**
+     * @return Human readable summary of all metrics, one line per metric key.
+     */
+    String getSummary();
+
+    void reset();
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the spirit of HdrHistogram.
+ * Values are recorded in microseconds. Each power-of-two range is split into 16 linear sub buckets, which keeps the
+ * relative error of any reported percentile below ~6% while using a fixed, small amount of memory.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Values above ~71 minutes are clamped into the last bucket.
+    private static final long MAX_TRACKABLE_VALUE = (1L << 32) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Record a single latency value.
+     *
+     * @param valueInMicros Latency in microseconds. Negative values are ignored.
+     */
+    public void record(long valueInMicros) {
+
+        if (valueInMicros < 0) {
+            return;
+        }
+        long value = Math.min(valueInMicros, MAX_TRACKABLE_VALUE);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+
+        return count.sum();
+    }
+
+    public long getMaxInMicros() {
+
+        return max.get();
+    }
+
+    public double getMeanInMicros() {
+
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Returns the value at the given percentile. The returned value is the upper bound of the bucket the percentile
+     * falls into, capped at the maximum recorded value.
+     *
+     * @param percentile Percentile in the range [0, 100].
+     * @return Value at the percentile in microseconds, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentileInMicros(double percentile) {
+
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        double boundedPercentile = Math.min(Math.max(percentile, 0), 100);
+        long rank = Math.max(1, (long) Math.ceil(boundedPercentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucketIndex(long value) {
+
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return exponent * SUB_BUCKET_COUNT + (int) (value >>> exponent);
+    }
+
+    static long bucketUpperBound(int index) {
+
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index - (long) exponent * SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << exponent) - 1;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.metrics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects execution timings and row counts of the workflow engine SQL statements, keyed by statement fingerprint.
+ * Statements slower than the configured threshold are written to a dedicated slow query log together with the
+ * number of bind parameters. Bind parameter values are never logged.
+ */
+public class SqlStatementMetrics implements SqlStatementMetricsMBean {
+
+    public static final String OBJECT_NAME = "org.wso2.carbon.identity.workflow.engine:type=SqlStatementMetrics";
+    /**
+     * The slow query log is disabled by default, so that statements are not timed unless it or the metrics are
+     * enabled.
+     */
+    public static final long DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS = -1;
+    private static final String SLOW_QUERY_LOG = "WORKFLOW_ENGINE_SLOW_QUERY";
+    private static final double MICROS_PER_MILLI = 1000d;
+    private static final int NO_ROW_COUNT = -1;
+
+    private static final SqlStatementMetrics INSTANCE = new SqlStatementMetrics();
+
+    private final Map<String, StatementMetrics> metrics = new ConcurrentHashMap<>();
+    private final Log slowQueryLog;
+    private volatile boolean enabled;
+    private volatile long slowQueryThresholdMillis = DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS;
+
+    private SqlStatementMetrics() {
+
+        this(LogFactory.getLog(SLOW_QUERY_LOG));
+    }
+
+    SqlStatementMetrics(Log slowQueryLog) {
+
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    public static SqlStatementMetrics getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * @return true if statements need to be timed, either for metrics or for the slow query log.
+     */
+    public boolean isTimingRequired() {
+
+        return enabled || slowQueryThresholdMillis >= 0;
+    }
+
+    /**
+     * Record a statement execution.
+     *
+     * @param fingerprint  Statement fingerprint.
+     * @param bindCount    Number of bind parameters of the statement.
+     * @param bindDetails  Optional breakdown of the bind parameters, e.g. sizes of IN lists. May be null.
+     * @param elapsedNanos Execution time in nanoseconds.
+     * @param rowCount     Number of rows returned or affected, or a negative value if not reported.
+     * @param success      Whether the statement completed without an error.
+     */
+    public void record(String fingerprint, int bindCount, String bindDetails, long elapsedNanos, int rowCount,
+                       boolean success) {
+
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        long threshold = slowQueryThresholdMillis;
+        boolean slow = threshold >= 0 && elapsedMicros >= threshold * MICROS_PER_MILLI;
+        if (slow && slowQueryLog.isWarnEnabled()) {
+            slowQueryLog.warn(String.format("Slow query detected. Fingerprint: %s, Elapsed time: %.3f ms, " +
+                            "Rows: %s, Bind parameters: %d%s, Succeeded: %b", fingerprint,
+                    elapsedMicros / MICROS_PER_MILLI, rowCount < 0 ? "n/a" : String.valueOf(rowCount), bindCount,
+                    bindDetails == null ? "" : " (" + bindDetails + ")", success));
+        }
+        if (!enabled) {
+            return;
+        }
+        StatementMetrics statementMetrics = metrics.computeIfAbsent(fingerprint, key -> new StatementMetrics());
+        statementMetrics.histogram.record(elapsedMicros);
+        if (rowCount > NO_ROW_COUNT) {
+            statementMetrics.rows.add(rowCount);
+            statementMetrics.rowCountedExecutions.increment();
+        }
+        if (!success) {
+            statementMetrics.errors.increment();
+        }
+        if (slow) {
+            statementMetrics.slowQueries.increment();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+
+        return slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long thresholdMillis) {
+
+        this.slowQueryThresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public String[] getFingerprints() {
+
+        return new TreeMap<>(metrics).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public long getExecutionCount(String fingerprint) {
+
+        StatementMetrics statementMetrics = metrics.get(fingerprint);
+        return statementMetrics == null ? 0 : statementMetrics.histogram.getCount();
+    }
+
+    @Override
+    public long getErrorCount(String fingerprint) {
+
+        StatementMetrics statementMetrics = metrics.get(fingerprint);
+        return statementMetrics == null ? 0 : statementMetrics.errors.sum();
+    }
+
+    @Override
+    public long getSlowQueryCount(String fingerprint) {
+
+        StatementMetrics statementMetrics = metrics.get(fingerprint);
+        return statementMetrics == null ? 0 : statementMetrics.slowQueries.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMillis(String fingerprint) {
+
+        StatementMetrics statementMetrics = metrics.get(fingerprint);
+        return statementMetrics == null ? 0 : statementMetrics.histogram.getMeanInMicros() / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatencyPercentileMillis(String fingerprint, double percentile) {
+
+        StatementMetrics statementMetrics = metrics.get(fingerprint);
+        return statementMetrics == null ? 0 :
+                statementMetrics.histogram.getValueAtPercentileInMicros(percentile) / MICROS_PER_MILLI;
+    }
+
+    @Override
+    public double getMeanRowCount(String fingerprint) {
+
+        StatementMetrics statementMetrics = metrics.get(fingerprint);
+        if (statementMetrics == null) {
+            return 0;
+        }
+        long executions = statementMetrics.rowCountedExecutions.sum();
+        return executions == 0 ? 0 : (double) statementMetrics.rows.sum() / executions;
+    }
+
+    @Override
+    public long getTotalExecutionCount() {
+
+        long total = 0;
+        for (StatementMetrics statementMetrics : metrics.values()) {
+            total += statementMetrics.histogram.getCount();
+        }
+        return total;
+    }
+
+    @Override
+    public String getSummary() {
+
+        StringBuilder summary = new StringBuilder();
+        for (String fingerprint : getFingerprints()) {
+            summary.append(String.format("%s count=%d errors=%d slow=%d mean=%.3fms p99=%.3fms rows=%.1f%n",
+                    fingerprint, getExecutionCount(fingerprint), getErrorCount(fingerprint),
+                    getSlowQueryCount(fingerprint), getMeanLatencyMillis(fingerprint),
+                    getLatencyPercentileMillis(fingerprint, 99), getMeanRowCount(fingerprint)));
+        }
+        return summary.toString();
+    }
+
+    @Override
+    public void reset() {
+
+        metrics.clear();
+    }
+
+    private static final class StatementMetrics {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slowQueries = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder rowCountedExecutions = new LongAdder();
+    }
+}
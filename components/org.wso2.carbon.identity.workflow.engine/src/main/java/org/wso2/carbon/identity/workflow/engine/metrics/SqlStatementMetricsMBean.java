@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.metrics;
+
+/**
+ * JMX management interface exposing per statement timings of the workflow engine DAOs.
+ * Statements are identified by their fingerprint, which is the name of the SQL constant they are built from.
+ */
+public interface SqlStatementMetricsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getSlowQueryThresholdMillis();
+
+    /**
+     * @param thresholdMillis Statements slower than this are written to the slow query log. A negative value
+     *                        disables the slow query log.
+     */
+    void setSlowQueryThresholdMillis(long thresholdMillis);
+
+    String[] getFingerprints();
+
+    long getExecutionCount(String fingerprint);
+
+    long getErrorCount(String fingerprint);
+
+    long getSlowQueryCount(String fingerprint);
+
+    double getMeanLatencyMillis(String fingerprint);
+
+    double getLatencyPercentileMillis(String fingerprint, double percentile);
+
+    /**
+     * @param fingerprint Statement fingerprint.
+     * @return Average number of rows returned per execution. Updates are not counted.
+     */
+    double getMeanRowCount(String fingerprint);
+
+    /**
+     * @return Total number of statements executed across all fingerprints.
+     */
+    long getTotalExecutionCount();
+
+    String getSummary();
+
+    void reset();
+}
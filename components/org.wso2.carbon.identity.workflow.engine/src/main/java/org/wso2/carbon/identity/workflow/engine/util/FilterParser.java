@@ -18,19 +18,33 @@
 
 package org.wso2.carbon.identity.workflow.engine.util;
 
+import org.wso2.carbon.identity.workflow.engine.dto.ComparisonFilterExpression;
 import org.wso2.carbon.identity.workflow.engine.dto.FilterCondition;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterExpression;
 import org.wso2.carbon.identity.workflow.engine.dto.FilterOperator;
+import org.wso2.carbon.identity.workflow.engine.dto.LogicalFilterExpression;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * Utility class to parse raw filter strings into structured {@link FilterCondition} objects for approval task queries.
+ * Utility class to parse raw filter strings for approval task queries.
+ * <p>
+ * {@link #parse(String)} accepts {@code and}-joined {@code eq} / {@code sw} conditions on the workflow ID and the
+ * workflow request ID. {@link #compile(String)} accepts the full filter language, e.g.
+ * {@code (operationType in (ADD_USER, ADD_ROLE) or initiator eq admin) and createdTime ge 2026-01-01T00:00:00Z},
+ * and returns a {@link FilterExpression} tree.
  */
 public class FilterParser {
 
@@ -41,6 +55,36 @@ public class FilterParser {
                     WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID
             ))
     );
+    private static final Set<FilterOperator> SUPPORTED_OPERATORS = Collections.unmodifiableSet(
+            EnumSet.of(FilterOperator.EQ, FilterOperator.SW));
+    private static final Set<FilterOperator> STRING_OPERATORS = Collections.unmodifiableSet(
+            EnumSet.of(FilterOperator.EQ, FilterOperator.SW, FilterOperator.CO, FilterOperator.IN));
+    private static final Set<FilterOperator> TIME_OPERATORS = Collections.unmodifiableSet(
+            EnumSet.of(FilterOperator.GE, FilterOperator.LE));
+    private static final Set<String> EXPRESSION_ATTRIBUTES = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(
+                    WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID,
+                    WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID,
+                    WorkflowEngineConstants.FILTER_ATTRIBUTE_INITIATOR,
+                    WorkflowEngineConstants.FILTER_ATTRIBUTE_OPERATION_TYPE,
+                    WorkflowEngineConstants.FILTER_ATTRIBUTE_CREATED_TIME
+            ))
+    );
+    private static final int MAX_CONDITIONS = 32;
+    private static final int MAX_NESTING_DEPTH = 8;
+    private static final int MAX_IN_VALUES = 100;
+    private static final int COMPILED_FILTER_CACHE_SIZE = 1000;
+
+    // Least recently used compiled filters, keyed by the filter string. Only valid filters are cached.
+    private static final Map<String, FilterExpression> COMPILED_FILTERS = Collections.synchronizedMap(
+            new LinkedHashMap<String, FilterExpression>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FilterExpression> eldest) {
+
+                    return size() > COMPILED_FILTER_CACHE_SIZE;
+                }
+            });
 
     private FilterParser() {
     }
@@ -86,6 +130,9 @@ public class FilterParser {
             FilterOperator operator;
             try {
                 operator = FilterOperator.fromString(operatorStr);
+                if (!SUPPORTED_OPERATORS.contains(operator)) {
+                    throw new IllegalArgumentException("Unsupported filter operator: " + operatorStr);
+                }
             } catch (IllegalArgumentException e) {
                 throw new WorkflowEngineClientException(
                         WorkflowEngineConstants.ErrorMessages.INVALID_FILTER_EXPRESSION.getDescription() +
@@ -98,4 +145,236 @@ public class FilterParser {
 
         return Collections.unmodifiableList(conditions);
     }
+
+    /**
+     * Compile a filter string into a {@link FilterExpression}. The supported grammar is:
+     * <pre>
+     * expression := term ("or" term)*
+     * term       := factor ("and" factor)*
+     * factor     := "(" expression ")" | attribute operator value | attribute "in" "(" value ("," value)* ")"
+     * </pre>
+     * Keywords and operators are case-insensitive. A value containing spaces, commas or parentheses must be
+     * enclosed in double quotes, with {@code \"} and {@code \\} as escapes. The {@code eq}, {@code sw},
+     * {@code co} and {@code in} operators apply to the {@code workflowId}, {@code workflowRequestId},
+     * {@code initiator} and {@code operationType} attributes, and the {@code ge} and {@code le} operators to the
+     * {@code createdTime} attribute, whose value is an ISO-8601 instant or epoch milliseconds.
+     * Compiled filters are cached by filter string.
+     *
+     * @param filterString the raw filter expression, or {@code null} / empty.
+     * @return the compiled filter expression, or {@code null} if {@code filterString} is blank.
+     * @throws WorkflowEngineClientException if the expression is syntactically invalid, references an unsupported
+     *                                       attribute or operator, or exceeds the supported complexity.
+     */
+    public static FilterExpression compile(String filterString) throws WorkflowEngineClientException {
+
+        if (filterString == null || filterString.trim().isEmpty()) {
+            return null;
+        }
+        FilterExpression expression = COMPILED_FILTERS.get(filterString);
+        if (expression == null) {
+            expression = new ExpressionParser(filterString).parse();
+            COMPILED_FILTERS.put(filterString, expression);
+        }
+        return expression;
+    }
+
+    private static WorkflowEngineClientException invalidFilter(String detail) {
+
+        return new WorkflowEngineClientException(
+                WorkflowEngineConstants.ErrorMessages.INVALID_FILTER_EXPRESSION.getDescription() + " " + detail,
+                WorkflowEngineConstants.ErrorMessages.INVALID_FILTER_EXPRESSION.getCode());
+    }
+
+    /**
+     * Recursive descent parser of a single filter string.
+     */
+    private static final class ExpressionParser {
+
+        private static final String AND = "and";
+        private static final String OR = "or";
+
+        private final String input;
+        private int position;
+        private int conditionCount;
+
+        private ExpressionParser(String input) {
+
+            this.input = input;
+        }
+
+        private FilterExpression parse() throws WorkflowEngineClientException {
+
+            FilterExpression expression = parseExpression(0);
+            skipWhitespace();
+            if (position < input.length()) {
+                throw invalidFilter("Unexpected input at position " + position + ": '" +
+                        input.substring(position) + "'");
+            }
+            return expression;
+        }
+
+        private FilterExpression parseExpression(int depth) throws WorkflowEngineClientException {
+
+            List<FilterExpression> operands = new ArrayList<>();
+            operands.add(parseTerm(depth));
+            while (acceptKeyword(OR)) {
+                operands.add(parseTerm(depth));
+            }
+            return operands.size() == 1 ? operands.get(0) :
+                    new LogicalFilterExpression(LogicalFilterExpression.Operator.OR, operands);
+        }
+
+        private FilterExpression parseTerm(int depth) throws WorkflowEngineClientException {
+
+            List<FilterExpression> operands = new ArrayList<>();
+            operands.add(parseFactor(depth));
+            while (acceptKeyword(AND)) {
+                operands.add(parseFactor(depth));
+            }
+            return operands.size() == 1 ? operands.get(0) :
+                    new LogicalFilterExpression(LogicalFilterExpression.Operator.AND, operands);
+        }
+
+        private FilterExpression parseFactor(int depth) throws WorkflowEngineClientException {
+
+            if (accept('(')) {
+                if (depth >= MAX_NESTING_DEPTH) {
+                    throw invalidFilter("Filter expressions can be nested at most " + MAX_NESTING_DEPTH +
+                            " levels deep.");
+                }
+                FilterExpression expression = parseExpression(depth + 1);
+                expect(')');
+                return expression;
+            }
+            return parseComparison();
+        }
+
+        private FilterExpression parseComparison() throws WorkflowEngineClientException {
+
+            if (++conditionCount > MAX_CONDITIONS) {
+                throw invalidFilter("A filter can have at most " + MAX_CONDITIONS + " conditions.");
+            }
+            String attribute = readWord("filter attribute");
+            if (!EXPRESSION_ATTRIBUTES.contains(attribute)) {
+                throw invalidFilter("Unsupported filter attribute: '" + attribute + "'");
+            }
+            String operatorString = readWord("filter operator");
+            FilterOperator operator;
+            try {
+                operator = FilterOperator.fromString(operatorString);
+            } catch (IllegalArgumentException e) {
+                throw invalidFilter("Unsupported filter operator: '" + operatorString + "'");
+            }
+            boolean timeAttribute = WorkflowEngineConstants.FILTER_ATTRIBUTE_CREATED_TIME.equals(attribute);
+            if (!(timeAttribute ? TIME_OPERATORS : STRING_OPERATORS).contains(operator)) {
+                throw invalidFilter("Unsupported filter operator: '" + operatorString + "' for attribute: '" +
+                        attribute + "'");
+            }
+
+            List<Object> values = new ArrayList<>();
+            if (operator == FilterOperator.IN) {
+                expect('(');
+                do {
+                    if (values.size() == MAX_IN_VALUES) {
+                        throw invalidFilter("The in operator accepts at most " + MAX_IN_VALUES + " values.");
+                    }
+                    values.add(readValue());
+                } while (accept(','));
+                expect(')');
+            } else {
+                String value = readValue();
+                values.add(timeAttribute ? parseTime(value) : value);
+            }
+            return new ComparisonFilterExpression(attribute, operator, values);
+        }
+
+        private Timestamp parseTime(String value) throws WorkflowEngineClientException {
+
+            try {
+                if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+                    return new Timestamp(Long.parseLong(value));
+                }
+                return Timestamp.from(Instant.parse(value));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw invalidFilter("Invalid time: '" + value + "'. Expected an ISO-8601 instant or epoch " +
+                        "milliseconds.");
+            }
+        }
+
+        private boolean acceptKeyword(String keyword) {
+
+            skipWhitespace();
+            int end = position + keyword.length();
+            if (end < input.length() && input.regionMatches(true, position, keyword, 0, keyword.length()) &&
+                    (Character.isWhitespace(input.charAt(end)) || input.charAt(end) == '(')) {
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean accept(char expected) {
+
+            skipWhitespace();
+            if (position < input.length() && input.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) throws WorkflowEngineClientException {
+
+            if (!accept(expected)) {
+                throw invalidFilter("Expected '" + expected + "' at position " + position + ".");
+            }
+        }
+
+        private String readWord(String description) throws WorkflowEngineClientException {
+
+            skipWhitespace();
+            int start = position;
+            while (position < input.length() && !isDelimiter(input.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw invalidFilter("Expected a " + description + " at position " + start + ".");
+            }
+            return input.substring(start, position);
+        }
+
+        private String readValue() throws WorkflowEngineClientException {
+
+            skipWhitespace();
+            if (position >= input.length() || input.charAt(position) != '"') {
+                return readWord("filter value");
+            }
+            StringBuilder value = new StringBuilder();
+            position++;
+            while (position < input.length()) {
+                char current = input.charAt(position++);
+                if (current == '"') {
+                    return value.toString();
+                }
+                if (current == '\\' && position < input.length()) {
+                    current = input.charAt(position++);
+                }
+                value.append(current);
+            }
+            throw invalidFilter("Unterminated quoted value.");
+        }
+
+        private void skipWhitespace() {
+
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isDelimiter(char character) {
+
+            return Character.isWhitespace(character) || character == '(' || character == ')' || character == ',' ||
+                    character == '"';
+        }
+    }
 }
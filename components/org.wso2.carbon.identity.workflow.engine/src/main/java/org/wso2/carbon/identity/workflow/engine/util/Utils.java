@@ -19,25 +19,34 @@
 package org.wso2.carbon.identity.workflow.engine.util;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.organization.management.organization.user.sharing.util.OrganizationSharedUserUtil;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
 import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.internal.SharedUserIdCache;
 import org.wso2.carbon.identity.workflow.mgt.bean.Parameter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for workflow-related operations.
  */
 public class Utils {
 
+    private static final Log log = LogFactory.getLog(Utils.class);
+
     /**
      * Extracts parameter values for approval steps from the given list of parameters.
      *
@@ -96,6 +105,47 @@ public class Utils {
         return modifiedSteps;
     }
 
+    /**
+     * Removes the approval tasks that should not be listed to the approver. Only one task is kept per workflow request
+     * and workflow, except for APPROVED tasks of earlier steps in a multistep approval. BLOCKED tasks are dropped when
+     * the same workflow request already has a RESERVED task. The relative order of the remaining tasks is preserved.
+     *
+     * @param approvalTasks Approval tasks in the order of the listing. Modified in place.
+     */
+    public static void removeDuplicateApprovalTasks(List<ApprovalTaskSummaryDTO> approvalTasks) {
+
+        List<String> reservedWorkflowRequests = approvalTasks.stream()
+                .filter(approvalTask -> WorkflowEngineConstants.TaskStatus.RESERVED.name()
+                        .equals(approvalTask.getApprovalStatus()))
+                .map(approvalTask -> approvalTask.getRequestId() + ":" + approvalTask.getWorkflowId())
+                .collect(Collectors.toList());
+        Set<String> processedRequestIds = new HashSet<>();
+        Iterator<ApprovalTaskSummaryDTO> iterator = approvalTasks.iterator();
+        while (iterator.hasNext()) {
+            ApprovalTaskSummaryDTO approvalTaskSummaryDTO = iterator.next();
+            String uniqueKey = approvalTaskSummaryDTO.getRequestId() + ":" + approvalTaskSummaryDTO.getWorkflowId();
+            if (processedRequestIds.contains(uniqueKey)) {
+                iterator.remove();
+                continue;
+            }
+
+            /* The tasks with BLOCKED state where the corresponding workflow request already has a RESERVED task should
+               be skipped to avoid duplication in the list. */
+            if (reservedWorkflowRequests.contains(uniqueKey) && WorkflowEngineConstants.TaskStatus.BLOCKED.name()
+                    .equals(approvalTaskSummaryDTO.getApprovalStatus())) {
+                iterator.remove();
+                continue;
+            }
+
+            /* If the task is in APPROVED state, skip adding it to the processedRequestIds set as there can be tasks in
+               READY / RESERVED state for the same workflow request when it is a multistep approval process. */
+            if (!WorkflowEngineConstants.TaskStatus.APPROVED.name()
+                    .equals(approvalTaskSummaryDTO.getApprovalStatus())) {
+                processedRequestIds.add(uniqueKey);
+            }
+        }
+    }
+
     /**
      * Resolves the user ID based on the organization context.
      *
@@ -109,18 +159,97 @@ public class Utils {
         String userResidentOrgId = PrivilegedCarbonContext.getThreadLocalCarbonContext()
                 .getUserResidentOrganizationId();
         if (!StringUtils.equals(orgId, userResidentOrgId)) {
-            try {
-                Optional<String> optionalUserId = OrganizationSharedUserUtil
-                        .getUserIdOfAssociatedUserByOrgId(userId, orgId);
-                if (optionalUserId.isPresent()) {
-                    userId = optionalUserId.get();
-                }
-            } catch (OrganizationManagementException e) {
-                throw new WorkflowEngineException(
-                        WorkflowEngineConstants.ErrorMessages.ERROR_RETRIEVING_ASSOCIATED_USER_ID.getDescription(), e);
+            String sharedUserId = SharedUserIdCache.getInstance().get(userId, orgId,
+                    IdentityUtil.threadLocalProperties.get(), Utils::getUserIdOfAssociatedUser);
+            if (sharedUserId != null) {
+                userId = sharedUserId;
             }
         }
 
         return userId;
     }
+
+    private static String getUserIdOfAssociatedUser(String userId, String orgId) throws WorkflowEngineException {
+
+        try {
+            Optional<String> optionalUserId = OrganizationSharedUserUtil
+                    .getUserIdOfAssociatedUserByOrgId(userId, orgId);
+            return optionalUserId.orElse(null);
+        } catch (OrganizationManagementException e) {
+            throw new WorkflowEngineException(
+                    WorkflowEngineConstants.ErrorMessages.ERROR_RETRIEVING_ASSOCIATED_USER_ID.getDescription(), e);
+        }
+    }
+
+    /**
+     * Reads a boolean configuration of the workflow engine.
+     *
+     * @param key          Configuration key.
+     * @param defaultValue Value to return when the configuration is not defined.
+     * @return The configured value or the default value.
+     */
+    public static boolean getBooleanConfig(String key, boolean defaultValue) {
+
+        String value = IdentityUtil.getProperty(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Reads a string configuration of the workflow engine.
+     *
+     * @param key          Configuration key.
+     * @param defaultValue Value to return when the configuration is not defined.
+     * @return The configured value or the default value.
+     */
+    public static String getStringConfig(String key, String defaultValue) {
+
+        String value = IdentityUtil.getProperty(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    /**
+     * Reads an integer configuration of the workflow engine.
+     *
+     * @param key          Configuration key.
+     * @param defaultValue Value to return when the configuration is not defined or invalid.
+     * @return The configured value or the default value.
+     */
+    public static int getIntConfig(String key, int defaultValue) {
+
+        long value = getLongConfig(key, defaultValue);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            log.warn("Invalid value: " + value + " configured for: " + key + ". Using the default value: " +
+                    defaultValue);
+            return defaultValue;
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a long configuration of the workflow engine.
+     *
+     * @param key          Configuration key.
+     * @param defaultValue Value to return when the configuration is not defined or invalid.
+     * @return The configured value or the default value.
+     */
+    public static long getLongConfig(String key, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value: " + value + " configured for: " + key + ". Using the default value: " +
+                    defaultValue);
+            return defaultValue;
+        }
+    }
 }
@@ -33,13 +33,48 @@ public class WorkflowEngineConstants {
     public static final String TASK_STATUS_COLUMN = "TASK_STATUS";
     public static final String CREATED_AT_IN_MILL_COLUMN = "CREATED_AT";
     public static final String RELATIONSHIP_ID_IN_REQUEST_COLUMN = "RELATIONSHIP_ID";
+    public static final String RELATIONSHIP_STATUS_COLUMN = "STATUS";
+    public static final String WORKFLOW_REQUEST_STATUS_COLUMN = "STATUS";
     public static final String APPROVER_TYPE_USERS = "users";
     public static final String APPROVER_TYPE_ROLES = "roles";
     public static final String REQUEST_ID_COLUMN = "REQUEST_ID";
+    public static final String ENTRY_COUNT_COLUMN = "ENTRY_COUNT";
+    public static final String TASK_COUNT_COLUMN = "TASK_COUNT";
+    public static final String UPDATED_AT_COLUMN = "UPDATED_AT";
+    public static final String OPERATION_TYPE_COLUMN = "OPERATION_TYPE";
+    public static final String UUID_COLUMN = "UUID";
+    public static final String CALLBACK_ID_COLUMN = "CALLBACK_ID";
+    public static final String TENANT_ID_COLUMN = "TENANT_ID";
+    public static final String DECISION_COLUMN = "DECISION";
+    public static final String USERNAME_COLUMN = "USERNAME";
+    public static final String CALLBACK_STATUS_COLUMN = "CALLBACK_STATUS";
+    public static final String ATTEMPTS_COLUMN = "ATTEMPTS";
+    public static final String NEXT_ATTEMPT_AT_COLUMN = "NEXT_ATTEMPT_AT";
+    public static final String LAST_ERROR_COLUMN = "LAST_ERROR";
+    public static final int DEFAULT_ENTITY_ID_CHUNK_SIZE = 256;
+    public static final int DEFAULT_EXPORT_FETCH_SIZE = 500;
+    public static final int DEFAULT_EXPORT_BATCH_SIZE = 100;
+    public static final int DEFAULT_REQUEST_SUMMARY_CACHE_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_PROPERTY_RESOLUTION_TIMEOUT_MILLIS = 5000;
+    public static final int DEFAULT_ROLE_INFO_CACHE_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_ROLE_INFO_CACHE_TIME_TO_LIVE_SECONDS = 300;
+    public static final int DEFAULT_SHARED_USER_ID_CACHE_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_SHARED_USER_ID_CACHE_TIME_TO_LIVE_SECONDS = 300;
+    public static final int DEFAULT_CALLBACK_QUEUE_WORKER_COUNT = 4;
+    public static final long DEFAULT_CALLBACK_QUEUE_POLL_INTERVAL_MILLIS = 5000;
+    public static final int DEFAULT_CALLBACK_QUEUE_BATCH_SIZE = 50;
+    public static final int DEFAULT_CALLBACK_QUEUE_MAX_ATTEMPTS = 5;
+    public static final long DEFAULT_CALLBACK_QUEUE_RETRY_DELAY_MILLIS = 1000;
+    public static final long DEFAULT_CALLBACK_QUEUE_LEASE_TIMEOUT_SECONDS = 300;
+    public static final int DEFAULT_TASK_CREATION_BATCH_MAX_SIZE = 100;
+    public static final long DEFAULT_TASK_CREATION_BATCH_MAX_WAIT_MILLIS = 0;
     public static final int NO_CURRENT_STEP = -1;
     public static final String Q_NAME_STEP_SEPARATOR = "-";
     public static final String FILTER_ATTRIBUTE_WORKFLOW_ID = "workflowId";
     public static final String FILTER_ATTRIBUTE_REQUEST_ID = "workflowRequestId";
+    public static final String FILTER_ATTRIBUTE_INITIATOR = "initiator";
+    public static final String FILTER_ATTRIBUTE_OPERATION_TYPE = "operationType";
+    public static final String FILTER_ATTRIBUTE_CREATED_TIME = "createdTime";
 
     /**
      * SQL Query definitions.
@@ -87,13 +122,19 @@ public class WorkflowEngineConstants {
                 "WF_WORKFLOW_REQUEST_RELATION WHERE REQUEST_ID = ? AND WORKFLOW_ID = ?";
         public static final String GET_RELATIONSHIP_IDS_BY_REQUEST_ID = "SELECT RELATIONSHIP_ID FROM " +
                 "WF_WORKFLOW_REQUEST_RELATION WHERE REQUEST_ID = ?";
+        public static final String GET_RELATIONSHIP_STATUS = "SELECT STATUS FROM WF_WORKFLOW_REQUEST_RELATION " +
+                "WHERE RELATIONSHIP_ID = ?";
+        public static final String GET_RELATIONSHIP_STATUSES_BY_REQUEST_ID = "SELECT STATUS FROM " +
+                "WF_WORKFLOW_REQUEST_RELATION WHERE REQUEST_ID = ?";
+        public static final String GET_WORKFLOW_REQUEST_STATUS = "SELECT STATUS FROM WF_REQUEST WHERE UUID = ?";
         public static final String GET_ALL_UNFINISHED_APPROVAL_EVENTS_BY_WORKFLOW_ID = "SELECT REQUEST_ID FROM " +
                 "WF_WORKFLOW_REQUEST_RELATION WHERE WORKFLOW_ID = ? AND STATUS = 'PENDING'";
         public static final String GET_APPROVAL_TASK_RELATIONS_BY_REQUEST_ID = "SELECT TASK_ID, APPROVER_NAME, " +
                 "TASK_STATUS, APPROVER_TYPE FROM WF_WORKFLOW_APPROVAL_RELATION WHERE EVENT_ID = ?";
 
         public static final String GET_FILTERED_APPROVAL_TASK_DETAILS_BASE = "SELECT TASK_ID, EVENT_ID, " +
-                "WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID, TASK_STATUS FROM WF_WORKFLOW_APPROVAL_RELATION " +
+                "WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID, TASK_STATUS, WF_REQUEST.UPDATED_AT FROM " +
+                "WF_WORKFLOW_APPROVAL_RELATION " +
                 "INNER JOIN WF_REQUEST ON WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = WF_REQUEST.UUID WHERE " +
                 "WF_REQUEST.TENANT_ID = :" + SQLPlaceholders.TENANT_ID_PLACEHOLDER + "; AND APPROVER_NAME IN (" +
                 SQLPlaceholders.ENTITY_ID_LIST_PLACEHOLDER + ")";
@@ -109,7 +150,190 @@ public class WorkflowEngineConstants {
                 SQLPlaceholders.FILTER_REQUEST_ID_PLACEHOLDER + ";";
         public static final String REQUEST_ID_SW_FILTER_CLAUSE = " AND WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID LIKE :" +
                         SQLPlaceholders.FILTER_REQUEST_ID_PLACEHOLDER + ";";
-        public static final String ORDER_BY_UPDATED_AT_DESC = " ORDER BY WF_REQUEST.UPDATED_AT DESC";
+        // Tasks of the same update time are ordered by status, APPROVED first, then by ID, so that the listing and
+        // its de-duplication are deterministic. The order of the statuses must match ApprovalTaskDAOImpl.
+        private static final String ORDER_BY_TASK_STATUS_AND_ID = ", CASE TASK_STATUS WHEN 'APPROVED' THEN 0 " +
+                "WHEN 'RESERVED' THEN 1 WHEN 'READY' THEN 2 WHEN 'BLOCKED' THEN 3 ELSE 4 END, TASK_ID";
+        public static final String ORDER_BY_UPDATED_AT_DESC = " ORDER BY WF_REQUEST.UPDATED_AT DESC" +
+                ORDER_BY_TASK_STATUS_AND_ID;
+        // Counts the filtered approval tasks by workflow request, workflow, status and update time, which is all the
+        // de-duplication of the listing depends on. The listed tasks are counted from these groups.
+        public static final String GET_FILTERED_APPROVAL_TASK_COUNT_BASE = "SELECT EVENT_ID, " +
+                "WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID, TASK_STATUS, WF_REQUEST.UPDATED_AT, COUNT(*) AS " +
+                "TASK_COUNT FROM WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON " +
+                "WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = WF_REQUEST.UUID WHERE WF_REQUEST.TENANT_ID = :" +
+                SQLPlaceholders.TENANT_ID_PLACEHOLDER + "; AND APPROVER_NAME IN (" +
+                SQLPlaceholders.ENTITY_ID_LIST_PLACEHOLDER + ")";
+        public static final String GROUP_BY_FILTERED_APPROVAL_TASK_COUNT = " GROUP BY EVENT_ID, " +
+                "WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID, TASK_STATUS, WF_REQUEST.UPDATED_AT";
+
+        public static final String ADD_APPROVAL_INBOX_ENTRY = "INSERT INTO WF_APPROVAL_INBOX (TASK_ID, TENANT_ID, " +
+                "APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, EVENT_ID, WORKFLOW_ID, OPERATION_TYPE, UPDATED_AT) " +
+                "SELECT TASK_ID, WF_REQUEST.TENANT_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, EVENT_ID, " +
+                "WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID, WF_REQUEST.OPERATION_TYPE, WF_REQUEST.UPDATED_AT FROM " +
+                "WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = " +
+                "WF_REQUEST.UUID WHERE TASK_ID = ? AND APPROVER_TYPE = ? AND APPROVER_NAME = ?";
+        public static final String UPDATE_APPROVAL_INBOX_TASK_STATUS = "UPDATE WF_APPROVAL_INBOX SET " +
+                "TASK_STATUS = ?, UPDATED_AT = (SELECT UPDATED_AT FROM WF_REQUEST WHERE " +
+                "UUID = WF_APPROVAL_INBOX.EVENT_ID) WHERE TASK_ID = ?";
+        public static final String UPDATE_APPROVAL_INBOX_ENTITY_DETAILS = "UPDATE WF_APPROVAL_INBOX SET " +
+                "APPROVER_TYPE = ?, APPROVER_NAME = ? WHERE TASK_ID = ?";
+        public static final String DELETE_APPROVAL_INBOX_ENTRIES_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_TASK_ID =
+                "DELETE FROM WF_APPROVAL_INBOX WHERE EVENT_ID = ? AND WORKFLOW_ID = ? AND TASK_ID != ?";
+        public static final String DELETE_APPROVAL_INBOX_ENTRIES_EXCLUDING_TASK_ID = "DELETE FROM " +
+                "WF_APPROVAL_INBOX WHERE EVENT_ID = ? AND TASK_ID != ?";
+        public static final String DELETE_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST = "DELETE FROM " +
+                "WF_APPROVAL_INBOX WHERE EVENT_ID = ?";
+        public static final String DELETE_PENDING_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST = "DELETE FROM " +
+                "WF_APPROVAL_INBOX WHERE EVENT_ID = ? AND TASK_STATUS IN ('READY', 'RESERVED', 'BLOCKED')";
+        public static final String DELETE_APPROVAL_INBOX_ENTRIES_OF_TENANT = "DELETE FROM WF_APPROVAL_INBOX " +
+                "WHERE TENANT_ID = ?";
+        public static final String ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT = "INSERT INTO WF_APPROVAL_INBOX (TASK_ID, " +
+                "TENANT_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, EVENT_ID, WORKFLOW_ID, OPERATION_TYPE, " +
+                "UPDATED_AT) SELECT TASK_ID, WF_REQUEST.TENANT_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, " +
+                "EVENT_ID, WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID, WF_REQUEST.OPERATION_TYPE, " +
+                "WF_REQUEST.UPDATED_AT FROM WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON " +
+                "WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = WF_REQUEST.UUID WHERE WF_REQUEST.TENANT_ID = ?";
+        public static final String COUNT_APPROVAL_INBOX_ENTRIES_OF_TENANT = "SELECT COUNT(*) AS ENTRY_COUNT FROM " +
+                "WF_APPROVAL_INBOX WHERE TENANT_ID = ?";
+
+        public static final String GET_FILTERED_APPROVAL_INBOX_DETAILS_BASE = "SELECT TASK_ID, EVENT_ID, " +
+                "WORKFLOW_ID, TASK_STATUS, UPDATED_AT FROM WF_APPROVAL_INBOX WHERE TENANT_ID = :" +
+                SQLPlaceholders.TENANT_ID_PLACEHOLDER + "; AND APPROVER_NAME IN (" +
+                SQLPlaceholders.ENTITY_ID_LIST_PLACEHOLDER + ")";
+        public static final String INBOX_OPERATION_TYPE_FILTER_CLAUSE = " AND OPERATION_TYPE IN (" +
+                SQLPlaceholders.OPERATION_TYPE_LIST_PLACEHOLDER + ")";
+        public static final String INBOX_WORKFLOW_ID_FILTER_CLAUSE = " AND WORKFLOW_ID = :" +
+                SQLPlaceholders.FILTER_WORKFLOW_ID_PLACEHOLDER + ";";
+        public static final String INBOX_WORKFLOW_ID_SW_FILTER_CLAUSE = " AND WORKFLOW_ID LIKE :" +
+                SQLPlaceholders.FILTER_WORKFLOW_ID_PLACEHOLDER + ";";
+        public static final String INBOX_REQUEST_ID_FILTER_CLAUSE = " AND EVENT_ID = :" +
+                SQLPlaceholders.FILTER_REQUEST_ID_PLACEHOLDER + ";";
+        public static final String INBOX_REQUEST_ID_SW_FILTER_CLAUSE = " AND EVENT_ID LIKE :" +
+                SQLPlaceholders.FILTER_REQUEST_ID_PLACEHOLDER + ";";
+        public static final String INBOX_ORDER_BY_UPDATED_AT_DESC = " ORDER BY UPDATED_AT DESC" +
+                ORDER_BY_TASK_STATUS_AND_ID;
+        public static final String GET_FILTERED_APPROVAL_INBOX_COUNT_BASE = "SELECT EVENT_ID, WORKFLOW_ID, " +
+                "TASK_STATUS, UPDATED_AT, COUNT(*) AS TASK_COUNT FROM WF_APPROVAL_INBOX WHERE TENANT_ID = :" +
+                SQLPlaceholders.TENANT_ID_PLACEHOLDER + "; AND APPROVER_NAME IN (" +
+                SQLPlaceholders.ENTITY_ID_LIST_PLACEHOLDER + ")";
+        public static final String GROUP_BY_FILTERED_APPROVAL_INBOX_COUNT = " GROUP BY EVENT_ID, WORKFLOW_ID, " +
+                "TASK_STATUS, UPDATED_AT";
+
+        // Pending tasks are counted once per approver entity they are assigned to, without de-duplication.
+        public static final String GET_PENDING_APPROVAL_TASK_COUNTS_OF_TENANT = "SELECT APPROVER_NAME, COUNT(*) AS " +
+                "TASK_COUNT FROM WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON " +
+                "WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = WF_REQUEST.UUID WHERE WF_REQUEST.TENANT_ID = ? AND " +
+                "TASK_STATUS IN ('READY', 'RESERVED') GROUP BY APPROVER_NAME";
+
+        public static final String COUNT_PENDING_APPROVAL_TASKS_OF_ENTITIES = "SELECT COUNT(*) AS TASK_COUNT FROM " +
+                "WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = " +
+                "WF_REQUEST.UUID WHERE WF_REQUEST.TENANT_ID = :" + SQLPlaceholders.TENANT_ID_PLACEHOLDER + "; AND " +
+                "APPROVER_NAME IN (" + SQLPlaceholders.ENTITY_ID_LIST_PLACEHOLDER + ") AND TASK_STATUS IN " +
+                "('READY', 'RESERVED')";
+
+        // Ordered by workflow request, so that the tasks of a request are exported together.
+        public static final String GET_APPROVAL_TASKS_OF_TENANT = "SELECT TASK_ID, EVENT_ID, " +
+                "WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, " +
+                "WF_REQUEST.OPERATION_TYPE, WF_REQUEST.CREATED_BY, WF_REQUEST.CREATED_AT, WF_REQUEST.UPDATED_AT " +
+                "FROM WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON " +
+                "WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = WF_REQUEST.UUID WHERE WF_REQUEST.TENANT_ID = ? " +
+                "ORDER BY EVENT_ID, TASK_ID";
+
+        // Workflow requests updated in the given window whose approval tasks are all approved or rejected.
+        public static final String GET_COMPLETED_WORKFLOW_REQUESTS_UPDATED_BETWEEN = "SELECT UUID, UPDATED_AT FROM " +
+                "WF_REQUEST WHERE UPDATED_AT >= ? AND UPDATED_AT < ? AND EXISTS (SELECT 1 FROM " +
+                "WF_WORKFLOW_APPROVAL_RELATION WHERE WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = WF_REQUEST.UUID) AND " +
+                "NOT EXISTS (SELECT 1 FROM WF_WORKFLOW_APPROVAL_RELATION WHERE " +
+                "WF_WORKFLOW_APPROVAL_RELATION.EVENT_ID = WF_REQUEST.UUID AND (TASK_STATUS IS NULL OR " +
+                "TASK_STATUS NOT IN ('APPROVED', 'REJECTED'))) ORDER BY UPDATED_AT";
+        public static final String ARCHIVE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST = "INSERT INTO " +
+                "WF_WORKFLOW_APPROVAL_ARCHIVE (TASK_ID, EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, " +
+                "TASK_STATUS, TENANT_ID, ARCHIVED_AT) SELECT TASK_ID, EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, " +
+                "APPROVER_NAME, TASK_STATUS, TENANT_ID, ? FROM WF_WORKFLOW_APPROVAL_RELATION INNER JOIN " +
+                "WF_REQUEST ON EVENT_ID = UUID WHERE EVENT_ID = ? AND TASK_STATUS IN ('APPROVED', 'REJECTED')";
+        public static final String DELETE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST = "DELETE FROM " +
+                "WF_WORKFLOW_APPROVAL_RELATION WHERE EVENT_ID = ? AND TASK_STATUS IN ('APPROVED', 'REJECTED')";
+        public static final String DELETE_APPROVAL_STATE_OF_WORKFLOW_REQUEST = "DELETE FROM " +
+                "WF_WORKFLOW_APPROVAL_STATE WHERE EVENT_ID = ?";
+
+        // Approval history. Approved and rejected tasks are moved to WF_WORKFLOW_APPROVAL_HISTORY, and the reads that
+        // may return them go through WF_WORKFLOW_APPROVAL_TASKS, the union of the relation and history tables.
+        public static final String MOVE_APPROVAL_TASK_TO_HISTORY = "INSERT INTO WF_WORKFLOW_APPROVAL_HISTORY " +
+                "(TASK_ID, EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, COMPLETED_AT) SELECT " +
+                "TASK_ID, EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, ? FROM " +
+                "WF_WORKFLOW_APPROVAL_RELATION WHERE TASK_ID = ?";
+        public static final String DELETE_APPROVAL_TASK = "DELETE FROM WF_WORKFLOW_APPROVAL_RELATION WHERE " +
+                "TASK_ID = ?";
+        public static final String DELETE_APPROVAL_HISTORY_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_TASK_ID = "DELETE " +
+                "FROM WF_WORKFLOW_APPROVAL_HISTORY WHERE EVENT_ID = ? AND WORKFLOW_ID = ? AND TASK_ID != ?";
+        public static final String DELETE_APPROVAL_HISTORY_EXCLUDING_TASK_ID = "DELETE FROM " +
+                "WF_WORKFLOW_APPROVAL_HISTORY WHERE EVENT_ID = ? AND TASK_ID != ?";
+        public static final String DELETE_APPROVAL_HISTORY_OF_WORKFLOW_REQUEST = "DELETE FROM " +
+                "WF_WORKFLOW_APPROVAL_HISTORY WHERE EVENT_ID = ?";
+        public static final String GET_APPROVER_DETAILS_BY_TASK_ID_WITH_HISTORY =
+                withHistory(GET_APPROVER_DETAILS_BY_TASK_ID);
+        public static final String GET_APPROVER_NAME_RELATED_TO_CURRENT_TASK_ID_WITH_HISTORY =
+                withHistory(GET_APPROVER_NAME_RELATED_TO_CURRENT_TASK_ID);
+        public static final String GET_APPROVER_TYPE_RELATED_TO_CURRENT_TASK_ID_WITH_HISTORY =
+                withHistory(GET_APPROVER_TYPE_RELATED_TO_CURRENT_TASK_ID);
+        public static final String GET_APPROVAL_TASK_BY_TASK_ID_WITH_HISTORY =
+                withHistory(GET_APPROVAL_TASK_BY_TASK_ID);
+        public static final String GET_WORKFLOW_ID_WITH_HISTORY = withHistory(GET_WORKFLOW_ID);
+        public static final String GET_TASK_STATUS_WITH_HISTORY = withHistory(GET_TASK_STATUS);
+        public static final String GET_FILTERED_APPROVAL_TASK_DETAILS_WITH_HISTORY_BASE =
+                withHistory(GET_FILTERED_APPROVAL_TASK_DETAILS_BASE);
+        public static final String GET_FILTERED_APPROVAL_TASK_COUNT_WITH_HISTORY_BASE =
+                withHistory(GET_FILTERED_APPROVAL_TASK_COUNT_BASE);
+        public static final String GROUP_BY_FILTERED_APPROVAL_TASK_COUNT_WITH_HISTORY =
+                withHistory(GROUP_BY_FILTERED_APPROVAL_TASK_COUNT);
+        public static final String WORKFLOW_ID_FILTER_CLAUSE_WITH_HISTORY = withHistory(WORKFLOW_ID_FILTER_CLAUSE);
+        public static final String WORKFLOW_ID_SW_FILTER_CLAUSE_WITH_HISTORY =
+                withHistory(WORKFLOW_ID_SW_FILTER_CLAUSE);
+        public static final String REQUEST_ID_FILTER_CLAUSE_WITH_HISTORY = withHistory(REQUEST_ID_FILTER_CLAUSE);
+        public static final String REQUEST_ID_SW_FILTER_CLAUSE_WITH_HISTORY = withHistory(REQUEST_ID_SW_FILTER_CLAUSE);
+        public static final String GET_APPROVAL_TASKS_OF_TENANT_WITH_HISTORY =
+                withHistory(GET_APPROVAL_TASKS_OF_TENANT);
+        public static final String ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT_WITH_HISTORY =
+                withHistory(ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT);
+        public static final String GET_COMPLETED_WORKFLOW_REQUESTS_UPDATED_BETWEEN_WITH_HISTORY =
+                withHistory(GET_COMPLETED_WORKFLOW_REQUESTS_UPDATED_BETWEEN);
+        public static final String ARCHIVE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST_WITH_HISTORY =
+                withHistory(ARCHIVE_COMPLETED_APPROVAL_TASKS_OF_WORKFLOW_REQUEST);
+
+        // Workflow completion callbacks, executed by the completion callback queue when
+        // WorkflowEngine.CompletionCallbackQueue.Enable is set. A callback is claimed by incrementing its attempts, so
+        // that an update conditioned on the attempts only applies to the latest claim.
+        public static final String ADD_APPROVAL_CALLBACK = "INSERT INTO WF_APPROVAL_CALLBACK (CALLBACK_ID, " +
+                "TENANT_ID, EVENT_ID, RELATIONSHIP_ID, DECISION, USERNAME, CALLBACK_STATUS, ATTEMPTS, " +
+                "NEXT_ATTEMPT_AT, CREATED_AT, UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, 'PENDING', 0, ?, ?, ?)";
+        public static final String GET_DUE_APPROVAL_CALLBACKS = "SELECT CALLBACK_ID, TENANT_ID, EVENT_ID, " +
+                "RELATIONSHIP_ID, DECISION, USERNAME, CALLBACK_STATUS, ATTEMPTS, NEXT_ATTEMPT_AT, LAST_ERROR, " +
+                "UPDATED_AT FROM WF_APPROVAL_CALLBACK WHERE CALLBACK_STATUS IN ('PENDING', 'IN_PROGRESS') AND " +
+                "((CALLBACK_STATUS = 'PENDING' AND NEXT_ATTEMPT_AT <= ?) OR (CALLBACK_STATUS = 'IN_PROGRESS' AND " +
+                "UPDATED_AT <= ?)) ORDER BY NEXT_ATTEMPT_AT";
+        public static final String CLAIM_APPROVAL_CALLBACK = "UPDATE WF_APPROVAL_CALLBACK SET CALLBACK_STATUS = " +
+                "'IN_PROGRESS', ATTEMPTS = ATTEMPTS + 1, UPDATED_AT = ? WHERE CALLBACK_ID = ? AND ATTEMPTS = ? AND " +
+                "CALLBACK_STATUS IN ('PENDING', 'IN_PROGRESS')";
+        public static final String UPDATE_CLAIMED_APPROVAL_CALLBACK = "UPDATE WF_APPROVAL_CALLBACK SET " +
+                "CALLBACK_STATUS = ?, NEXT_ATTEMPT_AT = ?, LAST_ERROR = ?, UPDATED_AT = ? WHERE CALLBACK_ID = ? AND " +
+                "ATTEMPTS = ? AND CALLBACK_STATUS = 'IN_PROGRESS'";
+        public static final String GET_APPROVAL_CALLBACKS_OF_WORKFLOW_REQUEST = "SELECT CALLBACK_ID, TENANT_ID, " +
+                "EVENT_ID, RELATIONSHIP_ID, DECISION, USERNAME, CALLBACK_STATUS, ATTEMPTS, NEXT_ATTEMPT_AT, " +
+                "LAST_ERROR, UPDATED_AT FROM WF_APPROVAL_CALLBACK WHERE EVENT_ID = ? ORDER BY CREATED_AT";
+        public static final String GET_APPROVAL_CALLBACK_COUNTS = "SELECT CALLBACK_STATUS, COUNT(*) AS ENTRY_COUNT " +
+                "FROM WF_APPROVAL_CALLBACK GROUP BY CALLBACK_STATUS";
+        public static final String RETRY_FAILED_APPROVAL_CALLBACKS = "UPDATE WF_APPROVAL_CALLBACK SET " +
+                "CALLBACK_STATUS = 'PENDING', ATTEMPTS = 0, NEXT_ATTEMPT_AT = ?, UPDATED_AT = ? WHERE " +
+                "CALLBACK_STATUS = 'FAILED'";
+
+        /**
+         * Read the given query from the union of the approval task relation and history tables.
+         */
+        private static String withHistory(String sql) {
+
+            return sql.replace("WF_WORKFLOW_APPROVAL_RELATION", "WF_WORKFLOW_APPROVAL_TASKS");
+        }
     }
 
     /**
@@ -126,6 +350,62 @@ public class WorkflowEngineConstants {
         public static final String OPERATION_TYPE_PLACEHOLDER_PREFIX = "OPERATION_TYPE_";
         public static final String FILTER_WORKFLOW_ID_PLACEHOLDER = "FILTER_WORKFLOW_ID";
         public static final String FILTER_REQUEST_ID_PLACEHOLDER = "FILTER_REQUEST_ID";
+        public static final String FILTER_EXPRESSION_PLACEHOLDER_PREFIX = "FILTER_EXPRESSION_";
+    }
+
+    /**
+     * Configuration keys of the workflow engine read from identity.xml.
+     */
+    public static class ConfigKeys {
+
+        public static final String METRICS_ENABLED = "WorkflowEngine.Metrics.Enable";
+        public static final String SLOW_QUERY_THRESHOLD_MILLIS = "WorkflowEngine.Metrics.SlowQueryThresholdMillis";
+        public static final String APPROVAL_INBOX_ENABLED = "WorkflowEngine.ApprovalInbox.Enable";
+        public static final String APPROVAL_HISTORY_ENABLED = "WorkflowEngine.ApprovalHistory.Enable";
+        public static final String PENDING_TASK_COUNTERS_ENABLED = "WorkflowEngine.PendingTaskCounters.Enable";
+        public static final String PENDING_TASK_COUNTERS_RECONCILE_INTERVAL_SECONDS =
+                "WorkflowEngine.PendingTaskCounters.ReconcileIntervalSeconds";
+        public static final String REQUEST_SUMMARY_CACHE_ENABLED = "WorkflowEngine.RequestSummaryCache.Enable";
+        public static final String REQUEST_SUMMARY_CACHE_MAX_ENTRIES = "WorkflowEngine.RequestSummaryCache.MaxEntries";
+        public static final String ROLE_INFO_CACHE_ENABLED = "WorkflowEngine.RoleInfoCache.Enable";
+        public static final String ROLE_INFO_CACHE_MAX_ENTRIES = "WorkflowEngine.RoleInfoCache.MaxEntries";
+        public static final String ROLE_INFO_CACHE_TIME_TO_LIVE_SECONDS =
+                "WorkflowEngine.RoleInfoCache.TimeToLiveSeconds";
+        public static final String SHARED_USER_ID_CACHE_ENABLED = "WorkflowEngine.SharedUserIdCache.Enable";
+        public static final String SHARED_USER_ID_CACHE_MAX_ENTRIES = "WorkflowEngine.SharedUserIdCache.MaxEntries";
+        public static final String SHARED_USER_ID_CACHE_TIME_TO_LIVE_SECONDS =
+                "WorkflowEngine.SharedUserIdCache.TimeToLiveSeconds";
+        public static final String PROPERTY_RESOLUTION_TIMEOUT_MILLIS =
+                "WorkflowEngine.PropertyResolution.TimeoutMillis";
+        public static final String PROPERTY_RESOLUTION_THREAD_POOL_SIZE =
+                "WorkflowEngine.PropertyResolution.ThreadPoolSize";
+        public static final String NOTIFICATION_THREAD_POOL_SIZE = "WorkflowEngine.Notification.ThreadPoolSize";
+        public static final String ENTITY_ID_CHUNK_SIZE = "WorkflowEngine.EntityMatching.ChunkSize";
+        public static final String EXPORT_FETCH_SIZE = "WorkflowEngine.Export.FetchSize";
+        public static final String EXPORT_BATCH_SIZE = "WorkflowEngine.Export.BatchSize";
+        public static final String EXPORT_DIRECTORY = "WorkflowEngine.Export.Directory";
+        public static final String RETENTION_ENABLED = "WorkflowEngine.Retention.Enable";
+        public static final String RETENTION_MODE = "WorkflowEngine.Retention.Mode";
+        public static final String RETENTION_PERIOD_DAYS = "WorkflowEngine.Retention.RetentionPeriodDays";
+        public static final String RETENTION_CHUNK_SIZE = "WorkflowEngine.Retention.ChunkSize";
+        public static final String RETENTION_CHUNK_INTERVAL_MILLIS = "WorkflowEngine.Retention.ChunkIntervalMillis";
+        public static final String RETENTION_MAX_CHUNKS_PER_RUN = "WorkflowEngine.Retention.MaxChunksPerRun";
+        public static final String RETENTION_RUN_INTERVAL_MINUTES = "WorkflowEngine.Retention.RunIntervalMinutes";
+        public static final String CALLBACK_QUEUE_ENABLED = "WorkflowEngine.CompletionCallbackQueue.Enable";
+        public static final String CALLBACK_QUEUE_WORKER_COUNT = "WorkflowEngine.CompletionCallbackQueue.WorkerCount";
+        public static final String CALLBACK_QUEUE_POLL_INTERVAL_MILLIS =
+                "WorkflowEngine.CompletionCallbackQueue.PollIntervalMillis";
+        public static final String CALLBACK_QUEUE_BATCH_SIZE = "WorkflowEngine.CompletionCallbackQueue.BatchSize";
+        public static final String CALLBACK_QUEUE_MAX_ATTEMPTS = "WorkflowEngine.CompletionCallbackQueue.MaxAttempts";
+        public static final String CALLBACK_QUEUE_RETRY_DELAY_MILLIS =
+                "WorkflowEngine.CompletionCallbackQueue.RetryDelayMillis";
+        public static final String CALLBACK_QUEUE_LEASE_TIMEOUT_SECONDS =
+                "WorkflowEngine.CompletionCallbackQueue.LeaseTimeoutSeconds";
+        public static final String TASK_CREATION_BATCHING_ENABLED = "WorkflowEngine.TaskCreationBatching.Enable";
+        public static final String TASK_CREATION_BATCHING_MAX_BATCH_SIZE =
+                "WorkflowEngine.TaskCreationBatching.MaxBatchSize";
+        public static final String TASK_CREATION_BATCHING_MAX_WAIT_MILLIS =
+                "WorkflowEngine.TaskCreationBatching.MaxWaitMillis";
     }
 
     /**
@@ -168,6 +448,24 @@ public class WorkflowEngineConstants {
         REJECTED;
     }
 
+    /**
+     * Represents the possible statuses of a workflow completion callback.
+     */
+    public enum CallbackStatus {
+
+        /** The callback is waiting for its next attempt */
+        PENDING,
+
+        /** The callback has been claimed by a worker and is being executed */
+        IN_PROGRESS,
+
+        /** The callback has been executed */
+        COMPLETED,
+
+        /** All the attempts of the callback failed */
+        FAILED
+    }
+
     /**
      * Holds constant parameter keys used in workflow configurations.
      */
@@ -223,7 +521,11 @@ public class WorkflowEngineConstants {
                 "Server encountered an error while retrieving the user ID associated with the task."),
 
         ERROR_OCCURRED_WHILE_UPDATING_WORKFLOW_REQUEST("WFE_50007", "Server encountered an error while " +
-                "updating the workflow request.");
+                "updating the workflow request."),
+        ERROR_OCCURRED_WHILE_RESOLVING_REQUEST_PROPERTIES("WFE_50008", "Server encountered an error or timed " +
+                "out while resolving the properties of the workflow request."),
+        ERROR_OCCURRED_WHILE_COMPLETING_WORKFLOW_RELATIONSHIPS("WFE_50009", "Server encountered an error while " +
+                "completing one or more workflow relationships of the workflow request.");
 
         private final String code;
         private final String description;
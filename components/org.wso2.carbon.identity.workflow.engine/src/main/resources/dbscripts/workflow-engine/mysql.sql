@@ -0,0 +1,97 @@
+-- Indexes for the access paths of the workflow engine on the workflow tables, the approval inbox read
+-- model used when WorkflowEngine.ApprovalInbox.Enable is set, the archive of the approval task retention job,
+-- the approval task history used when WorkflowEngine.ApprovalHistory.Enable is set, and the workflow completion
+-- callbacks used when WorkflowEngine.CompletionCallbackQueue.Enable is set.
+-- Apply after the identity database schema is created.
+
+-- Approval tasks of a user or role, filtered by status.
+CREATE INDEX IDX_WF_WAR_APPROVER_STATUS ON WF_WORKFLOW_APPROVAL_RELATION (APPROVER_NAME, TASK_STATUS);
+-- Approval tasks of a workflow request.
+CREATE INDEX IDX_WF_WAR_EVENT_WORKFLOW ON WF_WORKFLOW_APPROVAL_RELATION (EVENT_ID, WORKFLOW_ID);
+-- Requests of a tenant ordered by update time.
+CREATE INDEX IDX_WF_REQ_TENANT_UPDATED ON WF_REQUEST (TENANT_ID, UPDATED_AT);
+-- Workflow relations of a request.
+CREATE INDEX IDX_WF_WRR_REQUEST_WORKFLOW ON WF_WORKFLOW_REQUEST_RELATION (REQUEST_ID, WORKFLOW_ID);
+-- Pending requests of a workflow.
+CREATE INDEX IDX_WF_WRR_WORKFLOW_STATUS ON WF_WORKFLOW_REQUEST_RELATION (WORKFLOW_ID, STATUS);
+-- Requests of all tenants updated in a time window, for GET_COMPLETED_WORKFLOW_REQUESTS_UPDATED_BETWEEN of the
+-- approval task retention job. IDX_WF_REQ_TENANT_UPDATED cannot serve it, as it leads with the tenant.
+CREATE INDEX IDX_WF_REQ_UPDATED ON WF_REQUEST (UPDATED_AT);
+
+-- Approval inbox read model. Holds one entry per approval task, denormalized with the request details.
+CREATE TABLE WF_APPROVAL_INBOX (
+    TASK_ID VARCHAR(45) NOT NULL,
+    TENANT_ID INTEGER NOT NULL,
+    APPROVER_TYPE VARCHAR(45) NOT NULL,
+    APPROVER_NAME VARCHAR(255) NOT NULL,
+    TASK_STATUS VARCHAR(255),
+    EVENT_ID VARCHAR(45) NOT NULL,
+    WORKFLOW_ID VARCHAR(45) NOT NULL,
+    OPERATION_TYPE VARCHAR(50),
+    UPDATED_AT TIMESTAMP NULL,
+    CONSTRAINT PK_WF_APPROVAL_INBOX PRIMARY KEY (TASK_ID, APPROVER_TYPE, APPROVER_NAME)
+) ENGINE INNODB;
+-- Approval tasks of a user or role in a tenant, filtered by status and ordered by update time.
+CREATE INDEX IDX_WF_INBOX_APPROVER ON WF_APPROVAL_INBOX (TENANT_ID, APPROVER_NAME, TASK_STATUS, UPDATED_AT);
+-- Approval inbox entries of a workflow request.
+CREATE INDEX IDX_WF_INBOX_EVENT ON WF_APPROVAL_INBOX (EVENT_ID, WORKFLOW_ID);
+
+-- Completed approval tasks moved out of WF_WORKFLOW_APPROVAL_RELATION by the retention job when
+-- WorkflowEngine.Retention.Mode is ARCHIVE.
+CREATE TABLE WF_WORKFLOW_APPROVAL_ARCHIVE (
+    TASK_ID VARCHAR(45) NOT NULL,
+    EVENT_ID VARCHAR(45) NOT NULL,
+    WORKFLOW_ID VARCHAR(45) NOT NULL,
+    APPROVER_TYPE VARCHAR(45) NOT NULL,
+    APPROVER_NAME VARCHAR(255) NOT NULL,
+    TASK_STATUS VARCHAR(255),
+    TENANT_ID INTEGER NOT NULL,
+    ARCHIVED_AT TIMESTAMP NULL,
+    CONSTRAINT PK_WF_APPROVAL_ARCHIVE PRIMARY KEY (TASK_ID, APPROVER_TYPE, APPROVER_NAME)
+) ENGINE INNODB;
+-- Archived approval tasks of a workflow request in a tenant.
+CREATE INDEX IDX_WF_ARCHIVE_TENANT_EVENT ON WF_WORKFLOW_APPROVAL_ARCHIVE (TENANT_ID, EVENT_ID);
+
+-- Approval tasks moved out of WF_WORKFLOW_APPROVAL_RELATION when they are approved or rejected, so that the relation
+-- table holds the pending approval tasks only. Used when WorkflowEngine.ApprovalHistory.Enable is set.
+CREATE TABLE WF_WORKFLOW_APPROVAL_HISTORY (
+    TASK_ID VARCHAR(45) NOT NULL,
+    EVENT_ID VARCHAR(45) NOT NULL,
+    WORKFLOW_ID VARCHAR(45) NOT NULL,
+    APPROVER_TYPE VARCHAR(45) NOT NULL,
+    APPROVER_NAME VARCHAR(255) NOT NULL,
+    TASK_STATUS VARCHAR(255),
+    COMPLETED_AT TIMESTAMP NULL,
+    CONSTRAINT PK_WF_APPROVAL_HISTORY PRIMARY KEY (TASK_ID, APPROVER_TYPE, APPROVER_NAME)
+) ENGINE INNODB;
+-- Completed approval tasks of a user or role, filtered by status.
+CREATE INDEX IDX_WF_WAH_APPROVER_STATUS ON WF_WORKFLOW_APPROVAL_HISTORY (APPROVER_NAME, TASK_STATUS);
+-- Completed approval tasks of a workflow request.
+CREATE INDEX IDX_WF_WAH_EVENT_WORKFLOW ON WF_WORKFLOW_APPROVAL_HISTORY (EVENT_ID, WORKFLOW_ID);
+-- Pending and completed approval tasks, read when the requested approval tasks may have been completed.
+CREATE VIEW WF_WORKFLOW_APPROVAL_TASKS AS
+    SELECT TASK_ID, EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS FROM WF_WORKFLOW_APPROVAL_RELATION
+    UNION ALL
+    SELECT TASK_ID, EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS FROM WF_WORKFLOW_APPROVAL_HISTORY;
+
+-- Workflow completion callbacks recorded with the approval or rejection that completes a workflow request, and
+-- executed asynchronously with retries. Used when WorkflowEngine.CompletionCallbackQueue.Enable is set.
+CREATE TABLE WF_APPROVAL_CALLBACK (
+    CALLBACK_ID VARCHAR(45) NOT NULL,
+    TENANT_ID INTEGER NOT NULL,
+    EVENT_ID VARCHAR(45) NOT NULL,
+    RELATIONSHIP_ID VARCHAR(45) NOT NULL,
+    DECISION VARCHAR(20) NOT NULL,
+    USERNAME VARCHAR(255),
+    CALLBACK_STATUS VARCHAR(20) NOT NULL,
+    ATTEMPTS INTEGER NOT NULL,
+    NEXT_ATTEMPT_AT TIMESTAMP NULL,
+    LAST_ERROR VARCHAR(1024),
+    CREATED_AT TIMESTAMP NULL,
+    UPDATED_AT TIMESTAMP NULL,
+    CONSTRAINT PK_WF_APPROVAL_CALLBACK PRIMARY KEY (CALLBACK_ID)
+) ENGINE INNODB;
+-- Callbacks due for execution, and callbacks whose claim has expired.
+CREATE INDEX IDX_WF_CALLBACK_STATUS ON WF_APPROVAL_CALLBACK (CALLBACK_STATUS, NEXT_ATTEMPT_AT);
+-- Callbacks of a workflow request.
+CREATE INDEX IDX_WF_CALLBACK_EVENT ON WF_APPROVAL_CALLBACK (EVENT_ID);
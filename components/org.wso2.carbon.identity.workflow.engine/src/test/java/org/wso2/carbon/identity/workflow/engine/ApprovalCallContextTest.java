@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link ApprovalCallContext}.
+ */
+public class ApprovalCallContextTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String USER_ID = "user-1";
+
+    private final List<String> roleLoads = new ArrayList<>();
+    private final List<String> roleProbes = new ArrayList<>();
+    private int userIdResolutions;
+
+    @BeforeMethod
+    public void setUp() {
+
+        roleLoads.clear();
+        roleProbes.clear();
+        userIdResolutions = 0;
+    }
+
+    @Test
+    public void testTenantOfCall() {
+
+        ApprovalCallContext context = newContext();
+
+        Assert.assertEquals(context.getTenantId(), -1234);
+        Assert.assertEquals(context.getTenantDomain(), TENANT_DOMAIN);
+        Assert.assertTrue(context.getStartTimeMillis() <= System.currentTimeMillis());
+    }
+
+    @Test
+    public void testUserIdIsResolvedLazilyAndOnce() throws Exception {
+
+        ApprovalCallContext context = newContext();
+        Assert.assertEquals(userIdResolutions, 0);
+
+        Assert.assertEquals(context.getUserId(), USER_ID);
+        Assert.assertEquals(context.getUserId(), USER_ID);
+        Assert.assertEquals(userIdResolutions, 1);
+    }
+
+    @Test
+    public void testRolesAreLoadedOnceForResolvedUser() throws Exception {
+
+        ApprovalCallContext context = newContext();
+
+        Assert.assertEquals(new ArrayList<>(context.getRoleIds()), Arrays.asList("role-2", "role-1"));
+        Assert.assertTrue(context.getRoleIds().contains("role-1"));
+        Assert.assertEquals(roleLoads, Arrays.asList(USER_ID + "@" + TENANT_DOMAIN));
+        Assert.assertEquals(userIdResolutions, 1);
+    }
+
+    @Test
+    public void testRoleChecksLoadRolesOnce() throws Exception {
+
+        ApprovalCallContext context = newContext();
+
+        Assert.assertTrue(context.hasRole("role-1"));
+        Assert.assertTrue(context.hasRole("role-2"));
+        Assert.assertFalse(context.hasRole("role-3"));
+        Assert.assertFalse(context.hasRole(USER_ID));
+        Assert.assertEquals(roleLoads.size(), 1);
+    }
+
+    @Test
+    public void testConfirmedRoleCheckDoesNotLoadRoles() throws Exception {
+
+        ApprovalCallContext context = newContext();
+
+        Assert.assertTrue(context.hasRole("role-1"));
+        Assert.assertTrue(context.hasRole("role-1"));
+        Assert.assertEquals(roleProbes, Arrays.asList(USER_ID + ":role-1", USER_ID + ":role-1"));
+        Assert.assertTrue(roleLoads.isEmpty());
+    }
+
+    @Test
+    public void testUnconfirmedRoleCheckFallsBackToAssignedRoles() throws Exception {
+
+        ApprovalCallContext context = newContext();
+
+        // The probe cannot confirm role-2, as if it was assigned through a group.
+        Assert.assertTrue(context.hasRole("role-2"));
+        Assert.assertFalse(context.hasRole("role-3"));
+        Assert.assertTrue(context.hasRole("role-1"));
+        Assert.assertEquals(roleProbes, Arrays.asList(USER_ID + ":role-2"));
+        Assert.assertEquals(roleLoads.size(), 1);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testRolesAreUnmodifiable() throws Exception {
+
+        newContext().getRoleIds().add("role-3");
+    }
+
+    @Test
+    public void testFailedResolutionIsRetried() throws Exception {
+
+        ApprovalCallContext context = new ApprovalCallContext(-1234, TENANT_DOMAIN, () -> {
+            if (userIdResolutions++ == 0) {
+                throw new WorkflowEngineException(
+                        WorkflowEngineConstants.ErrorMessages.ERROR_RETRIEVING_ASSOCIATED_USER_ID.getDescription(),
+                        WorkflowEngineConstants.ErrorMessages.ERROR_RETRIEVING_ASSOCIATED_USER_ID.getCode());
+            }
+            return USER_ID;
+        }, this::loadRoles, this::probeRole);
+
+        Assert.assertThrows(WorkflowEngineException.class, context::getUserId);
+        Assert.assertEquals(context.getUserId(), USER_ID);
+        Assert.assertEquals(userIdResolutions, 2);
+    }
+
+    private ApprovalCallContext newContext() {
+
+        return new ApprovalCallContext(-1234, TENANT_DOMAIN, () -> {
+            userIdResolutions++;
+            return USER_ID;
+        }, this::loadRoles, this::probeRole);
+    }
+
+    private List<String> loadRoles(String userId, String tenantDomain) {
+
+        roleLoads.add(userId + "@" + tenantDomain);
+        return Arrays.asList("role-2", "role-1", "role-2");
+    }
+
+    private boolean probeRole(String userId, String roleId) {
+
+        roleProbes.add(userId + ":" + roleId);
+        return "role-1".equals(roleId);
+    }
+}
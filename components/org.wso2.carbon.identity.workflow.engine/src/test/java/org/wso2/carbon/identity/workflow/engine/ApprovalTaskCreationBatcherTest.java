@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for {@link ApprovalTaskCreationBatcher}.
+ */
+public class ApprovalTaskCreationBatcherTest {
+
+    private static final String BLOCKING_REQUEST_ID = "request-0";
+    private static final String FAILING_REQUEST_ID = "request-failing";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final List<List<String>> writtenBatches = new CopyOnWriteArrayList<>();
+    private CountDownLatch blockingBatchStarted;
+    private CountDownLatch blockingBatchReleased;
+    private ApprovalTaskCreationBatcher batcher;
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void setUp() {
+
+        writtenBatches.clear();
+        blockingBatchStarted = new CountDownLatch(1);
+        blockingBatchReleased = new CountDownLatch(1);
+        batcher = new ApprovalTaskCreationBatcher();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        blockingBatchReleased.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLoneRequestIsWrittenWithoutWaiting() throws Exception {
+
+        batcher.setMaxWaitMillis(0);
+        batcher.add(newPlan("request-1"), this::write);
+
+        Assert.assertEquals(writtenBatches, Collections.singletonList(Collections.singletonList("request-1")));
+    }
+
+    @Test
+    public void testRequestsQueuedDuringWriteAreWrittenInOneBatch() throws Exception {
+
+        Future<?> blockingRequest = addBehindBlockingBatch();
+        List<Future<?>> requests = addAll("request-1", "request-2", "request-3", "request-4");
+        awaitQueued(4);
+        blockingBatchReleased.countDown();
+
+        blockingRequest.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        for (Future<?> request : requests) {
+            request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(writtenBatches.size(), 2);
+        Assert.assertEquals(new HashSet<>(writtenBatches.get(1)),
+                new HashSet<>(Arrays.asList("request-1", "request-2", "request-3", "request-4")));
+    }
+
+    @Test
+    public void testBatchesDoNotExceedMaxBatchSize() throws Exception {
+
+        batcher.setMaxBatchSize(2);
+        Future<?> blockingRequest = addBehindBlockingBatch();
+        List<Future<?>> requests = addAll("request-1", "request-2", "request-3", "request-4", "request-5");
+        awaitQueued(5);
+        blockingBatchReleased.countDown();
+
+        blockingRequest.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        for (Future<?> request : requests) {
+            request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(writtenBatches.stream().mapToInt(List::size).sum(), 6);
+        for (List<String> batch : writtenBatches) {
+            Assert.assertTrue(batch.size() <= 2, "Batch exceeds the maximum batch size: " + batch);
+        }
+    }
+
+    @Test
+    public void testFailedBatchIsWrittenOneRequestAtATime() throws Exception {
+
+        Future<?> blockingRequest = addBehindBlockingBatch();
+        List<Future<?>> requests = addAll("request-1", FAILING_REQUEST_ID, "request-2");
+        awaitQueued(3);
+        blockingBatchReleased.countDown();
+
+        blockingRequest.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        requests.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        requests.get(2).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        try {
+            requests.get(1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Assert.fail("The failing request was reported as written.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof WorkflowEngineServerException);
+        }
+        Assert.assertEquals(writtenBatches.get(1).size(), 3);
+        List<List<String>> singleRequestBatches = writtenBatches.subList(2, writtenBatches.size());
+        Assert.assertEquals(singleRequestBatches.stream().map(batch -> batch.get(0)).collect(Collectors.toSet()),
+                new HashSet<>(Arrays.asList("request-1", FAILING_REQUEST_ID, "request-2")));
+        for (List<String> batch : singleRequestBatches) {
+            Assert.assertEquals(batch.size(), 1);
+        }
+    }
+
+    @Test
+    public void testLoneRequestWaitsForBatchToFill() throws Exception {
+
+        batcher.setMaxBatchSize(2);
+        batcher.setMaxWaitMillis(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS * 2));
+        List<Future<?>> requests = addAll("request-1");
+        awaitQueued(1);
+        requests.addAll(addAll("request-2"));
+
+        for (Future<?> request : requests) {
+            request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(writtenBatches.size(), 1);
+        Assert.assertEquals(new HashSet<>(writtenBatches.get(0)),
+                new HashSet<>(Arrays.asList("request-1", "request-2")));
+    }
+
+    private void write(List<ApprovalTaskPlan> plans) throws WorkflowEngineServerException {
+
+        List<String> workflowRequestIds = plans.stream().map(ApprovalTaskPlan::getWorkflowRequestId)
+                .collect(Collectors.toList());
+        writtenBatches.add(workflowRequestIds);
+        if (workflowRequestIds.contains(BLOCKING_REQUEST_ID)) {
+            blockingBatchStarted.countDown();
+            try {
+                blockingBatchReleased.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (workflowRequestIds.contains(FAILING_REQUEST_ID)) {
+            throw new WorkflowEngineServerException("Error while adding the approval tasks.",
+                    new SQLException("Unique index or primary key violation."));
+        }
+    }
+
+    /**
+     * Add a request whose batch is held until released, so that the requests added meanwhile are queued.
+     */
+    private Future<?> addBehindBlockingBatch() throws InterruptedException {
+
+        Future<?> blockingRequest = addAll(BLOCKING_REQUEST_ID).get(0);
+        Assert.assertTrue(blockingBatchStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return blockingRequest;
+    }
+
+    private List<Future<?>> addAll(String... workflowRequestIds) {
+
+        List<Future<?>> requests = new ArrayList<>();
+        for (String workflowRequestId : workflowRequestIds) {
+            requests.add(executor.submit(() -> {
+                batcher.add(newPlan(workflowRequestId), this::write);
+                return null;
+            }));
+        }
+        return requests;
+    }
+
+    private void awaitQueued(int count) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (batcher.getQueuedRequestCount() < count) {
+            Assert.assertTrue(System.nanoTime() < deadline, "Requests were not queued.");
+            Thread.sleep(5);
+        }
+    }
+
+    private static ApprovalTaskPlan newPlan(String workflowRequestId) {
+
+        return new ApprovalTaskPlan(null, null, workflowRequestId, "workflow-1", 1, true, Collections.emptyList(),
+                null);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.osgi.service.component.ComponentContext;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceComponent;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.mgt.bean.Parameter;
+import org.wso2.carbon.identity.workflow.mgt.dto.WorkflowRequest;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests that the workflow request executors share the approval task service of the component, and that its thread
+ * pools are shut down when the component is deactivated.
+ */
+public class ApprovalTaskServiceLifecycleTest {
+
+    private final List<String> executedRequestIds = new CopyOnWriteArrayList<>();
+    private ExecutorService notificationExecutor;
+    private ExecutorService propertyResolutionExecutor;
+    private ApprovalTaskServiceImpl approvalTaskService;
+
+    @BeforeMethod
+    public void setUp() {
+
+        executedRequestIds.clear();
+        notificationExecutor = Executors.newFixedThreadPool(1);
+        propertyResolutionExecutor = Executors.newFixedThreadPool(1);
+        approvalTaskService = new ApprovalTaskServiceImpl(notificationExecutor, propertyResolutionExecutor) {
+
+            @Override
+            public void addApprovalTasksForWorkflowRequest(WorkflowRequest workflowRequest,
+                                                           List<Parameter> parameterList) {
+
+                executedRequestIds.add(workflowRequest.getUuid());
+            }
+        };
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalTaskService(approvalTaskService);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalTaskService(null);
+        notificationExecutor.shutdownNow();
+        propertyResolutionExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testExecutorsShareTheServiceOfTheComponent() {
+
+        new DefaultApprovalWorkflowRequestExecutor().execute(newWorkflowRequest("request-1"));
+        new DefaultApprovalWorkflowRequestExecutor().execute(newWorkflowRequest("request-2"));
+
+        Assert.assertEquals(executedRequestIds.size(), 2);
+        Assert.assertTrue(executedRequestIds.contains("request-1"));
+        Assert.assertTrue(executedRequestIds.contains("request-2"));
+    }
+
+    @Test
+    public void testDeactivateShutsDownTheThreadPools() throws Exception {
+
+        Method deactivate = WorkflowEngineServiceComponent.class.getDeclaredMethod("deactivate",
+                ComponentContext.class);
+        deactivate.setAccessible(true);
+        deactivate.invoke(new WorkflowEngineServiceComponent(), (Object) null);
+
+        Assert.assertNull(WorkflowEngineServiceDataHolder.getInstance().getApprovalTaskService());
+        Assert.assertTrue(notificationExecutor.isTerminated());
+        Assert.assertTrue(propertyResolutionExecutor.isTerminated());
+
+        // Requests executed after the component is deactivated are not handled by the stopped service.
+        new DefaultApprovalWorkflowRequestExecutor().execute(newWorkflowRequest("request-3"));
+        Assert.assertTrue(executedRequestIds.isEmpty());
+    }
+
+    private static WorkflowRequest newWorkflowRequest(String uuid) {
+
+        WorkflowRequest workflowRequest = new WorkflowRequest();
+        workflowRequest.setUuid(uuid);
+        return workflowRequest;
+    }
+}
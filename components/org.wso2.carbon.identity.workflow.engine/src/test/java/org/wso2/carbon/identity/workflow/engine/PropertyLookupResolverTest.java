@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineException;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Unit tests for {@link PropertyLookupResolver}.
+ */
+public class PropertyLookupResolverTest {
+
+    private static final int TENANT_ID = 3;
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final List<String> tenantFlows = new CopyOnWriteArrayList<>();
+    private ExecutorService executor;
+    private PropertyLookupResolver resolver;
+
+    @BeforeMethod
+    public void setUp() {
+
+        tenantFlows.clear();
+        executor = Executors.newFixedThreadPool(4);
+        resolver = new PropertyLookupResolver(executor) {
+
+            @Override
+            <T> T runInTenantFlow(int tenantId, String tenantDomain, Lookup<T> lookup)
+                    throws WorkflowEngineException {
+
+                tenantFlows.add(tenantId + "@" + tenantDomain);
+                return lookup.lookup();
+            }
+        };
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testResultsKeepLookupOrder() throws Exception {
+
+        List<PropertyLookupResolver.Lookup<String>> lookups = Arrays.asList(
+                () -> sleepAndReturn(300, "role"),
+                () -> sleepAndReturn(0, "users"),
+                () -> sleepAndReturn(100, "claims"));
+
+        Assert.assertEquals(resolver.resolve(lookups, TENANT_ID, TENANT_DOMAIN, TIMEOUT_MILLIS),
+                Arrays.asList("role", "users", "claims"));
+    }
+
+    @Test
+    public void testLookupsRunInTenantOfCaller() throws Exception {
+
+        List<PropertyLookupResolver.Lookup<String>> lookups = Arrays.asList(() -> "role", () -> "users");
+
+        resolver.resolve(lookups, TENANT_ID, TENANT_DOMAIN, TIMEOUT_MILLIS);
+
+        Assert.assertEquals(tenantFlows, Arrays.asList(TENANT_ID + "@" + TENANT_DOMAIN,
+                TENANT_ID + "@" + TENANT_DOMAIN));
+    }
+
+    @Test
+    public void testSingleLookupRunsOnCallingThread() throws Exception {
+
+        Thread caller = Thread.currentThread();
+        List<PropertyLookupResolver.Lookup<Boolean>> lookups =
+                Collections.singletonList(() -> Thread.currentThread() == caller);
+
+        Assert.assertEquals(resolver.resolve(lookups, TENANT_ID, TENANT_DOMAIN, TIMEOUT_MILLIS),
+                Collections.singletonList(true));
+        Assert.assertTrue(tenantFlows.isEmpty());
+    }
+
+    @Test
+    public void testLookupsPastTheDeadlineAreInterrupted() throws Exception {
+
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<PropertyLookupResolver.Lookup<String>> lookups = Arrays.asList(() -> "role", () -> {
+            try {
+                Thread.sleep(TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "users";
+        });
+
+        long start = System.nanoTime();
+        try {
+            resolver.resolve(lookups, TENANT_ID, TENANT_DOMAIN, 100);
+            Assert.fail("The lookups should not complete within the timeout.");
+        } catch (WorkflowEngineServerException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS));
+        Assert.assertTrue(interrupted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailedLookupIsRethrown() throws Exception {
+
+        WorkflowEngineClientException error = new WorkflowEngineClientException("Role not found.", "WFE_10001");
+        List<PropertyLookupResolver.Lookup<String>> lookups = Arrays.asList(() -> "role", () -> {
+            throw error;
+        });
+
+        try {
+            resolver.resolve(lookups, TENANT_ID, TENANT_DOMAIN, TIMEOUT_MILLIS);
+            Assert.fail("The failed lookup should be rethrown.");
+        } catch (WorkflowEngineClientException e) {
+            Assert.assertSame(e, error);
+        }
+    }
+
+    private static String sleepAndReturn(long millis, String value) throws WorkflowEngineException {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WorkflowEngineServerException("Interrupted.", e);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants;
+import org.wso2.carbon.identity.workflow.engine.internal.RoleInfoCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link RoleNameMembershipProbe}.
+ */
+public class RoleNameMembershipProbeTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String USER_ID = "user-1";
+
+    private final Map<String, RoleInfoCache.RoleInfo> roles = new HashMap<>();
+    private final List<String> checkedRoleNames = new ArrayList<>();
+    private RoleNameMembershipProbe probe;
+
+    @BeforeMethod
+    public void setUp() {
+
+        roles.clear();
+        checkedRoleNames.clear();
+        probe = new RoleNameMembershipProbe(TENANT_DOMAIN, (roleId, tenantDomain) -> roles.get(roleId),
+                this::isUserInRole);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        RoleInfoCache.getInstance().setEnabled(false);
+    }
+
+    @Test
+    public void testOrganizationRoleIsProbedByName() throws Exception {
+
+        roles.put("role-1", new RoleInfoCache.RoleInfo("approvers", RoleConstants.ORGANIZATION, null));
+        roles.put("role-2", new RoleInfoCache.RoleInfo("auditors", RoleConstants.ORGANIZATION, null));
+
+        Assert.assertTrue(probe.isAssigned(USER_ID, "role-1"));
+        Assert.assertFalse(probe.isAssigned(USER_ID, "role-2"));
+        Assert.assertEquals(checkedRoleNames, Arrays.asList("approvers", "auditors"));
+    }
+
+    @Test
+    public void testApplicationAndMissingRolesAreNotProbed() throws Exception {
+
+        roles.put("role-1", new RoleInfoCache.RoleInfo("approvers", RoleConstants.APPLICATION, "app-1"));
+
+        Assert.assertFalse(probe.isAssigned(USER_ID, "role-1"));
+        Assert.assertFalse(probe.isAssigned(USER_ID, "role-missing"));
+        Assert.assertTrue(checkedRoleNames.isEmpty());
+    }
+
+    @Test
+    public void testCachedNameOfAnotherRoleIsNotTrusted() throws Exception {
+
+        // Role 1 was cached as "approvers", then renamed on another node, and role 2 took over the name.
+        RoleInfoCache cache = RoleInfoCache.getInstance();
+        cache.setEnabled(true);
+        cache.get("role-1", TENANT_DOMAIN, (roleId, tenantDomain) ->
+                new RoleInfoCache.RoleInfo("approvers", RoleConstants.ORGANIZATION, null));
+        roles.put("role-1", new RoleInfoCache.RoleInfo("former-approvers", RoleConstants.ORGANIZATION, null));
+        roles.put("role-2", new RoleInfoCache.RoleInfo("approvers", RoleConstants.ORGANIZATION, null));
+
+        Assert.assertFalse(probe.isAssigned(USER_ID, "role-1"));
+        Assert.assertEquals(checkedRoleNames, Collections.singletonList("former-approvers"));
+        Assert.assertEquals(cache.get("role-1", TENANT_DOMAIN, (roleId, tenantDomain) -> roles.get(roleId))
+                .getName(), "approvers");
+    }
+
+    private boolean isUserInRole(String userId, String roleName) {
+
+        checkedRoleNames.add(roleName);
+        return USER_ID.equals(userId) && "approvers".equals(roleName);
+    }
+}
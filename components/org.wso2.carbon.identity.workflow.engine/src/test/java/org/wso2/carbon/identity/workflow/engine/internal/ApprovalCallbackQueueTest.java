@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalCallbackDAO;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link ApprovalCallbackQueue}.
+ */
+public class ApprovalCallbackQueueTest {
+
+    private static final int TENANT_ID = 1;
+    private static final String USERNAME = "approver";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final List<ApprovalCallbackDTO> handledCallbacks = new ArrayList<>();
+    private RuntimeException callbackError;
+    private InMemoryCallbackDAO callbackDAO;
+    private ApprovalCallbackQueue callbackQueue;
+
+    @BeforeMethod
+    public void setUp() {
+
+        handledCallbacks.clear();
+        callbackError = null;
+        callbackDAO = new InMemoryCallbackDAO();
+        callbackQueue = new ApprovalCallbackQueue(callbackDAO, callback -> {
+            if (callbackError != null) {
+                throw callbackError;
+            }
+            handledCallbacks.add(callback);
+        });
+        callbackQueue.setMaxAttempts(MAX_ATTEMPTS);
+        callbackQueue.setRetryDelayMillis(RETRY_DELAY_MILLIS);
+    }
+
+    @Test
+    public void testClaimedCallbackIsCompleted() throws Exception {
+
+        callbackDAO.add(callbackQueue.newCallback(TENANT_ID, "request-1", "relation-1", "APPROVED", USERNAME));
+
+        List<ApprovalCallbackDTO> claimed = callbackQueue.claimDueCallbacks(10);
+        Assert.assertEquals(claimed.size(), 1);
+        Assert.assertEquals(claimed.get(0).getAttempts(), 1);
+        // A claimed callback is not due again until its lease expires.
+        Assert.assertTrue(callbackQueue.claimDueCallbacks(10).isEmpty());
+
+        callbackQueue.execute(claimed.get(0));
+
+        Assert.assertEquals(handledCallbacks.size(), 1);
+        Assert.assertEquals(handledCallbacks.get(0).getUsername(), USERNAME);
+        Assert.assertEquals(callbackDAO.statusOf(claimed.get(0)), WorkflowEngineConstants.CallbackStatus.COMPLETED);
+    }
+
+    @Test
+    public void testFailedCallbackIsRetriedUntilMaxAttempts() throws Exception {
+
+        ApprovalCallbackDTO callback = callbackQueue.newCallback(TENANT_ID, "request-1", "relation-1", "REJECTED",
+                USERNAME);
+        callbackDAO.add(callback);
+        callbackError = new IllegalStateException("Callback service unavailable.");
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            List<ApprovalCallbackDTO> claimed = callbackQueue.claimDueCallbacks(10);
+            Assert.assertEquals(claimed.size(), 1);
+            callbackQueue.execute(claimed.get(0));
+            if (attempt < MAX_ATTEMPTS) {
+                Assert.assertEquals(callbackDAO.statusOf(callback), WorkflowEngineConstants.CallbackStatus.PENDING);
+                Assert.assertTrue(callbackDAO.get(callback).getNextAttemptTime().getTime() >
+                        System.currentTimeMillis());
+                // Make the retry due now instead of waiting for the backoff.
+                callbackDAO.get(callback).setNextAttemptTime(new Timestamp(0));
+            }
+        }
+
+        Assert.assertEquals(callbackDAO.statusOf(callback), WorkflowEngineConstants.CallbackStatus.FAILED);
+        Assert.assertEquals(callbackDAO.get(callback).getLastError(), "Callback service unavailable.");
+        Assert.assertEquals(callbackQueue.getFailedCallbackCount(), 1);
+        Assert.assertTrue(callbackQueue.claimDueCallbacks(10).isEmpty());
+
+        Assert.assertEquals(callbackQueue.retryFailedCallbacks(), 1);
+        Assert.assertEquals(callbackQueue.getPendingCallbackCount(), 1);
+    }
+
+    @Test
+    public void testCallbackClaimedByAnotherNodeIsSkipped() throws Exception {
+
+        ApprovalCallbackDTO callback = callbackQueue.newCallback(TENANT_ID, "request-1", "relation-1", "APPROVED",
+                USERNAME);
+        callbackDAO.add(callback);
+        callbackDAO.claimBeforeNextClaim = callback.getCallbackId();
+
+        Assert.assertTrue(callbackQueue.claimDueCallbacks(10).isEmpty());
+    }
+
+    @Test
+    public void testRetryDelayBacksOffExponentially() {
+
+        Assert.assertEquals(callbackQueue.getRetryDelayMillis(1), RETRY_DELAY_MILLIS);
+        Assert.assertEquals(callbackQueue.getRetryDelayMillis(2), 2 * RETRY_DELAY_MILLIS);
+        Assert.assertEquals(callbackQueue.getRetryDelayMillis(4), 8 * RETRY_DELAY_MILLIS);
+        Assert.assertEquals(callbackQueue.getRetryDelayMillis(Integer.MAX_VALUE), TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Test
+    public void testLargeRetryDelayDoesNotOverflow() {
+
+        callbackQueue.setRetryDelayMillis(Long.MAX_VALUE / 4);
+
+        Assert.assertEquals(callbackQueue.getRetryDelayMillis(1), TimeUnit.HOURS.toMillis(1));
+        Assert.assertEquals(callbackQueue.getRetryDelayMillis(3), TimeUnit.HOURS.toMillis(1));
+        Assert.assertEquals(callbackQueue.getRetryDelayMillis(Integer.MAX_VALUE), TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Test
+    public void testDispatchedCallbacksAreExecutedByWorkers() throws Exception {
+
+        CountDownLatch executed = new CountDownLatch(2);
+        callbackDAO.add(callbackQueue.newCallback(TENANT_ID, "request-1", "relation-1", "REJECTED", USERNAME));
+        callbackDAO.add(callbackQueue.newCallback(TENANT_ID, "request-1", "relation-2", "REJECTED", USERNAME));
+        callbackQueue.start(callback -> executed.countDown(), 2, TimeUnit.HOURS.toMillis(1));
+        try {
+            callbackQueue.dispatch();
+            Assert.assertTrue(executed.await(10, TimeUnit.SECONDS));
+        } finally {
+            callbackQueue.stop();
+        }
+    }
+
+    @Test
+    public void testCallbacksOfRequestAreExecutedInOrderByOneWorker() throws Exception {
+
+        CountDownLatch executed = new CountDownLatch(6);
+        Map<String, List<String>> executedRelationships = new ConcurrentHashMap<>();
+        Set<String> executingRequests = ConcurrentHashMap.newKeySet();
+        List<String> overlappingRequests = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 6; i++) {
+            callbackDAO.add(callbackQueue.newCallback(TENANT_ID, "request-" + i % 2, "relation-" + i, "APPROVED",
+                    USERNAME));
+        }
+        callbackQueue.start(callback -> {
+            if (!executingRequests.add(callback.getWorkflowRequestId())) {
+                overlappingRequests.add(callback.getWorkflowRequestId());
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executedRelationships.computeIfAbsent(callback.getWorkflowRequestId(),
+                    requestId -> Collections.synchronizedList(new ArrayList<>())).add(callback.getRelationshipId());
+            executingRequests.remove(callback.getWorkflowRequestId());
+            executed.countDown();
+        }, 4, TimeUnit.HOURS.toMillis(1));
+        try {
+            callbackQueue.dispatch();
+            Assert.assertTrue(executed.await(10, TimeUnit.SECONDS));
+        } finally {
+            callbackQueue.stop();
+        }
+
+        Assert.assertTrue(overlappingRequests.isEmpty(), "Callbacks of a request overlapped: " + overlappingRequests);
+        Assert.assertEquals(executedRelationships.get("request-0"), Arrays.asList("relation-0", "relation-2",
+                "relation-4"));
+        Assert.assertEquals(executedRelationships.get("request-1"), Arrays.asList("relation-1", "relation-3",
+                "relation-5"));
+    }
+
+    @Test
+    public void testCallbackOfRequestInFlightIsDeferred() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherRequestExecuted = new CountDownLatch(1);
+        CountDownLatch deferredExecuted = new CountDownLatch(1);
+        callbackDAO.add(callbackQueue.newCallback(TENANT_ID, "request-1", "relation-1", "APPROVED", USERNAME));
+        callbackQueue.start(callback -> {
+            switch (callback.getRelationshipId()) {
+                case "relation-1":
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break;
+                case "relation-2":
+                    deferredExecuted.countDown();
+                    break;
+                default:
+                    otherRequestExecuted.countDown();
+            }
+        }, 2, TimeUnit.HOURS.toMillis(1));
+        try {
+            callbackQueue.dispatch();
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            callbackDAO.add(callbackQueue.newCallback(TENANT_ID, "request-1", "relation-2", "APPROVED", USERNAME));
+            callbackDAO.add(callbackQueue.newCallback(TENANT_ID, "request-2", "relation-3", "APPROVED", USERNAME));
+            callbackQueue.dispatch();
+            Assert.assertTrue(otherRequestExecuted.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(deferredExecuted.getCount(), 1);
+
+            release.countDown();
+            Assert.assertTrue(deferredExecuted.await(10, TimeUnit.SECONDS));
+        } finally {
+            callbackQueue.stop();
+        }
+    }
+
+    /**
+     * Keeps the callbacks in memory, applying the same conditions as the callback statements.
+     */
+    private static final class InMemoryCallbackDAO implements ApprovalCallbackDAO {
+
+        private final Map<String, ApprovalCallbackDTO> callbacks = new LinkedHashMap<>();
+        private String claimBeforeNextClaim;
+
+        synchronized void add(ApprovalCallbackDTO callback) {
+
+            ApprovalCallbackDTO stored = copy(callback);
+            stored.setNextAttemptTime(new Timestamp(System.currentTimeMillis()));
+            stored.setUpdatedTime(stored.getNextAttemptTime());
+            callbacks.put(callback.getCallbackId(), stored);
+        }
+
+        synchronized ApprovalCallbackDTO get(ApprovalCallbackDTO callback) {
+
+            return callbacks.get(callback.getCallbackId());
+        }
+
+        synchronized WorkflowEngineConstants.CallbackStatus statusOf(ApprovalCallbackDTO callback) {
+
+            return WorkflowEngineConstants.CallbackStatus.valueOf(get(callback).getStatus());
+        }
+
+        @Override
+        public synchronized List<ApprovalCallbackDTO> getDueCallbacks(Timestamp now, Timestamp claimedBefore,
+                                                                      int limit) {
+
+            List<ApprovalCallbackDTO> dueCallbacks = new ArrayList<>();
+            for (ApprovalCallbackDTO callback : callbacks.values()) {
+                boolean due = ("PENDING".equals(callback.getStatus()) &&
+                        !callback.getNextAttemptTime().after(now)) ||
+                        ("IN_PROGRESS".equals(callback.getStatus()) && !callback.getUpdatedTime().after(claimedBefore));
+                if (due && dueCallbacks.size() < limit) {
+                    dueCallbacks.add(copy(callback));
+                }
+            }
+            return dueCallbacks;
+        }
+
+        @Override
+        public synchronized boolean claimCallback(String callbackId, int attempts, Timestamp now) {
+
+            if (callbackId.equals(claimBeforeNextClaim)) {
+                callbacks.get(callbackId).setAttempts(attempts + 1);
+                claimBeforeNextClaim = null;
+            }
+            ApprovalCallbackDTO callback = callbacks.get(callbackId);
+            if (callback.getAttempts() != attempts || !("PENDING".equals(callback.getStatus()) ||
+                    "IN_PROGRESS".equals(callback.getStatus()))) {
+                return false;
+            }
+            callback.setStatus("IN_PROGRESS");
+            callback.setAttempts(attempts + 1);
+            callback.setUpdatedTime(now);
+            return true;
+        }
+
+        @Override
+        public synchronized boolean updateClaimedCallback(String callbackId, int attempts, String status,
+                                                          Timestamp nextAttemptTime, String lastError) {
+
+            ApprovalCallbackDTO callback = callbacks.get(callbackId);
+            if (callback.getAttempts() != attempts || !"IN_PROGRESS".equals(callback.getStatus())) {
+                return false;
+            }
+            callback.setStatus(status);
+            callback.setNextAttemptTime(nextAttemptTime);
+            callback.setLastError(lastError);
+            callback.setUpdatedTime(new Timestamp(System.currentTimeMillis()));
+            return true;
+        }
+
+        @Override
+        public synchronized List<ApprovalCallbackDTO> getCallbacksOfWorkflowRequest(String workflowRequestId) {
+
+            List<ApprovalCallbackDTO> requestCallbacks = new ArrayList<>();
+            for (ApprovalCallbackDTO callback : callbacks.values()) {
+                if (workflowRequestId.equals(callback.getWorkflowRequestId())) {
+                    requestCallbacks.add(copy(callback));
+                }
+            }
+            return requestCallbacks;
+        }
+
+        @Override
+        public synchronized Map<String, Integer> getCallbackCounts() {
+
+            Map<String, Integer> callbackCounts = new HashMap<>();
+            for (ApprovalCallbackDTO callback : callbacks.values()) {
+                callbackCounts.merge(callback.getStatus(), 1, Integer::sum);
+            }
+            return callbackCounts;
+        }
+
+        @Override
+        public synchronized int retryFailedCallbacks() throws WorkflowEngineServerException {
+
+            int retriedCount = 0;
+            for (ApprovalCallbackDTO callback : callbacks.values()) {
+                if ("FAILED".equals(callback.getStatus())) {
+                    callback.setStatus("PENDING");
+                    callback.setAttempts(0);
+                    callback.setNextAttemptTime(new Timestamp(System.currentTimeMillis()));
+                    retriedCount++;
+                }
+            }
+            return retriedCount;
+        }
+
+        private static ApprovalCallbackDTO copy(ApprovalCallbackDTO callback) {
+
+            ApprovalCallbackDTO copy = new ApprovalCallbackDTO();
+            copy.setCallbackId(callback.getCallbackId());
+            copy.setTenantId(callback.getTenantId());
+            copy.setWorkflowRequestId(callback.getWorkflowRequestId());
+            copy.setRelationshipId(callback.getRelationshipId());
+            copy.setDecision(callback.getDecision());
+            copy.setUsername(callback.getUsername());
+            copy.setStatus(callback.getStatus());
+            copy.setAttempts(callback.getAttempts());
+            copy.setNextAttemptTime(callback.getNextAttemptTime());
+            copy.setLastError(callback.getLastError());
+            copy.setUpdatedTime(callback.getUpdatedTime());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskExportDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.PropertyDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Unit tests for {@link ApprovalTaskExportWriter}.
+ */
+public class ApprovalTaskExportWriterTest {
+
+    private Path exportDirectory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        exportDirectory = Files.createTempDirectory("approval-task-export");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        try (Stream<Path> files = Files.list(exportDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(exportDirectory);
+    }
+
+    @Test
+    public void testNdjsonRecordsAreEscaped() throws Exception {
+
+        Path file = exportDirectory.resolve("tasks.ndjson");
+        try (ApprovalTaskExportWriter writer = ApprovalTaskExportWriter.open(file,
+                ApprovalTaskExportWriter.Format.NDJSON, false)) {
+            writer.write(task("task-1", "Say \"hi\"\n\\ back", property("Role Name", "admin")));
+            writer.write(task("task-2", null));
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Assert.assertEquals(lines.size(), 2);
+        Assert.assertEquals(lines.get(0), "{\"taskId\":\"task-1\",\"requestId\":\"request-1\"," +
+                "\"workflowId\":\"workflow-1\",\"approverType\":\"ROLE\",\"approverName\":\"role-1\"," +
+                "\"taskStatus\":\"READY\",\"operationType\":\"ADD_USER\"," +
+                "\"initiator\":\"Say \\\"hi\\\"\\n\\\\ back\",\"createdTimeInMillis\":\"1000\"," +
+                "\"updatedTimeInMillis\":\"2000\",\"properties\":[{\"key\":\"Role Name\",\"value\":\"admin\"}]}");
+        Assert.assertTrue(lines.get(1).contains("\"initiator\":null"));
+        Assert.assertTrue(lines.get(1).endsWith("\"properties\":[]}"));
+    }
+
+    @Test
+    public void testCsvFieldsAreQuoted() throws Exception {
+
+        Path file = exportDirectory.resolve("tasks.csv");
+        try (ApprovalTaskExportWriter writer = ApprovalTaskExportWriter.open(file,
+                ApprovalTaskExportWriter.Format.CSV, false)) {
+            writer.write(task("task-1", "Doe, \"John\"", property("Users", "a,b")));
+        }
+
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Assert.assertEquals(content, "taskId,requestId,workflowId,approverType,approverName,taskStatus," +
+                "operationType,initiator,createdTimeInMillis,updatedTimeInMillis,properties\n" +
+                "task-1,request-1,workflow-1,ROLE,role-1,READY,ADD_USER,\"Doe, \"\"John\"\"\",1000,2000," +
+                "\"[{\"\"key\"\":\"\"Users\"\",\"\"value\"\":\"\"a,b\"\"}]\"\n");
+    }
+
+    @Test
+    public void testCsvFormulasAreWrittenAsText() throws Exception {
+
+        Path file = exportDirectory.resolve("tasks.csv");
+        try (ApprovalTaskExportWriter writer = ApprovalTaskExportWriter.open(file,
+                ApprovalTaskExportWriter.Format.CSV, false)) {
+            writer.write(task("task-1", "=HYPERLINK(\"http://example.com\")"));
+            writer.write(task("task-2", "+1"));
+            writer.write(task("task-3", "-1"));
+            writer.write(task("task-4", "@SUM(A1)"));
+            writer.write(task("task-5", "\tadmin"));
+            writer.write(task("task-6", "\radmin"));
+            writer.write(task("task-7", "admin=1"));
+        }
+
+        String[] lines = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).split("\n");
+        List<String> initiators = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            initiators.add(lines[i].split(",")[7]);
+        }
+        Assert.assertEquals(initiators, Arrays.asList("\"'=HYPERLINK(\"\"http://example.com\"\")\"", "'+1",
+                "'-1", "'@SUM(A1)", "'\tadmin", "\"'\radmin\"", "admin=1"));
+    }
+
+    @Test
+    public void testGzipExportSpanningSeveralBuffers() throws Exception {
+
+        Path file = exportDirectory.resolve("tasks.ndjson.gz");
+        int taskCount = 2000;
+        try (ApprovalTaskExportWriter writer = ApprovalTaskExportWriter.open(file,
+                ApprovalTaskExportWriter.Format.NDJSON, true)) {
+            for (int i = 0; i < taskCount; i++) {
+                writer.write(task("task-" + i, "initiator-" + i, property("Description", "description-" + i)));
+            }
+        }
+
+        String content;
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(file))) {
+            content = readFully(inputStream);
+        }
+        String[] lines = content.split("\n");
+        Assert.assertEquals(lines.length, taskCount);
+        Assert.assertTrue(lines[0].startsWith("{\"taskId\":\"task-0\","));
+        Assert.assertTrue(lines[taskCount - 1].startsWith("{\"taskId\":\"task-" + (taskCount - 1) + "\","));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testExistingFileIsNotOverwritten() throws Exception {
+
+        Path file = Files.createFile(exportDirectory.resolve("tasks.csv"));
+        ApprovalTaskExportWriter.open(file, ApprovalTaskExportWriter.Format.CSV, false).close();
+    }
+
+    private static ApprovalTaskExportDTO task(String taskId, String initiator, PropertyDTO... properties) {
+
+        ApprovalTaskExportDTO task = new ApprovalTaskExportDTO();
+        task.setTaskId(taskId);
+        task.setRequestId("request-1");
+        task.setWorkflowId("workflow-1");
+        task.setApproverType("ROLE");
+        task.setApproverName("role-1");
+        task.setTaskStatus("READY");
+        task.setOperationType("ADD_USER");
+        task.setInitiator(initiator);
+        task.setCreatedTimeInMillis("1000");
+        task.setUpdatedTimeInMillis("2000");
+        List<PropertyDTO> propertyList = new ArrayList<>();
+        Collections.addAll(propertyList, properties);
+        task.setProperties(propertyList);
+        return task;
+    }
+
+    private static PropertyDTO property(String key, String value) {
+
+        PropertyDTO property = new PropertyDTO();
+        property.setKey(key);
+        property.setValue(value);
+        return property;
+    }
+
+    private static String readFully(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link PendingApprovalTaskCounters}.
+ */
+public class PendingApprovalTaskCountersTest {
+
+    private static final int TENANT_ID = 1;
+
+    private final Map<String, Integer> databaseCounts = new HashMap<>();
+    private int loadCount;
+    private PendingApprovalTaskCounters counters;
+
+    @BeforeMethod
+    public void setUp() {
+
+        databaseCounts.clear();
+        databaseCounts.put("user-1", 2);
+        databaseCounts.put("role-1", 3);
+        databaseCounts.put("role-2", 5);
+        loadCount = 0;
+        counters = new PendingApprovalTaskCounters(tenantId -> {
+            loadCount++;
+            return new HashMap<>(databaseCounts);
+        });
+        counters.setEnabled(true);
+    }
+
+    @Test
+    public void testCountsAreLoadedOnceAndSummedAcrossEntities() throws Exception {
+
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Arrays.asList("user-1", "role-1")), 5);
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Arrays.asList("user-1", "role-2", "role-3")), 7);
+        Assert.assertEquals(loadCount, 1);
+    }
+
+    @Test
+    public void testRecordedUpdateAdjustsCounters() throws Exception {
+
+        counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1"));
+        try (PendingApprovalTaskCounters.Update update = counters.beginUpdate(TENANT_ID)) {
+            Assert.assertTrue(update.isTracked());
+            update.record(counts("user-1", 1, "role-1", 1), counts("user-1", 0, "user-2", 1));
+        }
+
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1")), 1);
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("role-1")), 2);
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-2")), 1);
+        Assert.assertEquals(loadCount, 1);
+    }
+
+    @Test
+    public void testUnrecordedUpdateInvalidatesTenant() throws Exception {
+
+        counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1"));
+        try (PendingApprovalTaskCounters.Update ignored = counters.beginUpdate(TENANT_ID)) {
+            databaseCounts.put("user-1", 4);
+        }
+
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1")), 4);
+        Assert.assertEquals(loadCount, 2);
+    }
+
+    @Test
+    public void testLoadDuringUpdateIsNotCached() throws Exception {
+
+        try (PendingApprovalTaskCounters.Update update = counters.beginUpdate(TENANT_ID)) {
+            Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1")), 2);
+            databaseCounts.put("user-1", 3);
+            update.record(counts("user-1", 2), counts("user-1", 3));
+        }
+
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1")), 3);
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1")), 3);
+        Assert.assertEquals(loadCount, 2);
+    }
+
+    @Test
+    public void testOverlappingUpdatesOfRequestInvalidateTenant() throws Exception {
+
+        counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1"));
+        try (PendingApprovalTaskCounters.Update first = counters.beginUpdate(TENANT_ID, "request-1");
+             PendingApprovalTaskCounters.Update second = counters.beginUpdate(TENANT_ID, "request-1");
+             PendingApprovalTaskCounters.Update other = counters.beginUpdate(TENANT_ID, "request-2")) {
+            databaseCounts.put("user-1", 0);
+            // Both snapshots of the second update already include the change of the first one.
+            first.record(counts("user-1", 2), counts("user-1", 0));
+            second.record(counts("user-1", 0), counts("user-1", 0));
+            other.record(counts("role-1", 3), counts("role-1", 3));
+        }
+
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("user-1")), 0);
+        Assert.assertEquals(loadCount, 2);
+
+        // The request is no longer marked as overlapped once its updates are closed.
+        try (PendingApprovalTaskCounters.Update update = counters.beginUpdate(TENANT_ID, "request-1")) {
+            update.record(counts("role-1", 0), counts("role-1", 1));
+        }
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("role-1")), 4);
+        Assert.assertEquals(loadCount, 2);
+    }
+
+    @Test
+    public void testConcurrentUpdatesKeepCountersExact() throws Exception {
+
+        int requestCount = 3;
+        int taskCount = 4;
+        boolean[][] pendingTasks = new boolean[requestCount][taskCount];
+        for (boolean[] tasks : pendingTasks) {
+            Arrays.fill(tasks, true);
+        }
+        PendingApprovalTaskCounters concurrentCounters = new PendingApprovalTaskCounters(tenantId -> {
+            synchronized (pendingTasks) {
+                Map<String, Integer> tenantCounts = new HashMap<>();
+                for (int request = 0; request < requestCount; request++) {
+                    pendingTaskCounts(pendingTasks, request, tenantCounts);
+                }
+                return tenantCounts;
+            }
+        });
+        concurrentCounters.setEnabled(true);
+        concurrentCounters.getPendingTaskCount(TENANT_ID, Collections.singletonList("role-0"));
+
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threadCount; thread++) {
+            int seed = thread;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < 2000; i++) {
+                    int request = random.nextInt(requestCount);
+                    int task = random.nextInt(taskCount);
+                    try (PendingApprovalTaskCounters.Update update = concurrentCounters.beginUpdate(TENANT_ID,
+                            "request-" + request)) {
+                        Map<String, Integer> before;
+                        synchronized (pendingTasks) {
+                            before = pendingTaskCounts(pendingTasks, request, new HashMap<>());
+                        }
+                        Thread.yield();
+                        synchronized (pendingTasks) {
+                            pendingTasks[request][task] = !pendingTasks[request][task];
+                        }
+                        Thread.yield();
+                        Map<String, Integer> after;
+                        synchronized (pendingTasks) {
+                            after = pendingTaskCounts(pendingTasks, request, new HashMap<>());
+                        }
+                        update.record(before, after);
+                    }
+                    if (i % 50 == 0) {
+                        concurrentCounters.getPendingTaskCount(TENANT_ID, Collections.singletonList("role-0"));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Integer> expected = new HashMap<>();
+        for (int request = 0; request < requestCount; request++) {
+            pendingTaskCounts(pendingTasks, request, expected);
+        }
+        for (int task = 0; task < taskCount; task++) {
+            String entityId = "role-" + task;
+            Assert.assertEquals(concurrentCounters.getPendingTaskCount(TENANT_ID, Collections.singletonList(entityId)),
+                    (int) expected.getOrDefault(entityId, 0), entityId);
+        }
+    }
+
+    @Test
+    public void testReconcileReloadsCachedTenants() throws Exception {
+
+        counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("role-2"));
+        databaseCounts.put("role-2", 1);
+        counters.reconcile();
+
+        Assert.assertEquals(counters.getPendingTaskCount(TENANT_ID, Collections.singletonList("role-2")), 1);
+        Assert.assertEquals(loadCount, 2);
+    }
+
+    @Test
+    public void testUpdatesAreNotTrackedWhenDisabled() {
+
+        counters.setEnabled(false);
+        try (PendingApprovalTaskCounters.Update update = counters.beginUpdate(TENANT_ID)) {
+            Assert.assertFalse(update.isTracked());
+        }
+    }
+
+    /**
+     * Add the pending tasks of a request to the given counts. Task i of each request is assigned to role i.
+     */
+    private static Map<String, Integer> pendingTaskCounts(boolean[][] pendingTasks, int request,
+                                                          Map<String, Integer> counts) {
+
+        for (int task = 0; task < pendingTasks[request].length; task++) {
+            if (pendingTasks[request][task]) {
+                counts.merge("role-" + task, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static Map<String, Integer> counts(Object... entityCounts) {
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < entityCounts.length; i += 2) {
+            counts.put((String) entityCounts[i], (Integer) entityCounts[i + 1]);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link RoleInfoCache}.
+ */
+public class RoleInfoCacheTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String OTHER_TENANT_DOMAIN = "wso2.com";
+
+    private final Map<String, Integer> loadCounts = new HashMap<>();
+    private RoleInfoCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        loadCounts.clear();
+        cache = new RoleInfoCache();
+        cache.setEnabled(true);
+    }
+
+    @Test
+    public void testRoleIsLoadedOnce() throws Exception {
+
+        RoleInfoCache.RoleInfo roleInfo = cache.get("role-1", TENANT_DOMAIN, this::load);
+
+        Assert.assertSame(cache.get("role-1", TENANT_DOMAIN, this::load), roleInfo);
+        Assert.assertEquals(roleInfo.getName(), "name-role-1");
+        Assert.assertEquals(loadCount("role-1", TENANT_DOMAIN), 1);
+    }
+
+    @Test
+    public void testRolesAreCachedPerTenant() throws Exception {
+
+        cache.get("role-1", TENANT_DOMAIN, this::load);
+        cache.get("role-1", OTHER_TENANT_DOMAIN, this::load);
+
+        Assert.assertEquals(loadCount("role-1", TENANT_DOMAIN), 1);
+        Assert.assertEquals(loadCount("role-1", OTHER_TENANT_DOMAIN), 1);
+    }
+
+    @Test
+    public void testMissingRoleIsCached() throws Exception {
+
+        Assert.assertNull(cache.get("deleted", TENANT_DOMAIN, this::load));
+        Assert.assertNull(cache.get("deleted", TENANT_DOMAIN, this::load));
+
+        Assert.assertEquals(loadCount("deleted", TENANT_DOMAIN), 1);
+    }
+
+    @Test
+    public void testInvalidatedRoleIsLoadedAgain() throws Exception {
+
+        cache.get("role-1", TENANT_DOMAIN, this::load);
+        cache.get("role-1", OTHER_TENANT_DOMAIN, this::load);
+        cache.invalidate("role-1", TENANT_DOMAIN);
+        cache.get("role-1", TENANT_DOMAIN, this::load);
+        cache.get("role-1", OTHER_TENANT_DOMAIN, this::load);
+
+        Assert.assertEquals(loadCount("role-1", TENANT_DOMAIN), 2);
+        Assert.assertEquals(loadCount("role-1", OTHER_TENANT_DOMAIN), 1);
+
+        cache.invalidate("role-1", null);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testExpiredRoleIsLoadedAgain() throws Exception {
+
+        cache.setTimeToLiveSeconds(0);
+        cache.get("role-1", TENANT_DOMAIN, this::load);
+        cache.get("role-1", TENANT_DOMAIN, this::load);
+
+        Assert.assertEquals(loadCount("role-1", TENANT_DOMAIN), 2);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRoleIsEvictedWhenFull() throws Exception {
+
+        cache.setMaxEntries(2);
+        cache.get("role-1", TENANT_DOMAIN, this::load);
+        cache.get("role-2", TENANT_DOMAIN, this::load);
+        cache.get("role-1", TENANT_DOMAIN, this::load);
+        cache.get("role-3", TENANT_DOMAIN, this::load);
+
+        Assert.assertEquals(cache.size(), 2);
+        cache.get("role-1", TENANT_DOMAIN, this::load);
+        cache.get("role-2", TENANT_DOMAIN, this::load);
+        Assert.assertEquals(loadCount("role-1", TENANT_DOMAIN), 1);
+        Assert.assertEquals(loadCount("role-2", TENANT_DOMAIN), 2);
+    }
+
+    private int loadCount(String roleId, String tenantDomain) {
+
+        return loadCounts.getOrDefault(tenantDomain + "/" + roleId, 0);
+    }
+
+    private RoleInfoCache.RoleInfo load(String roleId, String tenantDomain) {
+
+        loadCounts.merge(tenantDomain + "/" + roleId, 1, Integer::sum);
+        if ("deleted".equals(roleId)) {
+            return null;
+        }
+        return new RoleInfoCache.RoleInfo("name-" + roleId, "organization", tenantDomain);
+    }
+}
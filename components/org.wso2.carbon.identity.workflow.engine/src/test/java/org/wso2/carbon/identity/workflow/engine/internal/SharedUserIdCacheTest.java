@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link SharedUserIdCache}.
+ */
+public class SharedUserIdCacheTest {
+
+    private final Map<String, Integer> loadCounts = new HashMap<>();
+    private SharedUserIdCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        loadCounts.clear();
+        cache = new SharedUserIdCache();
+        cache.setEnabled(true);
+    }
+
+    @Test
+    public void testSharedUserIdIsLoadedOnceAcrossRequests() throws Exception {
+
+        Assert.assertEquals(cache.get("user-1", "org-1", new HashMap<>(), this::load), "shared-user-1-org-1");
+        Assert.assertEquals(cache.get("user-1", "org-1", new HashMap<>(), this::load), "shared-user-1-org-1");
+        Assert.assertEquals(cache.get("user-1", "org-2", new HashMap<>(), this::load), "shared-user-1-org-2");
+
+        Assert.assertEquals(loadCount("user-1", "org-1"), 1);
+        Assert.assertEquals(loadCount("user-1", "org-2"), 1);
+    }
+
+    @Test
+    public void testRequestPropertiesServeRepeatedResolution() throws Exception {
+
+        Map<String, Object> requestProperties = new HashMap<>();
+        cache.get("user-1", "org-1", requestProperties, this::load);
+        cache.setMaxEntries(1);
+        cache.get("user-2", "org-1", new HashMap<>(), this::load);
+
+        // The shared cache no longer holds user-1, but the request still remembers its resolution.
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertEquals(cache.get("user-1", "org-1", requestProperties, this::load), "shared-user-1-org-1");
+        Assert.assertEquals(loadCount("user-1", "org-1"), 1);
+    }
+
+    @Test
+    public void testUserWithoutSharedUserIsNotCached() throws Exception {
+
+        Assert.assertNull(cache.get("unshared", "org-1", new HashMap<>(), this::load));
+        Assert.assertNull(cache.get("unshared", "org-1", new HashMap<>(), this::load));
+
+        Assert.assertEquals(loadCount("unshared", "org-1"), 2);
+    }
+
+    @Test
+    public void testInvalidationAlsoAppliesToRequestProperties() throws Exception {
+
+        Map<String, Object> requestProperties = new HashMap<>();
+        cache.get("user-1", "org-1", requestProperties, this::load);
+        cache.invalidateAll();
+        cache.get("user-1", "org-1", requestProperties, this::load);
+
+        Assert.assertEquals(loadCount("user-1", "org-1"), 2);
+    }
+
+    @Test
+    public void testExpiredSharedUserIdIsLoadedAgain() throws Exception {
+
+        cache.setTimeToLiveSeconds(0);
+        Map<String, Object> requestProperties = new HashMap<>();
+        cache.get("user-1", "org-1", requestProperties, this::load);
+        cache.get("user-1", "org-1", requestProperties, this::load);
+
+        Assert.assertEquals(loadCount("user-1", "org-1"), 2);
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysLoads() throws Exception {
+
+        cache.setEnabled(false);
+        cache.get("user-1", "org-1", new HashMap<>(), this::load);
+        cache.get("user-1", "org-1", null, this::load);
+
+        Assert.assertEquals(loadCount("user-1", "org-1"), 2);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    private int loadCount(String userId, String orgId) {
+
+        return loadCounts.getOrDefault(userId + "/" + orgId, 0);
+    }
+
+    private String load(String userId, String orgId) {
+
+        loadCounts.merge(userId + "/" + orgId, 1, Integer::sum);
+        return "unshared".equals(userId) ? null : "shared-" + userId + "-" + orgId;
+    }
+}
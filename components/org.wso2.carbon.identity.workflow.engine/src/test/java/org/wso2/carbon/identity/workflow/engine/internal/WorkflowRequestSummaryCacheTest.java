@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.WorkflowRequestSummaryDTO;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link WorkflowRequestSummaryCache}.
+ */
+public class WorkflowRequestSummaryCacheTest {
+
+    private final Map<String, Integer> loadCounts = new HashMap<>();
+    private WorkflowRequestSummaryCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        loadCounts.clear();
+        cache = new WorkflowRequestSummaryCache();
+        cache.setEnabled(true);
+    }
+
+    @Test
+    public void testSummaryIsLoadedOnce() throws Exception {
+
+        WorkflowRequestSummaryDTO summary = cache.get("request-1", this::load);
+
+        Assert.assertSame(cache.get("request-1", this::load), summary);
+        Assert.assertEquals(summary.getEventType(), "ADD_USER");
+        Assert.assertEquals((int) loadCounts.get("request-1"), 1);
+    }
+
+    @Test
+    public void testEvictedSummaryIsLoadedAgain() throws Exception {
+
+        cache.get("request-1", this::load);
+        cache.evict("request-1");
+        cache.get("request-1", this::load);
+
+        Assert.assertEquals((int) loadCounts.get("request-1"), 2);
+    }
+
+    @Test
+    public void testMissingRequestIsNotCached() throws Exception {
+
+        Assert.assertNull(cache.get("missing", this::load));
+        Assert.assertNull(cache.get("missing", this::load));
+
+        Assert.assertEquals((int) loadCounts.get("missing"), 2);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSummaryIsEvictedWhenFull() throws Exception {
+
+        cache.setMaxEntries(2);
+        cache.get("request-1", this::load);
+        cache.get("request-2", this::load);
+        cache.get("request-1", this::load);
+        cache.get("request-3", this::load);
+
+        Assert.assertEquals(cache.size(), 2);
+        cache.get("request-1", this::load);
+        cache.get("request-2", this::load);
+        Assert.assertEquals((int) loadCounts.get("request-1"), 1);
+        Assert.assertEquals((int) loadCounts.get("request-2"), 2);
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysLoads() throws Exception {
+
+        cache.get("request-1", this::load);
+        cache.setEnabled(false);
+        cache.get("request-1", this::load);
+        cache.get("request-1", this::load);
+
+        Assert.assertEquals((int) loadCounts.get("request-1"), 3);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    private WorkflowRequestSummaryDTO load(String requestId) {
+
+        loadCounts.merge(requestId, 1, Integer::sum);
+        if ("missing".equals(requestId)) {
+            return null;
+        }
+        return new WorkflowRequestSummaryDTO(requestId, "ADD_USER", 1, Collections.emptyList(),
+                new Timestamp(System.currentTimeMillis()));
+    }
+}
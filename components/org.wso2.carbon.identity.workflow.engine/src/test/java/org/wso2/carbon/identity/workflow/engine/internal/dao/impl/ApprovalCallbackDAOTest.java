@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.h2.tools.RunScript;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalCallbackDTO;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests of the workflow completion callback statements. A callback is claimed and updated only for the attempt it
+ * was read with, so that two nodes never both record an outcome for the same attempt.
+ */
+public class ApprovalCallbackDAOTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:approval_callback_test;DB_CLOSE_DELAY=-1";
+    private static final String SCHEMA_SCRIPT = "dbscripts/h2.sql";
+    private static final String INDEX_SCRIPT = "dbscripts/workflow-engine/h2.sql";
+    private static final int TENANT_ID = 1;
+    private static final String USERNAME = "approver";
+    private static final long LEASE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private Connection connection;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        connection = DriverManager.getConnection(DB_URL, "sa", "");
+        runScript(SCHEMA_SCRIPT);
+        runScript(INDEX_SCRIPT);
+        addCallback("callback-1", "relation-1", -TimeUnit.SECONDS.toMillis(3));
+        addCallback("callback-2", "relation-2", -TimeUnit.SECONDS.toMillis(2));
+        // Not due until a minute later.
+        addCallback("callback-3", "relation-3", TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void testOnlyDueCallbacksAreReturned() throws Exception {
+
+        Assert.assertEquals(callbackIds(getDueCallbacks(10)), Arrays.asList("callback-1", "callback-2"));
+        Assert.assertEquals(callbackIds(getDueCallbacks(1)), Arrays.asList("callback-1"));
+    }
+
+    @Test
+    public void testCallbackIsClaimedOncePerAttempt() throws Exception {
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Assert.assertTrue(ApprovalCallbackDAOImpl.claimCallback(connection, "callback-1", 0, now));
+        Assert.assertFalse(ApprovalCallbackDAOImpl.claimCallback(connection, "callback-1", 0, now));
+
+        Assert.assertEquals(callbackIds(getDueCallbacks(10)), Arrays.asList("callback-2"));
+        ApprovalCallbackDTO callback = ApprovalCallbackDAOImpl.getCallbacksOfWorkflowRequest(connection,
+                "request-1").get(0);
+        Assert.assertEquals(callback.getStatus(), WorkflowEngineConstants.CallbackStatus.IN_PROGRESS.name());
+        Assert.assertEquals(callback.getAttempts(), 1);
+        Assert.assertEquals(callback.getUsername(), USERNAME);
+    }
+
+    @Test
+    public void testExpiredClaimIsDueAgain() throws Exception {
+
+        Timestamp expiredClaimTime = new Timestamp(System.currentTimeMillis() - 2 * LEASE_TIMEOUT_MILLIS);
+        Assert.assertTrue(ApprovalCallbackDAOImpl.claimCallback(connection, "callback-1", 0, expiredClaimTime));
+
+        List<ApprovalCallbackDTO> dueCallbacks = getDueCallbacks(10);
+        Assert.assertEquals(callbackIds(dueCallbacks), Arrays.asList("callback-1", "callback-2"));
+        Assert.assertTrue(ApprovalCallbackDAOImpl.claimCallback(connection, "callback-1",
+                dueCallbacks.get(0).getAttempts(), new Timestamp(System.currentTimeMillis())));
+        // The outcome of the expired claim is no longer recorded.
+        Assert.assertFalse(ApprovalCallbackDAOImpl.updateClaimedCallback(connection, "callback-1", 1,
+                WorkflowEngineConstants.CallbackStatus.COMPLETED.name(), null, null,
+                new Timestamp(System.currentTimeMillis())));
+        Assert.assertTrue(ApprovalCallbackDAOImpl.updateClaimedCallback(connection, "callback-1", 2,
+                WorkflowEngineConstants.CallbackStatus.COMPLETED.name(), null, null,
+                new Timestamp(System.currentTimeMillis())));
+    }
+
+    @Test
+    public void testFailedCallbacksAreCountedAndRetried() throws Exception {
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Assert.assertTrue(ApprovalCallbackDAOImpl.claimCallback(connection, "callback-1", 0, now));
+        Assert.assertTrue(ApprovalCallbackDAOImpl.updateClaimedCallback(connection, "callback-1", 1,
+                WorkflowEngineConstants.CallbackStatus.FAILED.name(), null, "Callback service unavailable.", now));
+
+        Assert.assertEquals(ApprovalCallbackDAOImpl.getCallbackCounts(connection).get(
+                WorkflowEngineConstants.CallbackStatus.FAILED.name()), Integer.valueOf(1));
+        Assert.assertEquals(ApprovalCallbackDAOImpl.getCallbackCounts(connection).get(
+                WorkflowEngineConstants.CallbackStatus.PENDING.name()), Integer.valueOf(2));
+        Assert.assertEquals(callbackIds(getDueCallbacks(10)), Arrays.asList("callback-2"));
+
+        Assert.assertEquals(ApprovalCallbackDAOImpl.retryFailedCallbacks(connection,
+                new Timestamp(System.currentTimeMillis())), 1);
+        List<ApprovalCallbackDTO> dueCallbacks = getDueCallbacks(10);
+        Assert.assertEquals(callbackIds(dueCallbacks), Arrays.asList("callback-2", "callback-1"));
+        Assert.assertEquals(dueCallbacks.get(1).getAttempts(), 0);
+        Assert.assertEquals(dueCallbacks.get(1).getLastError(), "Callback service unavailable.");
+    }
+
+    private List<ApprovalCallbackDTO> getDueCallbacks(int limit) throws Exception {
+
+        long now = System.currentTimeMillis();
+        return ApprovalCallbackDAOImpl.getDueCallbacks(connection, new Timestamp(now),
+                new Timestamp(now - LEASE_TIMEOUT_MILLIS), limit);
+    }
+
+    private static List<String> callbackIds(List<ApprovalCallbackDTO> callbacks) {
+
+        List<String> callbackIds = new ArrayList<>();
+        for (ApprovalCallbackDTO callback : callbacks) {
+            callbackIds.add(callback.getCallbackId());
+        }
+        return callbackIds;
+    }
+
+    private void addCallback(String callbackId, String relationshipId, long dueInMillis) throws SQLException {
+
+        Timestamp nextAttemptTime = new Timestamp(System.currentTimeMillis() + dueInMillis);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_CALLBACK)) {
+            preparedStatement.setString(1, callbackId);
+            preparedStatement.setInt(2, TENANT_ID);
+            preparedStatement.setString(3, "request-1");
+            preparedStatement.setString(4, relationshipId);
+            preparedStatement.setString(5, "APPROVED");
+            preparedStatement.setString(6, USERNAME);
+            preparedStatement.setTimestamp(7, nextAttemptTime);
+            preparedStatement.setTimestamp(8, nextAttemptTime);
+            preparedStatement.setTimestamp(9, nextAttemptTime);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    private void runScript(String script) throws Exception {
+
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(script)) {
+            Assert.assertNotNull(inputStream, "Script not found: " + script);
+            try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                RunScript.execute(connection, reader);
+            }
+        }
+    }
+}
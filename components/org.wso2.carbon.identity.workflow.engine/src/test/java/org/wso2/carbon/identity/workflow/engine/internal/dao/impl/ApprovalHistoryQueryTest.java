@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests of the approval tasks listed and counted when the completed tasks are moved to the approval history, which
+ * must be the same as those listed and counted while the completed tasks are kept with the approval task relations.
+ */
+public class ApprovalHistoryQueryTest {
+
+    private ApprovalTaskTestDatabase database;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        database = ApprovalTaskTestDatabase.create("approval_history_query_test");
+        database.seedApprovalTasks();
+        database.execute(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_STATUS, "REJECTED", "task-2-0");
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        database.close();
+    }
+
+    @Test
+    public void testHistoryListingMatchesApprovalTaskListing() throws Exception {
+
+        Object[][] filters = ApprovalTaskTestDatabase.filters();
+        List<List<String>> expectedTaskIds = new ArrayList<>();
+        List<Integer> expectedCounts = new ArrayList<>();
+        for (Object[] filter : filters) {
+            expectedTaskIds.add(database.listTaskIds((ApprovalTaskFilterDTO) filter[1]));
+            expectedCounts.add(database.countApprovalTasks((ApprovalTaskFilterDTO) filter[1]));
+        }
+
+        // Move the completed tasks the way their completion does when the approval history is enabled.
+        for (String taskId : Arrays.asList("task-1-0", "task-2-0")) {
+            database.execute(WorkflowEngineConstants.SqlQueries.MOVE_APPROVAL_TASK_TO_HISTORY,
+                    new Timestamp(System.currentTimeMillis()), taskId);
+            database.execute(WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_TASK, taskId);
+        }
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalHistoryEnabled(true);
+
+        for (int i = 0; i < filters.length; i++) {
+            String description = (String) filters[i][0];
+            ApprovalTaskFilterDTO filter = (ApprovalTaskFilterDTO) filters[i][1];
+            Assert.assertEquals(database.listTaskIds(filter), expectedTaskIds.get(i), description);
+            Assert.assertEquals(database.countApprovalTasks(filter), (int) expectedCounts.get(i), description);
+        }
+    }
+
+    @Test
+    public void testPendingStatusFilterIsServedFromApprovalTasks() throws Exception {
+
+        ApprovalTaskFilterDTO filter = ApprovalTaskTestDatabase.buildFilter(Arrays.asList("READY", "BLOCKED"),
+                null, null);
+        List<String> expected = database.listTaskIds(filter);
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalHistoryEnabled(true);
+
+        Assert.assertTrue(ApprovalTaskDAOImpl.isPendingStatusFilter(filter));
+        Assert.assertFalse(expected.isEmpty());
+        // A copy of a pending task in the history would be listed twice if the history were read.
+        database.execute(WorkflowEngineConstants.SqlQueries.MOVE_APPROVAL_TASK_TO_HISTORY,
+                new Timestamp(System.currentTimeMillis()), "task-0-0");
+        Assert.assertEquals(database.listTaskIds(filter), expected);
+    }
+}
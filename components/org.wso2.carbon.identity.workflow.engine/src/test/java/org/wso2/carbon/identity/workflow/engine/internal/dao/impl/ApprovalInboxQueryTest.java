@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consistency tests of the approval inbox read model. The inbox statements are applied next to the approval task
+ * relation statements they mirror, and approval tasks listed and counted from the inbox must be the same as those
+ * listed and counted from the approval task relations.
+ */
+public class ApprovalInboxQueryTest {
+
+    private ApprovalTaskTestDatabase database;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        database = ApprovalTaskTestDatabase.create("approval_inbox_query_test");
+        database.seedApprovalTasks();
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        database.close();
+    }
+
+    @Test
+    public void testRebuildIsScopedToTenant() throws SQLException {
+
+        Assert.assertEquals(database.count(WorkflowEngineConstants.SqlQueries.COUNT_APPROVAL_INBOX_ENTRIES_OF_TENANT,
+                ApprovalTaskTestDatabase.TENANT_ID), 12);
+        Assert.assertEquals(database.count(WorkflowEngineConstants.SqlQueries.COUNT_APPROVAL_INBOX_ENTRIES_OF_TENANT,
+                ApprovalTaskTestDatabase.OTHER_TENANT_ID), 0);
+    }
+
+    @DataProvider(name = "filters")
+    public Object[][] filters() throws WorkflowEngineClientException {
+
+        return ApprovalTaskTestDatabase.filters();
+    }
+
+    @Test(dataProvider = "filters")
+    public void testInboxListingMatchesApprovalTaskListing(String description, ApprovalTaskFilterDTO filter)
+            throws Exception {
+
+        List<String> expected = database.listTaskIds(filter);
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalInboxEnabled(true);
+
+        Assert.assertFalse(expected.isEmpty(), "No approval tasks matched: " + description);
+        Assert.assertEquals(database.listTaskIds(filter), expected, description);
+    }
+
+    @Test(dataProvider = "filters")
+    public void testInboxCountMatchesApprovalTaskCount(String description, ApprovalTaskFilterDTO filter)
+            throws Exception {
+
+        int expected = database.countApprovalTasks(filter);
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalInboxEnabled(true);
+
+        Assert.assertEquals(database.countApprovalTasks(filter), expected, description);
+    }
+
+    @Test
+    public void testInboxServesTheFiltersItSupports() throws Exception {
+
+        ApprovalTaskFilterDTO filter = ApprovalTaskTestDatabase.buildFilter(null, null, null);
+        // The initiator is not copied to the inbox, so a filter on it is served from the approval task relations.
+        ApprovalTaskFilterDTO initiatorFilter = ApprovalTaskTestDatabase.buildExpressionFilter(null,
+                "initiator eq alice");
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalInboxEnabled(true);
+        database.execute("DELETE FROM WF_WORKFLOW_APPROVAL_RELATION WHERE EVENT_ID = ?", "request-0");
+
+        Assert.assertEquals(database.listTaskIds(filter), Arrays.asList("task-0-0", "task-0-1", "task-1-0",
+                "task-1-1", "task-2-0", "task-2-1", "task-3-0", "task-3-1"));
+        Assert.assertEquals(database.listTaskIds(initiatorFilter), Arrays.asList("task-2-0", "task-2-1"));
+        database.execute("DELETE FROM WF_WORKFLOW_APPROVAL_RELATION WHERE EVENT_ID = ?", "request-2");
+        Assert.assertTrue(database.listTaskIds(initiatorFilter).isEmpty());
+    }
+
+    @Test
+    public void testInboxFollowsApprovalTaskUpdates() throws SQLException {
+
+        database.execute(WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_LIST_RELATED_TO_USER, "task-new",
+                "request-0", "workflow-1", "users", "user-1", "READY");
+        database.execute(WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_INBOX_ENTRY, "task-new", "users", "user-1");
+        assertInboxMatchesRelations();
+
+        applyToBoth(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_STATUS,
+                WorkflowEngineConstants.SqlQueries.UPDATE_APPROVAL_INBOX_TASK_STATUS, "RESERVED", "task-new");
+        applyToBoth(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_ENTITY_DETAILS,
+                WorkflowEngineConstants.SqlQueries.UPDATE_APPROVAL_INBOX_ENTITY_DETAILS, "users", "user-2",
+                "task-new");
+        assertInboxMatchesRelations();
+
+        applyToBoth(WorkflowEngineConstants.SqlQueries
+                        .DELETE_APPROVAL_TASKS_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_UPDATED_TASK_ID,
+                WorkflowEngineConstants.SqlQueries
+                        .DELETE_APPROVAL_INBOX_ENTRIES_OF_GIVEN_WORKFLOW_REQUEST_EXCLUDING_TASK_ID, "request-0",
+                "workflow-1", "task-new");
+        applyToBoth(WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_TASKS_EXCLUDING_UPDATED_TASK_ID,
+                WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_EXCLUDING_TASK_ID, "request-1",
+                "task-1-0");
+        applyToBoth(WorkflowEngineConstants.SqlQueries.DELETE_PENDING_APPROVAL_TASKS_OF_WORKFLOW_REQUEST,
+                WorkflowEngineConstants.SqlQueries.DELETE_PENDING_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST,
+                "request-2");
+        applyToBoth(WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_TASKS_OF_WORKFLOW_REQUEST,
+                WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_OF_WORKFLOW_REQUEST, "request-3");
+        assertInboxMatchesRelations();
+    }
+
+    private void applyToBoth(String sql, String inboxSql, Object... parameters) throws SQLException {
+
+        database.execute(sql, parameters);
+        database.execute(inboxSql, parameters);
+    }
+
+    private void assertInboxMatchesRelations() throws SQLException {
+
+        String relationQuery = "SELECT TASK_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, EVENT_ID, " +
+                "WF_WORKFLOW_APPROVAL_RELATION.WORKFLOW_ID, OPERATION_TYPE, UPDATED_AT FROM " +
+                "WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON EVENT_ID = UUID WHERE TENANT_ID = ? " +
+                "ORDER BY TASK_ID";
+        String inboxQuery = "SELECT TASK_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, EVENT_ID, WORKFLOW_ID, " +
+                "OPERATION_TYPE, UPDATED_AT FROM WF_APPROVAL_INBOX WHERE TENANT_ID = ? ORDER BY TASK_ID";
+        Assert.assertEquals(database.queryRows(inboxQuery), database.queryRows(relationQuery));
+    }
+}
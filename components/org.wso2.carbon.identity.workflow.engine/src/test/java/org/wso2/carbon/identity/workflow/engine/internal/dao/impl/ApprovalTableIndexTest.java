@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.h2.tools.RunScript;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterCondition;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterOperator;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Query plan regression tests of the workflow engine SQL queries. Every query is explained on H2 with the shipped
+ * index set applied, and must not read any table through a full table scan.
+ */
+public class ApprovalTableIndexTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:approval_table_index_test;DB_CLOSE_DELAY=-1";
+    private static final String SCHEMA_SCRIPT = "dbscripts/h2.sql";
+    private static final String INDEX_SCRIPT = "dbscripts/workflow-engine/h2.sql";
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final String NAMED_PLACEHOLDER_REGEX = ":[A-Z0-9_]+;";
+    private static final List<String> STATEMENT_PREFIXES = Arrays.asList("SELECT", "UPDATE", "DELETE");
+    private static final int SEED_REQUESTS = 200;
+
+    private Connection connection;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+
+        connection = DriverManager.getConnection(DB_URL, "sa", "");
+        runScript(SCHEMA_SCRIPT);
+        runScript(INDEX_SCRIPT);
+        seedData();
+    }
+
+    @AfterClass
+    public void tearDown() throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @DataProvider(name = "sqlQueries")
+    public Object[][] sqlQueries() throws IllegalAccessException {
+
+        List<Object[]> queries = new ArrayList<>();
+        for (Field field : WorkflowEngineConstants.SqlQueries.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || field.getType() != String.class) {
+                continue;
+            }
+            String sql = (String) field.get(null);
+            // Skip the fragments the filtered query is built from. That query is covered separately.
+            if (STATEMENT_PREFIXES.stream().noneMatch(sql.trim()::startsWith) || sql.contains(":")) {
+                continue;
+            }
+            queries.add(new Object[]{field.getName(), sql});
+        }
+        return queries.toArray(new Object[0][]);
+    }
+
+    @Test(dataProvider = "sqlQueries")
+    public void testQueryUsesIndex(String name, String sql) throws SQLException {
+
+        assertNoTableScan(name, sql);
+    }
+
+    @DataProvider(name = "filteredApprovalTaskQueries")
+    public Object[][] filteredApprovalTaskQueries() throws Exception {
+
+        List<String> statuses = Arrays.asList("READY", "RESERVED");
+        List<String> operationTypes = Collections.singletonList("ADD_USER");
+        return new Object[][]{
+                {"no filter", 1, ApprovalTaskTestDatabase.buildFilter(null, null, null)},
+                {"no filter, many entities", 20, ApprovalTaskTestDatabase.buildFilter(null, null, null)},
+                {"status", 10, ApprovalTaskTestDatabase.buildFilter(statuses, null, null)},
+                {"status and operation type", 10,
+                        ApprovalTaskTestDatabase.buildFilter(statuses, operationTypes, null)},
+                {"workflow ID", 10, ApprovalTaskTestDatabase.buildFilter(statuses, null, new FilterCondition(
+                        WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID, FilterOperator.EQ, "workflow-1"))},
+                {"workflow ID prefix", 10, ApprovalTaskTestDatabase.buildFilter(statuses, null, new FilterCondition(
+                        WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID, FilterOperator.SW, "workflow"))},
+                {"request ID", 10, ApprovalTaskTestDatabase.buildFilter(statuses, null, new FilterCondition(
+                        WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID, FilterOperator.EQ, "request-1"))},
+                {"request ID prefix", 10, ApprovalTaskTestDatabase.buildFilter(statuses, null, new FilterCondition(
+                        WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID, FilterOperator.SW, "request"))},
+                {"expression", 10, ApprovalTaskTestDatabase.buildExpressionFilter(statuses,
+                        "(operationType in (ADD_USER, ADD_ROLE) or workflowId sw workflow) and " +
+                                "workflowRequestId co request")}
+        };
+    }
+
+    @Test(dataProvider = "filteredApprovalTaskQueries")
+    public void testFilteredApprovalTaskQueryUsesIndex(String description, int entityIdCount,
+                                                       ApprovalTaskFilterDTO filter) throws SQLException {
+
+        String sql = ApprovalTaskDAOImpl.buildFilteredApprovalTaskQuery(entityIdCount, filter)
+                .replaceAll(NAMED_PLACEHOLDER_REGEX, "?");
+        assertNoTableScan("GET_FILTERED_APPROVAL_TASK_DETAILS (" + description + ")", sql);
+    }
+
+    @Test(dataProvider = "filteredApprovalTaskQueries")
+    public void testFilteredApprovalInboxQueryUsesIndex(String description, int entityIdCount,
+                                                        ApprovalTaskFilterDTO filter) throws SQLException {
+
+        String sql = ApprovalTaskDAOImpl.buildFilteredApprovalInboxQuery(entityIdCount, filter)
+                .replaceAll(NAMED_PLACEHOLDER_REGEX, "?");
+        assertNoTableScan("GET_FILTERED_APPROVAL_INBOX_DETAILS (" + description + ")", sql);
+    }
+
+    @Test(dataProvider = "filteredApprovalTaskQueries")
+    public void testFilteredApprovalTaskCountQueryUsesIndex(String description, int entityIdCount,
+                                                            ApprovalTaskFilterDTO filter) throws SQLException {
+
+        String sql = ApprovalTaskDAOImpl.buildFilteredApprovalTaskCountQuery(entityIdCount, filter)
+                .replaceAll(NAMED_PLACEHOLDER_REGEX, "?");
+        assertNoTableScan("GET_FILTERED_APPROVAL_TASK_COUNT (" + description + ")", sql);
+    }
+
+    @Test(dataProvider = "filteredApprovalTaskQueries")
+    public void testFilteredApprovalInboxCountQueryUsesIndex(String description, int entityIdCount,
+                                                             ApprovalTaskFilterDTO filter) throws SQLException {
+
+        String sql = ApprovalTaskDAOImpl.buildFilteredApprovalInboxCountQuery(entityIdCount, filter)
+                .replaceAll(NAMED_PLACEHOLDER_REGEX, "?");
+        assertNoTableScan("GET_FILTERED_APPROVAL_INBOX_COUNT (" + description + ")", sql);
+    }
+
+    @Test(dataProvider = "filteredApprovalTaskQueries")
+    public void testFilteredApprovalTaskWithHistoryQueryUsesIndex(String description, int entityIdCount,
+                                                                  ApprovalTaskFilterDTO filter) throws SQLException {
+
+        String sql = ApprovalTaskDAOImpl.buildFilteredApprovalTaskWithHistoryQuery(entityIdCount, filter)
+                .replaceAll(NAMED_PLACEHOLDER_REGEX, "?");
+        assertNoTableScan("GET_FILTERED_APPROVAL_TASK_WITH_HISTORY_DETAILS (" + description + ")", sql);
+    }
+
+    @Test(dataProvider = "filteredApprovalTaskQueries")
+    public void testFilteredApprovalTaskWithHistoryCountQueryUsesIndex(String description, int entityIdCount,
+                                                                       ApprovalTaskFilterDTO filter)
+            throws SQLException {
+
+        String sql = ApprovalTaskDAOImpl.buildFilteredApprovalTaskWithHistoryCountQuery(entityIdCount, filter)
+                .replaceAll(NAMED_PLACEHOLDER_REGEX, "?");
+        assertNoTableScan("GET_FILTERED_APPROVAL_TASK_WITH_HISTORY_COUNT (" + description + ")", sql);
+    }
+
+    private void assertNoTableScan(String name, String sql) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setString(i, "1");
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.assertTrue(resultSet.next(), "No plan returned for " + name);
+                String plan = resultSet.getString(1);
+                Assert.assertFalse(plan.contains(TABLE_SCAN), name + " uses a table scan:\n" + plan);
+            }
+        }
+    }
+
+    private void runScript(String script) throws Exception {
+
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(script)) {
+            Assert.assertNotNull(inputStream, "Script not found: " + script);
+            try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                RunScript.execute(connection, reader);
+            }
+        }
+    }
+
+    private void seedData() throws SQLException {
+
+        // Seed enough rows for the optimizer to prefer an index over a scan, as it would on a production table.
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO WF_WORKFLOW (ID, WF_NAME, TENANT_ID) VALUES ('workflow-1', 'workflow-1', " +
+                    "-1234)");
+            for (int i = 0; i < SEED_REQUESTS; i++) {
+                String requestId = "request-" + i;
+                statement.execute(String.format("INSERT INTO WF_REQUEST (UUID, CREATED_BY, TENANT_ID, " +
+                        "OPERATION_TYPE, CREATED_AT, UPDATED_AT, STATUS) VALUES ('%s', 'admin', %d, 'ADD_USER', " +
+                        "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'PENDING')", requestId, i % 10));
+                statement.execute(String.format("INSERT INTO WF_WORKFLOW_REQUEST_RELATION (RELATIONSHIP_ID, " +
+                        "WORKFLOW_ID, REQUEST_ID, UPDATED_AT, STATUS, TENANT_ID) VALUES ('relation-%d', " +
+                        "'workflow-1', '%s', CURRENT_TIMESTAMP, 'PENDING', %d)", i, requestId, i % 10));
+                statement.execute(String.format("INSERT INTO WF_WORKFLOW_APPROVAL_STATE (EVENT_ID, WORKFLOW_ID, " +
+                        "CURRENT_STEP) VALUES ('%s', 'workflow-1', 1)", requestId));
+                for (int j = 0; j < 5; j++) {
+                    statement.execute(String.format("INSERT INTO WF_WORKFLOW_APPROVAL_RELATION (TASK_ID, " +
+                                    "EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS) VALUES " +
+                                    "('task-%d-%d', '%s', 'workflow-1', 'users', 'user-%d', 'READY')", i, j,
+                            requestId, (i + j) % 50));
+                }
+            }
+            statement.execute("INSERT INTO WF_APPROVAL_INBOX (TASK_ID, TENANT_ID, APPROVER_TYPE, APPROVER_NAME, " +
+                    "TASK_STATUS, EVENT_ID, WORKFLOW_ID, OPERATION_TYPE, UPDATED_AT) SELECT TASK_ID, TENANT_ID, " +
+                    "APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, EVENT_ID, WORKFLOW_ID, OPERATION_TYPE, UPDATED_AT " +
+                    "FROM WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON EVENT_ID = UUID");
+            statement.execute("ANALYZE");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests of the approval tasks listed and counted in chunks of entity IDs, which must match those of a single query.
+ */
+public class ApprovalTaskChunkingTest {
+
+    private ApprovalTaskTestDatabase database;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        database = ApprovalTaskTestDatabase.create("approval_task_chunking_test");
+        database.seedApprovalTasks();
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        database.close();
+    }
+
+    @DataProvider(name = "filters")
+    public Object[][] filters() throws WorkflowEngineClientException {
+
+        return ApprovalTaskTestDatabase.filters();
+    }
+
+    @Test
+    public void testChunkEntityIds() {
+
+        List<String> entityIds = Arrays.asList("user-1", "role-1", "role-2", "role-3", "role-4");
+
+        Assert.assertEquals(ApprovalTaskDAOImpl.chunkEntityIds(entityIds, 2), Arrays.asList(
+                Arrays.asList("user-1", "role-1"), Arrays.asList("role-2", "role-3"),
+                Arrays.asList("role-4")));
+        Assert.assertEquals(ApprovalTaskDAOImpl.chunkEntityIds(entityIds, 5), Arrays.asList(entityIds));
+        Assert.assertEquals(ApprovalTaskDAOImpl.chunkEntityIds(entityIds, 0), Arrays.asList(entityIds));
+    }
+
+    @Test(dataProvider = "filters")
+    public void testChunkedListingMatchesSingleQuery(String description, ApprovalTaskFilterDTO filter)
+            throws Exception {
+
+        WorkflowEngineServiceDataHolder.getInstance().setEntityIdChunkSize(0);
+        List<ApprovalTaskSummaryDTO> expected = database.listApprovalTasks(filter);
+        WorkflowEngineServiceDataHolder.getInstance().setEntityIdChunkSize(1);
+        List<ApprovalTaskSummaryDTO> actual = database.listApprovalTasks(filter);
+
+        Assert.assertEquals(ApprovalTaskTestDatabase.taskIds(actual), ApprovalTaskTestDatabase.taskIds(expected),
+                description);
+        // Tasks of the same request share the update time, so only the order of the requests is defined.
+        Assert.assertEquals(requestIds(actual), requestIds(expected), description);
+    }
+
+    @Test(dataProvider = "filters")
+    public void testChunkedCountMatchesSingleQuery(String description, ApprovalTaskFilterDTO filter)
+            throws Exception {
+
+        WorkflowEngineServiceDataHolder.getInstance().setEntityIdChunkSize(0);
+        int expected = database.countApprovalTasks(filter);
+        WorkflowEngineServiceDataHolder.getInstance().setEntityIdChunkSize(1);
+
+        Assert.assertEquals(database.countApprovalTasks(filter), expected, description);
+    }
+
+    private static List<String> requestIds(List<ApprovalTaskSummaryDTO> approvalTasks) {
+
+        return approvalTasks.stream().map(ApprovalTaskSummaryDTO::getRequestId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.engine.util.Utils;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests of the filtered approval task count, which must agree with the number of approval tasks listed after
+ * de-duplication.
+ */
+public class ApprovalTaskCountTest {
+
+    private ApprovalTaskTestDatabase database;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        database = ApprovalTaskTestDatabase.create("approval_task_count_test");
+        database.seedApprovalTasks();
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        database.close();
+    }
+
+    @DataProvider(name = "filters")
+    public Object[][] filters() throws WorkflowEngineClientException {
+
+        Object[][] filters = ApprovalTaskTestDatabase.filters();
+        String[] sources = {"relations", "inbox", "history", "chunks"};
+        Object[][] sourcesAndFilters = new Object[sources.length * filters.length][];
+        for (int i = 0; i < sources.length; i++) {
+            for (int j = 0; j < filters.length; j++) {
+                sourcesAndFilters[i * filters.length + j] = new Object[]{sources[i], filters[j][0], filters[j][1]};
+            }
+        }
+        return sourcesAndFilters;
+    }
+
+    @Test(dataProvider = "filters")
+    public void testCountMatchesDeduplicatedTasks(String source, String description, ApprovalTaskFilterDTO filter)
+            throws Exception {
+
+        configure(source);
+        assertCountMatchesDeduplicatedTasks(filter, source + ", " + description);
+    }
+
+    @Test(dataProvider = "filters")
+    public void testCountMatchesDeduplicatedMultiStepTasks(String source, String description,
+                                                           ApprovalTaskFilterDTO filter) throws Exception {
+
+        seedMultiStepApprovalTasks();
+        // An inbox entry keeps the update time of its request when it was last changed, so an APPROVED task of an
+        // earlier step can be listed after the pending task of the next step, and is then dropped.
+        database.execute("UPDATE WF_APPROVAL_INBOX SET UPDATED_AT = DATEADD('HOUR', -1, UPDATED_AT) WHERE " +
+                "TASK_ID = 'task-5-0'");
+        configure(source);
+        assertCountMatchesDeduplicatedTasks(filter, source + ", " + description);
+    }
+
+    @Test
+    public void testTasksOfSameUpdateTimeAreListedByStatusAndId() throws Exception {
+
+        seedMultiStepApprovalTasks();
+        List<String> expectedTaskIds = Arrays.asList("task-5-0", "task-5-1", "task-5-2", "task-5-3");
+        Assert.assertEquals(listTaskIdsOfRequest("request-5"), expectedTaskIds);
+        WorkflowEngineServiceDataHolder.getInstance().setEntityIdChunkSize(1);
+        Assert.assertEquals(listTaskIdsOfRequest("request-5"), expectedTaskIds);
+    }
+
+    /**
+     * Seed request 5 with two APPROVED tasks of earlier steps, a READY and a BLOCKED task, and request 6 with an
+     * APPROVED, a RESERVED and a BLOCKED task, and rebuild the approval inbox.
+     */
+    private void seedMultiStepApprovalTasks() throws SQLException {
+
+        for (int i = 5; i < 7; i++) {
+            database.execute(String.format("INSERT INTO WF_REQUEST (UUID, CREATED_BY, TENANT_ID, OPERATION_TYPE, " +
+                    "CREATED_AT, UPDATED_AT, STATUS) VALUES ('request-%d', 'admin', %d, 'ADD_USER', " +
+                    "CURRENT_TIMESTAMP, DATEADD('MINUTE', %d, CURRENT_TIMESTAMP), 'PENDING')", i,
+                    ApprovalTaskTestDatabase.TENANT_ID, i));
+        }
+        database.execute("INSERT INTO WF_WORKFLOW_APPROVAL_RELATION (TASK_ID, EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, " +
+                "APPROVER_NAME, TASK_STATUS) VALUES " +
+                "('task-5-3', 'request-5', 'workflow-1', 'roles', 'role-1', 'BLOCKED'), " +
+                "('task-5-2', 'request-5', 'workflow-1', 'users', 'user-1', 'READY'), " +
+                "('task-5-1', 'request-5', 'workflow-1', 'roles', 'role-1', 'APPROVED'), " +
+                "('task-5-0', 'request-5', 'workflow-1', 'users', 'user-1', 'APPROVED'), " +
+                "('task-6-0', 'request-6', 'workflow-1', 'roles', 'role-1', 'BLOCKED'), " +
+                "('task-6-1', 'request-6', 'workflow-1', 'users', 'user-1', 'APPROVED'), " +
+                "('task-6-2', 'request-6', 'workflow-1', 'users', 'user-1', 'RESERVED')");
+        database.execute(WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_OF_TENANT,
+                ApprovalTaskTestDatabase.TENANT_ID);
+        database.execute(WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT,
+                ApprovalTaskTestDatabase.TENANT_ID);
+    }
+
+    private void configure(String source) {
+
+        WorkflowEngineServiceDataHolder dataHolder = WorkflowEngineServiceDataHolder.getInstance();
+        dataHolder.setApprovalInboxEnabled("inbox".equals(source));
+        dataHolder.setApprovalHistoryEnabled("history".equals(source));
+        dataHolder.setEntityIdChunkSize("chunks".equals(source) ? 1 : 0);
+    }
+
+    private void assertCountMatchesDeduplicatedTasks(ApprovalTaskFilterDTO filter, String description)
+            throws Exception {
+
+        List<ApprovalTaskSummaryDTO> approvalTasks = database.listApprovalTasks(filter);
+        Utils.removeDuplicateApprovalTasks(approvalTasks);
+        Assert.assertEquals(database.countApprovalTasks(filter), approvalTasks.size(), description);
+    }
+
+    private List<String> listTaskIdsOfRequest(String requestId) throws Exception {
+
+        return database.listApprovalTasks(ApprovalTaskTestDatabase.buildFilter(null, null, null)).stream()
+                .filter(approvalTask -> requestId.equals(approvalTask.getRequestId()))
+                .map(ApprovalTaskSummaryDTO::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskExportDTO;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests of the approval tasks of a tenant streamed for an export.
+ */
+public class ApprovalTaskExportQueryTest {
+
+    private ApprovalTaskTestDatabase database;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        database = ApprovalTaskTestDatabase.create("approval_task_export_query_test");
+        database.seedApprovalTasks();
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        database.close();
+    }
+
+    @Test
+    public void testStreamApprovalTasksOfTenant() throws Exception {
+
+        List<ApprovalTaskExportDTO> approvalTasks = new ArrayList<>();
+        ApprovalTaskDAOImpl.streamApprovalTasksOfTenant(database.getConnection(), ApprovalTaskTestDatabase.TENANT_ID,
+                2, approvalTasks::add);
+
+        Assert.assertEquals(approvalTasks.size(), 12);
+        Assert.assertEquals(approvalTasks.get(0).getTaskId(), "task-0-0");
+        Assert.assertEquals(approvalTasks.get(11).getTaskId(), "task-3-2");
+        ApprovalTaskExportDTO approvalTask = approvalTasks.get(7);
+        Assert.assertEquals(approvalTask.getTaskId(), "task-2-1");
+        Assert.assertEquals(approvalTask.getRequestId(), "request-2");
+        Assert.assertEquals(approvalTask.getApproverType(), "roles");
+        Assert.assertEquals(approvalTask.getApproverName(), "role-1");
+        Assert.assertEquals(approvalTask.getInitiator(), "alice");
+        Assert.assertEquals(approvalTask.getOperationType(), "ADD_USER");
+        Assert.assertNotNull(approvalTask.getCreatedTimeInMillis());
+    }
+
+    @Test
+    public void testConsumerFailureAbortsStream() {
+
+        List<String> streamedTaskIds = new ArrayList<>();
+        Assert.assertThrows(WorkflowEngineClientException.class, () ->
+                ApprovalTaskDAOImpl.streamApprovalTasksOfTenant(database.getConnection(),
+                        ApprovalTaskTestDatabase.TENANT_ID, 2, task -> {
+                            streamedTaskIds.add(task.getTaskId());
+                            throw new WorkflowEngineClientException("Export aborted.", null);
+                        }));
+        Assert.assertEquals(streamedTaskIds, Collections.singletonList("task-0-0"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Tests of filter expressions on the attributes of workflow requests, which are compiled into parameterized SQL.
+ */
+public class ApprovalTaskFilterExpressionTest {
+
+    private ApprovalTaskTestDatabase database;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        database = ApprovalTaskTestDatabase.create("approval_task_filter_expression_test");
+        database.seedApprovalTasks();
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        database.close();
+    }
+
+    @Test
+    public void testFilterOnInitiator() throws Exception {
+
+        ApprovalTaskFilterDTO filter = ApprovalTaskTestDatabase.buildExpressionFilter(null,
+                "initiator eq alice or initiator eq bob");
+
+        Assert.assertEquals(database.listTaskIds(filter), Arrays.asList("task-2-0", "task-2-1"));
+        // Pending tasks of the same workflow request are counted once.
+        Assert.assertEquals(database.countApprovalTasks(filter), 1);
+    }
+
+    @Test
+    public void testFilterOnCreatedTime() throws Exception {
+
+        ApprovalTaskFilterDTO filter = ApprovalTaskTestDatabase.buildExpressionFilter(null,
+                "createdTime ge 2000-01-01T00:00:00Z and createdTime le 4102444800000");
+        ApprovalTaskFilterDTO futureFilter = ApprovalTaskTestDatabase.buildExpressionFilter(null,
+                "createdTime ge 4102444800000");
+
+        Assert.assertEquals(database.listTaskIds(filter).size(), 8);
+        Assert.assertTrue(database.listTaskIds(futureFilter).isEmpty());
+    }
+
+    @Test
+    public void testFilterOnRequestAttributesWithInboxEnabled() throws Exception {
+
+        ApprovalTaskFilterDTO filter = ApprovalTaskTestDatabase.buildExpressionFilter(
+                Arrays.asList("READY", "APPROVED"), "initiator eq admin and operationType eq ADD_ROLE");
+        WorkflowEngineServiceDataHolder.getInstance().setApprovalInboxEnabled(true);
+
+        Assert.assertEquals(database.listTaskIds(filter), Arrays.asList("task-1-0"));
+    }
+}
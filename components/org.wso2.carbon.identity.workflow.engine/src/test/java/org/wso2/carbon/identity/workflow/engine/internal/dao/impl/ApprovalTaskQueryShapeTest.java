@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Tests of the filtered approval task queries cached by shape, with the IN lists padded to bucketed sizes.
+ */
+public class ApprovalTaskQueryShapeTest {
+
+    private ApprovalTaskTestDatabase database;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        database = ApprovalTaskTestDatabase.create("approval_task_query_shape_test");
+        database.seedApprovalTasks();
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        database.close();
+    }
+
+    @Test
+    public void testPaddedInListSizes() {
+
+        Assert.assertEquals(ApprovalTaskDAOImpl.getPaddedInListSize(0), 0);
+        Assert.assertEquals(ApprovalTaskDAOImpl.getPaddedInListSize(1), 1);
+        Assert.assertEquals(ApprovalTaskDAOImpl.getPaddedInListSize(5), 8);
+        Assert.assertEquals(ApprovalTaskDAOImpl.getPaddedInListSize(8), 8);
+        Assert.assertEquals(ApprovalTaskDAOImpl.getPaddedInListSize(600), ApprovalTaskDAOImpl.MAX_PADDED_IN_LIST_SIZE);
+        Assert.assertEquals(ApprovalTaskDAOImpl.getPaddedInListSize(1500), 1500);
+    }
+
+    @Test
+    public void testQueriesAreCachedPerInListBucket() throws Exception {
+
+        ApprovalTaskFilterDTO filter = ApprovalTaskTestDatabase.buildFilter(Arrays.asList("READY", "BLOCKED",
+                "APPROVED"), null, null);
+        ApprovalTaskFilterDTO sameBucketFilter = ApprovalTaskTestDatabase.buildFilter(Arrays.asList("READY",
+                "RESERVED", "BLOCKED", "REJECTED"), null, null);
+
+        String query = ApprovalTaskDAOImpl.buildFilteredApprovalTaskQuery(5, filter);
+        Assert.assertSame(ApprovalTaskDAOImpl.buildFilteredApprovalTaskQuery(7, sameBucketFilter), query);
+        Assert.assertNotEquals(ApprovalTaskDAOImpl.buildFilteredApprovalTaskQuery(9, filter), query);
+        Assert.assertNotEquals(ApprovalTaskDAOImpl.buildFilteredApprovalTaskCountQuery(5, filter), query);
+        Assert.assertNotEquals(ApprovalTaskDAOImpl.buildFilteredApprovalInboxQuery(5, filter), query);
+
+        ApprovalTaskFilterDTO expressionFilter = ApprovalTaskTestDatabase.buildExpressionFilter(null,
+                "workflowId eq workflow-1");
+        ApprovalTaskFilterDTO otherValueFilter = ApprovalTaskTestDatabase.buildExpressionFilter(null,
+                "workflowId eq workflow-2");
+        Assert.assertSame(ApprovalTaskDAOImpl.buildFilteredApprovalTaskQuery(2, otherValueFilter),
+                ApprovalTaskDAOImpl.buildFilteredApprovalTaskQuery(2, expressionFilter));
+    }
+
+    @Test
+    public void testPaddedStatusListMatchesEachStatus() throws Exception {
+
+        List<String> statuses = Arrays.asList("READY", "BLOCKED", "APPROVED");
+        TreeSet<String> expected = new TreeSet<>();
+        for (String status : statuses) {
+            expected.addAll(database.listTaskIds(ApprovalTaskTestDatabase.buildFilter(
+                    Collections.singletonList(status), null, null)));
+        }
+
+        List<String> taskIds = database.listTaskIds(ApprovalTaskTestDatabase.buildFilter(statuses, null, null));
+        Assert.assertEquals(taskIds, new ArrayList<>(expected));
+        Assert.assertEquals(taskIds.size(), 7);
+    }
+
+    @Test
+    public void testPaddedEntityListMatchesEachEntity() throws Exception {
+
+        ApprovalTaskFilterDTO filter = ApprovalTaskTestDatabase.buildFilter(null, null, null);
+        List<String> entityIds = Arrays.asList("user-1", "role-1", "user-2");
+        TreeSet<String> expected = new TreeSet<>();
+        for (String entityId : entityIds) {
+            expected.addAll(ApprovalTaskTestDatabase.taskIds(database.listApprovalTasks(
+                    Collections.singletonList(entityId), filter)));
+        }
+
+        List<String> taskIds = ApprovalTaskTestDatabase.taskIds(database.listApprovalTasks(entityIds, filter));
+        Assert.assertEquals(taskIds, new ArrayList<>(expected));
+        Assert.assertEquals(taskIds.size(), 12);
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.h2.tools.RunScript;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.database.utils.jdbc.JdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineServerException;
+import org.wso2.carbon.identity.workflow.engine.internal.ApprovalTaskRetentionJob;
+import org.wso2.carbon.identity.workflow.engine.internal.dao.ApprovalTaskRetentionDAO;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests of the approval task retention statements and job. Only workflow requests updated before the retention
+ * period whose approval tasks are all approved or rejected are purged.
+ */
+public class ApprovalTaskRetentionTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:approval_task_retention_test;DB_CLOSE_DELAY=-1";
+    private static final String SCHEMA_SCRIPT = "dbscripts/h2.sql";
+    private static final String INDEX_SCRIPT = "dbscripts/workflow-engine/h2.sql";
+    private static final int RETENTION_PERIOD_DAYS = 30;
+    private static final int TENANT_ID = 1;
+
+    private Connection connection;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        connection = DriverManager.getConnection(DB_URL, "sa", "");
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(DB_URL);
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        runScript(SCHEMA_SCRIPT);
+        runScript(INDEX_SCRIPT);
+        seedData();
+    }
+
+    @AfterMethod
+    public void tearDown() throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void testOnlyCompletedWorkflowRequestsAreReturned() throws Exception {
+
+        List<Map.Entry<String, Timestamp>> workflowRequests = ApprovalTaskRetentionDAOImpl
+                .getCompletedWorkflowRequests(jdbcTemplate, new Timestamp(0), retentionCutoff(), 10, false);
+
+        Assert.assertEquals(requestIds(workflowRequests), Arrays.asList("request-0", "request-1", "request-2"));
+    }
+
+    @Test
+    public void testCompletedWorkflowRequestsAreLimited() throws Exception {
+
+        List<Map.Entry<String, Timestamp>> workflowRequests = ApprovalTaskRetentionDAOImpl
+                .getCompletedWorkflowRequests(jdbcTemplate, new Timestamp(0), retentionCutoff(), 2, false);
+
+        Assert.assertEquals(requestIds(workflowRequests), Arrays.asList("request-0", "request-1"));
+    }
+
+    @Test
+    public void testPurgeArchivesCompletedApprovalTasks() throws Exception {
+
+        int removedTaskCount = ApprovalTaskRetentionDAOImpl.purgeCompletedApprovalTasks(jdbcTemplate,
+                Collections.singletonList("request-0"), true, true, false, new Timestamp(System.currentTimeMillis()));
+
+        Assert.assertEquals(removedTaskCount, 2);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_WORKFLOW_APPROVAL_ARCHIVE WHERE EVENT_ID = 'request-0' " +
+                "AND TENANT_ID = " + TENANT_ID), 2);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_WORKFLOW_APPROVAL_RELATION WHERE EVENT_ID = " +
+                "'request-0'"), 0);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_APPROVAL_INBOX WHERE EVENT_ID = 'request-0'"), 0);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_WORKFLOW_APPROVAL_STATE WHERE EVENT_ID = 'request-0'"),
+                0);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_WORKFLOW_APPROVAL_RELATION"), 8);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_APPROVAL_INBOX"), 8);
+    }
+
+    @Test
+    public void testPurgeWithoutArchiveDeletesCompletedApprovalTasks() throws Exception {
+
+        int removedTaskCount = ApprovalTaskRetentionDAOImpl.purgeCompletedApprovalTasks(jdbcTemplate,
+                Arrays.asList("request-0", "request-1"), false, false, false, null);
+
+        Assert.assertEquals(removedTaskCount, 4);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_WORKFLOW_APPROVAL_ARCHIVE"), 0);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_WORKFLOW_APPROVAL_RELATION"), 6);
+        // The inbox is left as is when it is not enabled.
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_APPROVAL_INBOX"), 10);
+    }
+
+    @Test
+    public void testPurgeCoversApprovalHistory() throws Exception {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO WF_WORKFLOW_APPROVAL_HISTORY (TASK_ID, EVENT_ID, WORKFLOW_ID, " +
+                    "APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, COMPLETED_AT) SELECT TASK_ID, EVENT_ID, WORKFLOW_ID, " +
+                    "APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, CURRENT_TIMESTAMP FROM WF_WORKFLOW_APPROVAL_RELATION " +
+                    "WHERE TASK_ID IN ('task-0-0', 'task-3-0')");
+            statement.execute("DELETE FROM WF_WORKFLOW_APPROVAL_RELATION WHERE TASK_ID IN ('task-0-0', 'task-3-0')");
+        }
+        List<Map.Entry<String, Timestamp>> workflowRequests = ApprovalTaskRetentionDAOImpl
+                .getCompletedWorkflowRequests(jdbcTemplate, new Timestamp(0), retentionCutoff(), 10, true);
+        Assert.assertEquals(requestIds(workflowRequests), Arrays.asList("request-0", "request-1", "request-2"));
+
+        int removedTaskCount = ApprovalTaskRetentionDAOImpl.purgeCompletedApprovalTasks(jdbcTemplate,
+                Collections.singletonList("request-0"), true, false, true, new Timestamp(System.currentTimeMillis()));
+
+        Assert.assertEquals(removedTaskCount, 2);
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_WORKFLOW_APPROVAL_ARCHIVE WHERE EVENT_ID = 'request-0'"),
+                2);
+        Assert.assertEquals(queryRequestIds("SELECT EVENT_ID FROM WF_WORKFLOW_APPROVAL_HISTORY"),
+                Collections.singletonList("request-3"));
+    }
+
+    @Test
+    public void testJobPurgesAllChunks() throws Exception {
+
+        new ApprovalTaskRetentionJob(new TemplateRetentionDAO(), ApprovalTaskRetentionJob.Mode.ARCHIVE,
+                RETENTION_PERIOD_DAYS, 2, 0, 0).run();
+
+        Assert.assertEquals(count("SELECT COUNT(*) FROM WF_WORKFLOW_APPROVAL_ARCHIVE"), 6);
+        Assert.assertEquals(queryRequestIds("SELECT DISTINCT EVENT_ID FROM WF_WORKFLOW_APPROVAL_RELATION ORDER BY " +
+                "EVENT_ID"), Arrays.asList("request-3", "request-4"));
+        Assert.assertEquals(queryRequestIds("SELECT EVENT_ID FROM WF_WORKFLOW_APPROVAL_STATE ORDER BY EVENT_ID"),
+                Arrays.asList("request-3", "request-4"));
+    }
+
+    @Test
+    public void testJobStopsAfterMaxChunks() throws Exception {
+
+        new ApprovalTaskRetentionJob(new TemplateRetentionDAO(), ApprovalTaskRetentionJob.Mode.DELETE,
+                RETENTION_PERIOD_DAYS, 2, 0, 1).run();
+
+        Assert.assertEquals(queryRequestIds("SELECT DISTINCT EVENT_ID FROM WF_WORKFLOW_APPROVAL_RELATION ORDER BY " +
+                "EVENT_ID"), Arrays.asList("request-2", "request-3", "request-4"));
+    }
+
+    private static Timestamp retentionCutoff() {
+
+        return new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETENTION_PERIOD_DAYS));
+    }
+
+    private static List<String> requestIds(List<Map.Entry<String, Timestamp>> workflowRequests) {
+
+        List<String> requestIds = new ArrayList<>();
+        for (Map.Entry<String, Timestamp> workflowRequest : workflowRequests) {
+            requestIds.add(workflowRequest.getKey());
+        }
+        return requestIds;
+    }
+
+    private int count(String sql) throws SQLException {
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            Assert.assertTrue(resultSet.next());
+            return resultSet.getInt(1);
+        }
+    }
+
+    private List<String> queryRequestIds(String sql) throws SQLException {
+
+        List<String> requestIds = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                requestIds.add(resultSet.getString(1));
+            }
+        }
+        return requestIds;
+    }
+
+    private void runScript(String script) throws Exception {
+
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(script)) {
+            Assert.assertNotNull(inputStream, "Script not found: " + script);
+            try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                RunScript.execute(connection, reader);
+            }
+        }
+    }
+
+    private void seedData() throws SQLException {
+
+        /* Requests 0 to 2 were completed 40 to 38 days ago. Request 3 is as old but still has a pending task, and
+           request 4 was completed within the retention period. */
+        String[][] taskStatuses = {{"APPROVED", "REJECTED"}, {"APPROVED", "APPROVED"}, {"REJECTED", "APPROVED"},
+                {"APPROVED", "READY"}, {"APPROVED", "REJECTED"}};
+        int[] updatedDaysAgo = {40, 39, 38, 40, 10};
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < taskStatuses.length; i++) {
+                statement.execute(String.format("INSERT INTO WF_REQUEST (UUID, CREATED_BY, TENANT_ID, " +
+                        "OPERATION_TYPE, CREATED_AT, UPDATED_AT, STATUS) VALUES ('request-%1$d', 'admin', %2$d, " +
+                        "'ADD_USER', DATEADD('DAY', -%3$d, CURRENT_TIMESTAMP), DATEADD('DAY', -%3$d, " +
+                        "CURRENT_TIMESTAMP), 'APPROVED')", i, TENANT_ID, updatedDaysAgo[i]));
+                statement.execute(String.format("INSERT INTO WF_WORKFLOW_APPROVAL_STATE (EVENT_ID, WORKFLOW_ID, " +
+                        "CURRENT_STEP) VALUES ('request-%d', 'workflow-1', 2)", i));
+                for (int j = 0; j < taskStatuses[i].length; j++) {
+                    statement.execute(String.format("INSERT INTO WF_WORKFLOW_APPROVAL_RELATION (TASK_ID, " +
+                            "EVENT_ID, WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS) VALUES " +
+                            "('task-%1$d-%2$d', 'request-%1$d', 'workflow-1', 'users', 'user-%2$d', '%3$s')", i, j,
+                            taskStatuses[i][j]));
+                }
+            }
+            statement.execute("INSERT INTO WF_APPROVAL_INBOX (TASK_ID, TENANT_ID, APPROVER_TYPE, APPROVER_NAME, " +
+                    "TASK_STATUS, EVENT_ID, WORKFLOW_ID, OPERATION_TYPE, UPDATED_AT) SELECT TASK_ID, TENANT_ID, " +
+                    "APPROVER_TYPE, APPROVER_NAME, TASK_STATUS, EVENT_ID, WORKFLOW_ID, OPERATION_TYPE, UPDATED_AT " +
+                    "FROM WF_WORKFLOW_APPROVAL_RELATION INNER JOIN WF_REQUEST ON EVENT_ID = UUID");
+        }
+    }
+
+    /**
+     * Retention DAO running the statements on the test database.
+     */
+    private class TemplateRetentionDAO implements ApprovalTaskRetentionDAO {
+
+        @Override
+        public List<Map.Entry<String, Timestamp>> getCompletedWorkflowRequests(Timestamp updatedFrom,
+                                                                               Timestamp updatedBefore, int limit)
+                throws WorkflowEngineServerException {
+
+            try {
+                return ApprovalTaskRetentionDAOImpl.getCompletedWorkflowRequests(jdbcTemplate, updatedFrom,
+                        updatedBefore, limit, false);
+            } catch (DataAccessException e) {
+                throw new WorkflowEngineServerException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public int purgeCompletedApprovalTasks(List<String> workflowRequestIds, boolean archive)
+                throws WorkflowEngineServerException {
+
+            try {
+                return ApprovalTaskRetentionDAOImpl.purgeCompletedApprovalTasks(jdbcTemplate, workflowRequestIds,
+                        archive, true, false, new Timestamp(System.currentTimeMillis()));
+            } catch (DataAccessException e) {
+                throw new WorkflowEngineServerException(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.h2.tools.RunScript;
+import org.testng.Assert;
+import org.wso2.carbon.database.utils.jdbc.NamedJdbcTemplate;
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskFilterDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.ApprovalTaskSummaryDTO;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterCondition;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterOperator;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+import org.wso2.carbon.identity.workflow.engine.internal.WorkflowEngineServiceDataHolder;
+import org.wso2.carbon.identity.workflow.engine.util.FilterParser;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory H2 database of the approval task query tests, created with the shipped schema and index set. Approval
+ * tasks are listed and counted through {@link ApprovalTaskDAOImpl}, which selects the table to query from the
+ * configuration of {@link WorkflowEngineServiceDataHolder}. Closing the database restores that configuration.
+ */
+final class ApprovalTaskTestDatabase {
+
+    static final int TENANT_ID = 1;
+    static final int OTHER_TENANT_ID = 2;
+    static final List<String> ENTITY_IDS = Collections.unmodifiableList(Arrays.asList("user-1", "role-1"));
+
+    private static final String SCHEMA_SCRIPT = "dbscripts/h2.sql";
+    private static final String INDEX_SCRIPT = "dbscripts/workflow-engine/h2.sql";
+
+    private final Connection connection;
+    private final NamedJdbcTemplate namedJdbcTemplate;
+
+    private ApprovalTaskTestDatabase(Connection connection, NamedJdbcTemplate namedJdbcTemplate) {
+
+        this.connection = connection;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Create the database of the given name with the schema and index set applied, and no data.
+     */
+    static ApprovalTaskTestDatabase create(String name) throws Exception {
+
+        String url = "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser("sa");
+        ApprovalTaskTestDatabase database = new ApprovalTaskTestDatabase(DriverManager.getConnection(url, "sa", ""),
+                new NamedJdbcTemplate(dataSource));
+        database.runScript(SCHEMA_SCRIPT);
+        database.runScript(INDEX_SCRIPT);
+        return database;
+    }
+
+    /**
+     * Seed four requests of the tenant with three tasks each, and one request of another tenant, and build the
+     * approval inbox of the tenant. Request 1 has an APPROVED task of an earlier step, and request 3 a RESERVED task
+     * that hides the BLOCKED one. Request 2 was created by alice, the others by admin.
+     */
+    void seedApprovalTasks() throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO WF_WORKFLOW (ID, WF_NAME, TENANT_ID) VALUES ('workflow-1', 'workflow-1', " +
+                    TENANT_ID + ")");
+            for (int i = 0; i < 5; i++) {
+                int tenantId = i < 4 ? TENANT_ID : OTHER_TENANT_ID;
+                statement.execute(String.format("INSERT INTO WF_REQUEST (UUID, CREATED_BY, TENANT_ID, " +
+                        "OPERATION_TYPE, CREATED_AT, UPDATED_AT, STATUS) VALUES ('request-%d', '%s', %d, '%s', " +
+                        "CURRENT_TIMESTAMP, DATEADD('MINUTE', %d, CURRENT_TIMESTAMP), 'PENDING')", i,
+                        i == 2 ? "alice" : "admin", tenantId, i % 2 == 0 ? "ADD_USER" : "ADD_ROLE", i));
+                statement.execute(String.format("INSERT INTO WF_WORKFLOW_APPROVAL_RELATION (TASK_ID, EVENT_ID, " +
+                        "WORKFLOW_ID, APPROVER_TYPE, APPROVER_NAME, TASK_STATUS) VALUES " +
+                        "('task-%1$d-0', 'request-%1$d', 'workflow-1', 'users', 'user-1', '%2$s'), " +
+                        "('task-%1$d-1', 'request-%1$d', 'workflow-1', 'roles', 'role-1', 'BLOCKED'), " +
+                        "('task-%1$d-2', 'request-%1$d', 'workflow-1', 'users', 'user-2', 'READY')", i,
+                        i == 1 ? "APPROVED" : i == 3 ? "RESERVED" : "READY"));
+            }
+        }
+        execute(WorkflowEngineConstants.SqlQueries.DELETE_APPROVAL_INBOX_ENTRIES_OF_TENANT, TENANT_ID);
+        execute(WorkflowEngineConstants.SqlQueries.ADD_APPROVAL_INBOX_ENTRIES_OF_TENANT, TENANT_ID);
+    }
+
+    Connection getConnection() {
+
+        return connection;
+    }
+
+    /**
+     * List the approval tasks of {@link #ENTITY_IDS} matching the given filter through the DAO.
+     */
+    List<ApprovalTaskSummaryDTO> listApprovalTasks(ApprovalTaskFilterDTO filter) throws DataAccessException {
+
+        return listApprovalTasks(ENTITY_IDS, filter);
+    }
+
+    List<ApprovalTaskSummaryDTO> listApprovalTasks(List<String> entityIds, ApprovalTaskFilterDTO filter)
+            throws DataAccessException {
+
+        return ApprovalTaskDAOImpl.getFilteredApprovalTaskDetails(namedJdbcTemplate, entityIds, filter, TENANT_ID);
+    }
+
+    /**
+     * List the IDs of the approval tasks of {@link #ENTITY_IDS} matching the given filter, sorted.
+     */
+    List<String> listTaskIds(ApprovalTaskFilterDTO filter) throws DataAccessException {
+
+        return taskIds(listApprovalTasks(filter));
+    }
+
+    /**
+     * Count the approval tasks of {@link #ENTITY_IDS} matching the given filter through the DAO.
+     */
+    int countApprovalTasks(ApprovalTaskFilterDTO filter) throws DataAccessException {
+
+        return ApprovalTaskDAOImpl.countFilteredApprovalTasks(namedJdbcTemplate, ENTITY_IDS, filter, TENANT_ID);
+    }
+
+    void execute(String sql, Object... parameters) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    int count(String sql, Object... parameters) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.assertTrue(resultSet.next());
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Read the rows of a query taking the tenant ID as its only parameter, each with its columns joined by '|'.
+     */
+    List<String> queryRows(String sql) throws SQLException {
+
+        List<String> rows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, TENANT_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int columnCount = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    StringBuilder row = new StringBuilder();
+                    for (int i = 1; i <= columnCount; i++) {
+                        row.append(resultSet.getString(i)).append('|');
+                    }
+                    rows.add(row.toString());
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Drop the database and restore the approval task listing configuration of the data holder.
+     */
+    void close() throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+        WorkflowEngineServiceDataHolder dataHolder = WorkflowEngineServiceDataHolder.getInstance();
+        dataHolder.setApprovalInboxEnabled(false);
+        dataHolder.setApprovalHistoryEnabled(false);
+        dataHolder.setEntityIdChunkSize(WorkflowEngineConstants.DEFAULT_ENTITY_ID_CHUNK_SIZE);
+    }
+
+    /**
+     * Filters covering each kind of condition, matching some of the seeded approval tasks, with a description.
+     */
+    static Object[][] filters() throws WorkflowEngineClientException {
+
+        return new Object[][]{
+                {"no filter", buildFilter(null, null, null)},
+                {"status", buildFilter(Arrays.asList("READY", "BLOCKED"), null, null)},
+                {"padded status list", buildFilter(Arrays.asList("READY", "BLOCKED", "APPROVED"), null, null)},
+                {"operation type", buildFilter(null, Collections.singletonList("ADD_ROLE"), null)},
+                {"workflow ID prefix", buildFilter(null, null, new FilterCondition(
+                        WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID, FilterOperator.SW, "workflow-"))},
+                {"request ID", buildFilter(Collections.singletonList("READY"), null, new FilterCondition(
+                        WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID, FilterOperator.EQ, "request-2"))},
+                {"expression", buildExpressionFilter(null, "(workflowRequestId in (request-0, request-1) or " +
+                        "operationType eq ADD_ROLE) and workflowId co orkflow")},
+                {"expression and status", buildExpressionFilter(Collections.singletonList("BLOCKED"),
+                        "workflowRequestId sw request- or workflowId eq other")}
+        };
+    }
+
+    static ApprovalTaskFilterDTO buildFilter(List<String> statuses, List<String> operationTypes,
+                                             FilterCondition condition) {
+
+        ApprovalTaskFilterDTO filter = new ApprovalTaskFilterDTO();
+        filter.setStatusList(statuses);
+        filter.setOperationTypeList(operationTypes);
+        filter.setFilterConditions(condition == null ? null : Collections.singletonList(condition));
+        return filter;
+    }
+
+    static ApprovalTaskFilterDTO buildExpressionFilter(List<String> statuses, String expression)
+            throws WorkflowEngineClientException {
+
+        ApprovalTaskFilterDTO filter = buildFilter(statuses, null, null);
+        filter.setFilterExpression(FilterParser.compile(expression));
+        return filter;
+    }
+
+    static List<String> taskIds(List<ApprovalTaskSummaryDTO> approvalTasks) {
+
+        return approvalTasks.stream().map(ApprovalTaskSummaryDTO::getId).sorted().collect(Collectors.toList());
+    }
+
+    private void runScript(String script) throws Exception {
+
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(script)) {
+            Assert.assertNotNull(inputStream, "Script not found: " + script);
+            try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                RunScript.execute(connection, reader);
+            }
+        }
+    }
+}
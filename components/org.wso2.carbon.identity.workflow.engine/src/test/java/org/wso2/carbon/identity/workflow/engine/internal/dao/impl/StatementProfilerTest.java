@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.internal.dao.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.database.utils.jdbc.exceptions.DataAccessException;
+import org.wso2.carbon.identity.workflow.engine.metrics.SqlStatementMetrics;
+import org.wso2.carbon.identity.workflow.engine.util.WorkflowEngineConstants;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for StatementProfiler class.
+ */
+public class StatementProfilerTest {
+
+    private final SqlStatementMetrics metrics = SqlStatementMetrics.getInstance();
+
+    @BeforeMethod
+    public void setUp() {
+
+        metrics.reset();
+        metrics.setEnabled(true);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        metrics.setEnabled(false);
+        metrics.setSlowQueryThresholdMillis(SqlStatementMetrics.DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS);
+        metrics.reset();
+    }
+
+    @Test
+    public void testQueryIsRecordedWithGivenFingerprint() throws Exception {
+
+        String[] executedSql = new String[1];
+        List<String> result = StatementProfiler.query(WorkflowEngineConstants.SqlQueries.GET_TASK_STATUS,
+                "GET_TASK_STATUS", sql -> {
+                    executedSql[0] = sql;
+                    return Arrays.asList("READY", "RESERVED");
+                });
+
+        Assert.assertEquals(result, Arrays.asList("READY", "RESERVED"));
+        Assert.assertEquals(executedSql[0], WorkflowEngineConstants.SqlQueries.GET_TASK_STATUS);
+        Assert.assertEquals(metrics.getFingerprints(), new String[]{"GET_TASK_STATUS"});
+        Assert.assertEquals(metrics.getExecutionCount("GET_TASK_STATUS"), 1);
+        Assert.assertEquals(metrics.getMeanRowCount("GET_TASK_STATUS"), 2d, 0.001);
+    }
+
+    @Test
+    public void testUpdateIsRecordedWithRowCount() throws Exception {
+
+        int rowCount = StatementProfiler.update(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_STATUS,
+                "UPDATE_TASK_STATUS", sql -> 3);
+
+        Assert.assertEquals(rowCount, 3);
+        Assert.assertEquals(metrics.getExecutionCount("UPDATE_TASK_STATUS"), 1);
+        Assert.assertEquals(metrics.getErrorCount("UPDATE_TASK_STATUS"), 0);
+        Assert.assertEquals(metrics.getMeanRowCount("UPDATE_TASK_STATUS"), 3d, 0.001);
+    }
+
+    @Test
+    public void testTemplateUpdateIsRecordedWithoutRowCount() throws Exception {
+
+        StatementProfiler.templateUpdate(WorkflowEngineConstants.SqlQueries.UPDATE_TASK_STATUS,
+                "UPDATE_TASK_STATUS", sql -> {
+                });
+
+        Assert.assertEquals(metrics.getExecutionCount("UPDATE_TASK_STATUS"), 1);
+        Assert.assertEquals(metrics.getErrorCount("UPDATE_TASK_STATUS"), 0);
+        Assert.assertEquals(metrics.getMeanRowCount("UPDATE_TASK_STATUS"), 0d, 0.001);
+    }
+
+    @Test
+    public void testBatchUpdateCountsAreAddedUp() {
+
+        Assert.assertEquals(StatementProfiler.sumUpdateCounts(new int[]{2, 0, 1}), 3);
+        Assert.assertEquals(StatementProfiler.sumUpdateCounts(new int[0]), 0);
+        Assert.assertTrue(StatementProfiler.sumUpdateCounts(new int[]{1, Statement.SUCCESS_NO_INFO}) < 0);
+    }
+
+    @Test
+    public void testFailedStatementIsRecordedAsError() {
+
+        DataAccessException error = new DataAccessException("Statement failed.");
+        try {
+            StatementProfiler.query(WorkflowEngineConstants.SqlQueries.GET_WORKFLOW_ID, "GET_WORKFLOW_ID", sql -> {
+                throw error;
+            });
+            Assert.fail("The statement failure should be propagated.");
+        } catch (DataAccessException e) {
+            Assert.assertSame(e, error);
+        }
+
+        Assert.assertEquals(metrics.getExecutionCount("GET_WORKFLOW_ID"), 1);
+        Assert.assertEquals(metrics.getErrorCount("GET_WORKFLOW_ID"), 1);
+    }
+
+    @Test
+    public void testDynamicQueryDoesNotExposeBindValues() throws Exception {
+
+        String boundValue = "secret-entity-id";
+        StatementProfiler.query("SELECT TASK_ID FROM WF_WORKFLOW_APPROVAL_RELATION WHERE APPROVER_NAME IN (?, ?)",
+                "GET_FILTERED_APPROVAL_TASK_DETAILS", 2, "entityIds=2", sql -> Arrays.asList(boundValue));
+
+        Assert.assertEquals(metrics.getFingerprints(), new String[]{"GET_FILTERED_APPROVAL_TASK_DETAILS"});
+        Assert.assertFalse(metrics.getSummary().contains(boundValue));
+    }
+
+    @Test
+    public void testStatementIsNotTimedWhenNotRequired() throws Exception {
+
+        metrics.setEnabled(false);
+        Assert.assertFalse(metrics.isTimingRequired());
+
+        String result = StatementProfiler.query(WorkflowEngineConstants.SqlQueries.GET_TASK_STATUS,
+                "GET_TASK_STATUS", sql -> "READY");
+
+        Assert.assertEquals(result, "READY");
+        Assert.assertEquals(metrics.getFingerprints().length, 0);
+    }
+}
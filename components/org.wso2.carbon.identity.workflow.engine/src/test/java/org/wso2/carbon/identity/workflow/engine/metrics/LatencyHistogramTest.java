@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for LatencyHistogram class.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBoundsCoverValue() {
+
+        long[] values = {0, 1, 31, 32, 33, 100, 1023, 1024, 123456, 987654321L};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            Assert.assertTrue(LatencyHistogram.bucketUpperBound(index) >= value,
+                    "Bucket upper bound should not be below the value: " + value);
+            if (index > 0) {
+                Assert.assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value,
+                        "Previous bucket should end below the value: " + value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 1000);
+        Assert.assertEquals(histogram.getMaxInMicros(), 1_000_000L);
+        Assert.assertEquals(histogram.getMeanInMicros(), 500_500d, 0.001);
+        assertWithinRelativeError(histogram.getValueAtPercentileInMicros(50), 500_000L);
+        assertWithinRelativeError(histogram.getValueAtPercentileInMicros(99), 990_000L);
+        Assert.assertEquals(histogram.getValueAtPercentileInMicros(100), 1_000_000L);
+    }
+
+    @Test
+    public void testReset() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(-1);
+        Assert.assertEquals(histogram.getCount(), 1);
+
+        histogram.reset();
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getMaxInMicros(), 0);
+        Assert.assertEquals(histogram.getValueAtPercentileInMicros(99), 0);
+    }
+
+    private void assertWithinRelativeError(long actual, long expected) {
+
+        Assert.assertTrue(Math.abs(actual - expected) <= expected * 0.07,
+                "Expected ~" + expected + " but was " + actual);
+    }
+}
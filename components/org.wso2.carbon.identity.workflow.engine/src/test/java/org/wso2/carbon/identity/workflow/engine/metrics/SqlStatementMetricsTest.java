@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.metrics;
+
+import org.apache.commons.logging.impl.SimpleLog;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for SqlStatementMetrics class.
+ */
+public class SqlStatementMetricsTest {
+
+    private static final String FINGERPRINT = "GET_TASK_STATUS";
+
+    private CapturingLog slowQueryLog;
+    private SqlStatementMetrics metrics;
+
+    @BeforeMethod
+    public void setUp() {
+
+        slowQueryLog = new CapturingLog();
+        metrics = new SqlStatementMetrics(slowQueryLog);
+    }
+
+    @Test
+    public void testTimingIsNotRequiredByDefault() {
+
+        Assert.assertFalse(metrics.isEnabled());
+        Assert.assertEquals(metrics.getSlowQueryThresholdMillis(),
+                SqlStatementMetrics.DEFAULT_SLOW_QUERY_THRESHOLD_MILLIS);
+        Assert.assertFalse(metrics.isTimingRequired());
+
+        metrics.setSlowQueryThresholdMillis(0);
+        Assert.assertTrue(metrics.isTimingRequired());
+
+        metrics.setSlowQueryThresholdMillis(-1);
+        metrics.setEnabled(true);
+        Assert.assertTrue(metrics.isTimingRequired());
+    }
+
+    @Test
+    public void testRecordByFingerprint() {
+
+        metrics.setEnabled(true);
+        metrics.record(FINGERPRINT, 1, null, TimeUnit.MILLISECONDS.toNanos(2), 1, true);
+        metrics.record(FINGERPRINT, 1, null, TimeUnit.MILLISECONDS.toNanos(4), 3, true);
+        metrics.record(FINGERPRINT, 1, null, TimeUnit.MILLISECONDS.toNanos(4), -1, false);
+        metrics.record("UPDATE_TASK_STATUS", 2, null, TimeUnit.MILLISECONDS.toNanos(1), -1, true);
+
+        Assert.assertEquals(metrics.getFingerprints(), new String[]{FINGERPRINT, "UPDATE_TASK_STATUS"});
+        Assert.assertEquals(metrics.getExecutionCount(FINGERPRINT), 3);
+        Assert.assertEquals(metrics.getErrorCount(FINGERPRINT), 1);
+        Assert.assertEquals(metrics.getMeanRowCount(FINGERPRINT), 2d, 0.001);
+        Assert.assertEquals(metrics.getTotalExecutionCount(), 4);
+        Assert.assertEquals(metrics.getSlowQueryCount(FINGERPRINT), 0);
+        Assert.assertTrue(slowQueryLog.messages.isEmpty());
+
+        metrics.reset();
+        Assert.assertEquals(metrics.getFingerprints().length, 0);
+    }
+
+    @Test
+    public void testNothingIsRecordedWhenDisabled() {
+
+        metrics.record(FINGERPRINT, 1, null, TimeUnit.SECONDS.toNanos(10), 1, true);
+
+        Assert.assertEquals(metrics.getFingerprints().length, 0);
+        Assert.assertTrue(slowQueryLog.messages.isEmpty());
+    }
+
+    @Test
+    public void testSlowQueryThreshold() {
+
+        metrics.setEnabled(true);
+        metrics.setSlowQueryThresholdMillis(100);
+        metrics.record(FINGERPRINT, 1, null, TimeUnit.MILLISECONDS.toNanos(99), 1, true);
+        Assert.assertTrue(slowQueryLog.messages.isEmpty());
+
+        metrics.record(FINGERPRINT, 1, null, TimeUnit.MILLISECONDS.toNanos(100), 1, true);
+        metrics.record(FINGERPRINT, 1, null, TimeUnit.MILLISECONDS.toNanos(250), 1, true);
+
+        Assert.assertEquals(slowQueryLog.messages.size(), 2);
+        Assert.assertEquals(metrics.getSlowQueryCount(FINGERPRINT), 2);
+    }
+
+    @Test
+    public void testSlowQueryLogWithoutMetrics() {
+
+        metrics.setSlowQueryThresholdMillis(0);
+        metrics.record(FINGERPRINT, 1, null, TimeUnit.MILLISECONDS.toNanos(1), 1, true);
+
+        Assert.assertEquals(slowQueryLog.messages.size(), 1);
+        Assert.assertEquals(metrics.getFingerprints().length, 0);
+    }
+
+    @Test
+    public void testSlowQueryLogCarriesBindParameterCountsOnly() {
+
+        metrics.setSlowQueryThresholdMillis(0);
+        metrics.record("GET_FILTERED_APPROVAL_TASK_DETAILS", 7, "entityIds=4, statuses=2",
+                TimeUnit.MILLISECONDS.toNanos(5), 12, false);
+
+        Assert.assertEquals(slowQueryLog.messages.size(), 1);
+        String message = slowQueryLog.messages.get(0);
+        Assert.assertTrue(message.contains("Fingerprint: GET_FILTERED_APPROVAL_TASK_DETAILS"), message);
+        Assert.assertTrue(message.contains("Bind parameters: 7 (entityIds=4, statuses=2)"), message);
+        Assert.assertTrue(message.contains("Rows: 12"), message);
+        Assert.assertTrue(message.contains("Succeeded: false"), message);
+    }
+
+    /**
+     * Log capturing the messages written to it.
+     */
+    private static class CapturingLog extends SimpleLog {
+
+        private final List<String> messages = new ArrayList<>();
+
+        CapturingLog() {
+
+            super("test");
+            setLevel(SimpleLog.LOG_LEVEL_ALL);
+        }
+
+        @Override
+        protected void log(int type, Object message, Throwable t) {
+
+            messages.add(String.valueOf(message));
+        }
+    }
+}
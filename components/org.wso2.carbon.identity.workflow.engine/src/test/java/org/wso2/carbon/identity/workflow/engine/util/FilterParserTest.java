@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.workflow.engine.util;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.workflow.engine.dto.ComparisonFilterExpression;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterExpression;
+import org.wso2.carbon.identity.workflow.engine.dto.FilterOperator;
+import org.wso2.carbon.identity.workflow.engine.dto.LogicalFilterExpression;
+import org.wso2.carbon.identity.workflow.engine.exception.WorkflowEngineClientException;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Unit tests for the filter expression compiler of FilterParser.
+ */
+public class FilterParserTest {
+
+    @Test
+    public void testBlankFilterCompilesToNull() throws Exception {
+
+        Assert.assertNull(FilterParser.compile(null));
+        Assert.assertNull(FilterParser.compile("   "));
+    }
+
+    @Test
+    public void testAndBindsTighterThanOr() throws Exception {
+
+        FilterExpression expression = FilterParser.compile(
+                "workflowId eq wf-1 or initiator eq admin AND operationType sw ADD_");
+
+        LogicalFilterExpression or = assertLogical(expression, LogicalFilterExpression.Operator.OR, 2);
+        assertComparison(or.getOperands().get(0), WorkflowEngineConstants.FILTER_ATTRIBUTE_WORKFLOW_ID,
+                FilterOperator.EQ, "wf-1");
+        LogicalFilterExpression and = assertLogical(or.getOperands().get(1), LogicalFilterExpression.Operator.AND, 2);
+        assertComparison(and.getOperands().get(0), WorkflowEngineConstants.FILTER_ATTRIBUTE_INITIATOR,
+                FilterOperator.EQ, "admin");
+        assertComparison(and.getOperands().get(1), WorkflowEngineConstants.FILTER_ATTRIBUTE_OPERATION_TYPE,
+                FilterOperator.SW, "ADD_");
+    }
+
+    @Test
+    public void testParenthesesAndInList() throws Exception {
+
+        FilterExpression expression = FilterParser.compile(
+                "(operationType in (ADD_USER,ADD_ROLE) or workflowRequestId co 5d1c) and workflowId eq wf-1");
+
+        LogicalFilterExpression and = assertLogical(expression, LogicalFilterExpression.Operator.AND, 2);
+        LogicalFilterExpression or = assertLogical(and.getOperands().get(0), LogicalFilterExpression.Operator.OR, 2);
+        assertComparison(or.getOperands().get(0), WorkflowEngineConstants.FILTER_ATTRIBUTE_OPERATION_TYPE,
+                FilterOperator.IN, "ADD_USER", "ADD_ROLE");
+        assertComparison(or.getOperands().get(1), WorkflowEngineConstants.FILTER_ATTRIBUTE_REQUEST_ID,
+                FilterOperator.CO, "5d1c");
+    }
+
+    @Test
+    public void testQuotedValues() throws Exception {
+
+        assertComparison(FilterParser.compile("initiator eq \"John (Admin), \\\"Jr\\\"\""),
+                WorkflowEngineConstants.FILTER_ATTRIBUTE_INITIATOR, FilterOperator.EQ, "John (Admin), \"Jr\"");
+    }
+
+    @Test
+    public void testCreatedTimeValuesAreTimestamps() throws Exception {
+
+        LogicalFilterExpression and = assertLogical(FilterParser.compile(
+                "createdTime ge 2026-01-01T00:00:00Z and createdTime le 1767312000000"),
+                LogicalFilterExpression.Operator.AND, 2);
+        assertComparison(and.getOperands().get(0), WorkflowEngineConstants.FILTER_ATTRIBUTE_CREATED_TIME,
+                FilterOperator.GE, Timestamp.from(Instant.parse("2026-01-01T00:00:00Z")));
+        assertComparison(and.getOperands().get(1), WorkflowEngineConstants.FILTER_ATTRIBUTE_CREATED_TIME,
+                FilterOperator.LE, new Timestamp(1767312000000L));
+    }
+
+    @Test
+    public void testCompiledFiltersAreCached() throws Exception {
+
+        String filter = "workflowRequestId in (request-1, request-2)";
+        Assert.assertSame(FilterParser.compile(filter), FilterParser.compile(filter));
+    }
+
+    @DataProvider(name = "invalidFilters")
+    public Object[][] invalidFilters() {
+
+        return new Object[][]{
+                {"createdBy eq admin"},
+                {"workflowId gt wf-1"},
+                {"workflowId ge wf-1"},
+                {"createdTime sw 2026"},
+                {"createdTime ge yesterday"},
+                {"workflowId eq"},
+                {"workflowId eq wf-1 and"},
+                {"(workflowId eq wf-1"},
+                {"workflowId eq wf-1)"},
+                {"operationType in ()"},
+                {"operationType in (ADD_USER"},
+                {"initiator eq \"admin"},
+                {String.join(" or ", Collections.nCopies(33, "workflowId eq wf-1"))},
+                {String.join("", Collections.nCopies(9, "(")) + "workflowId eq wf-1" +
+                        String.join("", Collections.nCopies(9, ")"))}
+        };
+    }
+
+    @Test(dataProvider = "invalidFilters", expectedExceptions = WorkflowEngineClientException.class)
+    public void testInvalidFilters(String filter) throws Exception {
+
+        FilterParser.compile(filter);
+    }
+
+    @Test(expectedExceptions = WorkflowEngineClientException.class)
+    public void testParseRejectsExpressionOnlyOperators() throws Exception {
+
+        FilterParser.parse("workflowId co wf");
+    }
+
+    private static LogicalFilterExpression assertLogical(FilterExpression expression,
+                                                         LogicalFilterExpression.Operator operator, int operands) {
+
+        Assert.assertTrue(expression instanceof LogicalFilterExpression, String.valueOf(expression));
+        LogicalFilterExpression logicalExpression = (LogicalFilterExpression) expression;
+        Assert.assertEquals(logicalExpression.getOperator(), operator);
+        Assert.assertEquals(logicalExpression.getOperands().size(), operands);
+        return logicalExpression;
+    }
+
+    private static void assertComparison(FilterExpression expression, String attribute, FilterOperator operator,
+                                         Object... values) {
+
+        Assert.assertTrue(expression instanceof ComparisonFilterExpression, String.valueOf(expression));
+        ComparisonFilterExpression comparison = (ComparisonFilterExpression) expression;
+        Assert.assertEquals(comparison.getAttribute(), attribute);
+        Assert.assertEquals(comparison.getOperator(), operator);
+        Assert.assertEquals(comparison.getValues(), Arrays.asList(values));
+    }
+}
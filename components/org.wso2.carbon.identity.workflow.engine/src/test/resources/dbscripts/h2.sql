@@ -20,6 +20,18 @@ CREATE TABLE IF NOT EXISTS WF_WORKFLOW(
     PRIMARY KEY (ID)
 );
 
+CREATE TABLE IF NOT EXISTS WF_WORKFLOW_REQUEST_RELATION(
+    RELATIONSHIP_ID VARCHAR (45),
+    WORKFLOW_ID VARCHAR (45),
+    REQUEST_ID VARCHAR (45),
+    UPDATED_AT TIMESTAMP,
+    STATUS VARCHAR (30),
+    TENANT_ID INTEGER DEFAULT -1,
+    PRIMARY KEY (RELATIONSHIP_ID),
+    FOREIGN KEY (WORKFLOW_ID) REFERENCES WF_WORKFLOW(ID) ON DELETE CASCADE,
+    FOREIGN KEY (REQUEST_ID) REFERENCES WF_REQUEST(UUID) ON DELETE CASCADE
+);
+
 CREATE TABLE IF NOT EXISTS WF_WORKFLOW_APPROVAL_RELATION (
     TASK_ID VARCHAR(45) NOT NULL,
     EVENT_ID VARCHAR(45) NOT NULL,